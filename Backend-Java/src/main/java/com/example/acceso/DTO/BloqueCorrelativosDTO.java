@@ -0,0 +1,13 @@
+package com.example.acceso.DTO;
+
+/**
+ * Bloque de correlativos reservado para una serie, pendiente de ponerse a
+ * disposición del resto de ventas cuando se confirme la transacción que lo
+ * reservó.
+ *
+ * @param serieId El ID de la serie de comprobante.
+ * @param desde   El primer correlativo libre del bloque.
+ * @param hasta   El último correlativo del bloque.
+ */
+public record BloqueCorrelativosDTO(Long serieId, int desde, int hasta) {
+}
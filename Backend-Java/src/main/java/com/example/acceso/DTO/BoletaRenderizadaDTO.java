@@ -0,0 +1,10 @@
+package com.example.acceso.DTO;
+
+/**
+ * PDF de una boleta ya generado, junto con la huella del HTML del que salió.
+ *
+ * @param huella La huella SHA-256 del HTML de la boleta, que sirve de versión.
+ * @param pdf    El contenido del PDF.
+ */
+public record BoletaRenderizadaDTO(String huella, byte[] pdf) {
+}
@@ -0,0 +1,9 @@
+package com.example.acceso.DTO;
+
+/**
+ * Aviso de que cambió algún dato que muestra el catálogo público (un producto,
+ * su stock, sus imágenes o una categoría), para que se descarte la copia del
+ * catálogo guardada en memoria.
+ */
+public record CatalogoModificadoDTO() {
+}
@@ -0,0 +1,11 @@
+package com.example.acceso.DTO;
+
+/**
+ * Copia del catálogo público lista para enviarse: el JSON ya generado y su ETag.
+ * El arreglo no se copia; quien lo recibe no debe modificarlo.
+ *
+ * @param contenido El JSON del catálogo.
+ * @param etag      ETag fuerte del contenido, con sus comillas.
+ */
+public record CatalogoPublicoDTO(byte[] contenido, String etag) {
+}
@@ -0,0 +1,10 @@
+package com.example.acceso.DTO;
+
+/**
+ * Aviso de que se guardó una categoría, para que el buscador de productos
+ * vuelva a indexar los productos que la usan con su nombre nuevo.
+ *
+ * @param categoriaId ID de la categoría guardada.
+ */
+public record CategoriaModificadaDTO(Long categoriaId) {
+}
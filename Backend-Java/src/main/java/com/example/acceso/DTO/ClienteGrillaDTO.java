@@ -0,0 +1,15 @@
+package com.example.acceso.DTO;
+
+/**
+ * Cliente tal como se muestra en la grilla de clientes.
+ *
+ * @param id        El ID del cliente.
+ * @param nombre    El nombre o razón social.
+ * @param documento El DNI o RUC.
+ * @param telefono  El teléfono, si tiene.
+ * @param correo    El correo, si tiene.
+ * @param estado    1 activo, 0 inactivo.
+ */
+public record ClienteGrillaDTO(Long id, String nombre, String documento, String telefono, String correo,
+                               Integer estado) {
+}
@@ -0,0 +1,27 @@
+package com.example.acceso.DTO;
+
+/**
+ * Consultas SQL acumuladas de una ruta de la aplicación, para el endpoint
+ * {@code /actuator/consultas}.
+ *
+ * @param ruta       Método HTTP y patrón de la ruta, por ejemplo
+ *                   {@code GET /ventas/api/cuotas/{ventaId}}.
+ * @param peticiones Peticiones atendidas.
+ * @param consultas  Sentencias ejecutadas en total.
+ * @param maximo     Sentencias de la petición que más ejecutó.
+ * @param excesos    Peticiones que superaron el presupuesto.
+ */
+public record ConsultasRutaDTO(String ruta, long peticiones, long consultas, int maximo, long excesos) {
+
+    /**
+     * Suma una petición más.
+     *
+     * @param sentencias Las sentencias que ejecutó la petición.
+     * @param excedida   Si superó el presupuesto.
+     * @return Las consultas acumuladas con la petición incluida.
+     */
+    public ConsultasRutaDTO sumar(int sentencias, boolean excedida) {
+        return new ConsultasRutaDTO(ruta, peticiones + 1, consultas + sentencias, Math.max(maximo, sentencias),
+                excesos + (excedida ? 1 : 0));
+    }
+}
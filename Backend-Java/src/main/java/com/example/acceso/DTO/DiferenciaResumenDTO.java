@@ -0,0 +1,17 @@
+package com.example.acceso.DTO;
+
+import java.math.BigDecimal;
+
+/**
+ * Diferencia encontrada entre un resumen diario de ventas y lo que resulta de
+ * agregar las ventas registradas.
+ *
+ * @param tabla      La tabla de resumen donde está la diferencia.
+ * @param clave      La fila afectada (día, producto, usuario y estado).
+ * @param campo      La columna que no coincide.
+ * @param esperado   El valor calculado desde las ventas.
+ * @param registrado El valor guardado en el resumen.
+ */
+public record DiferenciaResumenDTO(String tabla, String clave, String campo, BigDecimal esperado,
+                                   BigDecimal registrado) {
+}
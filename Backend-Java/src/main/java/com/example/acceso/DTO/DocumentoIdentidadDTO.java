@@ -0,0 +1,14 @@
+package com.example.acceso.DTO;
+
+/**
+ * Nombre asociado a un DNI o RUC, con el lugar de donde se obtuvo.
+ *
+ * @param documento El DNI (8 dígitos) o RUC (11 dígitos).
+ * @param nombre    El nombre completo o la razón social.
+ * @param clienteId El ID del cliente, si el documento ya está registrado.
+ * @param origen    {@code "local"} si es un cliente registrado, {@code "cache"}
+ *                  si es una consulta externa anterior aún vigente, o
+ *                  {@code "externo"} si se consultó a la API externa.
+ */
+public record DocumentoIdentidadDTO(String documento, String nombre, Long clienteId, String origen) {
+}
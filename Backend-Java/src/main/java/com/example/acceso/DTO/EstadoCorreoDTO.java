@@ -0,0 +1,19 @@
+package com.example.acceso.DTO;
+
+import java.time.LocalDateTime;
+
+/**
+ * Estado de un correo de la bandeja de salida, sin su contenido.
+ *
+ * @param id             El ID del correo.
+ * @param ventaId        La venta cuya boleta se envía.
+ * @param destinatario   El correo del destinatario.
+ * @param estado         PENDIENTE, ENVIANDO, ENVIADO o FALLIDO.
+ * @param intentos       Cuántas veces se intentó enviar.
+ * @param proximoIntento Cuándo se volverá a intentar, si sigue pendiente.
+ * @param fechaEnvio     Cuándo se envió, si ya se envió.
+ * @param ultimoError    El error del último intento fallido.
+ */
+public record EstadoCorreoDTO(Long id, Long ventaId, String destinatario, String estado, Integer intentos,
+                              LocalDateTime proximoIntento, LocalDateTime fechaEnvio, String ultimoError) {
+}
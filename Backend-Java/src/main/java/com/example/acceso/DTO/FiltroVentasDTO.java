@@ -0,0 +1,66 @@
+package com.example.acceso.DTO;
+
+import java.time.LocalDate;
+
+/**
+ * Filtros opcionales del listado de ventas. Un campo nulo no filtra.
+ */
+public class FiltroVentasDTO {
+
+    private LocalDate desde;
+    private LocalDate hasta;
+    private Integer estado;
+    private Long clienteId;
+    private Long serieId;
+
+    public FiltroVentasDTO() {
+    }
+
+    public FiltroVentasDTO(LocalDate desde, LocalDate hasta, Integer estado, Long clienteId, Long serieId) {
+        this.desde = desde;
+        this.hasta = hasta;
+        this.estado = estado;
+        this.clienteId = clienteId;
+        this.serieId = serieId;
+    }
+
+    public LocalDate getDesde() {
+        return desde;
+    }
+
+    public void setDesde(LocalDate desde) {
+        this.desde = desde;
+    }
+
+    public LocalDate getHasta() {
+        return hasta;
+    }
+
+    public void setHasta(LocalDate hasta) {
+        this.hasta = hasta;
+    }
+
+    public Integer getEstado() {
+        return estado;
+    }
+
+    public void setEstado(Integer estado) {
+        this.estado = estado;
+    }
+
+    public Long getClienteId() {
+        return clienteId;
+    }
+
+    public void setClienteId(Long clienteId) {
+        this.clienteId = clienteId;
+    }
+
+    public Long getSerieId() {
+        return serieId;
+    }
+
+    public void setSerieId(Long serieId) {
+        this.serieId = serieId;
+    }
+}
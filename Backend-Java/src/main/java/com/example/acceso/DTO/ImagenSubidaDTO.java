@@ -0,0 +1,12 @@
+package com.example.acceso.DTO;
+
+/**
+ * Datos de una imagen recién subida al almacén de imágenes.
+ *
+ * @param url      La URL pública de la imagen.
+ * @param publicId El identificador de la imagen en el almacén.
+ * @param ancho    El ancho en píxeles, si el almacén lo informa.
+ * @param alto     El alto en píxeles, si el almacén lo informa.
+ */
+public record ImagenSubidaDTO(String url, String publicId, Integer ancho, Integer alto) {
+}
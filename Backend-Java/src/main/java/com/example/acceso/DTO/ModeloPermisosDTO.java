@@ -0,0 +1,20 @@
+package com.example.acceso.DTO;
+
+import java.util.Map;
+
+/**
+ * Los permisos de todos los perfiles activos en un momento dado. Cada cambio de
+ * perfiles arma un modelo nuevo con la versión siguiente en lugar de modificar
+ * el anterior.
+ *
+ * @param version  Número de versión; crece con cada reconstrucción.
+ * @param perfiles Los permisos de cada perfil activo, por ID de perfil.
+ */
+public record ModeloPermisosDTO(
+        long version,
+        Map<Long, PermisosPerfilDTO> perfiles) {
+
+    public ModeloPermisosDTO {
+        perfiles = Map.copyOf(perfiles);
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.acceso.DTO;
+
+/**
+ * Opción del menú lateral, copiada de la entidad {@code Opcion} para que las
+ * vistas no dependan de la sesión de Hibernate.
+ *
+ * @param id     El ID de la opción; el menú se ordena por este valor.
+ * @param nombre El texto que se muestra.
+ * @param ruta   La ruta a la que lleva la opción.
+ * @param icono  Las clases CSS del icono.
+ */
+public record OpcionMenuDTO(
+        Long id,
+        String nombre,
+        String ruta,
+        String icono) {
+}
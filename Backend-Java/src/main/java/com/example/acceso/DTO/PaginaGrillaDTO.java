@@ -0,0 +1,15 @@
+package com.example.acceso.DTO;
+
+import java.util.List;
+
+/**
+ * Una página de una grilla paginada en el servidor.
+ *
+ * @param datos     Las filas de la página.
+ * @param total     Cuántas filas hay sin aplicar la búsqueda.
+ * @param filtrados Cuántas filas cumplen la búsqueda; igual a {@code total} si
+ *                  no se buscó nada.
+ * @param <T>       El tipo de las filas.
+ */
+public record PaginaGrillaDTO<T>(List<T> datos, long total, long filtrados) {
+}
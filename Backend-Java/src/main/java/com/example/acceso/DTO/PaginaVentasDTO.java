@@ -0,0 +1,14 @@
+package com.example.acceso.DTO;
+
+import java.util.List;
+
+/**
+ * Una página del listado de ventas.
+ *
+ * @param ventas          Las ventas de la página, de la más reciente a la más
+ *                        antigua.
+ * @param siguienteCursor El cursor para pedir la página siguiente, o
+ *                        {@code null} si no hay más ventas.
+ */
+public record PaginaVentasDTO(List<VentaResumenDTO> ventas, String siguienteCursor) {
+}
@@ -0,0 +1,10 @@
+package com.example.acceso.DTO;
+
+/**
+ * Aviso de que se guardó, cambió de estado o eliminó un perfil, para que se
+ * vuelvan a armar los permisos en memoria.
+ *
+ * @param perfilId ID del perfil modificado.
+ */
+public record PerfilModificadoDTO(Long perfilId) {
+}
@@ -0,0 +1,23 @@
+package com.example.acceso.DTO;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Lo que puede ver y usar un perfil activo: su menú ya ordenado y las rutas de
+ * sus opciones. Es inmutable, así que se comparte entre todas las peticiones.
+ *
+ * @param perfilId El ID del perfil.
+ * @param menu     Las opciones del menú, ordenadas por ID.
+ * @param rutas    Las rutas de esas opciones.
+ */
+public record PermisosPerfilDTO(
+        Long perfilId,
+        List<OpcionMenuDTO> menu,
+        Set<String> rutas) {
+
+    public PermisosPerfilDTO {
+        menu = List.copyOf(menu);
+        rutas = Set.copyOf(rutas);
+    }
+}
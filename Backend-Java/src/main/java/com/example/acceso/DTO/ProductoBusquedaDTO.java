@@ -0,0 +1,24 @@
+package com.example.acceso.DTO;
+
+/**
+ * Producto sugerido por el buscador de la pantalla de ventas: solo los datos
+ * que se necesitan para agregarlo a la venta.
+ *
+ * @param id              El ID del producto.
+ * @param nombre          El nombre del producto.
+ * @param categoriaNombre El nombre de la categoría, si tiene.
+ * @param precioVenta     El precio de venta.
+ * @param stock           El stock al momento de la búsqueda.
+ */
+public record ProductoBusquedaDTO(
+        Long id,
+        String nombre,
+        String categoriaNombre,
+        Double precioVenta,
+        Integer stock) {
+
+    /** Copia del producto con el stock indicado. */
+    public ProductoBusquedaDTO conStock(Integer stockActual) {
+        return new ProductoBusquedaDTO(id, nombre, categoriaNombre, precioVenta, stockActual);
+    }
+}
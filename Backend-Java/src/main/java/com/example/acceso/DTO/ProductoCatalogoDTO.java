@@ -0,0 +1,23 @@
+package com.example.acceso.DTO;
+
+/**
+ * Producto tal como se muestra en los listados: sin la lista de imágenes, solo
+ * con la miniatura de su imagen principal.
+ *
+ * @param id              El ID del producto.
+ * @param nombre          El nombre del producto.
+ * @param descripcion     La descripción del producto.
+ * @param precioCompra    El precio de compra.
+ * @param precioVenta     El precio de venta.
+ * @param stock           El stock actual.
+ * @param stockSeguridad  El stock de seguridad.
+ * @param estado          1 activo, 0 inactivo.
+ * @param categoriaId     El ID de la categoría, si tiene.
+ * @param categoriaNombre El nombre de la categoría, si tiene.
+ * @param miniatura       La URL de la miniatura de la imagen principal, o
+ *                        {@code null} si el producto no tiene imágenes.
+ */
+public record ProductoCatalogoDTO(Long id, String nombre, String descripcion, Double precioCompra,
+                                  Double precioVenta, Integer stock, Integer stockSeguridad, Integer estado,
+                                  Long categoriaId, String categoriaNombre, String miniatura) {
+}
@@ -0,0 +1,10 @@
+package com.example.acceso.DTO;
+
+/**
+ * Aviso de que se creó, modificó, eliminó o cambió de estado un producto, para
+ * que el buscador de productos actualice solo ese producto en su índice.
+ *
+ * @param productoId ID del producto modificado.
+ */
+public record ProductoModificadoDTO(Long productoId) {
+}
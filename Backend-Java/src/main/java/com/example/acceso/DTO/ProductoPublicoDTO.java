@@ -0,0 +1,18 @@
+package com.example.acceso.DTO;
+
+/**
+ * Producto tal como se muestra en el catálogo público: sin precio de compra,
+ * stock de seguridad ni otros datos internos.
+ *
+ * @param id              El ID del producto.
+ * @param nombre          El nombre del producto.
+ * @param descripcion     La descripción del producto.
+ * @param precioVenta     El precio de venta.
+ * @param stock           Las unidades disponibles.
+ * @param categoriaId     El ID de la categoría, si tiene.
+ * @param categoriaNombre El nombre de la categoría, si tiene.
+ * @param miniatura       La URL de la miniatura de la imagen principal, si tiene.
+ */
+public record ProductoPublicoDTO(Long id, String nombre, String descripcion, Double precioVenta, Integer stock,
+                                 Long categoriaId, String categoriaNombre, String miniatura) {
+}
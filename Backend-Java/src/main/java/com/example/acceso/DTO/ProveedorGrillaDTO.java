@@ -0,0 +1,15 @@
+package com.example.acceso.DTO;
+
+/**
+ * Proveedor tal como se muestra en la grilla de proveedores.
+ *
+ * @param id        El ID del proveedor.
+ * @param nombre    El nombre o razón social.
+ * @param documento El DNI o RUC.
+ * @param telefono  El teléfono, si tiene.
+ * @param correo    El correo, si tiene.
+ * @param estado    1 activo, 0 inactivo.
+ */
+public record ProveedorGrillaDTO(Long id, String nombre, String documento, String telefono, String correo,
+                                 Integer estado) {
+}
@@ -0,0 +1,8 @@
+package com.example.acceso.DTO;
+
+/**
+ * Aviso de que se modificó la URL o el estado de alguna red social, para que se
+ * descarte la lista de redes activas guardada en caché.
+ */
+public record RedesSocialesModificadasDTO() {
+}
@@ -0,0 +1,19 @@
+package com.example.acceso.DTO;
+
+import java.util.Map;
+
+/**
+ * Resumen de una métrica de la aplicación para el endpoint
+ * {@code /actuator/resumen}. Los tiempos van en milisegundos.
+ *
+ * @param nombre      Nombre de la métrica, por ejemplo {@code acuamont.ventas.creacion}.
+ * @param tipo        {@code timer}, {@code contador} o {@code distribucion}.
+ * @param etiquetas   Las etiquetas de esta serie de la métrica.
+ * @param cantidad    Cuántas veces se registró.
+ * @param media       Valor medio; para los contadores, igual a la cantidad.
+ * @param maximo      Valor máximo reciente; 0 para los contadores.
+ * @param percentiles p50, p95 y p99 recientes; vacío para los contadores.
+ */
+public record ResumenMetricaDTO(String nombre, String tipo, Map<String, String> etiquetas, long cantidad,
+                                double media, double maximo, Map<String, Double> percentiles) {
+}
@@ -0,0 +1,43 @@
+package com.example.acceso.DTO;
+
+import java.io.Serializable;
+
+/**
+ * Lo único que se guarda en la sesión del usuario que inició sesión.
+ *
+ * Es pequeño e inmutable para que la sesión ocupe poco y se pueda guardar en la
+ * base de datos y compartir entre instancias. El nombre y el perfil son los del
+ * momento del inicio de sesión.
+ *
+ * @param id       ID del usuario.
+ * @param nombre   Nombre del usuario.
+ * @param perfilId ID de su perfil, con el que se resuelven el menú y los permisos.
+ * @param version  Versión del formato; una sesión guardada con otra versión, por
+ *                 ejemplo antes de un despliegue que lo cambió, se descarta y el
+ *                 usuario vuelve a iniciar sesión.
+ */
+public record SesionUsuario(Long id, String nombre, Long perfilId, int version) implements Serializable {
+
+    /** Versión actual del formato; se sube cuando cambian los campos. */
+    public static final int VERSION_ACTUAL = 1;
+
+    /**
+     * Crea la sesión de un usuario con la versión actual del formato.
+     *
+     * @param id       ID del usuario.
+     * @param nombre   Nombre del usuario.
+     * @param perfilId ID de su perfil.
+     */
+    public SesionUsuario(Long id, String nombre, Long perfilId) {
+        this(id, nombre, perfilId, VERSION_ACTUAL);
+    }
+
+    /**
+     * Indica si la sesión se guardó con el formato actual.
+     *
+     * @return {@code true} si se puede usar.
+     */
+    public boolean vigente() {
+        return version == VERSION_ACTUAL;
+    }
+}
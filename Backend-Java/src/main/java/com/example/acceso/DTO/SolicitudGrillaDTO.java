@@ -0,0 +1,45 @@
+package com.example.acceso.DTO;
+
+/**
+ * Lo que pide una grilla paginada en el servidor: qué página, qué texto buscar
+ * y por qué columna ordenar. Los valores ausentes o fuera de rango se corrigen
+ * al crearla.
+ *
+ * @param inicio    Cuántas filas se saltan; nunca negativo.
+ * @param tamano    Cuántas filas se devuelven, entre 1 y {@value #TAMANO_MAXIMO},
+ *                  o {@value #TODAS} para todas las filas que cumplen la
+ *                  búsqueda, como piden los botones de exportación.
+ * @param busqueda  El texto buscado, sin espacios en los extremos, o
+ *                  {@code null} si no se busca nada.
+ * @param orden     El nombre de la columna por la que se ordena, o {@code null}
+ *                  para el orden por defecto.
+ * @param direccion {@code "asc"} o {@code "desc"}.
+ */
+public record SolicitudGrillaDTO(Integer inicio, Integer tamano, String busqueda, String orden, String direccion) {
+
+    public static final int TAMANO_POR_DEFECTO = 10;
+    public static final int TAMANO_MAXIMO = 100;
+    public static final int TODAS = -1;
+
+    public SolicitudGrillaDTO {
+        inicio = inicio == null || inicio < 0 ? 0 : inicio;
+        if (tamano == null || (tamano <= 0 && tamano != TODAS)) {
+            tamano = TAMANO_POR_DEFECTO;
+        } else if (tamano != TODAS) {
+            tamano = Math.min(tamano, TAMANO_MAXIMO);
+        }
+        busqueda = busqueda == null || busqueda.isBlank() ? null : busqueda.trim();
+        orden = orden == null || orden.isBlank() ? null : orden;
+        direccion = "desc".equalsIgnoreCase(direccion) ? "desc" : "asc";
+    }
+
+    /** Indica si se piden todas las filas en lugar de una página. */
+    public boolean todas() {
+        return tamano == TODAS;
+    }
+
+    /** Indica si hay un texto que filtre las filas. */
+    public boolean tieneBusqueda() {
+        return busqueda != null;
+    }
+}
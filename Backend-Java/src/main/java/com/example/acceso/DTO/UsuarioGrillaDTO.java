@@ -0,0 +1,16 @@
+package com.example.acceso.DTO;
+
+/**
+ * Usuario tal como se muestra en la grilla de usuarios: sin la clave ni el
+ * secreto de la autenticación de dos pasos.
+ *
+ * @param id           El ID del usuario.
+ * @param nombre       El nombre de la persona.
+ * @param usuario      El nombre con el que inicia sesión.
+ * @param correo       El correo.
+ * @param estado       1 activo, 0 inactivo.
+ * @param perfilNombre El nombre de su perfil, si tiene.
+ */
+public record UsuarioGrillaDTO(Long id, String nombre, String usuario, String correo, Integer estado,
+                               String perfilNombre) {
+}
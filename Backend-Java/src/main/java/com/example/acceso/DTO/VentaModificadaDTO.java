@@ -0,0 +1,10 @@
+package com.example.acceso.DTO;
+
+/**
+ * Aviso de que una venta ya emitida cambió (se anuló o recibió un pago), para
+ * que se descarten los comprobantes generados a partir de su estado anterior.
+ *
+ * @param ventaId El ID de la venta modificada.
+ */
+public record VentaModificadaDTO(Long ventaId) {
+}
@@ -0,0 +1,14 @@
+package com.example.acceso.DTO;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Una venta del listado paginado, con los datos de su cliente, usuario y forma
+ * de pago ya resueltos.
+ */
+public record VentaResumenDTO(Long id, String serie, Integer correlativo, LocalDateTime fecha,
+                              BigDecimal total, BigDecimal deuda, Integer estado,
+                              Long clienteId, String clienteNombre, String clienteCorreo,
+                              String clienteTelefono, String usuarioNombre, String formaPagoNombre) {
+}
@@ -0,0 +1,29 @@
+package com.example.acceso.config;
+
+import com.example.acceso.service.Interfaces.PresupuestoConsultasService;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ConsultasConfig {
+
+    /**
+     * Registra en Hibernate un {@link StatementInspector} que cuenta cada
+     * sentencia en el presupuesto de la petición en curso. La sentencia no se
+     * modifica.
+     *
+     * @param presupuestoConsultasService El servicio que lleva la cuenta.
+     * @return La personalización de las propiedades de Hibernate.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer inspectorDeConsultas(PresupuestoConsultasService presupuestoConsultasService) {
+        StatementInspector inspector = sql -> {
+            presupuestoConsultasService.contarSentencia();
+            return sql;
+        };
+        return propiedades -> propiedades.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+    }
+}
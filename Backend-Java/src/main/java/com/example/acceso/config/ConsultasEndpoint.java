@@ -0,0 +1,33 @@
+package com.example.acceso.config;
+
+import com.example.acceso.DTO.ConsultasRutaDTO;
+import com.example.acceso.service.Interfaces.PresupuestoConsultasService;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Endpoint {@code /actuator/consultas}: las rutas que más consultas SQL
+ * ejecutaron en una petición, cuando el presupuesto de consultas está activo.
+ *
+ * @see TokenMetricasFilter (Que protege este endpoint)
+ */
+@Component
+@Endpoint(id = "consultas")
+public class ConsultasEndpoint {
+
+    private static final int RUTAS = 50;
+
+    private final PresupuestoConsultasService presupuestoConsultasService;
+
+    public ConsultasEndpoint(PresupuestoConsultasService presupuestoConsultasService) {
+        this.presupuestoConsultasService = presupuestoConsultasService;
+    }
+
+    @ReadOperation
+    public List<ConsultasRutaDTO> consultas() {
+        return presupuestoConsultasService.peores(RUTAS);
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.acceso.config;
+
+import com.example.acceso.DTO.SesionUsuario;
+import com.example.acceso.service.Interfaces.PermisosService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+/**
+ * Interceptor que agrega el menú del usuario logueado al modelo de las vistas.
+ *
+ * La sesión guarda solo el ID del perfil; el menú se toma de los permisos en
+ * memoria de {@link PermisosService}, así que un cambio en los permisos de un
+ * perfil se ve en la siguiente página, sin volver a iniciar sesión. Igual que
+ * {@link RedesSocialesInterceptor}, no actúa en las respuestas JSON ni en las
+ * redirecciones.
+ *
+ * @see com.example.acceso.config.WebConfig (Donde se registra este interceptor)
+ */
+@Component
+public class MenuInterceptor implements HandlerInterceptor {
+
+    private final PermisosService permisosService;
+
+    /**
+     * Constructor para la inyección de dependencias del servicio de permisos.
+     *
+     * @param permisosService El servicio con los permisos de cada perfil.
+     */
+    public MenuInterceptor(PermisosService permisosService) {
+        this.permisosService = permisosService;
+    }
+
+    /**
+     * Pone las opciones del menú del perfil en el modelo bajo el nombre
+     * "menuOpciones", que usa el sidebar.
+     *
+     * @param request      La petición HTTP.
+     * @param response     La respuesta HTTP.
+     * @param handler      El manejador (controlador) que atendió la petición.
+     * @param modelAndView El modelo y la vista a renderizar, o {@code null} si el
+     *                     controlador escribió la respuesta directamente.
+     */
+    @Override
+    public void postHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+            @NonNull Object handler, @Nullable ModelAndView modelAndView) {
+
+        if (modelAndView == null || !modelAndView.hasView()
+                || (modelAndView.getViewName() != null && modelAndView.getViewName().startsWith("redirect:"))) {
+            return;
+        }
+        HttpSession session = request.getSession(false);
+        if (session == null || !(session.getAttribute("usuarioLogueado") instanceof SesionUsuario sesionUsuario)) {
+            return;
+        }
+        modelAndView.addObject("menuOpciones", permisosService.menu(sesionUsuario.perfilId()));
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.acceso.config;
+
+import com.example.acceso.service.Interfaces.PresupuestoConsultasService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Cuenta las consultas SQL de cada petición con
+ * {@link PresupuestoConsultasService}, agrupándolas por el patrón de la ruta
+ * ({@code /ventas/api/cuotas/{ventaId}}) para que el resumen no crezca con los
+ * IDs. Si el presupuesto está desactivado, no hace nada.
+ */
+@Component
+public class PresupuestoConsultasFilter extends OncePerRequestFilter {
+
+    private final PresupuestoConsultasService presupuestoConsultasService;
+
+    public PresupuestoConsultasFilter(PresupuestoConsultasService presupuestoConsultasService) {
+        this.presupuestoConsultasService = presupuestoConsultasService;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !presupuestoConsultasService.activo();
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        presupuestoConsultasService.iniciar();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            Object patron = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            presupuestoConsultasService.terminar(request.getMethod() + " " + (patron != null ? patron : "(sin ruta)"));
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.acceso.config;
+
+import com.example.acceso.service.Interfaces.RedSocialService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+/**
+ * Interceptor que agrega las redes sociales activas al modelo de las vistas.
+ *
+ * Se ejecuta después del controlador (postHandle) y solo actúa cuando la
+ * petición va a renderizar una plantilla: las respuestas JSON, los recursos
+ * estáticos y las redirecciones no tienen {@link ModelAndView} o no muestran el
+ * footer, así que no consultan las redes sociales.
+ *
+ * @see com.example.acceso.config.WebConfig (Donde se registra este interceptor)
+ */
+@Component
+public class RedesSocialesInterceptor implements HandlerInterceptor {
+
+    private final RedSocialService redSocialService;
+
+    /**
+     * Constructor para la inyección de dependencias del servicio de redes sociales.
+     *
+     * @param redSocialService El servicio que maneja la lógica de negocio de las redes sociales.
+     */
+    public RedesSocialesInterceptor(RedSocialService redSocialService) {
+        this.redSocialService = redSocialService;
+    }
+
+    /**
+     * Pone la lista de redes sociales activas en el modelo bajo el nombre
+     * "redesSocialesActivas", para usarla desde cualquier plantilla Thymeleaf
+     * (por ejemplo, en el footer).
+     *
+     * @param request      La petición HTTP.
+     * @param response     La respuesta HTTP.
+     * @param handler      El manejador (controlador) que atendió la petición.
+     * @param modelAndView El modelo y la vista a renderizar, o {@code null} si el
+     *                     controlador escribió la respuesta directamente.
+     */
+    @Override
+    public void postHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+            @NonNull Object handler, @Nullable ModelAndView modelAndView) {
+
+        if (modelAndView == null || !modelAndView.hasView() || esRedireccion(modelAndView)) {
+            return;
+        }
+        modelAndView.addObject("redesSocialesActivas", redSocialService.listarRedesSocialesActivas());
+    }
+
+    private static boolean esRedireccion(ModelAndView modelAndView) {
+        String vista = modelAndView.getViewName();
+        return vista != null && vista.startsWith("redirect:");
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.acceso.config;
+
+import com.example.acceso.DTO.ResumenMetricaDTO;
+import com.example.acceso.service.Interfaces.MetricasService;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Endpoint {@code /actuator/resumen}: las métricas de ventas, pagos,
+ * inventario, boletas y Cloudinary en JSON, con sus percentiles, para
+ * consultarlas sin un servidor de Prometheus.
+ *
+ * @see TokenMetricasFilter (Que protege este endpoint y el de Prometheus)
+ */
+@Component
+@Endpoint(id = "resumen")
+public class ResumenMetricasEndpoint {
+
+    private final MetricasService metricasService;
+
+    public ResumenMetricasEndpoint(MetricasService metricasService) {
+        this.metricasService = metricasService;
+    }
+
+    @ReadOperation
+    public List<ResumenMetricaDTO> resumen() {
+        return metricasService.resumen();
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.acceso.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita las tareas programadas, como el envío de la bandeja de salida de correos.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,5 +1,6 @@
 package com.example.acceso.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -7,9 +8,16 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 @Configuration
 public class SecurityConfig {
 
+    /**
+     * Codificador de contraseñas. Si se sube el costo, las claves guardadas con
+     * un costo menor se vuelven a codificar cuando su dueño inicia sesión.
+     *
+     * @param costo El costo de BCrypt (log2 de las rondas).
+     * @return El codificador compartido por toda la aplicación.
+     */
     @Bean
-    public BCryptPasswordEncoder passwordEncoder() {
+    public BCryptPasswordEncoder passwordEncoder(@Value("${acuamont.seguridad.costo-bcrypt:10}") int costo) {
 
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(costo);
     }
-}
\ No newline at end of file
+}
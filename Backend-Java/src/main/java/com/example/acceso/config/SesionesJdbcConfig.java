@@ -0,0 +1,47 @@
+package com.example.acceso.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.init.DataSourceScriptDatabaseInitializer;
+import org.springframework.boot.jdbc.init.PlatformPlaceholderDatabaseDriverResolver;
+import org.springframework.boot.sql.init.DatabaseInitializationMode;
+import org.springframework.boot.sql.init.DatabaseInitializationSettings;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.session.jdbc.config.annotation.web.http.EnableJdbcHttpSession;
+
+import javax.sql.DataSource;
+
+/**
+ * Guarda las sesiones HTTP en la base de datos con Spring Session, para que
+ * varias instancias detrás de un balanceador compartan las sesiones y estas
+ * sobrevivan a un despliegue.
+ *
+ * Solo se activa con {@code acuamont.sesiones.almacen=jdbc}; por defecto las
+ * sesiones quedan en la memoria del servidor, como siempre. La
+ * autoconfiguración de sesiones de Spring Boot está excluida en
+ * {@code application.properties} porque, al estar Spring Session JDBC en el
+ * classpath, la activaría siempre.
+ */
+@Configuration
+@ConditionalOnProperty(name = "acuamont.sesiones.almacen", havingValue = "jdbc")
+@EnableJdbcHttpSession
+public class SesionesJdbcConfig {
+
+    /**
+     * Crea las tablas de sesiones con el script de Spring Session para la base
+     * de datos en uso. Los scripts no usan {@code IF NOT EXISTS}; cuando las
+     * tablas ya existen el error se ignora.
+     *
+     * @param dataSource La fuente de datos de la aplicación.
+     * @return El inicializador de las tablas.
+     */
+    @Bean
+    public DataSourceScriptDatabaseInitializer inicializadorTablasSesiones(DataSource dataSource) {
+        DatabaseInitializationSettings ajustes = new DatabaseInitializationSettings();
+        ajustes.setSchemaLocations(new PlatformPlaceholderDatabaseDriverResolver()
+                .resolveAll(dataSource, "classpath:org/springframework/session/jdbc/schema-@@platform@@.sql"));
+        ajustes.setMode(DatabaseInitializationMode.ALWAYS);
+        ajustes.setContinueOnError(true);
+        return new DataSourceScriptDatabaseInitializer(dataSource, ajustes);
+    }
+}
@@ -1,12 +1,20 @@
 package com.example.acceso.config;
 
+import com.example.acceso.DTO.SesionUsuario;
+import com.example.acceso.service.Interfaces.AutorizacionService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
 import org.springframework.stereotype.Component;
 import org.springframework.lang.NonNull;
+import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.servlet.HandlerInterceptor;
 
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
 /**
  * Interceptor de sesiones para proteger las rutas privadas de la aplicación.
  *
@@ -16,16 +24,45 @@ import org.springframework.web.servlet.HandlerInterceptor;
  * Su propósito es verificar si existe una sesión de usuario válida. Si no
  * existe, la petición es redirigida a la página principal.
  *
+ * Además verifica que el perfil del usuario pueda usar la ruta pedida, con los
+ * permisos en memoria de {@link AutorizacionService}. Si no puede, las rutas
+ * {@code /api} responden 403 y las páginas redirigen al panel principal. El
+ * tiempo de cada decisión se registra en el timer
+ * {@code acuamont.autorizacion}, con la etiqueta {@code resultado}.
+ *
  * @see com.example.acceso.config.WebConfig (Donde se registra este interceptor)
  */
 @Component
 public class SessionInterceptor implements HandlerInterceptor {
 
+    private final AutorizacionService autorizacionService;
+    private final Timer tiempoPermitido;
+    private final Timer tiempoDenegado;
+
+    /**
+     * Constructor para la inyección de dependencias.
+     *
+     * @param autorizacionService El servicio que decide qué rutas puede usar cada perfil.
+     * @param meterRegistry       El registro de métricas de Micrometer.
+     */
+    public SessionInterceptor(AutorizacionService autorizacionService, MeterRegistry meterRegistry) {
+        this.autorizacionService = autorizacionService;
+        this.tiempoPermitido = Timer.builder("acuamont.autorizacion")
+                .description("Tiempo de la verificación de permisos por ruta")
+                .tag("resultado", "permitido")
+                .register(meterRegistry);
+        this.tiempoDenegado = Timer.builder("acuamont.autorizacion")
+                .description("Tiempo de la verificación de permisos por ruta")
+                .tag("resultado", "denegado")
+                .register(meterRegistry);
+    }
+
     /**
      * Intercepta la petición antes de que sea manejada por el controlador.
      *
      * Verifica la existencia de una sesión y si el atributo "usuarioLogueado"
-     * está presente en esa sesión.
+     * está presente en esa sesión, y luego que el perfil guardado en la sesión
+     * pueda usar la ruta.
      *
      * @param request La petición HTTP entrante.
      * @param response La respuesta HTTP (usada para redirigir si es necesario).
@@ -34,7 +71,8 @@ public class SessionInterceptor implements HandlerInterceptor {
      * hacia el controlador.
      * {@code false} si la sesión es inválida (nula o sin atributo),
      * en cuyo caso se redirige al usuario a "/PrincipalPage-web" y
-     * se detiene el procesamiento de la petición.
+     * se detiene el procesamiento de la petición, o si el perfil no puede
+     * usar la ruta.
      * @throws Exception Si ocurre un error durante el envío de la redirección.
      */
     @Override
@@ -44,12 +82,39 @@ public class SessionInterceptor implements HandlerInterceptor {
 
         HttpSession session = request.getSession(false);
 
-        if (session == null || session.getAttribute("usuarioLogueado") == null) {
+        SesionUsuario sesionUsuario = session == null ? null
+                : session.getAttribute("usuarioLogueado") instanceof SesionUsuario guardada ? guardada : null;
+        if (sesionUsuario == null || !sesionUsuario.vigente()) {
+            // Una sesión con otro formato (guardada antes de un despliegue) se descarta
+            if (session != null && session.getAttribute("usuarioLogueado") != null) {
+                session.invalidate();
+            }
             response.sendRedirect("/PrincipalPage-web");
 
             return false;
         }
 
-        return true;
+        // Los recursos estáticos solo piden sesión; los permisos son de los controladores
+        if (!(handler instanceof HandlerMethod)) {
+            return true;
+        }
+
+        String ruta = request.getServletPath();
+        long inicio = System.nanoTime();
+        boolean permitido = autorizacionService.permite(sesionUsuario.perfilId(), ruta);
+        (permitido ? tiempoPermitido : tiempoDenegado).record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        if (permitido) {
+            return true;
+        }
+
+        if (ruta.contains("/api/")) {
+            response.setStatus(HttpServletResponse.SC_FORBIDDEN);
+            response.setContentType("application/json");
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            response.getWriter().write("{\"success\":false,\"message\":\"No tiene permiso para realizar esta acción\"}");
+        } else {
+            response.sendRedirect("/");
+        }
+        return false;
     }
 }
\ No newline at end of file
@@ -0,0 +1,71 @@
+package com.example.acceso.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Protege los endpoints de métricas de {@code /actuator}.
+ *
+ * Los interceptores de sesión no se aplican a los endpoints de Actuator, así
+ * que este filtro exige la cabecera {@code Authorization: Bearer <token>} con
+ * el token configurado en {@code acuamont.metricas.token}, que usa el servidor
+ * de Prometheus. Sin token configurado, los endpoints responden 404. Solo
+ * {@code /actuator/health} queda abierto, para las verificaciones del
+ * proveedor de hosting.
+ *
+ * La ruta se compara ya decodificada, sin parámetros de matriz ({@code ;x=1})
+ * y sin segmentos {@code .} ni {@code ..}, igual que la ve Spring al elegir el
+ * endpoint; si no, {@code /actuator;x=1/prometheus} se saltaría el token.
+ */
+@Component
+public class TokenMetricasFilter extends OncePerRequestFilter {
+
+    private static final String PREFIJO = "/actuator";
+    private static final String SALUD = "/actuator/health";
+
+    private static final UrlPathHelper RUTAS = new UrlPathHelper();
+
+    private final byte[] token;
+
+    public TokenMetricasFilter(@Value("${acuamont.metricas.token:}") String token) {
+        this.token = token.isBlank() ? null : token.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        String ruta = StringUtils.cleanPath(RUTAS.getPathWithinApplication(request));
+        return !(ruta.equals(PREFIJO) || ruta.startsWith(PREFIJO + "/"))
+                || ruta.equals(SALUD) || ruta.startsWith(SALUD + "/");
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        if (token == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        String cabecera = request.getHeader("Authorization");
+        byte[] recibido = cabecera != null && cabecera.startsWith("Bearer ")
+                ? cabecera.substring(7).getBytes(StandardCharsets.UTF_8) : new byte[0];
+        // Comparación en tiempo constante, para no revelar el token por la demora
+        if (!MessageDigest.isEqual(token, recibido)) {
+            response.setHeader("WWW-Authenticate", "Bearer");
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+}
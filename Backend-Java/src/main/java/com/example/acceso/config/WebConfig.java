@@ -1,42 +1,86 @@
 package com.example.acceso.config;
 
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
 import org.springframework.lang.NonNull;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.ResourceChainRegistration;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.CssLinkResourceTransformer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.ResourceUrlEncodingFilter;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
+
+import java.time.Duration;
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
     private final SessionInterceptor sessionInterceptor;
+    private final RedesSocialesInterceptor redesSocialesInterceptor;
+    private final MenuInterceptor menuInterceptor;
+    private final EntityManagerFactory entityManagerFactory;
+    private final boolean cacheCadenaRecursos;
 
-    public WebConfig(SessionInterceptor sessionInterceptor) {
+    public WebConfig(SessionInterceptor sessionInterceptor, RedesSocialesInterceptor redesSocialesInterceptor,
+                     MenuInterceptor menuInterceptor,
+                     EntityManagerFactory entityManagerFactory,
+                     @Value("${spring.web.resources.chain.cache:true}") boolean cacheCadenaRecursos) {
         this.sessionInterceptor = sessionInterceptor;
+        this.redesSocialesInterceptor = redesSocialesInterceptor;
+        this.menuInterceptor = menuInterceptor;
+        this.entityManagerFactory = entityManagerFactory;
+        this.cacheCadenaRecursos = cacheCadenaRecursos;
     }
 
+    /**
+     * Los recursos estáticos se sirven con una huella de su contenido en la URL
+     * ({@code /js/main-<md5>.js}), así que pueden guardarse en caché un año: si
+     * el archivo cambia, cambia su URL. Si existe una versión precomprimida
+     * ({@code .br} o {@code .gz}) y el navegador la acepta, se sirve esa.
+     */
     @Override
     public void addResourceHandlers(@NonNull ResourceHandlerRegistry registry) {
-        registry.addResourceHandler("/css/**")
-                .addResourceLocations("classpath:/static/css/")
-                .setCachePeriod(0);
-
-        registry.addResourceHandler("/js/**")
-                .addResourceLocations("classpath:/static/js/")
-                .setCachePeriod(0);
+        registrarRecursos(registry, "/css/**", "classpath:/static/css/")
+                .addTransformer(new CssLinkResourceTransformer());
+        registrarRecursos(registry, "/js/**", "classpath:/static/js/");
+        registrarRecursos(registry, "/iconos/**", "classpath:/static/iconos/");
+        registrarRecursos(registry, "/Imagenes-Web/**", "classpath:/static/Imagenes-Web/");
+    }
 
-        registry.addResourceHandler("/iconos/**")
-                .addResourceLocations("classpath:/static/iconos/")
-                .setCachePeriod(0);
+    private ResourceChainRegistration registrarRecursos(ResourceHandlerRegistry registry, String ruta, String ubicacion) {
+        return registry.addResourceHandler(ruta)
+                .addResourceLocations(ubicacion)
+                .setCacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable())
+                .resourceChain(cacheCadenaRecursos)
+                .addResolver(new EncodedResourceResolver())
+                .addResolver(new VersionResourceResolver().addContentVersionStrategy("/**"));
+    }
 
-        registry.addResourceHandler("/Imagenes-Web/**")
-                .addResourceLocations("classpath:/static/Imagenes-Web/")
-                .setCachePeriod(0);
+    /**
+     * Reescribe las URL de recursos que generan las plantillas ({@code @{/js/main.js}})
+     * para que lleven la huella de su contenido.
+     */
+    @Bean
+    public ResourceUrlEncodingFilter resourceUrlEncodingFilter() {
+        return new ResourceUrlEncodingFilter();
     }
 
     @Override
     public void addInterceptors(@NonNull InterceptorRegistry registry) {
+        // Open-in-view, salvo donde se suben imágenes: ahí la conexión a la base
+        // de datos no debe quedar retenida mientras dura la subida
+        OpenEntityManagerInViewInterceptor openInView = new OpenEntityManagerInViewInterceptor();
+        openInView.setEntityManagerFactory(entityManagerFactory);
+        registry.addWebRequestInterceptor(openInView)
+                .excludePathPatterns("/productos/api/guardar");
+
         registry.addInterceptor(sessionInterceptor)
                 .addPathPatterns("/**")
                 .excludePathPatterns(
@@ -55,10 +99,17 @@ public class WebConfig implements WebMvcConfigurer {
                         "/Servicios-web",
                         "/Contacto-web",
                         "/Comentarios-web",
-                        "/productos/api/listar",
+                        "/productos/api/catalogo",
                         "/productos/api/categorias",
+                        "/productos/api/imagenes/**",
                         "/categorias/api/activas"
                 );
+
+        registry.addInterceptor(redesSocialesInterceptor)
+                .excludePathPatterns("/css/**", "/js/**", "/iconos/**", "/Imagenes-Web/**");
+
+        registry.addInterceptor(menuInterceptor)
+                .excludePathPatterns("/css/**", "/js/**", "/iconos/**", "/Imagenes-Web/**");
     }
 
     @Override
@@ -1,7 +1,12 @@
 package com.example.acceso.controller;
 
+import com.example.acceso.DTO.ClienteGrillaDTO;
+import com.example.acceso.DTO.DocumentoIdentidadDTO;
+import com.example.acceso.DTO.PaginaGrillaDTO;
+import com.example.acceso.DTO.SolicitudGrillaDTO;
 import com.example.acceso.model.Cliente;
 import com.example.acceso.service.Interfaces.ClienteService;
+import com.example.acceso.service.Interfaces.ConsultaDocumentoService;
 import jakarta.validation.Valid;
 import org.springframework.http.*;
 import org.springframework.stereotype.Controller;
@@ -10,8 +15,8 @@ import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * Controlador para gestionar las operaciones CRUD de los clientes.
@@ -25,14 +30,17 @@ import java.util.Map;
 public class ClienteController {
 
     private final ClienteService clienteService;
+    private final ConsultaDocumentoService consultaDocumentoService;
 
     /**
      * Constructor para la inyección de dependencias del servicio de clientes.
      *
-     * @param clienteService El servicio que maneja la lógica de negocio de los clientes.
+     * @param clienteService           El servicio que maneja la lógica de negocio de los clientes.
+     * @param consultaDocumentoService El servicio que obtiene el nombre asociado a un DNI o RUC.
      */
-    public ClienteController(ClienteService clienteService) {
+    public ClienteController(ClienteService clienteService, ConsultaDocumentoService consultaDocumentoService) {
         this.clienteService = clienteService;
+        this.consultaDocumentoService = consultaDocumentoService;
     }
 
     /**
@@ -43,23 +51,28 @@ public class ClienteController {
      */
     @GetMapping("/listar")
     public String listarClientes(Model model) {
-        List<Cliente> clientes = clienteService.listarClientes();
-        model.addAttribute("clientes", clientes);
         model.addAttribute("formCliente", new Cliente());
         return "clientes";
     }
 
     /**
-     * Endpoint de la API para obtener todos los clientes.
+     * Endpoint de la API para la grilla de clientes, paginada, filtrada y ordenada
+     * en el servidor. Responde en el formato que espera DataTables.
      *
-     * @return Un {@link ResponseEntity} con la lista de clientes en formato JSON.
+     * @param draw      El número de petición de DataTables, que se devuelve tal cual.
+     * @param solicitud La página, la búsqueda y el orden pedidos.
+     * @return Un {@link ResponseEntity} con los clientes de la página y los totales.
      */
-    @GetMapping("/api/listar")
+    @GetMapping("/api/grilla")
     @ResponseBody
-    public ResponseEntity<?> listarClientesApi() {
+    public ResponseEntity<?> grillaClientesApi(@RequestParam(defaultValue = "0") int draw, SolicitudGrillaDTO solicitud) {
+        PaginaGrillaDTO<ClienteGrillaDTO> pagina = clienteService.listarGrilla(solicitud);
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
-        response.put("data", clienteService.listarClientes());
+        response.put("draw", draw);
+        response.put("recordsTotal", pagina.total());
+        response.put("recordsFiltered", pagina.filtrados());
+        response.put("data", pagina.datos());
         return ResponseEntity.ok(response);
     }
 
@@ -201,4 +214,38 @@ public class ClienteController {
                     return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
                 });
     }
+
+    /**
+     * Endpoint de la API para obtener el nombre asociado a un DNI o RUC. Primero
+     * busca en los clientes registrados y en las consultas anteriores; solo si no
+     * lo encuentra consulta la API externa.
+     *
+     * @param documento El DNI (8 dígitos) o RUC (11 dígitos).
+     * @return Un {@link ResponseEntity} con el nombre, el ID del cliente si ya
+     *         está registrado, y el origen del dato.
+     */
+    @GetMapping("/api/buscar-documento/{documento}")
+    @ResponseBody
+    public ResponseEntity<?> buscarDocumento(@PathVariable String documento) {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            Optional<DocumentoIdentidadDTO> encontrado = consultaDocumentoService.buscar(documento);
+            if (encontrado.isEmpty()) {
+                response.put("success", false);
+                response.put("message", "No se encontró información para el documento ingresado");
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+            }
+            response.put("success", true);
+            response.put("data", encontrado.get());
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", "Error al consultar el documento: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_GATEWAY).body(response);
+        }
+    }
 }
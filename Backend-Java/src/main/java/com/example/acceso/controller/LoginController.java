@@ -1,9 +1,8 @@
 package com.example.acceso.controller;
 
-import com.example.acceso.model.Opcion;
-import com.example.acceso.model.Usuario;
-import com.example.acceso.service.Interfaces.ServicioAutenticacionDosPasos;
-import com.example.acceso.service.Interfaces.UsuarioService;
+import com.example.acceso.DTO.SesionUsuario;
+import com.example.acceso.service.Interfaces.AutenticacionService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,9 +10,6 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
-import java.util.Comparator;
-import java.util.Optional;
-
 /**
  * Controlador para gestionar el proceso de autenticación de usuarios.
  *
@@ -23,20 +19,16 @@ import java.util.Optional;
  */
 @Controller
 public class LoginController {
-    private final UsuarioService usuarioService;
-    private final ServicioAutenticacionDosPasos servicio2FA;
+    private final AutenticacionService autenticacionService;
 
     /**
      * Constructor para la inyección de dependencias de los servicios necesarios.
      *
-     * @param usuarioService El servicio para gestionar la lógica de negocio de los
-     *                       usuarios.
-     * @param servicio2FA    El servicio para manejar la lógica de la autenticación
-     *                       de dos factores.
+     * @param autenticacionService El servicio que valida las credenciales, el token
+     *                             de 2FA y limita los intentos.
      */
-    public LoginController(UsuarioService usuarioService, ServicioAutenticacionDosPasos servicio2FA) {
-        this.usuarioService = usuarioService;
-        this.servicio2FA = servicio2FA;
+    public LoginController(AutenticacionService autenticacionService) {
+        this.autenticacionService = autenticacionService;
     }
 
     /**
@@ -75,6 +67,8 @@ public class LoginController {
      *                           formulario.
      * @param session            La sesión HTTP para almacenar los datos del usuario
      *                           logueado.
+     * @param request            La petición, de la que se toma la IP para limitar
+     *                           los intentos.
      * @param redirectAttributes Atributos para pasar mensajes (errores) a través de
      *                           la redirección.
      * @return Una cadena de redirección a la raíz ("/") en caso de éxito, o a
@@ -82,53 +76,22 @@ public class LoginController {
      */
     @PostMapping("/login")
     public String procesarLogin(@RequestParam String usuario, @RequestParam String clave, @RequestParam String token,
-            HttpSession session,
+            HttpSession session, HttpServletRequest request,
             RedirectAttributes redirectAttributes) {
 
-        Optional<Usuario> usuarioOpt = usuarioService.findByUsuario(usuario);
-
-        if (usuarioOpt.isEmpty()) {
-            redirectAttributes.addFlashAttribute("error", "Usuario no encontrado.");
-            return "redirect:/login";
-        }
-
-        Usuario usuarioEncontrado = usuarioOpt.get();
-
-        // Verifica que el usuario esté activo.
-        if (usuarioEncontrado.getEstado() != 1) { // 1 = Activo
-            redirectAttributes.addFlashAttribute("error", "Este usuario se encuentra inactivo.");
+        SesionUsuario sesionUsuario;
+        try {
+            sesionUsuario = autenticacionService.autenticar(usuario, clave, token, request.getRemoteAddr());
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            redirectAttributes.addFlashAttribute("error", e.getMessage());
             return "redirect:/login";
         }
 
-        // Verifica la contraseña.
-        if (usuarioService.verificarContrasena(clave, usuarioEncontrado.getClave())) {
+        // Autenticación exitosa: guarda en la sesión solo el ID, el nombre y el
+        // perfil; el menú y los permisos se toman del modelo en memoria.
+        session.setAttribute("usuarioLogueado", sesionUsuario);
 
-            // Si el usuario tiene 2FA activado, verifica el token.
-            if (usuarioEncontrado.isUsa2FA()) {
-                if (token == null || token.trim().isEmpty()) {
-                    redirectAttributes.addFlashAttribute("error", "Se requiere el token de seguridad.");
-                    return "redirect:/login";
-                }
-                if (!servicio2FA.esCodigoValido(usuarioEncontrado.getSecreto2FA(), token)) {
-                    redirectAttributes.addFlashAttribute("error", "El token de seguridad es incorrecto.");
-                    return "redirect:/login";
-                }
-            }
-
-            // Autenticación exitosa: guarda el usuario en la sesión.
-            session.setAttribute("usuarioLogueado", usuarioEncontrado);
-
-            // Carga las opciones del menú del perfil del usuario y las guarda en la sesión.
-            var opcionesMenu = usuarioEncontrado.getPerfil().getOpciones().stream()
-                    .sorted(Comparator.comparing(Opcion::getId))
-                    .toList();
-            session.setAttribute("menuOpciones", opcionesMenu);
-
-            return "redirect:/";
-        } else {
-            redirectAttributes.addFlashAttribute("error", "Contraseña incorrecta.");
-            return "redirect:/login";
-        }
+        return "redirect:/";
     }
 
     /**
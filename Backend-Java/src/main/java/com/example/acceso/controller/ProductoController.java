@@ -1,16 +1,27 @@
 package com.example.acceso.controller;
 
+import com.example.acceso.DTO.CatalogoPublicoDTO;
+import com.example.acceso.DTO.PaginaGrillaDTO;
+import com.example.acceso.DTO.ProductoBusquedaDTO;
+import com.example.acceso.DTO.ProductoCatalogoDTO;
+import com.example.acceso.DTO.SolicitudGrillaDTO;
 import com.example.acceso.model.Categoria;
 import com.example.acceso.model.Producto;
+import com.example.acceso.service.Interfaces.BusquedaProductosService;
+import com.example.acceso.service.Interfaces.CatalogoPublicoService;
 import com.example.acceso.service.Interfaces.CategoriaService;
 import com.example.acceso.service.Interfaces.ProductoService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -26,6 +37,9 @@ import java.util.Map;
 public class ProductoController {
     private final ProductoService productoService;
     private final CategoriaService categoriaService;
+    private final CatalogoPublicoService catalogoPublicoService;
+    private final BusquedaProductosService busquedaProductosService;
+    private final CacheControl cacheCatalogo;
 
     /**
      * Constructor para la inyección de dependencias de los servicios de producto y
@@ -35,10 +49,21 @@ public class ProductoController {
      *                         productos.
      * @param categoriaService El servicio que maneja la lógica de negocio de las
      *                         categorías.
+     * @param catalogoPublicoService El servicio que arma el catálogo público.
+     * @param busquedaProductosService El buscador de productos de la pantalla de ventas.
+     * @param duracionCacheCatalogo  Cuánto tiempo pueden reutilizar el catálogo
+     *                               público los navegadores y proxies sin
+     *                               volver a validarlo.
      */
-    public ProductoController(ProductoService productoService, CategoriaService categoriaService) {
+    public ProductoController(ProductoService productoService, CategoriaService categoriaService,
+                              CatalogoPublicoService catalogoPublicoService,
+                              BusquedaProductosService busquedaProductosService,
+                              @Value("${acuamont.catalogo.cache-http:60s}") Duration duracionCacheCatalogo) {
         this.productoService = productoService;
         this.categoriaService = categoriaService;
+        this.catalogoPublicoService = catalogoPublicoService;
+        this.busquedaProductosService = busquedaProductosService;
+        this.cacheCatalogo = CacheControl.maxAge(duracionCacheCatalogo).cachePublic();
     }
 
     /**
@@ -49,27 +74,88 @@ public class ProductoController {
      */
     @GetMapping("/listar")
     public String listarProductos(Model model) {
-        List<Producto> productos = productoService.listarProductos();
-        model.addAttribute("productos", productos);
         model.addAttribute("formProducto", new Producto());
         return "productos";
     }
 
     /**
-     * Endpoint de la API para obtener todos los productos.
+     * Endpoint de la API para la grilla de productos, paginada, filtrada y ordenada
+     * en el servidor. Responde en el formato que espera DataTables.
      *
-     * @return Un {@link ResponseEntity} con la lista de productos en formato JSON.
+     * @param draw      El número de petición de DataTables, que se devuelve tal cual.
+     * @param solicitud La página, la búsqueda y el orden pedidos.
+     * @return Un {@link ResponseEntity} con los productos de la página y los totales.
      */
-    @GetMapping("/api/listar")
+    @GetMapping("/api/grilla")
     @ResponseBody
-    public ResponseEntity<?> listarProductosApi() {
+    public ResponseEntity<?> grillaProductosApi(@RequestParam(defaultValue = "0") int draw, SolicitudGrillaDTO solicitud) {
+        PaginaGrillaDTO<ProductoCatalogoDTO> pagina = productoService.listarGrilla(solicitud);
         Map<String, Object> response = new HashMap<>();
-        List<Producto> productos = productoService.listarProductos();
+        response.put("success", true);
+        response.put("draw", draw);
+        response.put("recordsTotal", pagina.total());
+        response.put("recordsFiltered", pagina.filtrados());
+        response.put("data", pagina.datos());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Endpoint de la API para el buscador de productos de la pantalla de ventas.
+     * Busca en el índice en memoria por el comienzo de las palabras del nombre,
+     * la descripción o la categoría, sin distinguir tildes ni mayúsculas.
+     *
+     * @param q      El texto escrito por el usuario.
+     * @param limite Cuántos productos devolver como máximo.
+     * @return Un {@link ResponseEntity} con los productos sugeridos y su stock actual.
+     */
+    @GetMapping("/api/buscar")
+    @ResponseBody
+    public ResponseEntity<?> buscarProductosApi(@RequestParam(defaultValue = "") String q,
+                                                @RequestParam(defaultValue = "20") int limite) {
+        Map<String, Object> response = new HashMap<>();
+        List<ProductoBusquedaDTO> productos = busquedaProductosService.buscar(q, limite);
         response.put("success", true);
         response.put("data", productos);
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Endpoint público del catálogo de productos para las páginas web: solo los
+     * productos activos, sin datos internos, y las categorías.
+     *
+     * La respuesta lleva un ETag fuerte y permite que navegadores y proxies la
+     * guarden por un tiempo. Si el navegador envía {@code If-None-Match} con el
+     * ETag vigente, se responde 304 sin cuerpo.
+     *
+     * @return Un {@link ResponseEntity} con el catálogo en formato JSON.
+     */
+    @GetMapping("/api/catalogo")
+    @ResponseBody
+    public ResponseEntity<byte[]> catalogoPublico() {
+        CatalogoPublicoDTO catalogo = catalogoPublicoService.obtenerCatalogo();
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(catalogo.etag())
+                .cacheControl(cacheCatalogo)
+                .body(catalogo.contenido());
+    }
+
+    /**
+     * Endpoint de la API para obtener las imágenes de un producto, empezando por
+     * la principal.
+     *
+     * @param id El ID del producto.
+     * @return Un {@link ResponseEntity} con las URL de las imágenes.
+     */
+    @GetMapping("/api/imagenes/{id}")
+    @ResponseBody
+    public ResponseEntity<?> listarImagenesProducto(@PathVariable Long id) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("data", productoService.listarImagenes(id));
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Endpoint de la API para obtener todas las categorías activas.
      *
@@ -172,6 +258,7 @@ public class ProductoController {
                 Map<String, Object> response = new HashMap<>();
                 response.put("success", true);
                 response.put("data", producto);
+                response.put("imagenes", productoService.listarImagenes(id));
                 return ResponseEntity.ok(response);
             }).orElse(ResponseEntity.notFound().build());
         } catch (Exception e) {
@@ -1,5 +1,8 @@
 package com.example.acceso.controller;
 
+import com.example.acceso.DTO.PaginaGrillaDTO;
+import com.example.acceso.DTO.ProveedorGrillaDTO;
+import com.example.acceso.DTO.SolicitudGrillaDTO;
 import com.example.acceso.model.Proveedor;
 import com.example.acceso.service.Interfaces.ProveedorService;
 import jakarta.validation.Valid;
@@ -10,7 +13,6 @@ import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 @Controller
@@ -25,18 +27,20 @@ public class ProveedorController {
     
     @GetMapping("/listar")
     public String listarProveedores(Model model) {
-        List<Proveedor> proveedores = proveedorService.listarProveedores();
-        model.addAttribute("proveedores", proveedores);
         model.addAttribute("formProveedor", new Proveedor());
         return "proveedores";
     }
     
-    @GetMapping("/api/listar")
+    @GetMapping("/api/grilla")
     @ResponseBody
-    public ResponseEntity<?> listarProveedoresApi() {
+    public ResponseEntity<?> grillaProveedoresApi(@RequestParam(defaultValue = "0") int draw, SolicitudGrillaDTO solicitud) {
+        PaginaGrillaDTO<ProveedorGrillaDTO> pagina = proveedorService.listarGrilla(solicitud);
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
-        response.put("data", proveedorService.listarProveedores());
+        response.put("draw", draw);
+        response.put("recordsTotal", pagina.total());
+        response.put("recordsFiltered", pagina.filtrados());
+        response.put("data", pagina.datos());
         return ResponseEntity.ok(response);
     }
 
@@ -1,16 +1,27 @@
 package com.example.acceso.controller;
 
+import com.example.acceso.DTO.DiferenciaResumenDTO;
 import com.example.acceso.DTO.ReporteUtilidadProductoDTO;
 import com.example.acceso.DTO.ReporteUtilidadVentaDTO;
 import com.example.acceso.DTO.ReporteUttilidadUsuarioDTO;
+import com.example.acceso.service.Interfaces.ExportacionReportesService;
 import com.example.acceso.service.Interfaces.ReportesService;
+import com.example.acceso.service.Interfaces.ResumenVentasService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -23,9 +34,16 @@ import java.util.Map;
 public class ReportesController {
 
     private final ReportesService reportesService;
+    private final ResumenVentasService resumenVentasService;
+    private final ExportacionReportesService exportacionReportesService;
+    private final ObjectMapper objectMapper;
 
-    public ReportesController(ReportesService reportesService) {
+    public ReportesController(ReportesService reportesService, ResumenVentasService resumenVentasService,
+                              ExportacionReportesService exportacionReportesService, ObjectMapper objectMapper) {
         this.reportesService = reportesService;
+        this.resumenVentasService = resumenVentasService;
+        this.exportacionReportesService = exportacionReportesService;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping("/listar")
@@ -138,4 +156,97 @@ public class ReportesController {
         }
     }
 
+    /**
+     * Descarga un reporte de utilidad en Excel o CSV. El archivo se escribe
+     * directamente en la respuesta mientras se leen las filas, sin armar el
+     * reporte completo en memoria. Sin fechas, exporta todo el histórico.
+     */
+    @GetMapping("/api/{reporte}/export.{formato}")
+    public ResponseEntity<StreamingResponseBody> exportarReporte(
+            @PathVariable String reporte,
+            @PathVariable String formato,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fin
+    ) {
+        // El tipo declarado tiene que ser StreamingResponseBody para que Spring lo
+        // escriba en la respuesta, así que el error también se escribe como flujo
+        try {
+            exportacionReportesService.validarExportacion(reporte, formato, inicio, fin);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(salida -> objectMapper.writeValue(salida, response));
+        }
+
+        String archivo = inicio != null
+                ? "reporte-" + reporte + "-" + inicio + "-" + fin + "." + formato
+                : "reporte-" + reporte + "." + formato;
+        MediaType tipo = formato.equals("xlsx")
+                ? MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet")
+                : new MediaType("text", "csv", StandardCharsets.UTF_8);
+        StreamingResponseBody cuerpo = salida -> exportacionReportesService.exportar(reporte, formato, inicio, fin, salida);
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(archivo).build().toString())
+                .contentType(tipo)
+                .body(cuerpo);
+    }
+
+    /**
+     * Reconstruye los resúmenes diarios de ventas desde las ventas registradas.
+     * Sin fechas, reconstruye todo el histórico.
+     */
+    @PostMapping("/api/resumenes/reconstruir")
+    public ResponseEntity<?> reconstruirResumenes(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta
+    ) {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            int filas = resumenVentasService.reconstruir(desde, hasta);
+            response.put("success", true);
+            response.put("data", filas);
+            response.put("message", "Resúmenes reconstruidos: " + filas + " filas.");
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", "Error al reconstruir los resúmenes: " + e.getMessage());
+            return ResponseEntity.internalServerError().body(response);
+        }
+    }
+
+    /**
+     * Compara los resúmenes diarios de ventas con las ventas registradas y
+     * devuelve las diferencias encontradas.
+     */
+    @GetMapping("/api/resumenes/verificar")
+    public ResponseEntity<?> verificarResumenes(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta
+    ) {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            List<DiferenciaResumenDTO> diferencias = resumenVentasService.verificar(desde, hasta);
+            response.put("success", true);
+            response.put("data", diferencias);
+            response.put("consistente", diferencias.isEmpty());
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", "Error al verificar los resúmenes: " + e.getMessage());
+            return ResponseEntity.internalServerError().body(response);
+        }
+    }
+
 }
@@ -1,5 +1,9 @@
 package com.example.acceso.controller;
 
+import com.example.acceso.DTO.PaginaGrillaDTO;
+import com.example.acceso.DTO.SesionUsuario;
+import com.example.acceso.DTO.SolicitudGrillaDTO;
+import com.example.acceso.DTO.UsuarioGrillaDTO;
 import com.example.acceso.model.Usuario;
 import com.example.acceso.service.Interfaces.PerfilService;
 import com.example.acceso.service.Interfaces.ServicioAutenticacionDosPasos;
@@ -14,7 +18,6 @@ import org.springframework.http.HttpStatus;
 
 import jakarta.validation.Valid;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -56,44 +59,48 @@ public class UsuarioController {
      */
     @GetMapping("/listar")
     public String listarUsuarios(Model model) {
-        List<Usuario> usuarios = usuarioService.listarUsuarios();
-        model.addAttribute("usuarios", usuarios);
         model.addAttribute("formUsuario", new Usuario());
         return "usuarios";
     }
 
     /**
-     * Endpoint de la API para obtener todos los usuarios (excluyendo eliminados).
+     * Endpoint de la API para la grilla de usuarios, paginada, filtrada y ordenada
+     * en el servidor. Responde en el formato que espera DataTables.
      *
-     * @return Un {@link ResponseEntity} con la lista de usuarios en formato JSON.
+     * @param draw      El número de petición de DataTables, que se devuelve tal cual.
+     * @param solicitud La página, la búsqueda y el orden pedidos.
+     * @return Un {@link ResponseEntity} con los usuarios de la página y los totales.
      */
-    @GetMapping("/api/listar")
+    @GetMapping("/api/grilla")
     @ResponseBody
-    public ResponseEntity<?> listarUsuariosApi() {
+    public ResponseEntity<?> grillaUsuariosApi(@RequestParam(defaultValue = "0") int draw, SolicitudGrillaDTO solicitud) {
+        PaginaGrillaDTO<UsuarioGrillaDTO> pagina = usuarioService.listarGrilla(solicitud);
         Map<String, Object> response = new HashMap<>();
-        List<Usuario> usuarios = usuarioService.listarUsuarios();
         response.put("success", true);
-        response.put("data", usuarios);
+        response.put("draw", draw);
+        response.put("recordsTotal", pagina.total());
+        response.put("recordsFiltered", pagina.filtrados());
+        response.put("data", pagina.datos());
         return ResponseEntity.ok(response);
     }
 
     /**
-     * Endpoint de la API para obtener la lista de usuarios y el ID del usuario actualmente logueado.
-     * Útil para identificar al usuario actual en las listas del frontend.
+     * Endpoint de la API para obtener el ID del usuario actualmente logueado y el
+     * de su perfil. Útil para identificar al usuario actual en las listas del
+     * frontend.
      *
      * @param session La sesión HTTP actual para obtener el usuario logueado.
-     * @return Un {@link ResponseEntity} con la lista de usuarios y el ID del usuario actual.
+     * @return Un {@link ResponseEntity} con el ID del usuario actual y de su perfil.
      */
     @GetMapping("/api/usuarioLogueado")
     @ResponseBody
     public ResponseEntity<?> usuarioLogueado(HttpSession session) {
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
-        response.put("data", usuarioService.listarUsuarios());
 
-        Usuario usuarioLogueado = (Usuario) session.getAttribute("usuarioLogueado");
-        if (usuarioLogueado != null) {
-            response.put("usuarioActual", usuarioLogueado.getId());
+        if (session.getAttribute("usuarioLogueado") instanceof SesionUsuario usuarioLogueado) {
+            response.put("usuarioActual", usuarioLogueado.id());
+            response.put("perfilActual", usuarioLogueado.perfilId());
         }
 
         return ResponseEntity.ok(response);
@@ -279,7 +286,7 @@ public class UsuarioController {
         String codigo = payload.get("codigo");
         String secreto = payload.get("secreto"); // El secreto se genera en el paso anterior
 
-        if (!servicio2FA.esCodigoValido(secreto, codigo)) {
+        if (!servicio2FA.esCodigoValido(id, secreto, codigo)) {
             response.put("success", false);
             response.put("message", "El código de verificación es incorrecto.");
             return ResponseEntity.badRequest().body(response);
@@ -1,15 +1,20 @@
 package com.example.acceso.controller;
 
+import com.example.acceso.DTO.EstadoCorreoDTO;
+import com.example.acceso.DTO.FiltroVentasDTO;
+import com.example.acceso.DTO.PaginaVentasDTO;
 import com.example.acceso.DTO.VentaDTO;
 import com.example.acceso.model.Cuota;
 import com.example.acceso.model.Pago;
 import com.example.acceso.model.Venta;
+import com.example.acceso.service.Interfaces.EnvioCorreosService;
 import com.example.acceso.service.Interfaces.FormaPagoService;
 import com.example.acceso.service.Interfaces.GenerarBoletaService;
 import com.example.acceso.service.Interfaces.SerieComprobanteService;
 import com.example.acceso.service.Interfaces.VentaService;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
@@ -17,6 +22,7 @@ import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 
 import java.io.OutputStream;
+import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -37,6 +43,7 @@ public class VentaController {
     private final VentaService ventaService;
     private final FormaPagoService formaPagoService;
     private final SerieComprobanteService serieComprobanteService;
+    private final EnvioCorreosService envioCorreosService;
 
     /**
      * Constructor para la inyección de dependencias de los servicios necesarios.
@@ -46,42 +53,71 @@ public class VentaController {
      * @param formaPagoService        Servicio para obtener las formas de pago.
      * @param serieComprobanteService Servicio para obtener las series de
      *                                comprobantes.
+     * @param envioCorreosService     Servicio de la bandeja de salida de
+     *                                correos.
      */
     public VentaController(VentaService ventaService, FormaPagoService formaPagoService,
-                           SerieComprobanteService serieComprobanteService,GenerarBoletaService generarBoletaService) {
+                           SerieComprobanteService serieComprobanteService,GenerarBoletaService generarBoletaService,
+                           EnvioCorreosService envioCorreosService) {
         this.generarBoletaService = generarBoletaService;
         this.ventaService = ventaService;
         this.formaPagoService = formaPagoService;
         this.serieComprobanteService = serieComprobanteService;
+        this.envioCorreosService = envioCorreosService;
     }
 
     /**
-     * Muestra la página de gestión de ventas.
+     * Muestra la página de gestión de ventas. Las ventas se cargan desde la vista
+     * por páginas con {@code /ventas/api/listar}.
      *
      * @param model El modelo para pasar datos a la vista.
      * @return El nombre de la vista "ventas".
      */
     @GetMapping("/listar")
     public String listarVentas(Model model) {
-        List<Venta> ventas = ventaService.listarVentas();
-        model.addAttribute("ventas", ventas);
         model.addAttribute("formVenta", new Venta());
         return "ventas";
     }
 
     /**
-     * Endpoint de la API para obtener todas las ventas.
+     * Endpoint de la API para obtener una página del listado de ventas.
+     * <p>Cada venta se devuelve como un resumen plano, sin detalles ni cuotas. Para
+     * pedir la página siguiente se envía el {@code siguienteCursor} de la
+     * respuesta; cuando es {@code null} no hay más ventas.</p>
      *
-     * @return Un {@link ResponseEntity} con la lista de ventas en formato JSON.
+     * @param cursor    El cursor de la página a obtener (opcional).
+     * @param tamano    Cantidad de ventas por página (por defecto 25, máximo 100).
+     * @param desde     Fecha inicial, inclusive (opcional, formato yyyy-MM-dd).
+     * @param hasta     Fecha final, inclusive (opcional, formato yyyy-MM-dd).
+     * @param estado    Estado de las ventas (opcional; si no se indica se
+     *                  excluyen las anuladas).
+     * @param clienteId ID del cliente (opcional).
+     * @param serieId   ID de la serie de comprobante (opcional).
+     * @return Un {@link ResponseEntity} con la página de ventas y el cursor de la
+     *         página siguiente.
      */
     @GetMapping("/api/listar")
     @ResponseBody
-    public ResponseEntity<?> listarVentasApi() {
+    public ResponseEntity<?> listarVentasApi(@RequestParam(required = false) String cursor,
+                                             @RequestParam(defaultValue = "25") int tamano,
+                                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+                                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta,
+                                             @RequestParam(required = false) Integer estado,
+                                             @RequestParam(required = false) Long clienteId,
+                                             @RequestParam(required = false) Long serieId) {
         Map<String, Object> response = new HashMap<>();
-        List<Venta> ventas = ventaService.listarVentas();
-        response.put("success", true);
-        response.put("data", ventas);
-        return ResponseEntity.ok(response);
+        try {
+            FiltroVentasDTO filtro = new FiltroVentasDTO(desde, hasta, estado, clienteId, serieId);
+            PaginaVentasDTO pagina = ventaService.listarVentasPaginadas(filtro, cursor, tamano);
+            response.put("success", true);
+            response.put("data", pagina.ventas());
+            response.put("siguienteCursor", pagina.siguienteCursor());
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
     }
 
     /**
@@ -250,15 +286,23 @@ public class VentaController {
         }
     }
 
+    /**
+     * Deja la boleta de una venta en la bandeja de salida de correos y responde
+     * de inmediato con 202; el envío ocurre en segundo plano.
+     *
+     * @param ventaid El ID de la venta.
+     * @return Un {@link ResponseEntity} con el estado del correo encolado.
+     */
     @GetMapping("/api/envio-correo/{ventaid}")
     public ResponseEntity<?> enviarBoletaPorCorreo(@PathVariable Long ventaid) {
         Map<String, Object> response = new HashMap<>();
 
         try {
-            String correoEnviado = generarBoletaService.enviarBoletaPorCorreo(ventaid);
+            EstadoCorreoDTO correo = generarBoletaService.enviarBoletaPorCorreo(ventaid);
             response.put("success", true);
-            response.put("message", "Boleta enviada exitosamente a: " + correoEnviado);
-            return ResponseEntity.ok(response);
+            response.put("data", correo);
+            response.put("message", "La boleta se enviará en breve a: " + correo.destinatario());
+            return ResponseEntity.accepted().body(response);
 
         } catch (Exception e) {
             e.printStackTrace();
@@ -268,4 +312,26 @@ public class VentaController {
         }
     }
 
+    /**
+     * Consulta el estado de un correo de la bandeja de salida.
+     *
+     * @param correoId El ID del correo devuelto al encolarlo.
+     * @return Un {@link ResponseEntity} con el estado del correo.
+     */
+    @GetMapping("/api/envio-correo/estado/{correoId}")
+    public ResponseEntity<?> obtenerEstadoCorreo(@PathVariable Long correoId) {
+        Map<String, Object> response = new HashMap<>();
+
+        try {
+            response.put("success", true);
+            response.put("data", envioCorreosService.obtenerEstado(correoId));
+            return ResponseEntity.ok(response);
+
+        } catch (RuntimeException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        }
+    }
+
 }
@@ -8,7 +8,11 @@ import jakarta.validation.constraints.Pattern;
 
 
 @Entity
-@Table(name = "clientes")
+@Table(name = "clientes", indexes = {
+        @Index(name = "idx_clientes_estado", columnList = "estado"),
+        @Index(name = "idx_clientes_nombre", columnList = "nombre"),
+        @Index(name = "idx_clientes_documento", columnList = "documento")
+})
 public class Cliente {
 
     @Id
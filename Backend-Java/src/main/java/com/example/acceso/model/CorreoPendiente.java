@@ -0,0 +1,162 @@
+package com.example.acceso.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Correo en la bandeja de salida, pendiente de enviarse o ya procesado.
+ *
+ * Los correos se guardan con el contenido ya generado y un proceso en segundo
+ * plano los envía por lotes; así la petición que los pide no espera al servidor
+ * SMTP. Mientras un correo se envía, {@code proximoIntento} marca hasta cuándo
+ * queda reservado: si la aplicación se detiene a mitad del envío, al vencer
+ * vuelve a quedar pendiente.
+ */
+@Entity
+@Table(name = "correos_pendientes", indexes = {
+        @Index(name = "idx_correos_pendientes_estado_intento", columnList = "estado, proximo_intento")
+})
+public class CorreoPendiente {
+
+    public static final int PENDIENTE = 0;
+    public static final int ENVIADO = 1;
+    public static final int FALLIDO = 2;
+    public static final int ENVIANDO = 3;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** La venta cuya boleta se envía. */
+    @Column(name = "id_venta")
+    private Long ventaId;
+
+    @Column(nullable = false)
+    private String destinatario;
+
+    @Column(nullable = false)
+    private String asunto;
+
+    @Lob
+    @Column(nullable = false, columnDefinition = "LONGTEXT")
+    private String cuerpo;
+
+    @Column(nullable = false)
+    private Integer estado = PENDIENTE; // 0 = Pendiente, 1 = Enviado, 2 = Fallido, 3 = Enviando
+
+    @Column(nullable = false)
+    private Integer intentos = 0;
+
+    @Column(name = "proximo_intento", nullable = false)
+    private LocalDateTime proximoIntento;
+
+    @Column(name = "ultimo_error", length = 1000)
+    private String ultimoError;
+
+    @Column(name = "fecha_creacion", nullable = false)
+    private LocalDateTime fechaCreacion;
+
+    @Column(name = "fecha_envio")
+    private LocalDateTime fechaEnvio;
+
+    public CorreoPendiente() {
+    }
+
+    public CorreoPendiente(Long ventaId, String destinatario, String asunto, String cuerpo) {
+        this.ventaId = ventaId;
+        this.destinatario = destinatario;
+        this.asunto = asunto;
+        this.cuerpo = cuerpo;
+        this.fechaCreacion = LocalDateTime.now();
+        this.proximoIntento = this.fechaCreacion;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getVentaId() {
+        return ventaId;
+    }
+
+    public void setVentaId(Long ventaId) {
+        this.ventaId = ventaId;
+    }
+
+    public String getDestinatario() {
+        return destinatario;
+    }
+
+    public void setDestinatario(String destinatario) {
+        this.destinatario = destinatario;
+    }
+
+    public String getAsunto() {
+        return asunto;
+    }
+
+    public void setAsunto(String asunto) {
+        this.asunto = asunto;
+    }
+
+    public String getCuerpo() {
+        return cuerpo;
+    }
+
+    public void setCuerpo(String cuerpo) {
+        this.cuerpo = cuerpo;
+    }
+
+    public Integer getEstado() {
+        return estado;
+    }
+
+    public void setEstado(Integer estado) {
+        this.estado = estado;
+    }
+
+    public Integer getIntentos() {
+        return intentos;
+    }
+
+    public void setIntentos(Integer intentos) {
+        this.intentos = intentos;
+    }
+
+    public LocalDateTime getProximoIntento() {
+        return proximoIntento;
+    }
+
+    public void setProximoIntento(LocalDateTime proximoIntento) {
+        this.proximoIntento = proximoIntento;
+    }
+
+    public String getUltimoError() {
+        return ultimoError;
+    }
+
+    public void setUltimoError(String ultimoError) {
+        this.ultimoError = ultimoError;
+    }
+
+    public LocalDateTime getFechaCreacion() {
+        return fechaCreacion;
+    }
+
+    public void setFechaCreacion(LocalDateTime fechaCreacion) {
+        this.fechaCreacion = fechaCreacion;
+    }
+
+    public LocalDateTime getFechaEnvio() {
+        return fechaEnvio;
+    }
+
+    public void setFechaEnvio(LocalDateTime fechaEnvio) {
+        this.fechaEnvio = fechaEnvio;
+    }
+}
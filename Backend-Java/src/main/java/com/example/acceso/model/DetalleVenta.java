@@ -6,7 +6,11 @@ import jakarta.persistence.*;
 import java.math.BigDecimal;
 
 @Entity
-@Table(name = "detalle_venta")
+@Table(name = "detalle_venta", indexes = {
+        @Index(name = "idx_detalle_venta_venta_producto",
+                columnList = "id_venta, id_producto, cantidad, subtotal, costo_unitario, utilidad"),
+        @Index(name = "idx_detalle_venta_producto_venta", columnList = "id_producto, id_venta, cantidad")
+})
 public class DetalleVenta {
 
     @Id
@@ -31,6 +35,18 @@ public class DetalleVenta {
     @Column(nullable = false, precision = 10, scale = 2)
     private BigDecimal subtotal;
 
+    /**
+     * Precio de compra del producto al momento de la venta. Queda fijo aunque el
+     * producto cambie de precio después, para que la utilidad histórica no cambie.
+     * Las líneas anteriores a esta columna se completan al iniciar la aplicación.
+     */
+    @Column(name = "costo_unitario", precision = 10, scale = 2)
+    private BigDecimal costoUnitario;
+
+    /** Utilidad de la línea: {@code subtotal - costoUnitario * cantidad}. */
+    @Column(precision = 10, scale = 2)
+    private BigDecimal utilidad;
+
     public DetalleVenta() {
     }
 
@@ -90,4 +106,20 @@ public class DetalleVenta {
         this.subtotal = subtotal;
     }
 
+    public BigDecimal getCostoUnitario() {
+        return costoUnitario;
+    }
+
+    public void setCostoUnitario(BigDecimal costoUnitario) {
+        this.costoUnitario = costoUnitario;
+    }
+
+    public BigDecimal getUtilidad() {
+        return utilidad;
+    }
+
+    public void setUtilidad(BigDecimal utilidad) {
+        this.utilidad = utilidad;
+    }
+
 }
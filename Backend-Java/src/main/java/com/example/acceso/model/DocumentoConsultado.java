@@ -0,0 +1,61 @@
+package com.example.acceso.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Resultado de una consulta de DNI o RUC a la API externa, guardado para no
+ * volver a pagar la misma consulta mientras siga vigente.
+ *
+ * Si la API no encontró el documento, {@code nombre} queda en nulo; ese
+ * resultado también se guarda, con una vigencia más corta.
+ */
+@Entity
+@Table(name = "documentos_consultados")
+public class DocumentoConsultado {
+
+    @Id
+    @Column(length = 11)
+    private String documento;
+
+    /** El nombre o la razón social; {@code null} si la API no encontró el documento. */
+    @Column(length = 255)
+    private String nombre;
+
+    @Column(name = "fecha_consulta", nullable = false)
+    private LocalDateTime fechaConsulta;
+
+    public DocumentoConsultado() {
+    }
+
+    public DocumentoConsultado(String documento, String nombre, LocalDateTime fechaConsulta) {
+        this.documento = documento;
+        this.nombre = nombre;
+        this.fechaConsulta = fechaConsulta;
+    }
+
+    public String getDocumento() {
+        return documento;
+    }
+
+    public void setDocumento(String documento) {
+        this.documento = documento;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public void setNombre(String nombre) {
+        this.nombre = nombre;
+    }
+
+    public LocalDateTime getFechaConsulta() {
+        return fechaConsulta;
+    }
+
+    public void setFechaConsulta(LocalDateTime fechaConsulta) {
+        this.fechaConsulta = fechaConsulta;
+    }
+}
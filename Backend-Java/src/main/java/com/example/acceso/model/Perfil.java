@@ -6,9 +6,11 @@ import java.util.HashSet;
 import java.util.Set;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 
 @Entity
 @Table(name = "perfiles")
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Perfil {
 
     @Id
@@ -24,9 +26,11 @@ public class Perfil {
     @Column(nullable = false)
     private int estado = 1;
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    // Las opciones solo se reciben en el JSON; el menú de cada perfil sale de PermisosService
+    @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(name = "perfil_opcion", joinColumns = @JoinColumn(name = "id_perfil"), inverseJoinColumns = @JoinColumn(name = "id_opcion"))
     @JsonIgnoreProperties("perfiles")
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private Set<Opcion> opciones = new HashSet<>();
 
     // Constructor por defecto
@@ -1,5 +1,6 @@
 package com.example.acceso.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
@@ -7,7 +8,10 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 
 @Entity
-@Table(name = "productos")
+@Table(name = "productos", indexes = {
+        @Index(name = "idx_productos_estado", columnList = "estado"),
+        @Index(name = "idx_productos_nombre", columnList = "nombre")
+})
 public class Producto {
 
     @Id
@@ -44,6 +48,11 @@ public class Producto {
     @Column(nullable = false)
     private Integer stockSeguridad;
 
+    /**
+     * Lista de URL en JSON, del esquema anterior a {@link ProductoImagen}. Solo
+     * se lee para migrar las imágenes a su tabla y luego se deja en nulo.
+     */
+    @JsonIgnore
     @Column(columnDefinition = "TEXT")
     private String imagen;
     
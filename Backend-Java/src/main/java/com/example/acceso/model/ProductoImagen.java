@@ -0,0 +1,122 @@
+package com.example.acceso.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Imagen de un producto guardada en el almacén de imágenes.
+ *
+ * Cada producto tiene sus imágenes en orden; la principal es la que se muestra
+ * en los listados, como miniatura. Se guardan el {@code publicId} y las
+ * dimensiones que devolvió el almacén al subirla, para poder pedirle versiones
+ * transformadas o borrarla sin volver a consultarlo.
+ */
+@Entity
+@Table(name = "producto_imagenes", indexes = {
+        @Index(name = "idx_producto_imagenes_producto_orden", columnList = "id_producto, orden"),
+        @Index(name = "idx_producto_imagenes_principal", columnList = "principal, id_producto")
+})
+public class ProductoImagen {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "id_producto", nullable = false)
+    private Producto producto;
+
+    @Column(nullable = false, length = 500)
+    private String url;
+
+    /** Identificador de la imagen en el almacén; nulo en imágenes antiguas fuera de él. */
+    @Column(name = "public_id")
+    private String publicId;
+
+    @Column(nullable = false)
+    private Integer orden;
+
+    @Column(nullable = false)
+    private boolean principal;
+
+    private Integer ancho;
+
+    private Integer alto;
+
+    public ProductoImagen() {
+    }
+
+    public ProductoImagen(Producto producto, String url, String publicId, Integer orden, boolean principal,
+                          Integer ancho, Integer alto) {
+        this.producto = producto;
+        this.url = url;
+        this.publicId = publicId;
+        this.orden = orden;
+        this.principal = principal;
+        this.ancho = ancho;
+        this.alto = alto;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Producto getProducto() {
+        return producto;
+    }
+
+    public void setProducto(Producto producto) {
+        this.producto = producto;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public String getPublicId() {
+        return publicId;
+    }
+
+    public void setPublicId(String publicId) {
+        this.publicId = publicId;
+    }
+
+    public Integer getOrden() {
+        return orden;
+    }
+
+    public void setOrden(Integer orden) {
+        this.orden = orden;
+    }
+
+    public boolean isPrincipal() {
+        return principal;
+    }
+
+    public void setPrincipal(boolean principal) {
+        this.principal = principal;
+    }
+
+    public Integer getAncho() {
+        return ancho;
+    }
+
+    public void setAncho(Integer ancho) {
+        this.ancho = ancho;
+    }
+
+    public Integer getAlto() {
+        return alto;
+    }
+
+    public void setAlto(Integer alto) {
+        this.alto = alto;
+    }
+}
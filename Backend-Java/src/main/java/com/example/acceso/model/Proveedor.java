@@ -7,7 +7,11 @@ import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 
 @Entity
-@Table(name = "proveedor")
+@Table(name = "proveedor", indexes = {
+        @Index(name = "idx_proveedor_estado", columnList = "estado"),
+        @Index(name = "idx_proveedor_nombre", columnList = "nombre"),
+        @Index(name = "idx_proveedor_documento", columnList = "documento")
+})
 public class Proveedor {
 
     @Id
@@ -23,10 +23,23 @@ public class SerieComprobante {
     @Column(nullable = false, length = 100)
     private String serie;
 
+    /**
+     * Último correlativo reservado para la serie. Solo se modifica con las
+     * sentencias atómicas de {@code SerieComprobanteRepository}, nunca al
+     * guardar la entidad, para que un cambio de estado no pise una reserva.
+     */
     @NotNull(message = "El correlativo actual no puede ser nulo")
-    @Column(nullable = false)
+    @Column(nullable = false, updatable = false)
     private Integer correlativo_actual;
 
+    /**
+     * Indica si la serie asigna sus correlativos sin huecos (modo estricto). Si
+     * es {@code false} los correlativos se reservan por bloques y pueden quedar
+     * huecos al reiniciar la aplicación. Un valor nulo se trata como estricto.
+     */
+    @Column(name = "correlativo_estricto")
+    private Boolean correlativoEstricto;
+
     @Column(nullable = false)
     private Integer estado = 1;
 
@@ -71,6 +84,18 @@ public class SerieComprobante {
         this.correlativo_actual = correlativo_actual;
     }
 
+    public Boolean getCorrelativoEstricto() {
+        return correlativoEstricto;
+    }
+
+    public void setCorrelativoEstricto(Boolean correlativoEstricto) {
+        this.correlativoEstricto = correlativoEstricto;
+    }
+
+    public boolean isCorrelativoEstricto() {
+        return !Boolean.FALSE.equals(correlativoEstricto);
+    }
+
     public Integer getEstado() {
         return estado;
     }
@@ -1,12 +1,16 @@
 package com.example.acceso.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
 @Entity
-@Table(name = "usuarios")
+@Table(name = "usuarios", indexes = {
+        @Index(name = "idx_usuarios_estado", columnList = "estado"),
+        @Index(name = "idx_usuarios_nombre", columnList = "nombre")
+})
 public class Usuario {
 
     @Id
@@ -35,7 +39,7 @@ public class Usuario {
     @Column(nullable = false)
     private Integer estado = 1; // 1: Activo, 0: Inactivo, 2: Eliminado
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "id_perfil")
     private Perfil perfil;
 
@@ -115,6 +119,16 @@ public class Usuario {
         this.perfil = perfil;
     }
 
+    /**
+     * El ID del perfil, sin cargar el perfil desde la base de datos.
+     *
+     * @return El ID del perfil, o {@code null} si no tiene.
+     */
+    @JsonIgnore
+    public Long getPerfilId() {
+        return perfil != null ? perfil.getId() : null;
+    }
+
     public boolean isUsa2FA() {
         return usa2FA;
     }
@@ -139,7 +153,7 @@ public class Usuario {
                 ", usuario='" + usuario + '\'' +
                 ", correo='" + correo + '\'' +
                 ", estado=" + estado +
-                ", perfil=" + (perfil != null ? perfil.getNombre() : "null") +
+                ", perfilId=" + getPerfilId() +
                 '}';
     }
 }
\ No newline at end of file
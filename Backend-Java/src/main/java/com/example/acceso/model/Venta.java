@@ -3,6 +3,7 @@ package com.example.acceso.model;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.BatchSize;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -10,7 +11,10 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "ventas")
+@Table(name = "ventas", indexes = {
+        @Index(name = "idx_ventas_fecha_id", columnList = "fecha DESC, id DESC"),
+        @Index(name = "idx_ventas_estado_fecha", columnList = "estado, fecha")
+})
 public class Venta {
 
     @Id
@@ -53,6 +57,9 @@ public class Venta {
             cascade = CascadeType.ALL,
             orphanRemoval = true
     )
+    // Los movimientos de un producto listan muchas ventas y Jackson recorre sus
+    // cuotas: se cargan por lotes en lugar de una consulta por venta
+    @BatchSize(size = 100)
     @JsonManagedReference("venta-cuotas")
     private List<Cuota> cuotas = new ArrayList<>();
 
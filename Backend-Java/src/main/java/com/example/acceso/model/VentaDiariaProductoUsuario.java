@@ -0,0 +1,126 @@
+package com.example.acceso.model;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Resumen diario de ventas por producto, usuario y estado de la venta.
+ *
+ * Cada fila acumula lo vendido de un producto por un usuario en un día, separado
+ * por el estado de la venta (0 = pendiente, 1 = pagada); las ventas anuladas no se
+ * acumulan. Las filas se actualizan dentro de la misma transacción que crea, anula
+ * o termina de pagar la venta, y se pueden reconstruir desde {@code ventas} y
+ * {@code detalle_venta}.
+ */
+@Entity
+@Table(name = "ventas_diarias_producto_usuario", uniqueConstraints = @UniqueConstraint(
+        name = "uk_ventas_diarias_producto_usuario", columnNames = { "dia", "id_producto", "id_usuario", "estado" }))
+public class VentaDiariaProductoUsuario {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDate dia;
+
+    @Column(name = "id_producto", nullable = false)
+    private Long productoId;
+
+    /** El ID del usuario que registró la venta, o 0 si la venta no tiene usuario. */
+    @Column(name = "id_usuario", nullable = false)
+    private Long usuarioId;
+
+    @Column(nullable = false)
+    private Integer estado;
+
+    @Column(nullable = false)
+    private Integer cantidad;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal ingresos;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal costo;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal utilidad;
+
+    public VentaDiariaProductoUsuario() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public LocalDate getDia() {
+        return dia;
+    }
+
+    public void setDia(LocalDate dia) {
+        this.dia = dia;
+    }
+
+    public Long getProductoId() {
+        return productoId;
+    }
+
+    public void setProductoId(Long productoId) {
+        this.productoId = productoId;
+    }
+
+    public Long getUsuarioId() {
+        return usuarioId;
+    }
+
+    public void setUsuarioId(Long usuarioId) {
+        this.usuarioId = usuarioId;
+    }
+
+    public Integer getEstado() {
+        return estado;
+    }
+
+    public void setEstado(Integer estado) {
+        this.estado = estado;
+    }
+
+    public Integer getCantidad() {
+        return cantidad;
+    }
+
+    public void setCantidad(Integer cantidad) {
+        this.cantidad = cantidad;
+    }
+
+    public BigDecimal getIngresos() {
+        return ingresos;
+    }
+
+    public void setIngresos(BigDecimal ingresos) {
+        this.ingresos = ingresos;
+    }
+
+    public BigDecimal getCosto() {
+        return costo;
+    }
+
+    public void setCosto(BigDecimal costo) {
+        this.costo = costo;
+    }
+
+    public BigDecimal getUtilidad() {
+        return utilidad;
+    }
+
+    public void setUtilidad(BigDecimal utilidad) {
+        this.utilidad = utilidad;
+    }
+
+}
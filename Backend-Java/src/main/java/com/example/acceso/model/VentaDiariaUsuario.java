@@ -0,0 +1,102 @@
+package com.example.acceso.model;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Resumen diario de ventas por usuario y estado de la venta.
+ *
+ * Complementa a {@link VentaDiariaProductoUsuario}: la cantidad de ventas de un
+ * usuario no se puede sumar desde las filas por producto, porque una venta con
+ * varios productos aparece en varias de ellas.
+ */
+@Entity
+@Table(name = "ventas_diarias_usuario", uniqueConstraints = @UniqueConstraint(
+        name = "uk_ventas_diarias_usuario", columnNames = { "dia", "id_usuario", "estado" }))
+public class VentaDiariaUsuario {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDate dia;
+
+    /** El ID del usuario que registró las ventas, o 0 si la venta no tiene usuario. */
+    @Column(name = "id_usuario", nullable = false)
+    private Long usuarioId;
+
+    @Column(nullable = false)
+    private Integer estado;
+
+    @Column(name = "cantidad_ventas", nullable = false)
+    private Integer cantidadVentas;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal total;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal utilidad;
+
+    public VentaDiariaUsuario() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public LocalDate getDia() {
+        return dia;
+    }
+
+    public void setDia(LocalDate dia) {
+        this.dia = dia;
+    }
+
+    public Long getUsuarioId() {
+        return usuarioId;
+    }
+
+    public void setUsuarioId(Long usuarioId) {
+        this.usuarioId = usuarioId;
+    }
+
+    public Integer getEstado() {
+        return estado;
+    }
+
+    public void setEstado(Integer estado) {
+        this.estado = estado;
+    }
+
+    public Integer getCantidadVentas() {
+        return cantidadVentas;
+    }
+
+    public void setCantidadVentas(Integer cantidadVentas) {
+        this.cantidadVentas = cantidadVentas;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public void setTotal(BigDecimal total) {
+        this.total = total;
+    }
+
+    public BigDecimal getUtilidad() {
+        return utilidad;
+    }
+
+    public void setUtilidad(BigDecimal utilidad) {
+        this.utilidad = utilidad;
+    }
+
+}
@@ -2,6 +2,7 @@ package com.example.acceso.repository;
 
 import com.example.acceso.model.Categoria;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -55,12 +56,13 @@ public interface CategoriaRepository extends JpaRepository<Categoria, Long> {
 
     /**
      * Obtiene una lista de todas las categorías cuyo estado se interpreta como verdadero.
-     * <p><strong>Nota:</strong> El comportamiento de este método depende de cómo la base de datos
-     * y JPA interpretan un valor booleano contra un campo de tipo {@link Integer}.
-     * Para una mayor claridad, se recomienda usar {@code findAllByEstado(1)}.</p>
+     * <p><strong>Nota:</strong> El campo {@code estado} es de tipo {@link Integer}, por lo que la
+     * condición se declara explícitamente como {@code estado = 1} en lugar de derivarla del nombre
+     * del método (Hibernate no admite comparar un {@link Integer} contra un valor booleano).</p>
      *
      * @return Una lista de categorías activas.
      */
+    @Query("SELECT c FROM Categoria c WHERE c.estado = 1")
     List<Categoria> findByEstadoTrue();
 
 }
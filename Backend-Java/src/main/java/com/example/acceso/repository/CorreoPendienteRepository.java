@@ -0,0 +1,67 @@
+package com.example.acceso.repository;
+
+import com.example.acceso.model.CorreoPendiente;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repositorio de Spring Data JPA para la bandeja de salida de correos
+ * ({@link CorreoPendiente}).
+ *
+ * <p>Los correos se reservan con una actualización condicional sobre su estado,
+ * de modo que dos procesos de envío nunca toman el mismo correo.</p>
+ */
+@Repository
+public interface CorreoPendienteRepository extends JpaRepository<CorreoPendiente, Long> {
+
+    /**
+     * Obtiene los IDs de los correos pendientes cuyo siguiente intento ya llegó,
+     * empezando por los que esperan desde hace más tiempo.
+     *
+     * @param ahora  La fecha y hora actual.
+     * @param limite Cuántos correos se toman como máximo.
+     * @return Los IDs de los correos listos para enviarse.
+     */
+    @Query("""
+            SELECT c.id FROM CorreoPendiente c
+            WHERE c.estado = 0 AND c.proximoIntento <= :ahora
+            ORDER BY c.proximoIntento, c.id
+            """)
+    List<Long> buscarListosParaEnviar(@Param("ahora") LocalDateTime ahora, Limit limite);
+
+    /**
+     * Reserva un correo pendiente para enviarlo, si ningún otro proceso lo tomó antes.
+     *
+     * @param id          El ID del correo.
+     * @param reservaHasta Hasta cuándo queda reservado si el envío no termina.
+     * @return 1 si se reservó el correo, 0 si ya no estaba pendiente.
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE CorreoPendiente c SET c.estado = 3, c.proximoIntento = :reservaHasta
+            WHERE c.id = :id AND c.estado = 0
+            """)
+    int reservar(@Param("id") Long id, @Param("reservaHasta") LocalDateTime reservaHasta);
+
+    /**
+     * Devuelve a pendientes los correos cuya reserva venció sin que el envío
+     * terminara, por ejemplo porque la aplicación se detuvo a mitad del lote.
+     *
+     * @param ahora La fecha y hora actual.
+     * @return El número de correos liberados.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE CorreoPendiente c SET c.estado = 0 WHERE c.estado = 3 AND c.proximoIntento <= :ahora")
+    int liberarReservasVencidas(@Param("ahora") LocalDateTime ahora);
+
+}
@@ -2,6 +2,9 @@ package com.example.acceso.repository;
 
 import com.example.acceso.model.DetalleVenta;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -14,4 +17,24 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface DetalleVentaRepository extends JpaRepository<DetalleVenta, Long> {
 
+    /**
+     * Completa el costo unitario y la utilidad de las líneas registradas antes de
+     * que se guardaran al vender, usando el precio de compra actual del producto.
+     * Actualiza como máximo {@code limite} líneas por llamada.
+     *
+     * @param limite La cantidad máxima de líneas a actualizar.
+     * @return La cantidad de líneas actualizadas.
+     */
+    @Modifying
+    @Query(value = """
+        UPDATE detalle_venta
+        SET costo_unitario = (SELECT ROUND(COALESCE(p.precio_compra, 0), 2)
+                              FROM productos p WHERE p.id = detalle_venta.id_producto),
+            utilidad = subtotal - cantidad * (SELECT ROUND(COALESCE(p.precio_compra, 0), 2)
+                                              FROM productos p WHERE p.id = detalle_venta.id_producto)
+        WHERE costo_unitario IS NULL
+        LIMIT :limite
+        """, nativeQuery = true)
+    int completarCostos(@Param("limite") int limite);
+
 }
@@ -0,0 +1,13 @@
+package com.example.acceso.repository;
+
+import com.example.acceso.model.DocumentoConsultado;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repositorio de Spring Data JPA para las consultas de DNI y RUC ya hechas a la
+ * API externa ({@link DocumentoConsultado}), indexadas por el documento.
+ */
+@Repository
+public interface DocumentoConsultadoRepository extends JpaRepository<DocumentoConsultado, String> {
+}
@@ -0,0 +1,56 @@
+package com.example.acceso.repository;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Locale;
+
+/**
+ * Filtros comunes de las grillas paginadas en el servidor, para combinarlos con
+ * los repositorios que extienden {@code JpaSpecificationExecutor}.
+ *
+ * <p>Las entidades deben tener el campo {@code estado}, donde 2 marca el borrado
+ * lógico.</p>
+ */
+public final class EspecificacionesGrilla {
+
+    private EspecificacionesGrilla() {
+    }
+
+    /**
+     * Excluye las filas eliminadas lógicamente (estado = 2).
+     */
+    public static <T> Specification<T> noEliminados() {
+        return (raiz, consulta, cb) -> cb.notEqual(raiz.get("estado"), 2);
+    }
+
+    /**
+     * Filas cuyo campo contiene el texto, sin distinguir mayúsculas.
+     * <p>No aprovecha índices; se usa para los nombres, donde se busca por
+     * cualquier palabra.</p>
+     */
+    public static <T> Specification<T> contiene(String campo, String texto) {
+        String patron = "%" + escapar(texto.toLowerCase(Locale.ROOT)) + "%";
+        return (raiz, consulta, cb) -> cb.like(cb.lower(raiz.<String>get(campo)), patron, '!');
+    }
+
+    /**
+     * Filas cuyo campo empieza con el texto. Al no transformar la columna, la
+     * base de datos puede recorrer solo el tramo del índice que coincide.
+     */
+    public static <T> Specification<T> empiezaCon(String campo, String texto) {
+        String patron = escapar(texto) + "%";
+        return (raiz, consulta, cb) -> cb.like(raiz.<String>get(campo), patron, '!');
+    }
+
+    /**
+     * Indica si el texto buscado parece un número de documento (DNI o RUC).
+     */
+    public static boolean esDocumento(String texto) {
+        return !texto.isEmpty() && texto.chars().allMatch(Character::isDigit);
+    }
+
+    /** Escapa los comodines de LIKE para que el texto se busque tal cual. */
+    private static String escapar(String texto) {
+        return texto.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+}
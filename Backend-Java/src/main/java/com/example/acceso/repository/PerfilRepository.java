@@ -2,6 +2,8 @@ package com.example.acceso.repository;
 
 import com.example.acceso.model.Perfil;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -12,4 +14,14 @@ public interface PerfilRepository extends JpaRepository<Perfil, Long> {
     List<Perfil> findByEstado(Integer estado);
 
     List<Perfil> findAllByEstadoNot(Integer estado);
+
+    /**
+     * Obtiene en una sola consulta los perfiles con el estado indicado, junto con
+     * sus opciones. Se usa para armar los permisos en memoria.
+     *
+     * @param estado El estado de los perfiles a obtener.
+     * @return Los perfiles, cada uno una sola vez.
+     */
+    @Query("SELECT DISTINCT p FROM Perfil p LEFT JOIN FETCH p.opciones WHERE p.estado = :estado")
+    List<Perfil> findAllConOpcionesByEstado(@Param("estado") Integer estado);
 }
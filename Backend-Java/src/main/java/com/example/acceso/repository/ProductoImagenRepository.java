@@ -0,0 +1,73 @@
+package com.example.acceso.repository;
+
+import com.example.acceso.model.ProductoImagen;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repositorio de Spring Data JPA para las imágenes de los productos
+ * ({@link ProductoImagen}).
+ */
+@Repository
+public interface ProductoImagenRepository extends JpaRepository<ProductoImagen, Long> {
+
+    /**
+     * Obtiene las imágenes de un producto en su orden.
+     *
+     * @param productoId El ID del producto.
+     * @return Las imágenes del producto, empezando por la de menor orden.
+     */
+    List<ProductoImagen> findByProductoIdOrderByOrdenAsc(Long productoId);
+
+    /**
+     * Busca una imagen de un producto por su URL.
+     *
+     * @param productoId El ID del producto.
+     * @param url        La URL de la imagen.
+     * @return La imagen, si pertenece al producto.
+     */
+    Optional<ProductoImagen> findByProductoIdAndUrl(Long productoId, String url);
+
+    /**
+     * Obtiene en una sola consulta la imagen principal de todos los productos no
+     * eliminados, para armar el catálogo sin una consulta por producto.
+     *
+     * @return Las imágenes principales.
+     */
+    @Query("SELECT i FROM ProductoImagen i WHERE i.principal = true AND i.producto.estado <> 2")
+    List<ProductoImagen> findPrincipalesDeProductosActivos();
+
+    /**
+     * Obtiene en una sola consulta la imagen principal de los productos de una
+     * página de la grilla.
+     *
+     * @param productoIds Los IDs de los productos.
+     * @return Las imágenes principales de los que tienen alguna.
+     */
+    List<ProductoImagen> findByPrincipalTrueAndProductoIdIn(Collection<Long> productoIds);
+
+    /**
+     * Indica si un producto ya tiene imágenes registradas.
+     *
+     * @param productoId El ID del producto.
+     * @return {@code true} si tiene al menos una imagen.
+     */
+    boolean existsByProductoId(Long productoId);
+
+    /**
+     * Elimina todas las imágenes registradas de un producto.
+     *
+     * @param productoId El ID del producto.
+     * @return Cuántas imágenes se eliminaron.
+     */
+    @Modifying
+    @Query("DELETE FROM ProductoImagen i WHERE i.producto.id = :productoId")
+    int eliminarPorProducto(@Param("productoId") Long productoId);
+}
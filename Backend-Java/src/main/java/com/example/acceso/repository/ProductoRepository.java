@@ -1,10 +1,14 @@
 package com.example.acceso.repository;
 
 import com.example.acceso.model.Producto;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,10 +17,12 @@ import java.util.Optional;
  *
  * <p>Proporciona métodos para realizar operaciones CRUD (Crear, Leer, Actualizar, Eliminar)
  * en la base de datos para los productos, así como consultas personalizadas derivadas
- * de los nombres de los métodos.</p>
+ * de los nombres de los métodos. Las operaciones atómicas de stock provienen del fragmento
+ * {@link ProductoStockRepository}.</p>
  */
 @Repository
-public interface ProductoRepository  extends JpaRepository<Producto, Long> {
+public interface ProductoRepository  extends JpaRepository<Producto, Long>, JpaSpecificationExecutor<Producto>,
+        ProductoStockRepository {
 
     /**
      * Busca un producto por su nombre. La búsqueda es sensible a mayúsculas y minúsculas
@@ -54,6 +60,67 @@ public interface ProductoRepository  extends JpaRepository<Producto, Long> {
      */
     Long countByEstadoNot(Integer estado);
 
+    /**
+     * Carga en una sola consulta todos los productos cuyos IDs se encuentran en la colección,
+     * junto con su categoría.
+     * <p>Se utiliza al armar una venta para evitar una consulta {@code findById} por cada línea
+     * del detalle (problema N+1).</p>
+     *
+     * @param ids Los IDs de los productos a cargar.
+     * @return Una lista con los productos encontrados; los IDs inexistentes simplemente no aparecen.
+     */
+    @Query("SELECT p FROM Producto p LEFT JOIN FETCH p.categoria WHERE p.id IN :ids")
+    List<Producto> findAllConCategoriaByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Obtiene en una sola consulta los productos cuyo estado no coincide con el valor
+     * proporcionado, junto con su categoría.
+     *
+     * @param estado El estado a excluir.
+     * @return Los productos ordenados por ID.
+     */
+    @Query("SELECT p FROM Producto p LEFT JOIN FETCH p.categoria WHERE p.estado <> :estado ORDER BY p.id")
+    List<Producto> findAllConCategoriaByEstadoNot(@Param("estado") Integer estado);
+
+    /**
+     * Obtiene en una sola consulta los productos con el estado indicado, junto con
+     * su categoría. Se usa para armar el índice del buscador de productos.
+     *
+     * @param estado El estado de los productos a obtener.
+     * @return Los productos ordenados por ID.
+     */
+    @Query("SELECT p FROM Producto p LEFT JOIN FETCH p.categoria WHERE p.estado = :estado ORDER BY p.id")
+    List<Producto> findAllConCategoriaByEstado(@Param("estado") Integer estado);
+
+    /**
+     * Obtiene los IDs de los productos de una categoría.
+     *
+     * @param categoriaId El ID de la categoría.
+     * @return Los IDs de sus productos, de cualquier estado.
+     */
+    @Query("SELECT p.id FROM Producto p WHERE p.categoria.id = :categoriaId")
+    List<Long> findIdsByCategoriaId(@Param("categoriaId") Long categoriaId);
+
+    /**
+     * Obtiene el stock actual de varios productos en una sola consulta, sin cargar
+     * las entidades.
+     *
+     * @param ids Los IDs de los productos.
+     * @return Pares {@code [id, stock]}; los IDs inexistentes no aparecen.
+     */
+    @Query("SELECT p.id, p.stock FROM Producto p WHERE p.id IN :ids")
+    List<Object[]> findStockByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Obtiene los IDs de los productos que aún tienen imágenes en la columna JSON antigua.
+     *
+     * @param desde  Solo IDs mayores a este.
+     * @param limite Cuántos IDs se toman como máximo.
+     * @return Los IDs en orden ascendente.
+     */
+    @Query("SELECT p.id FROM Producto p WHERE p.imagen IS NOT NULL AND p.id > :desde ORDER BY p.id")
+    List<Long> findIdsConImagenAntigua(@Param("desde") Long desde, Limit limite);
+
     @Query("SELECT p.nombre, SUM(dv.cantidad) as totalVendido FROM DetalleVenta dv JOIN dv.producto p GROUP BY p.nombre ORDER BY totalVendido DESC LIMIT 5")
     List<Object[]> findTop5ProductosMasVendidos();
 
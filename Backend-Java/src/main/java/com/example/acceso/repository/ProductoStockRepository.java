@@ -0,0 +1,35 @@
+package com.example.acceso.repository;
+
+/**
+ * Fragmento de repositorio con las operaciones atómicas sobre el stock de los productos.
+ *
+ * <p>Cada operación es una única sentencia {@code UPDATE} condicional que la base de datos
+ * ejecuta bajo el bloqueo de la fila, por lo que dos ventas simultáneas del mismo producto
+ * no pueden dejar el stock en negativo. Se ejecutan con JDBC dentro de la transacción en curso
+ * para que un bloqueo no concedido a tiempo pueda reintentarse sin invalidar la transacción.</p>
+ *
+ * <p><strong>Nota:</strong> estas sentencias no actualizan las entidades {@code Producto} ya
+ * cargadas en el contexto de persistencia.</p>
+ */
+public interface ProductoStockRepository {
+
+    /**
+     * Descuenta stock de un producto solo si hay unidades suficientes.
+     *
+     * @param productoId El ID del producto.
+     * @param cantidad   La cantidad a descontar.
+     * @return {@code 1} si el stock se descontó, {@code 0} si no había stock suficiente
+     *         o el producto no existe.
+     */
+    int descontarStockSiDisponible(Long productoId, int cantidad);
+
+    /**
+     * Incrementa el stock de un producto.
+     *
+     * @param productoId El ID del producto.
+     * @param cantidad   La cantidad a sumar.
+     * @return {@code 1} si el stock se actualizó, {@code 0} si el producto no existe.
+     */
+    int incrementarStock(Long productoId, int cantidad);
+
+}
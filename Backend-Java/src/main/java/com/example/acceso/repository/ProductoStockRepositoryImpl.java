@@ -0,0 +1,33 @@
+package com.example.acceso.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Implementación JDBC del fragmento {@link ProductoStockRepository}.
+ *
+ * <p>Spring Data la detecta por convención de nombre y la combina con {@link ProductoRepository}.
+ * El {@link JdbcTemplate} usa la misma conexión que la transacción JPA en curso.</p>
+ */
+public class ProductoStockRepositoryImpl implements ProductoStockRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ProductoStockRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public int descontarStockSiDisponible(Long productoId, int cantidad) {
+        return jdbcTemplate.update(
+                "UPDATE productos SET stock = stock - ? WHERE id = ? AND stock >= ?",
+                cantidad, productoId, cantidad);
+    }
+
+    @Override
+    public int incrementarStock(Long productoId, int cantidad) {
+        return jdbcTemplate.update(
+                "UPDATE productos SET stock = stock + ? WHERE id = ?",
+                cantidad, productoId);
+    }
+
+}
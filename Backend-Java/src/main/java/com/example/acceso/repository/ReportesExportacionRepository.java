@@ -0,0 +1,44 @@
+package com.example.acceso.repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+/**
+ * Fragmento de repositorio que recorre los reportes de utilidad fila por fila,
+ * para exportarlos sin cargar el resultado completo en memoria.
+ *
+ * <p>Cada método ejecuta la misma consulta que su equivalente de
+ * {@link ReportesRepository} y entrega las columnas de cada fila, en el orden del
+ * {@code SELECT}, al consumidor indicado. Sin fechas se recorre todo el histórico.</p>
+ */
+public interface ReportesExportacionRepository {
+
+    /**
+     * Recorre el reporte de utilidad por venta.
+     *
+     * @param inicio La fecha y hora inicial, o {@code null} para todo el histórico.
+     * @param fin    La fecha y hora final, o {@code null} para todo el histórico.
+     * @param fila   Recibe las columnas documento, cliente, fecha, total y utilidad.
+     */
+    void recorrerUtilidadPorVenta(LocalDateTime inicio, LocalDateTime fin, Consumer<Object[]> fila);
+
+    /**
+     * Recorre el reporte de utilidad por usuario.
+     *
+     * @param inicio El día inicial, o {@code null} para todo el histórico.
+     * @param fin    El día final, o {@code null} para todo el histórico.
+     * @param fila   Recibe las columnas usuario, cantidad de ventas y utilidad.
+     */
+    void recorrerUtilidadPorUsuario(LocalDate inicio, LocalDate fin, Consumer<Object[]> fila);
+
+    /**
+     * Recorre el reporte de utilidad por producto.
+     *
+     * @param inicio El día inicial, o {@code null} para todo el histórico.
+     * @param fin    El día final, o {@code null} para todo el histórico.
+     * @param fila   Recibe las columnas producto, cantidad vendida, total y utilidad.
+     */
+    void recorrerUtilidadPorProducto(LocalDate inicio, LocalDate fin, Consumer<Object[]> fila);
+
+}
@@ -0,0 +1,82 @@
+package com.example.acceso.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+/**
+ * Implementación JDBC del fragmento {@link ReportesExportacionRepository}.
+ *
+ * <p>Las consultas se leen con un cursor de tamaño fijo ({@code fetchSize}) y cada
+ * fila se entrega al consumidor apenas se lee, sin acumularlas. Con MySQL, el valor
+ * {@link Integer#MIN_VALUE} hace que el driver entregue las filas una a una en lugar
+ * de traer todo el resultado al abrir la consulta.</p>
+ */
+public class ReportesExportacionRepositoryImpl implements ReportesExportacionRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public ReportesExportacionRepositoryImpl(JdbcTemplate jdbcTemplate,
+                                             @Value("${acuamont.reportes.exportacion.fetch-size:1000}") int fetchSize) {
+        JdbcTemplate cursor = new JdbcTemplate(jdbcTemplate.getDataSource());
+        cursor.setFetchSize(fetchSize);
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(cursor);
+    }
+
+    @Override
+    public void recorrerUtilidadPorVenta(LocalDateTime inicio, LocalDateTime fin, Consumer<Object[]> fila) {
+        if (inicio == null || fin == null) {
+            recorrer(ReportesRepository.UTILIDAD_POR_VENTA, new MapSqlParameterSource(), fila);
+        } else {
+            recorrer(ReportesRepository.UTILIDAD_POR_VENTA_RANGO, new MapSqlParameterSource()
+                    .addValue("fechaInicio", inicio)
+                    .addValue("fechaFin", fin), fila);
+        }
+    }
+
+    @Override
+    public void recorrerUtilidadPorUsuario(LocalDate inicio, LocalDate fin, Consumer<Object[]> fila) {
+        if (inicio == null || fin == null) {
+            recorrer(ReportesRepository.UTILIDAD_POR_USUARIO, new MapSqlParameterSource(), fila);
+        } else {
+            recorrer(ReportesRepository.UTILIDAD_POR_USUARIO_RANGO, rangoDias(inicio, fin), fila);
+        }
+    }
+
+    @Override
+    public void recorrerUtilidadPorProducto(LocalDate inicio, LocalDate fin, Consumer<Object[]> fila) {
+        if (inicio == null || fin == null) {
+            recorrer(ReportesRepository.UTILIDAD_POR_PRODUCTO, new MapSqlParameterSource(), fila);
+        } else {
+            recorrer(ReportesRepository.UTILIDAD_POR_PRODUCTO_RANGO, rangoDias(inicio, fin), fila);
+        }
+    }
+
+    private static MapSqlParameterSource rangoDias(LocalDate inicio, LocalDate fin) {
+        return new MapSqlParameterSource()
+                .addValue("inicio", inicio)
+                .addValue("fin", fin);
+    }
+
+    private void recorrer(String sql, MapSqlParameterSource parametros, Consumer<Object[]> fila) {
+        jdbcTemplate.query(sql, parametros, (RowCallbackHandler) rs -> fila.accept(leerFila(rs)));
+    }
+
+    private static Object[] leerFila(ResultSet rs) throws SQLException {
+        int columnas = rs.getMetaData().getColumnCount();
+        Object[] valores = new Object[columnas];
+        for (int i = 0; i < columnas; i++) {
+            valores[i] = rs.getObject(i + 1);
+        }
+        return valores;
+    }
+
+}
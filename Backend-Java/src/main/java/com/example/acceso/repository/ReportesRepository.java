@@ -9,118 +9,140 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
+/**
+ * Consultas de los reportes de utilidad.
+ *
+ * <p>La utilidad de cada línea se guarda en {@code detalle_venta} al vender, así que
+ * ningún reporte necesita unir {@code productos} para calcularla con el precio de
+ * compra actual. Los reportes por usuario y por producto se leen de los resúmenes
+ * diarios ({@code ventas_diarias_usuario} y {@code ventas_diarias_producto_usuario});
+ * sus rangos se filtran por día, inclusive.</p>
+ *
+ * <p>Las consultas son constantes para que las exportaciones del fragmento
+ * {@link ReportesExportacionRepository} recorran exactamente las mismas filas.</p>
+ */
 @Repository
-public interface ReportesRepository extends JpaRepository<Venta,Long> {
-    @Query(value = """
+public interface ReportesRepository extends JpaRepository<Venta,Long>, ReportesExportacionRepository {
+
+    String UTILIDAD_POR_VENTA = """
         SELECT 
             CONCAT(sc.serie, '-', LPAD(v.correlativo, 9, '0')) AS documento,
             c.nombre AS cliente,
             v.fecha AS fecha,
             v.total AS totalVenta,
-            SUM((dv.precio_unitario - p.precio_compra) * dv.cantidad) AS utilidad
+            SUM(dv.utilidad) AS utilidad
         FROM ventas v
         INNER JOIN clientes c ON v.id_cliente = c.id
         INNER JOIN series_comprobante sc ON v.id_serie_comprobante = sc.id
         INNER JOIN detalle_venta dv ON v.id = dv.id_venta
-        INNER JOIN productos p ON dv.id_producto = p.id        
         WHERE v.estado = 1
         GROUP BY v.id, sc.serie, v.correlativo, c.nombre, v.fecha, v.total
         ORDER BY v.fecha DESC
-        """, nativeQuery = true)
-    List<ReporteUtilidadVentaDTO> obtenerUtilidadPorVenta();
-
+        """;
 
-    @Query(value = """
+    String UTILIDAD_POR_VENTA_RANGO = """
         SELECT 
             CONCAT(sc.serie, '-', v.correlativo) AS documento,
             c.nombre AS cliente,
             v.fecha AS fecha,
             v.total AS totalVenta,
-            SUM((dv.precio_unitario - p.precio_compra) * dv.cantidad) AS utilidad
+            SUM(dv.utilidad) AS utilidad
         FROM ventas v
         INNER JOIN clientes c ON v.id_cliente = c.id
         INNER JOIN series_comprobante sc ON v.id_serie_comprobante = sc.id
         INNER JOIN detalle_venta dv ON v.id = dv.id_venta
-        INNER JOIN productos p ON dv.id_producto = p.id
         WHERE v.estado = 1 
           AND v.fecha BETWEEN :fechaInicio AND :fechaFin
         GROUP BY v.id, sc.serie, v.correlativo, c.nombre, v.fecha, v.total
         ORDER BY v.fecha DESC
-        """, nativeQuery = true)
-    List<ReporteUtilidadVentaDTO> obtenerUtilidadPorVentaRango(
-            @Param("fechaInicio") LocalDateTime fechaInicio,
-            @Param("fechaFin") LocalDateTime fechaFin
-    );
+        """;
 
-    @Query(value = """
+    String UTILIDAD_POR_USUARIO = """
         SELECT 
             u.nombre AS usuario,
-            COUNT(DISTINCT v.id) AS cantidadVentas,
-            SUM((dv.precio_unitario - COALESCE(p.precio_compra, 0)) * dv.cantidad) AS utilidad
-        FROM ventas v
-        INNER JOIN usuarios u ON v.id_usuario = u.id
-        INNER JOIN detalle_venta dv ON v.id = dv.id_venta
-        INNER JOIN productos p ON dv.id_producto = p.id
-        WHERE v.estado = 1 or v.estado = 0
+            SUM(r.cantidad_ventas) AS cantidadVentas,
+            SUM(r.utilidad) AS utilidad
+        FROM ventas_diarias_usuario r
+        INNER JOIN usuarios u ON r.id_usuario = u.id
+        WHERE r.estado IN (0, 1)
         GROUP BY u.id, u.nombre
+        HAVING SUM(r.cantidad_ventas) > 0
         ORDER BY utilidad DESC
-        """, nativeQuery = true)
-    List<ReporteUttilidadUsuarioDTO> obtenerUtilidadPorUsuario();
+        """;
 
-    @Query(value = """
+    String UTILIDAD_POR_USUARIO_RANGO = """
         SELECT 
             u.nombre AS usuario,
-            COUNT(DISTINCT v.id) AS cantidadVentas,
-            SUM((dv.precio_unitario - COALESCE(p.precio_compra, 0)) * dv.cantidad) AS utilidad
-        FROM ventas v
-        INNER JOIN usuarios u ON v.id_usuario = u.id
-        INNER JOIN detalle_venta dv ON v.id = dv.id_venta
-        INNER JOIN productos p ON dv.id_producto = p.id
-        WHERE v.estado = 1 
-          AND v.fecha BETWEEN :inicio AND :fin
+            SUM(r.cantidad_ventas) AS cantidadVentas,
+            SUM(r.utilidad) AS utilidad
+        FROM ventas_diarias_usuario r
+        INNER JOIN usuarios u ON r.id_usuario = u.id
+        WHERE r.estado = 1 
+          AND r.dia BETWEEN :inicio AND :fin
         GROUP BY u.id, u.nombre
+        HAVING SUM(r.cantidad_ventas) > 0
         ORDER BY utilidad DESC
-        """, nativeQuery = true)
-    List<ReporteUttilidadUsuarioDTO> obtenerUtilidadPorUsuarioRango(
-            @Param("inicio") LocalDateTime inicio,
-            @Param("fin") LocalDateTime fin
-    );
+        """;
 
-    @Query(value = """
+    String UTILIDAD_POR_PRODUCTO = """
         SELECT 
             p.nombre AS producto,
-            SUM(dv.cantidad) AS cantidadVendida,
-            SUM(dv.subtotal) AS totalVenta,
-            SUM((dv.precio_unitario - COALESCE(p.precio_compra, 0)) * dv.cantidad) AS utilidad
-        FROM ventas v
-        INNER JOIN detalle_venta dv ON v.id = dv.id_venta
-        INNER JOIN productos p ON dv.id_producto = p.id
-        WHERE v.estado = 1
+            SUM(r.cantidad) AS cantidadVendida,
+            SUM(r.ingresos) AS totalVenta,
+            SUM(r.utilidad) AS utilidad
+        FROM ventas_diarias_producto_usuario r
+        INNER JOIN productos p ON r.id_producto = p.id
+        WHERE r.estado = 1
         GROUP BY p.id, p.nombre
+        HAVING SUM(r.cantidad) > 0
         ORDER BY utilidad DESC
-        """, nativeQuery = true)
-    List<ReporteUtilidadProductoDTO> obtenerUtilidadPorProducto();
+        """;
 
-    @Query(value = """
+    String UTILIDAD_POR_PRODUCTO_RANGO = """
         SELECT 
             p.nombre AS producto,
-            SUM(dv.cantidad) AS cantidadVendida,
-            SUM(dv.subtotal) AS totalVenta,
-            SUM((dv.precio_unitario - COALESCE(p.precio_compra, 0)) * dv.cantidad) AS utilidad
-        FROM ventas v
-        INNER JOIN detalle_venta dv ON v.id = dv.id_venta
-        INNER JOIN productos p ON dv.id_producto = p.id
-        WHERE v.estado = 1 
-        AND v.fecha BETWEEN :inicio AND :fin
+            SUM(r.cantidad) AS cantidadVendida,
+            SUM(r.ingresos) AS totalVenta,
+            SUM(r.utilidad) AS utilidad
+        FROM ventas_diarias_producto_usuario r
+        INNER JOIN productos p ON r.id_producto = p.id
+        WHERE r.estado = 1 
+        AND r.dia BETWEEN :inicio AND :fin
         GROUP BY p.id, p.nombre
+        HAVING SUM(r.cantidad) > 0
         ORDER BY utilidad DESC
-        """, nativeQuery = true)
+        """;
+
+    @Query(value = UTILIDAD_POR_VENTA, nativeQuery = true)
+    List<ReporteUtilidadVentaDTO> obtenerUtilidadPorVenta();
+
+
+    @Query(value = UTILIDAD_POR_VENTA_RANGO, nativeQuery = true)
+    List<ReporteUtilidadVentaDTO> obtenerUtilidadPorVentaRango(
+            @Param("fechaInicio") LocalDateTime fechaInicio,
+            @Param("fechaFin") LocalDateTime fechaFin
+    );
+
+    @Query(value = UTILIDAD_POR_USUARIO, nativeQuery = true)
+    List<ReporteUttilidadUsuarioDTO> obtenerUtilidadPorUsuario();
+
+    @Query(value = UTILIDAD_POR_USUARIO_RANGO, nativeQuery = true)
+    List<ReporteUttilidadUsuarioDTO> obtenerUtilidadPorUsuarioRango(
+            @Param("inicio") LocalDate inicio,
+            @Param("fin") LocalDate fin
+    );
+
+    @Query(value = UTILIDAD_POR_PRODUCTO, nativeQuery = true)
+    List<ReporteUtilidadProductoDTO> obtenerUtilidadPorProducto();
+
+    @Query(value = UTILIDAD_POR_PRODUCTO_RANGO, nativeQuery = true)
     List<ReporteUtilidadProductoDTO> obtenerUtilidadPorProductoRango(
-            @Param("inicio") LocalDateTime inicio,
-            @Param("fin") LocalDateTime fin
+            @Param("inicio") LocalDate inicio,
+            @Param("fin") LocalDate fin
     );
 
 }
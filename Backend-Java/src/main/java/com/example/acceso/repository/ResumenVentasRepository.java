@@ -0,0 +1,54 @@
+package com.example.acceso.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+
+/**
+ * Fragmento de repositorio que acumula una venta en los resúmenes diarios de ventas.
+ *
+ * <p>Cada fila se suma con un {@code INSERT ... ON DUPLICATE KEY UPDATE}, de modo que dos
+ * ventas simultáneas del mismo día no se pisan y no hace falta leer la fila antes de
+ * actualizarla. Se ejecuta con JDBC dentro de la transacción en curso.</p>
+ */
+public interface ResumenVentasRepository {
+
+    /**
+     * Movimiento de un producto de una venta que se suma (o se resta, con valores
+     * negativos) al resumen diario de ventas.
+     *
+     * @param productoId El ID del producto.
+     * @param cantidad   Las unidades vendidas.
+     * @param ingresos   El importe vendido (precio de venta por cantidad).
+     * @param costo      El costo de lo vendido (precio de compra por cantidad).
+     */
+    record LineaResumen(Long productoId, int cantidad, BigDecimal ingresos, BigDecimal costo) {
+
+        public BigDecimal utilidad() {
+            return ingresos.subtract(costo);
+        }
+
+        /**
+         * Combina dos movimientos del mismo producto.
+         */
+        public LineaResumen sumar(LineaResumen otra) {
+            return new LineaResumen(productoId, cantidad + otra.cantidad,
+                    ingresos.add(otra.ingresos), costo.add(otra.costo));
+        }
+    }
+
+    /**
+     * Suma una venta a los resúmenes del día. Para restarla se usan valores negativos.
+     *
+     * @param dia       El día de la venta.
+     * @param usuarioId El ID del usuario que registró la venta.
+     * @param estado    El estado de la venta en el que se acumula.
+     * @param ventas    La cantidad de ventas a sumar ({@code 1} o {@code -1}).
+     * @param total     El total de la venta.
+     * @param lineas    Los movimientos por producto, en orden ascendente de ID para que
+     *                  las filas se bloqueen siempre en el mismo orden.
+     */
+    void acumular(LocalDate dia, Long usuarioId, int estado, int ventas, BigDecimal total,
+                  Collection<LineaResumen> lineas);
+
+}
@@ -0,0 +1,60 @@
+package com.example.acceso.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Implementación JDBC del fragmento {@link ResumenVentasRepository}.
+ *
+ * <p>Spring Data la detecta por convención de nombre y la combina con
+ * {@link VentaDiariaProductoUsuarioRepository}.</p>
+ */
+public class ResumenVentasRepositoryImpl implements ResumenVentasRepository {
+
+    private static final String ACUMULAR_PRODUCTO = """
+            INSERT INTO ventas_diarias_producto_usuario
+                (dia, id_producto, id_usuario, estado, cantidad, ingresos, costo, utilidad)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE
+                cantidad = cantidad + ?, ingresos = ingresos + ?, costo = costo + ?, utilidad = utilidad + ?
+            """;
+
+    private static final String ACUMULAR_USUARIO = """
+            INSERT INTO ventas_diarias_usuario (dia, id_usuario, estado, cantidad_ventas, total, utilidad)
+            VALUES (?, ?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE
+                cantidad_ventas = cantidad_ventas + ?, total = total + ?, utilidad = utilidad + ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ResumenVentasRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void acumular(LocalDate dia, Long usuarioId, int estado, int ventas, BigDecimal total,
+                         Collection<LineaResumen> lineas) {
+        Date fecha = Date.valueOf(dia);
+        BigDecimal utilidad = BigDecimal.ZERO;
+
+        List<Object[]> filas = new ArrayList<>(lineas.size());
+        for (LineaResumen linea : lineas) {
+            filas.add(new Object[] { fecha, linea.productoId(), usuarioId, estado,
+                    linea.cantidad(), linea.ingresos(), linea.costo(), linea.utilidad(),
+                    linea.cantidad(), linea.ingresos(), linea.costo(), linea.utilidad() });
+            utilidad = utilidad.add(linea.utilidad());
+        }
+        jdbcTemplate.batchUpdate(ACUMULAR_PRODUCTO, filas);
+
+        jdbcTemplate.update(ACUMULAR_USUARIO, fecha, usuarioId, estado, ventas, total, utilidad,
+                ventas, total, utilidad);
+    }
+
+}
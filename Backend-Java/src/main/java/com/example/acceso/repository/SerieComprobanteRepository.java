@@ -2,6 +2,9 @@ package com.example.acceso.repository;
 
 import com.example.acceso.model.SerieComprobante;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -46,12 +49,47 @@ public interface SerieComprobanteRepository extends JpaRepository<SerieComproban
 
     /**
      * Obtiene una lista de todas las series de comprobante cuyo estado se interpreta como verdadero.
-     * <p><strong>Nota:</strong> El comportamiento de este método depende de cómo la base de datos
-     * y JPA interpretan un valor booleano contra un campo de tipo {@link Integer}.
-     * Para una mayor claridad, se recomienda usar {@code findAllByEstado(1)}.</p>
+     * <p><strong>Nota:</strong> El campo {@code estado} es de tipo {@link Integer}, por lo que la
+     * condición se declara explícitamente como {@code estado = 1} en lugar de derivarla del nombre
+     * del método (Hibernate no admite comparar un {@link Integer} contra un valor booleano).</p>
      *
      * @return Una lista de series de comprobante activas.
      */
+    @Query("SELECT s FROM SerieComprobante s WHERE s.estado = 1")
     List<SerieComprobante> findAllByEstadoTrue();
 
+    /**
+     * Lee el último correlativo de una serie bloqueando su fila con
+     * {@code SELECT ... FOR UPDATE} hasta que termine la transacción en curso.
+     * <p>Se usa en el modo estricto: ninguna otra venta de la misma serie puede
+     * tomar un número hasta que esta se confirme o se revierta, por lo que la
+     * numeración no tiene huecos.</p>
+     *
+     * @param id El ID de la serie.
+     * @return El último correlativo asignado, o {@code null} si la serie no existe.
+     */
+    @Query(value = "SELECT correlativo_actual FROM series_comprobante WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Integer bloquearCorrelativoActual(@Param("id") Long id);
+
+    /**
+     * Avanza el correlativo de una serie con una sola sentencia atómica.
+     *
+     * @param id       El ID de la serie.
+     * @param cantidad Cuántos números se reservan.
+     * @return El número de filas actualizadas (0 si la serie no existe).
+     */
+    @Modifying
+    @Query("UPDATE SerieComprobante s SET s.correlativo_actual = s.correlativo_actual + :cantidad WHERE s.id = :id")
+    int reservarCorrelativos(@Param("id") Long id, @Param("cantidad") int cantidad);
+
+    /**
+     * Obtiene el último correlativo reservado de una serie directamente de la base
+     * de datos, sin pasar por la entidad que pueda estar en memoria.
+     *
+     * @param id El ID de la serie.
+     * @return El último correlativo reservado.
+     */
+    @Query("SELECT s.correlativo_actual FROM SerieComprobante s WHERE s.id = :id")
+    Integer findCorrelativoActualById(@Param("id") Long id);
+
 }
@@ -3,7 +3,12 @@ package com.example.acceso.repository;
 import com.example.acceso.model.Perfil;
 import com.example.acceso.model.Usuario;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -21,7 +26,7 @@ import java.util.Optional;
  * </p>
  */
 @Repository
-public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
+public interface UsuarioRepository extends JpaRepository<Usuario, Long>, JpaSpecificationExecutor<Usuario> {
 
     /**
      * Busca un usuario por su nombre de usuario (login).
@@ -92,4 +97,17 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
     long countByEstadoNot(Integer estado);
 
     long countByPerfilAndEstado(Perfil perfil, Integer estado);
+
+    /**
+     * Reemplaza la clave codificada de un usuario sin cargar ni guardar el resto
+     * de la entidad.
+     *
+     * @param id    El ID del usuario.
+     * @param clave La clave ya codificada.
+     * @return El número de filas actualizadas (0 si el usuario no existe).
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Usuario u SET u.clave = :clave WHERE u.id = :id")
+    int actualizarClave(@Param("id") Long id, @Param("clave") String clave);
 }
@@ -0,0 +1,98 @@
+package com.example.acceso.repository;
+
+import com.example.acceso.model.VentaDiariaProductoUsuario;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repositorio de Spring Data JPA para el resumen diario de ventas por producto y
+ * usuario ({@link VentaDiariaProductoUsuario}).
+ *
+ * <p>Las ventas se acumulan con el fragmento {@link ResumenVentasRepository}. Las
+ * consultas nativas de este repositorio recalculan el mismo resumen desde
+ * {@code ventas} y {@code detalle_venta}, para reconstruirlo o para verificarlo.
+ * Los rangos de fechas de las ventas son {@code [inicio, fin)}; los nulos no
+ * filtran.</p>
+ */
+@Repository
+public interface VentaDiariaProductoUsuarioRepository
+        extends JpaRepository<VentaDiariaProductoUsuario, Long>, ResumenVentasRepository {
+
+    String AGREGAR_DESDE_VENTAS = """
+        SELECT
+            CAST(v.fecha AS DATE) AS dia,
+            dv.id_producto AS productoId,
+            COALESCE(v.id_usuario, 0) AS usuarioId,
+            v.estado AS estado,
+            SUM(dv.cantidad) AS cantidad,
+            SUM(dv.subtotal) AS ingresos,
+            SUM(dv.costo_unitario * dv.cantidad) AS costo,
+            SUM(dv.utilidad) AS utilidad
+        FROM ventas v
+        INNER JOIN detalle_venta dv ON v.id = dv.id_venta
+        WHERE v.estado IN (0, 1)
+          AND (:inicio IS NULL OR v.fecha >= :inicio)
+          AND (:fin IS NULL OR v.fecha < :fin)
+        GROUP BY CAST(v.fecha AS DATE), dv.id_producto, COALESCE(v.id_usuario, 0), v.estado
+        """;
+
+    /**
+     * Ventas de un día agregadas por producto, usuario y estado, tal como las
+     * devuelve {@link #AGREGAR_DESDE_VENTAS}.
+     */
+    interface AgregadoProducto {
+
+        LocalDate getDia();
+        Long getProductoId();
+        Long getUsuarioId();
+        Integer getEstado();
+        Long getCantidad();
+        BigDecimal getIngresos();
+        BigDecimal getCosto();
+
+    }
+
+    /**
+     * Calcula el resumen por producto y usuario directamente desde las ventas.
+     */
+    @Query(value = AGREGAR_DESDE_VENTAS, nativeQuery = true)
+    List<AgregadoProducto> agregarDesdeVentas(@Param("inicio") LocalDateTime inicio,
+                                              @Param("fin") LocalDateTime fin);
+
+    /**
+     * Inserta en el resumen lo calculado desde las ventas del rango. Las filas de
+     * esos días deben haberse borrado antes.
+     *
+     * @return La cantidad de filas insertadas.
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO ventas_diarias_producto_usuario
+            (dia, id_producto, id_usuario, estado, cantidad, ingresos, costo, utilidad)
+        """ + AGREGAR_DESDE_VENTAS, nativeQuery = true)
+    int insertarDesdeVentas(@Param("inicio") LocalDateTime inicio, @Param("fin") LocalDateTime fin);
+
+    @Modifying
+    @Query(value = """
+        DELETE FROM ventas_diarias_producto_usuario
+        WHERE (:desde IS NULL OR dia >= :desde)
+          AND (:hasta IS NULL OR dia <= :hasta)
+        """, nativeQuery = true)
+    int eliminarEntre(@Param("desde") LocalDate desde, @Param("hasta") LocalDate hasta);
+
+    @Query("""
+        SELECT r FROM VentaDiariaProductoUsuario r
+        WHERE (:desde IS NULL OR r.dia >= :desde)
+          AND (:hasta IS NULL OR r.dia <= :hasta)
+        """)
+    List<VentaDiariaProductoUsuario> buscarEntre(@Param("desde") LocalDate desde, @Param("hasta") LocalDate hasta);
+
+}
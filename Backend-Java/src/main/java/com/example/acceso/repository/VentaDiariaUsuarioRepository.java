@@ -0,0 +1,94 @@
+package com.example.acceso.repository;
+
+import com.example.acceso.model.VentaDiariaUsuario;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repositorio de Spring Data JPA para el resumen diario de ventas por usuario
+ * ({@link VentaDiariaUsuario}).
+ *
+ * <p>Igual que {@link VentaDiariaProductoUsuarioRepository}, incluye las consultas
+ * que recalculan el resumen desde las ventas para reconstruirlo o verificarlo.</p>
+ */
+@Repository
+public interface VentaDiariaUsuarioRepository extends JpaRepository<VentaDiariaUsuario, Long> {
+
+    String AGREGAR_DESDE_VENTAS = """
+        SELECT
+            CAST(v.fecha AS DATE) AS dia,
+            COALESCE(v.id_usuario, 0) AS usuarioId,
+            v.estado AS estado,
+            COUNT(*) AS cantidadVentas,
+            SUM(v.total) AS total,
+            SUM(d.utilidad) AS utilidad
+        FROM ventas v
+        INNER JOIN (
+            SELECT dv.id_venta, SUM(dv.utilidad) AS utilidad
+            FROM detalle_venta dv
+            GROUP BY dv.id_venta
+        ) d ON d.id_venta = v.id
+        WHERE v.estado IN (0, 1)
+          AND (:inicio IS NULL OR v.fecha >= :inicio)
+          AND (:fin IS NULL OR v.fecha < :fin)
+        GROUP BY CAST(v.fecha AS DATE), COALESCE(v.id_usuario, 0), v.estado
+        """;
+
+    /**
+     * Ventas de un día agregadas por usuario y estado, tal como las devuelve
+     * {@link #AGREGAR_DESDE_VENTAS}.
+     */
+    interface AgregadoUsuario {
+
+        LocalDate getDia();
+        Long getUsuarioId();
+        Integer getEstado();
+        Long getCantidadVentas();
+        BigDecimal getTotal();
+        BigDecimal getUtilidad();
+
+    }
+
+    /**
+     * Calcula el resumen por usuario directamente desde las ventas.
+     */
+    @Query(value = AGREGAR_DESDE_VENTAS, nativeQuery = true)
+    List<AgregadoUsuario> agregarDesdeVentas(@Param("inicio") LocalDateTime inicio,
+                                             @Param("fin") LocalDateTime fin);
+
+    /**
+     * Inserta en el resumen lo calculado desde las ventas del rango. Las filas de
+     * esos días deben haberse borrado antes.
+     *
+     * @return La cantidad de filas insertadas.
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO ventas_diarias_usuario (dia, id_usuario, estado, cantidad_ventas, total, utilidad)
+        """ + AGREGAR_DESDE_VENTAS, nativeQuery = true)
+    int insertarDesdeVentas(@Param("inicio") LocalDateTime inicio, @Param("fin") LocalDateTime fin);
+
+    @Modifying
+    @Query(value = """
+        DELETE FROM ventas_diarias_usuario
+        WHERE (:desde IS NULL OR dia >= :desde)
+          AND (:hasta IS NULL OR dia <= :hasta)
+        """, nativeQuery = true)
+    int eliminarEntre(@Param("desde") LocalDate desde, @Param("hasta") LocalDate hasta);
+
+    @Query("""
+        SELECT r FROM VentaDiariaUsuario r
+        WHERE (:desde IS NULL OR r.dia >= :desde)
+          AND (:hasta IS NULL OR r.dia <= :hasta)
+        """)
+    List<VentaDiariaUsuario> buscarEntre(@Param("desde") LocalDate desde, @Param("hasta") LocalDate hasta);
+
+}
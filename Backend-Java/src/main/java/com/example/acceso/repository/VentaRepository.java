@@ -1,13 +1,16 @@
 package com.example.acceso.repository;
 
 import com.example.acceso.model.Venta;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repositorio de Spring Data JPA para la entidad {@link Venta}.
@@ -39,6 +42,114 @@ public interface VentaRepository extends JpaRepository<Venta, Long> {
      */
     List<Venta> findAllByEstadoNot(Integer estado);
 
+    /**
+     * Una venta del listado paginado como proyección plana de las columnas de
+     * {@link #RESUMEN_VENTAS}.
+     */
+    interface ResumenVenta {
+
+        Long getId();
+        String getSerie();
+        Integer getCorrelativo();
+        LocalDateTime getFecha();
+        BigDecimal getTotal();
+        BigDecimal getDeuda();
+        Integer getEstado();
+        Long getClienteId();
+        String getClienteNombre();
+        String getClienteCorreo();
+        String getClienteTelefono();
+        String getUsuarioNombre();
+        String getFormaPagoNombre();
+
+    }
+
+    /**
+     * Columnas de {@link ResumenVenta} y filtros opcionales comunes a las
+     * consultas del listado paginado. Un filtro nulo no filtra; si no se indica
+     * estado se excluyen las ventas anuladas.
+     */
+    String RESUMEN_VENTAS = """
+        SELECT v.id AS id, s.serie AS serie, v.correlativo AS correlativo, v.fecha AS fecha,
+               v.total AS total, v.deuda AS deuda, v.estado AS estado,
+               c.id AS clienteId, c.nombre AS clienteNombre, c.correo AS clienteCorreo,
+               c.telefono AS clienteTelefono, u.nombre AS usuarioNombre, f.nombre AS formaPagoNombre
+        FROM Venta v
+        JOIN v.serieComprobante s
+        LEFT JOIN v.cliente c
+        LEFT JOIN v.usuario u
+        LEFT JOIN v.formaPago f
+        WHERE (:desde IS NULL OR v.fecha >= :desde)
+          AND (:hasta IS NULL OR v.fecha < :hasta)
+          AND ((:estado IS NULL AND v.estado <> 2) OR v.estado = :estado)
+          AND (:clienteId IS NULL OR c.id = :clienteId)
+          AND (:serieId IS NULL OR s.id = :serieId)
+        """;
+
+    /**
+     * Obtiene la primera página del listado de ventas como proyección plana, sin
+     * cargar las entidades relacionadas ni sus colecciones.
+     *
+     * @param desde     Fecha y hora mínima (inclusive).
+     * @param hasta     Fecha y hora máxima (exclusiva).
+     * @param estado    Estado de las ventas a listar.
+     * @param clienteId ID del cliente.
+     * @param serieId   ID de la serie de comprobante.
+     * @param limite    Cantidad máxima de ventas a devolver.
+     * @return Las ventas ordenadas de la más reciente a la más antigua.
+     */
+    @Query(RESUMEN_VENTAS + " ORDER BY v.fecha DESC, v.id DESC")
+    List<ResumenVenta> buscarResumenes(@Param("desde") LocalDateTime desde,
+                                       @Param("hasta") LocalDateTime hasta,
+                                       @Param("estado") Integer estado,
+                                       @Param("clienteId") Long clienteId,
+                                       @Param("serieId") Long serieId,
+                                       Limit limite);
+
+    /**
+     * Obtiene la página del listado de ventas que sigue a la venta indicada.
+     * <p>La paginación es por cursor (keyset) sobre {@code (fecha, id)}: en lugar de
+     * saltar filas con {@code OFFSET}, la consulta continúa justo después de la
+     * última venta de la página anterior recorriendo el índice
+     * {@code idx_ventas_fecha_id}, por lo que cada página cuesta lo mismo sin
+     * importar cuántas ventas haya antes. La condición {@code v.fecha <= :cursorFecha}
+     * es redundante, pero permite que la base de datos la use como rango del
+     * índice.</p>
+     *
+     * @param desde       Fecha y hora mínima (inclusive).
+     * @param hasta       Fecha y hora máxima (exclusiva).
+     * @param estado      Estado de las ventas a listar.
+     * @param clienteId   ID del cliente.
+     * @param serieId     ID de la serie de comprobante.
+     * @param cursorFecha Fecha de la última venta de la página anterior.
+     * @param cursorId    ID de la última venta de la página anterior.
+     * @param limite      Cantidad máxima de ventas a devolver.
+     * @return Las ventas ordenadas de la más reciente a la más antigua.
+     */
+    @Query(RESUMEN_VENTAS + """
+          AND v.fecha <= :cursorFecha
+          AND (v.fecha < :cursorFecha OR v.id < :cursorId)
+        ORDER BY v.fecha DESC, v.id DESC
+        """)
+    List<ResumenVenta> buscarResumenesDespuesDe(@Param("desde") LocalDateTime desde,
+                                                @Param("hasta") LocalDateTime hasta,
+                                                @Param("estado") Integer estado,
+                                                @Param("clienteId") Long clienteId,
+                                                @Param("serieId") Long serieId,
+                                                @Param("cursorFecha") LocalDateTime cursorFecha,
+                                                @Param("cursorId") Long cursorId,
+                                                Limit limite);
+
+    /**
+     * Busca una venta por su ID cargando en la misma consulta sus detalles y los
+     * productos vendidos.
+     *
+     * @param id El ID de la venta.
+     * @return Un {@link Optional} con la venta si existe.
+     */
+    @Query("SELECT v FROM Venta v LEFT JOIN FETCH v.detalleVentas d LEFT JOIN FETCH d.producto WHERE v.id = :id")
+    Optional<Venta> findConDetallesById(@Param("id") Long id);
+
     /**
      * Cuenta el número de ventas que tienen un estado específico.
      * <p>Por ejemplo, se puede usar para contar ventas pagadas (estado = 1) o pendientes (estado = 0).</p>
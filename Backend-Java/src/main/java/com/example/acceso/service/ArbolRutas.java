@@ -0,0 +1,153 @@
+package com.example.acceso.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Rutas permitidas compiladas en un árbol de segmentos, para decidir si una
+ * petición está permitida sin crear objetos.
+ *
+ * Cada nodo es un segmento de ruta ({@code /productos/api} son dos nodos). Un
+ * nodo con {@code prefijo} permite esa ruta y todo lo que cuelga de ella; uno
+ * con {@code exacto} permite solo esa ruta. Los hijos de cada nodo están
+ * ordenados para buscarlos por bisección. Es inmutable una vez compilado.
+ *
+ * @param etiquetas Los segmentos de los hijos de cada nodo, ordenados.
+ * @param hijos     Los nodos hijos, en el mismo orden que sus etiquetas.
+ * @param prefijo   Si cada nodo permite su ruta y todas las que cuelgan de ella.
+ * @param exacto    Si cada nodo permite exactamente su ruta.
+ */
+public record ArbolRutas(String[][] etiquetas, int[][] hijos, boolean[] prefijo, boolean[] exacto) {
+
+    /**
+     * Compila las rutas en un árbol.
+     *
+     * @param prefijos Rutas permitidas junto con todo lo que cuelga de ellas.
+     * @param exactas  Rutas permitidas solo tal cual.
+     * @return El árbol compilado.
+     */
+    public static ArbolRutas compilar(Collection<String> prefijos, Collection<String> exactas) {
+        List<List<String>> etiquetas = new ArrayList<>();
+        List<List<Integer>> hijos = new ArrayList<>();
+        List<Boolean> prefijo = new ArrayList<>();
+        List<Boolean> exacto = new ArrayList<>();
+        etiquetas.add(new ArrayList<>());
+        hijos.add(new ArrayList<>());
+        prefijo.add(false);
+        exacto.add(false);
+
+        for (int tipo = 0; tipo < 2; tipo++) {
+            for (String ruta : tipo == 0 ? prefijos : exactas) {
+                int nodo = 0;
+                for (String segmento : ruta.split("/")) {
+                    if (segmento.isEmpty()) {
+                        continue;
+                    }
+                    int posicion = etiquetas.get(nodo).indexOf(segmento);
+                    if (posicion >= 0) {
+                        nodo = hijos.get(nodo).get(posicion);
+                    } else {
+                        etiquetas.get(nodo).add(segmento);
+                        hijos.get(nodo).add(etiquetas.size());
+                        nodo = etiquetas.size();
+                        etiquetas.add(new ArrayList<>());
+                        hijos.add(new ArrayList<>());
+                        prefijo.add(false);
+                        exacto.add(false);
+                    }
+                }
+                (tipo == 0 ? prefijo : exacto).set(nodo, true);
+            }
+        }
+
+        int nodos = etiquetas.size();
+        String[][] etiquetasOrdenadas = new String[nodos][];
+        int[][] hijosOrdenados = new int[nodos][];
+        boolean[] conPrefijo = new boolean[nodos];
+        boolean[] conExacto = new boolean[nodos];
+        for (int nodo = 0; nodo < nodos; nodo++) {
+            List<String> nombres = etiquetas.get(nodo);
+            List<Integer> destinos = hijos.get(nodo);
+            Integer[] orden = new Integer[nombres.size()];
+            Arrays.setAll(orden, i -> i);
+            Arrays.sort(orden, Comparator.comparing(nombres::get));
+            etiquetasOrdenadas[nodo] = new String[orden.length];
+            hijosOrdenados[nodo] = new int[orden.length];
+            for (int i = 0; i < orden.length; i++) {
+                etiquetasOrdenadas[nodo][i] = nombres.get(orden[i]);
+                hijosOrdenados[nodo][i] = destinos.get(orden[i]);
+            }
+            conPrefijo[nodo] = prefijo.get(nodo);
+            conExacto[nodo] = exacto.get(nodo);
+        }
+        return new ArbolRutas(etiquetasOrdenadas, hijosOrdenados, conPrefijo, conExacto);
+    }
+
+    /**
+     * Indica si la ruta está permitida. Las barras repetidas o finales no
+     * cuentan, y no se crea ningún objeto.
+     *
+     * @param ruta La ruta pedida, sin parámetros de consulta.
+     * @return {@code true} si algún prefijo la cubre o coincide con una ruta exacta.
+     */
+    public boolean permite(String ruta) {
+        int nodo = 0;
+        int largo = ruta.length();
+        int inicio = 0;
+        while (true) {
+            if (prefijo[nodo]) {
+                return true;
+            }
+            while (inicio < largo && ruta.charAt(inicio) == '/') {
+                inicio++;
+            }
+            if (inicio == largo) {
+                return exacto[nodo];
+            }
+            int fin = ruta.indexOf('/', inicio);
+            if (fin < 0) {
+                fin = largo;
+            }
+            nodo = hijo(nodo, ruta, inicio, fin);
+            if (nodo < 0) {
+                return false;
+            }
+            inicio = fin;
+        }
+    }
+
+    /** Busca por bisección el hijo cuyo segmento es {@code ruta[inicio, fin)}, o -1. */
+    private int hijo(int nodo, String ruta, int inicio, int fin) {
+        String[] candidatos = etiquetas[nodo];
+        int bajo = 0;
+        int alto = candidatos.length - 1;
+        while (bajo <= alto) {
+            int medio = (bajo + alto) >>> 1;
+            int comparacion = comparar(candidatos[medio], ruta, inicio, fin);
+            if (comparacion < 0) {
+                bajo = medio + 1;
+            } else if (comparacion > 0) {
+                alto = medio - 1;
+            } else {
+                return hijos[nodo][medio];
+            }
+        }
+        return -1;
+    }
+
+    /** Compara una etiqueta con un tramo de la ruta, en el mismo orden que {@link String#compareTo}. */
+    private static int comparar(String etiqueta, String ruta, int inicio, int fin) {
+        int largoTramo = fin - inicio;
+        int minimo = Math.min(etiqueta.length(), largoTramo);
+        for (int i = 0; i < minimo; i++) {
+            int diferencia = etiqueta.charAt(i) - ruta.charAt(inicio + i);
+            if (diferencia != 0) {
+                return diferencia;
+            }
+        }
+        return etiqueta.length() - largoTramo;
+    }
+}
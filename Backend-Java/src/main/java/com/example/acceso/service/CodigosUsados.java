@@ -0,0 +1,14 @@
+package com.example.acceso.service;
+
+import java.util.Set;
+
+/**
+ * Usuarios que ya iniciaron sesión con el código TOTP de un paso de tiempo,
+ * para rechazar que ese mismo código se use otra vez.
+ *
+ * @param paso     El paso de tiempo de 30 segundos al que pertenece el código.
+ * @param usuarios IDs de los usuarios que ya usaron su código de ese paso; el
+ *                 conjunto debe admitir escrituras concurrentes.
+ */
+public record CodigosUsados(long paso, Set<Long> usuarios) {
+}
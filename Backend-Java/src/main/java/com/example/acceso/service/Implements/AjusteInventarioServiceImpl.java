@@ -7,10 +7,13 @@ import com.example.acceso.model.TipoMovimiento;
 import com.example.acceso.repository.AjusteInventarioRepository;
 import com.example.acceso.repository.TipoMovimientoRepository;
 import com.example.acceso.service.Interfaces.AjusteInventarioService;
+import com.example.acceso.service.Interfaces.MetricasService;
+import com.example.acceso.service.Interfaces.StockService;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Servicio para gestionar la lógica de negocio de los ajustes de inventario.
@@ -25,6 +28,8 @@ public class AjusteInventarioServiceImpl implements AjusteInventarioService {
     private final AjusteInventarioRepository ajusteInventarioRepository;
     private final TipoMovimientoRepository tipoMovimientoRepository;
     private final ProductoServiceImpl productoService;
+    private final StockService stockService;
+    private final MetricasService metricasService;
 
     /**
      * Constructor para la inyección de dependencias de los repositorios y servicios
@@ -36,17 +41,26 @@ public class AjusteInventarioServiceImpl implements AjusteInventarioService {
      *                                   {@link TipoMovimiento}.
      * @param productoService            Servicio para acceder a la lógica de
      *                                   negocio de los productos.
+     * @param stockService               Servicio que aplica los movimientos de
+     *                                   stock de forma atómica.
+     * @param metricasService            Registra la duración y el resultado de
+     *                                   los ajustes.
      */
     public AjusteInventarioServiceImpl(AjusteInventarioRepository ajusteInventarioRepository,
-                                       TipoMovimientoRepository tipoMovimientoRepository, ProductoServiceImpl productoService) {
+                                       TipoMovimientoRepository tipoMovimientoRepository, ProductoServiceImpl productoService,
+                                       StockService stockService, MetricasService metricasService) {
         this.ajusteInventarioRepository = ajusteInventarioRepository;
         this.tipoMovimientoRepository = tipoMovimientoRepository;
         this.productoService = productoService;
+        this.stockService = stockService;
+        this.metricasService = metricasService;
     }
 
     /**
      * Guarda un nuevo ajuste de inventario y actualiza el stock del producto
-     * correspondiente.
+     * correspondiente a través del {@link StockService}, el mismo motor que usan
+     * las ventas y sus anulaciones. La duración y el resultado se registran en
+     * las métricas, por tipo de movimiento.
      *
      * @param ajusteInventarioDTO El DTO que contiene los datos del ajuste a crear.
      * @return El objeto {@link AjusteInventario} que fue guardado en la base de
@@ -57,29 +71,40 @@ public class AjusteInventarioServiceImpl implements AjusteInventarioService {
      */
     @Transactional
     public AjusteInventario guardarAjuste(AjusteInventarioDTO ajusteInventarioDTO) {
+        long inicio = System.nanoTime();
+        TipoMovimiento tipo = null;
+        RuntimeException error = null;
+        try {
+            Producto producto = productoService.obtenerProductoPorId(ajusteInventarioDTO.getProductoId())
+                    .orElseThrow(() -> new RuntimeException(
+                            "Error: Producto no encontrado con ID: " + ajusteInventarioDTO.getProductoId()));
 
-        Producto producto = productoService.obtenerProductoPorId(ajusteInventarioDTO.getProductoId())
-                .orElseThrow(() -> new RuntimeException(
-                        "Error: Producto no encontrado con ID: " + ajusteInventarioDTO.getProductoId()));
+            tipo = tipoMovimientoRepository.findById(ajusteInventarioDTO.getTipoMovimientoId())
+                    .orElseThrow(() -> new RuntimeException("Error: Tipo de Movimiento no encontrado con ID: "
+                            + ajusteInventarioDTO.getTipoMovimientoId()));
 
-        TipoMovimiento tipo = tipoMovimientoRepository.findById(ajusteInventarioDTO.getTipoMovimientoId())
-                .orElseThrow(() -> new RuntimeException("Error: Tipo de Movimiento no encontrado con ID: "
-                        + ajusteInventarioDTO.getTipoMovimientoId()));
+            return aplicarAjuste(ajusteInventarioDTO, producto, tipo);
+        } catch (RuntimeException e) {
+            error = e;
+            throw e;
+        } finally {
+            metricasService.ajusteGuardado(tipo != null ? tipo.getNombre() : null, error, System.nanoTime() - inicio);
+        }
+    }
+
+    private AjusteInventario aplicarAjuste(AjusteInventarioDTO ajusteInventarioDTO, Producto producto,
+                                           TipoMovimiento tipo) {
 
         AjusteInventario nuevoAjuste = new AjusteInventario(producto, tipo, ajusteInventarioDTO.getCantidad(),
                 ajusteInventarioDTO.getComentario());
 
+        Map<Long, Integer> movimiento = Map.of(producto.getId(), nuevoAjuste.getCantidad());
         switch (tipo.getNombre()) {
             case "Entrada":
-                nuevoAjuste.getProducto().setStock(nuevoAjuste.getProducto().getStock() + nuevoAjuste.getCantidad());
+                stockService.reponerStock(movimiento);
                 break;
             case "Salida":
-                if (producto.getStock() < nuevoAjuste.getCantidad()) {
-                    throw new RuntimeException("Error: Stock insuficiente. Stock actual: " + producto.getStock());
-                } else {
-                    nuevoAjuste.getProducto()
-                            .setStock(nuevoAjuste.getProducto().getStock() - nuevoAjuste.getCantidad());
-                }
+                stockService.descontarStock(movimiento);
                 break;
             default:
                 break;
@@ -87,7 +112,6 @@ public class AjusteInventarioServiceImpl implements AjusteInventarioService {
 
         ajusteInventarioRepository.save(nuevoAjuste);
         return nuevoAjuste;
-
     }
 
     /**
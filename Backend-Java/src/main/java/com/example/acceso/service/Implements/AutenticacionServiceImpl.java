@@ -0,0 +1,109 @@
+package com.example.acceso.service.Implements;
+
+import com.example.acceso.DTO.SesionUsuario;
+import com.example.acceso.model.Usuario;
+import com.example.acceso.repository.UsuarioRepository;
+import com.example.acceso.service.Interfaces.AutenticacionService;
+import com.example.acceso.service.Interfaces.ClavesService;
+import com.example.acceso.service.Interfaces.LimitadorIntentosService;
+import com.example.acceso.service.Interfaces.ServicioAutenticacionDosPasos;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+/**
+ * Valida las credenciales de inicio de sesión.
+ *
+ * El orden de los pasos importa: primero el limitador de intentos, que no
+ * cuesta nada, y solo después BCrypt. Un usuario inexistente también paga una
+ * verificación BCrypt contra una clave ficticia, para que el tiempo de
+ * respuesta no revele qué usuarios existen, y el mensaje de error es el mismo
+ * para usuario y contraseña.
+ */
+@Service
+public class AutenticacionServiceImpl implements AutenticacionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AutenticacionServiceImpl.class);
+    private static final String CREDENCIALES_INCORRECTAS = "Usuario o contraseña incorrectos.";
+
+    private final UsuarioRepository usuarioRepository;
+    private final ClavesService clavesService;
+    private final LimitadorIntentosService limitadorIntentosService;
+    private final ServicioAutenticacionDosPasos servicio2FA;
+    private final String claveFicticia;
+
+    /**
+     * Constructor para la inyección de dependencias.
+     *
+     * @param usuarioRepository        El repositorio de usuarios.
+     * @param clavesService            El servicio que ejecuta BCrypt en su grupo de hilos.
+     * @param limitadorIntentosService El limitador de intentos por usuario y por IP.
+     * @param servicio2FA              El servicio que verifica los tokens de 2FA.
+     */
+    public AutenticacionServiceImpl(UsuarioRepository usuarioRepository, ClavesService clavesService,
+                                    LimitadorIntentosService limitadorIntentosService,
+                                    ServicioAutenticacionDosPasos servicio2FA) {
+        this.usuarioRepository = usuarioRepository;
+        this.clavesService = clavesService;
+        this.limitadorIntentosService = limitadorIntentosService;
+        this.servicio2FA = servicio2FA;
+        this.claveFicticia = clavesService.codificar("clave-ficticia-para-usuarios-inexistentes");
+    }
+
+    /**
+     * Autentica a un usuario.
+     *
+     * Si la contraseña es correcta pero fue codificada con un costo menor al
+     * configurado, se vuelve a codificar y se guarda, sin que el usuario lo note.
+     *
+     * @param usuario El nombre de usuario ingresado.
+     * @param clave   La contraseña ingresada.
+     * @param token   El token de 2FA ingresado; puede estar vacío si el usuario no usa 2FA.
+     * @param ip      La IP desde la que se intenta.
+     * @return Los datos del usuario autenticado que se guardan en su sesión.
+     * @throws IllegalStateException    Si hubo demasiados intentos o el servidor está ocupado.
+     * @throws IllegalArgumentException Si las credenciales o el token no son válidos.
+     */
+    @Override
+    public SesionUsuario autenticar(String usuario, String clave, String token, String ip) {
+        String nombre = usuario == null ? "" : usuario.trim().toLowerCase();
+        if (!limitadorIntentosService.intentar(nombre, ip)) {
+            throw new IllegalStateException("Demasiados intentos de inicio de sesión. Espere un momento e intente nuevamente.");
+        }
+
+        Optional<Usuario> encontrado = usuarioRepository.findByUsuario(nombre);
+        String claveGuardada = encontrado.map(Usuario::getClave).orElse(claveFicticia);
+        boolean claveCorrecta = clave != null && clavesService.verificar(clave, claveGuardada);
+        if (encontrado.isEmpty() || !claveCorrecta) {
+            throw new IllegalArgumentException(CREDENCIALES_INCORRECTAS);
+        }
+
+        Usuario usuarioEncontrado = encontrado.get();
+        if (usuarioEncontrado.getEstado() != 1) { // 1 = Activo
+            throw new IllegalArgumentException("Este usuario se encuentra inactivo.");
+        }
+        if (usuarioEncontrado.isUsa2FA()) {
+            if (token == null || token.trim().isEmpty()) {
+                throw new IllegalArgumentException("Se requiere el token de seguridad.");
+            }
+            if (!servicio2FA.esCodigoValido(usuarioEncontrado.getId(), usuarioEncontrado.getSecreto2FA(), token.trim())) {
+                throw new IllegalArgumentException("El token de seguridad es incorrecto.");
+            }
+        }
+
+        if (clavesService.requiereRecodificar(claveGuardada)) {
+            try {
+                String nueva = clavesService.codificar(clave);
+                usuarioRepository.actualizarClave(usuarioEncontrado.getId(), nueva);
+                usuarioEncontrado.setClave(nueva);
+            } catch (RuntimeException e) {
+                // El inicio de sesión no depende de esto; se reintenta en el próximo
+                logger.warn("No se pudo actualizar el costo de la contraseña del usuario {}", usuarioEncontrado.getId(), e);
+            }
+        }
+        return new SesionUsuario(usuarioEncontrado.getId(), usuarioEncontrado.getNombre(), usuarioEncontrado.getPerfilId());
+    }
+
+}
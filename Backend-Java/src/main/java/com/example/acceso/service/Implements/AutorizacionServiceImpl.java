@@ -0,0 +1,125 @@
+package com.example.acceso.service.Implements;
+
+import com.example.acceso.DTO.ModeloPermisosDTO;
+import com.example.acceso.DTO.PermisosPerfilDTO;
+import com.example.acceso.service.ArbolRutas;
+import com.example.acceso.service.ReglasAutorizacion;
+import com.example.acceso.service.Interfaces.AutorizacionService;
+import com.example.acceso.service.Interfaces.PermisosService;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Decide si un perfil puede usar una ruta, a partir de las opciones de menú del
+ * perfil.
+ *
+ * Cada opción da acceso a todo su módulo: la opción {@code /productos/listar}
+ * permite {@code /productos/**}, incluidas las rutas {@code /api} que usa esa
+ * pantalla. Algunas pantallas también llaman a rutas de otros módulos; esas
+ * rutas se agregan junto con el módulo ({@link #RUTAS_RELACIONADAS}). Todos los
+ * usuarios logueados pueden usar el panel principal y consultar quién es el
+ * usuario logueado.
+ *
+ * Las rutas se compilan en un {@link ArbolRutas} por perfil, así que cada
+ * decisión es una búsqueda por segmentos que no consulta la base de datos ni
+ * crea objetos. Los árboles se vuelven a compilar, y se reemplazan todos de una
+ * vez, cuando cambia la versión de los permisos en {@link PermisosService}.
+ */
+@Service
+public class AutorizacionServiceImpl implements AutorizacionService {
+
+    /** Rutas de otros módulos que usa la pantalla de cada módulo. */
+    private static final Map<String, List<String>> RUTAS_RELACIONADAS = Map.of(
+            "/ventas", List.of("/clientes/api/buscar-documento", "/clientes/api/guardar", "/productos/api/buscar",
+                    "/pagos/api"),
+            "/proveedores", List.of("/clientes/api/buscar-documento"),
+            "/slides", List.of("/redes/api", "/logo"));
+
+    /** Rutas que puede usar cualquier usuario logueado, con todo lo que cuelga de ellas. */
+    private static final List<String> RUTAS_COMUNES = List.of("/usuarios/api/usuarioLogueado");
+
+    private final PermisosService permisosService;
+    private final ArbolRutas rutasComunes = ArbolRutas.compilar(RUTAS_COMUNES, List.of("/"));
+
+    private volatile ReglasAutorizacion reglas;
+
+    /**
+     * Constructor para la inyección de dependencias.
+     *
+     * @param permisosService El servicio con los permisos de cada perfil.
+     */
+    public AutorizacionServiceImpl(PermisosService permisosService) {
+        this.permisosService = permisosService;
+    }
+
+    /**
+     * Indica si el perfil puede usar la ruta.
+     *
+     * @param perfilId El ID del perfil del usuario logueado, o {@code null}.
+     * @param ruta     La ruta pedida, sin el contexto ni los parámetros.
+     * @return {@code true} si la ruta es común o la cubre alguna opción del perfil.
+     */
+    @Override
+    public boolean permite(Long perfilId, String ruta) {
+        if (rutasComunes.permite(ruta)) {
+            return true;
+        }
+        if (perfilId == null) {
+            return false;
+        }
+        ArbolRutas arbol = reglasVigentes().perfiles().get(perfilId);
+        return arbol != null && arbol.permite(ruta);
+    }
+
+    private ReglasAutorizacion reglasVigentes() {
+        ModeloPermisosDTO modelo = permisosService.modelo();
+        ReglasAutorizacion actuales = reglas;
+        if (actuales == null || actuales.version() != modelo.version()) {
+            actuales = compilar(modelo);
+        }
+        return actuales;
+    }
+
+    /** Compila los árboles de una versión del modelo, salvo que otro hilo ya lo haya hecho. */
+    private synchronized ReglasAutorizacion compilar(ModeloPermisosDTO modelo) {
+        if (reglas != null && reglas.version() == modelo.version()) {
+            return reglas;
+        }
+        Map<Long, ArbolRutas> perfiles = new HashMap<>();
+        for (PermisosPerfilDTO permisos : modelo.perfiles().values()) {
+            Set<String> prefijos = new HashSet<>();
+            Set<String> exactas = new HashSet<>();
+            for (String ruta : permisos.rutas()) {
+                String modulo = modulo(ruta);
+                if (modulo == null) {
+                    exactas.add(ruta);
+                } else {
+                    prefijos.add(modulo);
+                    prefijos.addAll(RUTAS_RELACIONADAS.getOrDefault(modulo, List.of()));
+                }
+            }
+            perfiles.put(permisos.perfilId(), ArbolRutas.compilar(prefijos, exactas));
+        }
+        reglas = new ReglasAutorizacion(modelo.version(), perfiles);
+        return reglas;
+    }
+
+    /** El primer segmento de la ruta ({@code /productos/listar} da {@code /productos}), o {@code null} si no tiene. */
+    private static String modulo(String ruta) {
+        int inicio = 0;
+        while (inicio < ruta.length() && ruta.charAt(inicio) == '/') {
+            inicio++;
+        }
+        if (inicio == ruta.length()) {
+            return null;
+        }
+        int fin = ruta.indexOf('/', inicio);
+        return "/" + ruta.substring(inicio, fin < 0 ? ruta.length() : fin);
+    }
+
+}
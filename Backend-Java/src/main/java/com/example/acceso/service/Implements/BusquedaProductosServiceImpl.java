@@ -0,0 +1,481 @@
+package com.example.acceso.service.Implements;
+
+import com.example.acceso.DTO.CategoriaModificadaDTO;
+import com.example.acceso.DTO.ProductoBusquedaDTO;
+import com.example.acceso.DTO.ProductoModificadoDTO;
+import com.example.acceso.model.Producto;
+import com.example.acceso.repository.ProductoRepository;
+import com.example.acceso.service.Interfaces.BusquedaProductosService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Buscador de productos para la pantalla de ventas.
+ *
+ * Mantiene en memoria un índice invertido de los productos activos: cada
+ * palabra del nombre, la descripción y la categoría, sin tildes y en
+ * minúsculas, apunta a las posiciones de los productos que la contienen. Las
+ * palabras se guardan ordenadas, así que buscar por el comienzo de una palabra
+ * es recorrer un tramo del índice, sin tocar la base de datos ni recorrer todos
+ * los productos. Solo el stock, que cambia con cada venta, se lee de la base
+ * de datos, y únicamente para los productos sugeridos.
+ *
+ * El índice se arma al iniciar la aplicación y luego se actualiza producto por
+ * producto cuando se confirma un cambio en un producto o en una categoría.
+ */
+@Service
+public class BusquedaProductosServiceImpl implements BusquedaProductosService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BusquedaProductosServiceImpl.class);
+    private static final int LIMITE_POR_DEFECTO = 20;
+    private static final int LIMITE_MAXIMO = 50;
+    /** Hasta cuántas coincidencias de un grupo conviene ordenarlas en vez de recorrer el orden alfabético. */
+    private static final int ORDENAR_HASTA = 256;
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^a-z0-9]+");
+
+    private final ProductoRepository productoRepository;
+
+    private final ReentrantReadWriteLock bloqueo = new ReentrantReadWriteLock();
+    /**
+     * Ordena las lecturas de productos que se aplican al índice: cada una se lee y
+     * se aplica antes de empezar la siguiente, así una lectura más vieja nunca se
+     * aplica después de una más nueva. Se toma antes que {@link #bloqueo}, que
+     * solo se retiene mientras se modifica el índice.
+     */
+    private final ReentrantLock bloqueoRecarga = new ReentrantLock();
+    /** Cada palabra con las posiciones, en orden ascendente, de los productos que la contienen. */
+    private final TreeMap<String, int[]> indice = new TreeMap<>();
+    /** Igual que {@link #indice}, pero solo con las palabras del nombre. */
+    private final TreeMap<String, int[]> indiceNombre = new TreeMap<>();
+    /** Igual que {@link #indice}, pero solo con la primera palabra del nombre. */
+    private final TreeMap<String, int[]> indicePrimeraPalabra = new TreeMap<>();
+    /** Los productos por posición; {@code null} en las posiciones libres. */
+    private final List<ProductoBusquedaDTO> productos = new ArrayList<>();
+    private final List<String[]> terminosPorPosicion = new ArrayList<>();
+    private final List<String[]> terminosNombrePorPosicion = new ArrayList<>();
+    /** Las palabras del nombre separadas por un espacio, para ordenar las sugerencias. */
+    private final List<String> nombresNormalizados = new ArrayList<>();
+    /** Las posiciones ocupadas, ordenadas por nombre y luego por ID. */
+    private int[] ordenAlfabetico = new int[0];
+    private final Map<Long, Integer> posicionPorId = new HashMap<>();
+    private final ArrayDeque<Integer> posicionesLibres = new ArrayDeque<>();
+    private volatile boolean construido;
+
+    /**
+     * Constructor para la inyección de dependencias.
+     *
+     * @param productoRepository Repositorio de productos.
+     */
+    public BusquedaProductosServiceImpl(ProductoRepository productoRepository) {
+        this.productoRepository = productoRepository;
+    }
+
+    /**
+     * Busca productos activos cuyo nombre, descripción o categoría tengan
+     * palabras que comiencen con cada una de las palabras buscadas, sin
+     * distinguir tildes ni mayúsculas.
+     *
+     * Primero van los productos cuyo nombre comienza con la primera palabra
+     * buscada, luego aquellos en cuyo nombre aparece, y al final los que solo
+     * coinciden por la descripción o la categoría; dentro de cada grupo, por
+     * nombre.
+     *
+     * @param texto  El texto escrito por el usuario.
+     * @param limite Cuántos productos devolver como máximo (hasta 50).
+     * @return Los productos encontrados, con su stock actual.
+     */
+    @Override
+    public List<ProductoBusquedaDTO> buscar(String texto, int limite) {
+        String[] consulta = terminos(texto).toArray(String[]::new);
+        if (consulta.length == 0) {
+            return List.of();
+        }
+        int tope = limite <= 0 ? LIMITE_POR_DEFECTO : Math.min(limite, LIMITE_MAXIMO);
+
+        if (!construido) {
+            bloqueoRecarga.lock();
+            bloqueo.writeLock().lock();
+            try {
+                if (!construido) {
+                    construir();
+                }
+            } finally {
+                bloqueo.writeLock().unlock();
+                bloqueoRecarga.unlock();
+            }
+        }
+
+        List<ProductoBusquedaDTO> encontrados;
+        bloqueo.readLock().lock();
+        try {
+            encontrados = buscarEnIndice(consulta, tope);
+        } finally {
+            bloqueo.readLock().unlock();
+        }
+        if (encontrados.isEmpty()) {
+            return encontrados;
+        }
+
+        Map<Long, Integer> stockActual = productoRepository
+                .findStockByIdIn(encontrados.stream().map(ProductoBusquedaDTO::id).toList()).stream()
+                .collect(Collectors.toMap(fila -> (Long) fila[0], fila -> (Integer) fila[1]));
+        return encontrados.stream()
+                .map(producto -> producto.conStock(stockActual.getOrDefault(producto.id(), producto.stock())))
+                .toList();
+    }
+
+    /**
+     * Vuelve a armar el índice completo con los productos activos. Se ejecuta al
+     * iniciar la aplicación; mientras tanto, las búsquedas esperan.
+     */
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruirIndice() {
+        bloqueoRecarga.lock();
+        bloqueo.writeLock().lock();
+        try {
+            construir();
+        } finally {
+            bloqueo.writeLock().unlock();
+            bloqueoRecarga.unlock();
+        }
+    }
+
+    /**
+     * Actualiza en el índice un producto, una vez que se confirma la transacción
+     * que lo modificó. Si quedó inactivo o eliminado, sale del índice.
+     *
+     * @param evento El aviso de modificación.
+     */
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void reindexarProducto(ProductoModificadoDTO evento) {
+        if (construido && evento.productoId() != null) {
+            reindexar(List.of(evento.productoId()));
+        }
+    }
+
+    /**
+     * Actualiza en el índice los productos de una categoría, una vez que se
+     * confirma la transacción que la guardó, para que se encuentren por su
+     * nombre nuevo.
+     *
+     * @param evento El aviso de modificación.
+     */
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void reindexarCategoria(CategoriaModificadaDTO evento) {
+        if (construido && evento.categoriaId() != null) {
+            reindexar(productoRepository.findIdsByCategoriaId(evento.categoriaId()));
+        }
+    }
+
+    private void reindexar(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        // Las búsquedas siguen respondiendo mientras se leen los productos; solo
+        // esperan a que se apliquen al índice
+        bloqueoRecarga.lock();
+        try {
+            List<Producto> activos = productoRepository.findAllConCategoriaByIdIn(ids).stream()
+                    .filter(producto -> producto.getEstado() == 1)
+                    .toList();
+            bloqueo.writeLock().lock();
+            try {
+                ids.forEach(this::quitar);
+                activos.forEach(this::agregar);
+            } finally {
+                bloqueo.writeLock().unlock();
+            }
+        } finally {
+            bloqueoRecarga.unlock();
+        }
+    }
+
+    /** Arma el índice desde cero. Se llama con el bloqueo de escritura tomado. */
+    private void construir() {
+        long inicio = System.nanoTime();
+        productos.clear();
+        terminosPorPosicion.clear();
+        terminosNombrePorPosicion.clear();
+        nombresNormalizados.clear();
+        posicionPorId.clear();
+        posicionesLibres.clear();
+
+        Map<String, List<Integer>> porTermino = new HashMap<>();
+        Map<String, List<Integer>> porTerminoNombre = new HashMap<>();
+        Map<String, List<Integer>> porPrimeraPalabra = new HashMap<>();
+        for (Producto producto : productoRepository.findAllConCategoriaByEstado(1)) {
+            int posicion = registrar(producto, productos.size());
+            for (String termino : terminosPorPosicion.get(posicion)) {
+                porTermino.computeIfAbsent(termino, clave -> new ArrayList<>()).add(posicion);
+            }
+            String[] terminosNombre = terminosNombrePorPosicion.get(posicion);
+            for (String termino : terminosNombre) {
+                porTerminoNombre.computeIfAbsent(termino, clave -> new ArrayList<>()).add(posicion);
+            }
+            if (terminosNombre.length > 0) {
+                porPrimeraPalabra.computeIfAbsent(terminosNombre[0], clave -> new ArrayList<>()).add(posicion);
+            }
+        }
+        volcar(porTermino, indice);
+        volcar(porTerminoNombre, indiceNombre);
+        volcar(porPrimeraPalabra, indicePrimeraPalabra);
+        ordenAlfabetico = IntStream.range(0, productos.size()).boxed()
+                .sorted(this::compararPorNombre)
+                .mapToInt(Integer::intValue)
+                .toArray();
+        construido = true;
+
+        logger.info("Índice de búsqueda de productos armado: {} productos, {} palabras, {} ms", posicionPorId.size(),
+                indice.size(), (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    private static void volcar(Map<String, List<Integer>> temporal, TreeMap<String, int[]> destino) {
+        destino.clear();
+        temporal.forEach((termino, posiciones) ->
+                destino.put(termino, posiciones.stream().mapToInt(Integer::intValue).toArray()));
+    }
+
+    /**
+     * Guarda los datos del producto en la posición indicada, que puede ser una
+     * nueva al final o una libre.
+     */
+    private int registrar(Producto producto, int posicion) {
+        String categoria = producto.getCategoria() != null ? producto.getCategoria().getNombre() : null;
+        ProductoBusquedaDTO datos = new ProductoBusquedaDTO(producto.getId(), producto.getNombre(), categoria,
+                producto.getPrecioVenta(), producto.getStock());
+        String[] terminos = terminos(producto.getNombre(), producto.getDescripcion(), categoria).toArray(String[]::new);
+        String[] terminosNombre = terminos(producto.getNombre()).toArray(String[]::new);
+        String nombre = String.join(" ", terminosNombre);
+        if (posicion == productos.size()) {
+            productos.add(datos);
+            terminosPorPosicion.add(terminos);
+            terminosNombrePorPosicion.add(terminosNombre);
+            nombresNormalizados.add(nombre);
+        } else {
+            productos.set(posicion, datos);
+            terminosPorPosicion.set(posicion, terminos);
+            terminosNombrePorPosicion.set(posicion, terminosNombre);
+            nombresNormalizados.set(posicion, nombre);
+        }
+        posicionPorId.put(producto.getId(), posicion);
+        return posicion;
+    }
+
+    private void agregar(Producto producto) {
+        Integer libre = posicionesLibres.poll();
+        int posicion = registrar(producto, libre != null ? libre : productos.size());
+        for (String termino : terminosPorPosicion.get(posicion)) {
+            indice.merge(termino, new int[] {posicion}, (actuales, nueva) -> insertar(actuales, posicion));
+        }
+        String[] terminosNombre = terminosNombrePorPosicion.get(posicion);
+        for (String termino : terminosNombre) {
+            indiceNombre.merge(termino, new int[] {posicion}, (actuales, nueva) -> insertar(actuales, posicion));
+        }
+        if (terminosNombre.length > 0) {
+            indicePrimeraPalabra.merge(terminosNombre[0], new int[] {posicion}, (actuales, nueva) -> insertar(actuales, posicion));
+        }
+        ordenAlfabetico = insertarEn(ordenAlfabetico, lugarAlfabetico(posicion), posicion);
+    }
+
+    private void quitar(Long productoId) {
+        Integer posicion = posicionPorId.remove(productoId);
+        if (posicion == null) {
+            return;
+        }
+        for (String termino : terminosPorPosicion.get(posicion)) {
+            indice.computeIfPresent(termino, (clave, actuales) -> eliminar(actuales, posicion));
+        }
+        String[] terminosNombre = terminosNombrePorPosicion.get(posicion);
+        for (String termino : terminosNombre) {
+            indiceNombre.computeIfPresent(termino, (clave, actuales) -> eliminar(actuales, posicion));
+        }
+        if (terminosNombre.length > 0) {
+            indicePrimeraPalabra.computeIfPresent(terminosNombre[0], (clave, actuales) -> eliminar(actuales, posicion));
+        }
+        ordenAlfabetico = quitarEn(ordenAlfabetico, lugarAlfabetico(posicion));
+
+        productos.set(posicion, null);
+        terminosPorPosicion.set(posicion, null);
+        terminosNombrePorPosicion.set(posicion, null);
+        nombresNormalizados.set(posicion, null);
+        posicionesLibres.push(posicion);
+    }
+
+    /**
+     * Cruza las posiciones de cada palabra buscada y separa las coincidencias
+     * en tres grupos: el nombre comienza con la primera palabra buscada, el
+     * nombre la contiene, o solo coinciden la descripción o la categoría. De
+     * cada grupo toma las primeras por nombre hasta juntar {@code tope}, sin
+     * ordenar todas las coincidencias. Se llama con el bloqueo de lectura
+     * tomado.
+     */
+    private List<ProductoBusquedaDTO> buscarEnIndice(String[] consulta, int tope) {
+        BitSet coincidencias = null;
+        for (String termino : consulta) {
+            BitSet delTermino = unir(indice, termino);
+            if (coincidencias == null) {
+                coincidencias = delTermino;
+            } else {
+                coincidencias.and(delTermino);
+            }
+            if (coincidencias.isEmpty()) {
+                return List.of();
+            }
+        }
+
+        BitSet alInicio = unir(indicePrimeraPalabra, consulta[0]);
+        alInicio.and(coincidencias);
+        BitSet enNombre = unir(indiceNombre, consulta[0]);
+        enNombre.and(coincidencias);
+        enNombre.andNot(alInicio);
+        coincidencias.andNot(alInicio);
+        coincidencias.andNot(enNombre);
+
+        List<ProductoBusquedaDTO> encontrados = new ArrayList<>(tope);
+        tomarPorNombre(alInicio, tope, encontrados);
+        tomarPorNombre(enNombre, tope, encontrados);
+        tomarPorNombre(coincidencias, tope, encontrados);
+        return encontrados;
+    }
+
+    /** Las posiciones de todas las palabras del índice que comienzan con el prefijo. */
+    private BitSet unir(TreeMap<String, int[]> mapa, String prefijo) {
+        BitSet resultado = new BitSet(productos.size());
+        for (int[] posiciones : mapa.subMap(prefijo, true, prefijo + Character.MAX_VALUE, false).values()) {
+            for (int posicion : posiciones) {
+                resultado.set(posicion);
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Agrega a {@code destino} los productos del grupo por orden de nombre hasta
+     * llegar a {@code tope}. Si el grupo es chico, ordena solo sus posiciones;
+     * si no, recorre el orden alfabético, donde pronto aparecen las primeras.
+     */
+    private void tomarPorNombre(BitSet grupo, int tope, List<ProductoBusquedaDTO> destino) {
+        int faltan = tope - destino.size();
+        if (faltan <= 0 || grupo.isEmpty()) {
+            return;
+        }
+        if (grupo.cardinality() <= ORDENAR_HASTA) {
+            grupo.stream().boxed()
+                    .sorted(this::compararPorNombre)
+                    .limit(faltan)
+                    .forEach(posicion -> destino.add(productos.get(posicion)));
+            return;
+        }
+        for (int i = 0; i < ordenAlfabetico.length && faltan > 0; i++) {
+            if (grupo.get(ordenAlfabetico[i])) {
+                destino.add(productos.get(ordenAlfabetico[i]));
+                faltan--;
+            }
+        }
+    }
+
+    /** Compara dos posiciones ocupadas por nombre y, si empatan, por ID. */
+    private int compararPorNombre(int a, int b) {
+        int porNombre = nombresNormalizados.get(a).compareTo(nombresNormalizados.get(b));
+        return porNombre != 0 ? porNombre : Long.compare(productos.get(a).id(), productos.get(b).id());
+    }
+
+    /**
+     * Busca en {@link #ordenAlfabetico} el lugar de la posición indicada, o el
+     * lugar donde debe insertarse si aún no está.
+     */
+    private int lugarAlfabetico(int posicion) {
+        int desde = 0;
+        int hasta = ordenAlfabetico.length - 1;
+        while (desde <= hasta) {
+            int medio = (desde + hasta) >>> 1;
+            int comparacion = compararPorNombre(ordenAlfabetico[medio], posicion);
+            if (comparacion < 0) {
+                desde = medio + 1;
+            } else if (comparacion > 0) {
+                hasta = medio - 1;
+            } else {
+                return medio;
+            }
+        }
+        return desde;
+    }
+
+    /**
+     * Separa los textos en palabras sin tildes y en minúsculas, sin repetir.
+     * La ñ queda como n, igual que en la búsqueda.
+     */
+    private static Set<String> terminos(String... textos) {
+        Set<String> terminos = new LinkedHashSet<>();
+        for (String texto : textos) {
+            if (texto == null) {
+                continue;
+            }
+            String normalizado = MARCAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("")
+                    .toLowerCase(Locale.ROOT);
+            for (String termino : SEPARADORES.split(normalizado)) {
+                if (!termino.isEmpty()) {
+                    terminos.add(termino);
+                }
+            }
+        }
+        return terminos;
+    }
+
+    /** Inserta la posición en la lista ordenada, si no estaba. */
+    private static int[] insertar(int[] posiciones, int posicion) {
+        int lugar = Arrays.binarySearch(posiciones, posicion);
+        return lugar >= 0 ? posiciones : insertarEn(posiciones, -lugar - 1, posicion);
+    }
+
+    /** Quita la posición de la lista ordenada; devuelve {@code null} si queda vacía, para sacar la palabra. */
+    private static int[] eliminar(int[] posiciones, int posicion) {
+        int lugar = Arrays.binarySearch(posiciones, posicion);
+        if (lugar < 0) {
+            return posiciones;
+        }
+        return posiciones.length == 1 ? null : quitarEn(posiciones, lugar);
+    }
+
+    private static int[] insertarEn(int[] valores, int lugar, int valor) {
+        int[] resultado = new int[valores.length + 1];
+        System.arraycopy(valores, 0, resultado, 0, lugar);
+        resultado[lugar] = valor;
+        System.arraycopy(valores, lugar, resultado, lugar + 1, valores.length - lugar);
+        return resultado;
+    }
+
+    private static int[] quitarEn(int[] valores, int lugar) {
+        int[] resultado = new int[valores.length - 1];
+        System.arraycopy(valores, 0, resultado, 0, lugar);
+        System.arraycopy(valores, lugar + 1, resultado, lugar, valores.length - lugar - 1);
+        return resultado;
+    }
+
+}
@@ -0,0 +1,131 @@
+package com.example.acceso.service.Implements;
+
+import com.example.acceso.DTO.CatalogoModificadoDTO;
+import com.example.acceso.DTO.CatalogoPublicoDTO;
+import com.example.acceso.DTO.ProductoPublicoDTO;
+import com.example.acceso.service.Interfaces.CatalogoPublicoService;
+import com.example.acceso.service.Interfaces.CategoriaService;
+import com.example.acceso.service.Interfaces.ProductoService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Arma el catálogo público de productos que consultan las páginas web.
+ *
+ * El catálogo se genera una sola vez como JSON, con su ETag, y se sirve desde
+ * memoria hasta que se confirma un cambio en los productos, su stock o las
+ * categorías, o hasta que vence su duración máxima. Así, cada visita a la página
+ * de productos no consulta la base de datos ni vuelve a generar el JSON, y el
+ * navegador puede validar su copia con el ETag sin volver a descargarla.
+ */
+@Service
+public class CatalogoPublicoServiceImpl implements CatalogoPublicoService {
+
+    private final ProductoService productoService;
+    private final CategoriaService categoriaService;
+    private final long duracionNanos;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /** Catálogo en memoria; {@code null} si hay que volver a generarlo. */
+    private CatalogoPublicoDTO catalogo;
+    private long catalogoExpiraEn;
+    private final Object bloqueoCatalogo = new Object();
+
+    /**
+     * Constructor para la inyección de dependencias.
+     *
+     * @param productoService  Servicio de productos.
+     * @param categoriaService Servicio de categorías.
+     * @param duracion         Cuánto tiempo se sirve el catálogo sin volver a
+     *                         generarlo, aunque no se haya avisado de cambios.
+     */
+    public CatalogoPublicoServiceImpl(ProductoService productoService, CategoriaService categoriaService,
+                                      @Value("${acuamont.catalogo.duracion:5m}") Duration duracion) {
+        this.productoService = productoService;
+        this.categoriaService = categoriaService;
+        this.duracionNanos = duracion.toNanos();
+    }
+
+    /**
+     * Obtiene el catálogo público: los productos activos y las categorías
+     * activas. Si varias peticiones lo piden a la vez sin catálogo en memoria,
+     * solo una lo genera.
+     *
+     * @return El JSON del catálogo y su ETag.
+     */
+    @Override
+    public CatalogoPublicoDTO obtenerCatalogo() {
+        synchronized (bloqueoCatalogo) {
+            if (catalogo == null || System.nanoTime() - catalogoExpiraEn >= 0) {
+                catalogo = generarCatalogo();
+                catalogoExpiraEn = System.nanoTime() + duracionNanos;
+            }
+            return catalogo;
+        }
+    }
+
+    /**
+     * Descarta el catálogo en memoria una vez que se confirma la transacción que
+     * modificó alguno de sus datos.
+     *
+     * @param evento El aviso de modificación.
+     */
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void invalidarCatalogo(CatalogoModificadoDTO evento) {
+        synchronized (bloqueoCatalogo) {
+            catalogo = null;
+        }
+    }
+
+    private CatalogoPublicoDTO generarCatalogo() {
+        List<ProductoPublicoDTO> productos = productoService.listarCatalogo().stream()
+                .filter(producto -> producto.estado() == 1)
+                .map(producto -> new ProductoPublicoDTO(
+                        producto.id(),
+                        producto.nombre(),
+                        producto.descripcion(),
+                        producto.precioVenta(),
+                        producto.stock(),
+                        producto.categoriaId(),
+                        producto.categoriaNombre(),
+                        producto.miniatura()))
+                .toList();
+        List<Map<String, Object>> categorias = categoriaService.listarCategoriasActivas().stream()
+                .map(categoria -> Map.<String, Object>of("id", categoria.getId(), "nombre", categoria.getNombre()))
+                .toList();
+
+        Map<String, Object> cuerpo = new LinkedHashMap<>();
+        cuerpo.put("success", true);
+        cuerpo.put("data", productos);
+        cuerpo.put("categorias", categorias);
+        try {
+            byte[] contenido = objectMapper.writeValueAsBytes(cuerpo);
+            return new CatalogoPublicoDTO(contenido, calcularEtag(contenido));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo generar el catálogo público", e);
+        }
+    }
+
+    /** ETag fuerte: el SHA-256 del contenido, así solo cambia si cambia el JSON. */
+    private static String calcularEtag(byte[] contenido) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(contenido);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(hash) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no está disponible", e);
+        }
+    }
+
+}
@@ -1,8 +1,11 @@
 package com.example.acceso.service.Implements;
 
+import com.example.acceso.DTO.CatalogoModificadoDTO;
+import com.example.acceso.DTO.CategoriaModificadaDTO;
 import com.example.acceso.model.Categoria;
 import com.example.acceso.repository.CategoriaRepository;
 import com.example.acceso.service.Interfaces.CategoriaService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -21,15 +24,19 @@ import java.util.Optional;
 public class CategoriaServiceImpl implements CategoriaService {
 
     private final CategoriaRepository categoriaRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Constructor para la inyección de dependencias del repositorio de categorías.
      *
      * @param categoriaRepository El repositorio para las operaciones de base de
      *                            datos de Categoria.
+     * @param eventPublisher      Publica el aviso de que cambió el catálogo
+     *                            público y de que se guardó una categoría.
      */
-    public CategoriaServiceImpl(CategoriaRepository categoriaRepository) {
+    public CategoriaServiceImpl(CategoriaRepository categoriaRepository, ApplicationEventPublisher eventPublisher) {
         this.categoriaRepository = categoriaRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -65,7 +72,10 @@ public class CategoriaServiceImpl implements CategoriaService {
 
             categoria.setNombre(categoria.getNombre().trim());
 
-            return categoriaRepository.save(categoria);
+            Categoria guardada = categoriaRepository.save(categoria);
+            eventPublisher.publishEvent(new CatalogoModificadoDTO());
+            eventPublisher.publishEvent(new CategoriaModificadaDTO(guardada.getId()));
+            return guardada;
         } catch (DataIntegrityViolationException e) {
             String message = e.getMessage().toLowerCase();
             if (message.contains("nombre")) {
@@ -136,6 +146,7 @@ public class CategoriaServiceImpl implements CategoriaService {
 
         categoria.setEstado(2);
         categoriaRepository.save(categoria);
+        eventPublisher.publishEvent(new CatalogoModificadoDTO());
     }
 
     /**
@@ -161,7 +172,9 @@ public class CategoriaServiceImpl implements CategoriaService {
                 categoria.setEstado(1); // Activar
             }
             // No se hace nada si el estado es 2 (eliminado)
-            return categoriaRepository.save(categoria);
+            Categoria guardada = categoriaRepository.save(categoria);
+            eventPublisher.publishEvent(new CatalogoModificadoDTO());
+            return guardada;
         });
     }
 
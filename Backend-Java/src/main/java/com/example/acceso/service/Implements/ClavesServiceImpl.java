@@ -0,0 +1,120 @@
+package com.example.acceso.service.Implements;
+
+import com.example.acceso.service.Interfaces.ClavesService;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Codifica y verifica contraseñas con BCrypt en un grupo fijo de hilos.
+ *
+ * Cada verificación cuesta decenas de milisegundos de CPU a propósito. Si cada
+ * petición la hiciera en su propio hilo, una ráfaga de intentos ocuparía todos
+ * los núcleos; aquí nunca corren más de {@code hilos} a la vez, con una cola
+ * acotada. Cuando la cola está llena o la espera se vence, el intento se
+ * rechaza en lugar de acumularse.
+ */
+@Service
+public class ClavesServiceImpl implements ClavesService {
+
+    private static final String MENSAJE_OCUPADO = "El servidor está ocupado. Intente iniciar sesión nuevamente en unos segundos.";
+
+    private final BCryptPasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor hilosBcrypt;
+    private final Duration esperaMaxima;
+
+    /**
+     * Constructor para la inyección de dependencias.
+     *
+     * @param passwordEncoder El codificador definido en {@code SecurityConfig}.
+     * @param hilos           Cuántas operaciones de BCrypt corren a la vez.
+     * @param cola            Cuántas operaciones pueden esperar turno.
+     * @param esperaMaxima    Cuánto espera una petición a que termine su operación.
+     */
+    public ClavesServiceImpl(BCryptPasswordEncoder passwordEncoder,
+                             @Value("${acuamont.login.hilos-bcrypt:2}") int hilos,
+                             @Value("${acuamont.login.cola-bcrypt:32}") int cola,
+                             @Value("${acuamont.login.espera-maxima:5s}") Duration esperaMaxima) {
+        if (hilos < 1 || cola < 1) {
+            throw new IllegalArgumentException("Los hilos y la cola de BCrypt deben ser mayores a 0.");
+        }
+        this.passwordEncoder = passwordEncoder;
+        this.esperaMaxima = esperaMaxima;
+        this.hilosBcrypt = new ThreadPoolExecutor(hilos, hilos, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(cola), Thread.ofPlatform().name("bcrypt-", 1).daemon().factory());
+    }
+
+    /**
+     * Verifica una contraseña contra su versión codificada.
+     *
+     * @param clave           La contraseña ingresada.
+     * @param claveCodificada La contraseña guardada.
+     * @return {@code true} si coinciden.
+     * @throws IllegalStateException Si hay demasiadas verificaciones en espera.
+     */
+    @Override
+    public boolean verificar(String clave, String claveCodificada) {
+        return ejecutar(() -> passwordEncoder.matches(clave, claveCodificada));
+    }
+
+    /**
+     * Codifica una contraseña con el costo configurado.
+     *
+     * @param clave La contraseña en texto plano.
+     * @return La contraseña codificada.
+     * @throws IllegalStateException Si hay demasiadas operaciones en espera.
+     */
+    @Override
+    public String codificar(String clave) {
+        return ejecutar(() -> passwordEncoder.encode(clave));
+    }
+
+    /**
+     * Indica si una contraseña guardada usa un costo menor al configurado.
+     *
+     * @param claveCodificada La contraseña guardada.
+     * @return {@code true} si conviene volver a codificarla.
+     */
+    @Override
+    public boolean requiereRecodificar(String claveCodificada) {
+        return claveCodificada != null && passwordEncoder.upgradeEncoding(claveCodificada);
+    }
+
+    private <T> T ejecutar(Callable<T> operacion) {
+        Future<T> resultado;
+        try {
+            resultado = hilosBcrypt.submit(operacion);
+        } catch (RejectedExecutionException e) {
+            throw new IllegalStateException(MENSAJE_OCUPADO, e);
+        }
+        try {
+            return resultado.get(esperaMaxima.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            resultado.cancel(true);
+            throw new IllegalStateException(MENSAJE_OCUPADO, e);
+        } catch (InterruptedException e) {
+            resultado.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(MENSAJE_OCUPADO, e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException causa ? causa : new IllegalStateException(e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void cerrar() {
+        hilosBcrypt.shutdownNow();
+    }
+
+}
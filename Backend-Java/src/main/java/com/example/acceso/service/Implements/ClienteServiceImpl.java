@@ -1,13 +1,20 @@
 package com.example.acceso.service.Implements;
 
+import com.example.acceso.DTO.ClienteGrillaDTO;
+import com.example.acceso.DTO.PaginaGrillaDTO;
+import com.example.acceso.DTO.SolicitudGrillaDTO;
 import com.example.acceso.model.Cliente;
 import com.example.acceso.repository.ClienteRepository;
+import com.example.acceso.repository.EspecificacionesGrilla;
 import com.example.acceso.service.Interfaces.ClienteService;
+import com.example.acceso.service.Interfaces.GrillaService;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -20,16 +27,26 @@ import java.util.Optional;
 @Service
 public class ClienteServiceImpl implements ClienteService {
 
+    /** Columnas de la grilla por las que se puede ordenar, con su propiedad. */
+    private static final Map<String, String> COLUMNAS_ORDENABLES = Map.of(
+            "id", "id",
+            "nombre", "nombre",
+            "documento", "documento",
+            "estado", "estado");
+
     private final ClienteRepository clienteRepository;
+    private final GrillaService grillaService;
 
     /**
      * Constructor para la inyección de dependencias del repositorio de clientes.
      *
      * @param clienteRepository El repositorio para las operaciones de base de datos
      *                          de Cliente.
+     * @param grillaService     El servicio que pagina las grillas en la base de datos.
      */
-    public ClienteServiceImpl(ClienteRepository clienteRepository) {
+    public ClienteServiceImpl(ClienteRepository clienteRepository, GrillaService grillaService) {
         this.clienteRepository = clienteRepository;
+        this.grillaService = grillaService;
     }
 
     /**
@@ -42,6 +59,39 @@ public class ClienteServiceImpl implements ClienteService {
         return clienteRepository.findAllByEstadoNot(2);
     }
 
+    /**
+     * Obtiene una página de la grilla de clientes no eliminados.
+     * <p>
+     * Si el texto buscado son solo dígitos se busca por el inicio del documento;
+     * si no, por cualquier parte del nombre.
+     *
+     * @param solicitud La página, la búsqueda y el orden pedidos.
+     * @return Los clientes de la página y los totales.
+     */
+    @Transactional(readOnly = true)
+    public PaginaGrillaDTO<ClienteGrillaDTO> listarGrilla(SolicitudGrillaDTO solicitud) {
+        Specification<Cliente> filtro = filtroGrilla(solicitud);
+        PaginaGrillaDTO<Cliente> pagina = grillaService.consultar(solicitud, COLUMNAS_ORDENABLES,
+                paginable -> clienteRepository.findBy(filtro, consulta -> consulta.slice(paginable)),
+                () -> clienteRepository.countByEstadoNot(2), () -> clienteRepository.count(filtro));
+        return new PaginaGrillaDTO<>(pagina.datos().stream()
+                .map(cliente -> new ClienteGrillaDTO(cliente.getId(), cliente.getNombre(), cliente.getDocumento(),
+                        cliente.getTelefono(), cliente.getCorreo(), cliente.getEstado()))
+                .toList(), pagina.total(), pagina.filtrados());
+    }
+
+    /** Filas no eliminadas que coinciden con el texto buscado, si lo hay. */
+    private static Specification<Cliente> filtroGrilla(SolicitudGrillaDTO solicitud) {
+        Specification<Cliente> filtro = EspecificacionesGrilla.noEliminados();
+        if (solicitud.tieneBusqueda()) {
+            String texto = solicitud.busqueda();
+            filtro = filtro.and(EspecificacionesGrilla.esDocumento(texto)
+                    ? EspecificacionesGrilla.empiezaCon("documento", texto)
+                    : EspecificacionesGrilla.contiene("nombre", texto));
+        }
+        return filtro;
+    }
+
     /**
      * Guarda o actualiza un cliente en la base de datos.
      * <p>
@@ -3,41 +3,109 @@ package com.example.acceso.service.Implements;
 import com.cloudinary.Cloudinary;
 import com.cloudinary.api.ApiResponse;
 import com.cloudinary.utils.ObjectUtils;
+import com.example.acceso.DTO.ImagenSubidaDTO;
+import com.example.acceso.service.Interfaces.AlmacenImagenes;
+import com.example.acceso.service.Interfaces.MetricasService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.Callable;
 
+/**
+ * Almacén de imágenes en Cloudinary. La latencia y el resultado de cada llamada
+ * a Cloudinary se registran en las métricas.
+ */
 @Service
-public class CloudinaryService {
+public class CloudinaryService implements AlmacenImagenes {
 
     @Autowired
     private Cloudinary cloudinary;
 
+    @Autowired
+    private MetricasService metricasService;
+
+    /** Transformación de Cloudinary con la que se piden las miniaturas de los listados. */
+    @Value("${acuamont.imagenes.miniatura:c_fill,w_400,h_300,q_auto,f_auto}")
+    private String transformacionMiniatura;
+
     public String subirImagen(MultipartFile file, String carpetaNombre) {
+        try {
+            return subir(file.getBytes(), carpetaNombre);
+        } catch (IOException e) {
+            throw new RuntimeException("Error al subir imagen a Cloudinary: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Sube una imagen a una carpeta de Cloudinary.
+     *
+     * @param contenido Los bytes de la imagen.
+     * @param carpeta   La carpeta de destino.
+     * @return La URL segura de la imagen subida.
+     */
+    @Override
+    public String subir(byte[] contenido, String carpeta) {
+        return subirContenido(contenido, carpeta).get("secure_url").toString();
+    }
+
+    /**
+     * Sube un archivo a una carpeta de Cloudinary. El archivo se envía por
+     * partes desde el disco, sin cargarlo completo en memoria.
+     *
+     * @param archivo El archivo de la imagen.
+     * @param carpeta La carpeta de destino.
+     * @return La URL segura, el ID público y las dimensiones de la imagen subida.
+     */
+    @Override
+    public ImagenSubidaDTO subir(Path archivo, String carpeta) {
+        Map resultado = subirContenido(archivo.toFile(), carpeta);
+        return new ImagenSubidaDTO(
+                resultado.get("secure_url").toString(),
+                resultado.get("public_id").toString(),
+                resultado.get("width") instanceof Number ancho ? ancho.intValue() : null,
+                resultado.get("height") instanceof Number alto ? alto.intValue() : null);
+    }
+
+    private Map subirContenido(Object contenido, String carpeta) {
         try {
             Map params = ObjectUtils.asMap(
-                    "folder", carpetaNombre,
+                    "folder", carpeta,
                     "resource_type", "image");
 
-            Map uploadResult = cloudinary.uploader().upload(file.getBytes(), params);
-
-            return uploadResult.get("secure_url").toString();
+            return medir("subir", () -> cloudinary.uploader().upload(contenido, params));
 
-        } catch (IOException e) {
+        } catch (Exception e) {
             throw new RuntimeException("Error al subir imagen a Cloudinary: " + e.getMessage());
         }
     }
 
+    /**
+     * Elimina una imagen de Cloudinary a partir de su URL.
+     *
+     * @param url La URL de la imagen.
+     * @throws IllegalArgumentException si la URL no es de una imagen de Cloudinary.
+     */
+    @Override
+    public void eliminar(String url) {
+        String publicId = obtenerPublicId(url);
+        if (publicId == null) {
+            throw new IllegalArgumentException("No se pudo identificar la imagen para borrar");
+        }
+        eliminarImagen(publicId, ObjectUtils.emptyMap());
+    }
+
     public Map eliminarImagen(String id, Map options) {
         try {
-            return cloudinary.uploader().destroy(id, options);
-        } catch (IOException e) {
+            return medir("eliminar", () -> cloudinary.uploader().destroy(id, options));
+        } catch (Exception e) {
             throw new RuntimeException("Error al eliminar imagen de Cloudinary");
         }
     }
@@ -45,25 +113,39 @@ public class CloudinaryService {
     /**
      * Lista todas las imágenes que estén dentro de una carpeta específica en
      * Cloudinary.
-     * Nota: Usa la Admin API, que tiene límites de uso (Rate Limits).
+     * Nota: Usa la Admin API, que tiene límites de uso (Rate Limits); no debe
+     * llamarse al atender una página.
+     *
+     * @throws RuntimeException si la Admin API no responde.
      */
-    public List<String> listarImagenesDeCarpeta(String nombreCarpeta) {
+    @Override
+    public List<String> listar(String carpeta) {
         try {
-            ApiResponse response = cloudinary.api().resources(ObjectUtils.asMap(
-                    "type", "upload",
-                    "prefix", nombreCarpeta + "/",
-                    "max_results", 10
-            ));
-
-            List<Map> resources = (List<Map>) response.get("resources");
-
-            return resources.stream()
-                    .map(res -> res.get("secure_url").toString())
-                    .collect(Collectors.toList());
+            // La Admin API devuelve como máximo 500 recursos por página; se siguen
+            // las páginas con next_cursor hasta el final
+            List<String> urls = new ArrayList<>();
+            String cursor = null;
+            do {
+                Map<String, Object> opciones = new HashMap<>();
+                opciones.put("type", "upload");
+                opciones.put("prefix", carpeta + "/");
+                opciones.put("max_results", 500);
+                if (cursor != null) {
+                    opciones.put("next_cursor", cursor);
+                }
+                ApiResponse response = medir("listar", () -> cloudinary.api().resources(opciones));
+
+                List<Map> resources = (List<Map>) response.get("resources");
+                resources.stream()
+                        .map(res -> res.get("secure_url").toString())
+                        .forEach(urls::add);
+                cursor = (String) response.get("next_cursor");
+            } while (cursor != null);
+
+            return urls;
 
         } catch (Exception e) {
-            e.printStackTrace();
-            return new ArrayList<>();
+            throw new RuntimeException("Error al listar las imágenes de Cloudinary: " + e.getMessage(), e);
         }
     }
 
@@ -82,15 +164,30 @@ public class CloudinaryService {
                     "resource_type", "image"
             );
 
-            Map uploadResult = cloudinary.uploader().upload(file.getBytes(), params);
+            byte[] contenido = file.getBytes();
+            Map uploadResult = medir("subir", () -> cloudinary.uploader().upload(contenido, params));
             return uploadResult.get("secure_url").toString();
 
-        } catch (IOException e) {
+        } catch (Exception e) {
             throw new RuntimeException("Error al subir logo: " + e.getMessage());
         }
     }
 
 
+    /** Ejecuta una llamada a Cloudinary y registra su latencia y su resultado. */
+    private <T> T medir(String operacion, Callable<T> llamada) throws Exception {
+        long inicio = System.nanoTime();
+        Exception error = null;
+        try {
+            return llamada.call();
+        } catch (Exception e) {
+            error = e;
+            throw e;
+        } finally {
+            metricasService.llamadaCloudinary(operacion, error, System.nanoTime() - inicio);
+        }
+    }
+
     public String obtenerUrlImagen(String publicId) {
         try {
             return cloudinary.url().secure(true).generate("iconos/" + publicId);
@@ -99,4 +196,43 @@ public class CloudinaryService {
         }
     }
 
+    /**
+     * Obtiene la URL de la miniatura de una imagen: Cloudinary la genera y la
+     * guarda en caché al pedirla por primera vez, recortada y comprimida.
+     *
+     * @param url La URL de la imagen original.
+     * @return La URL con la transformación de miniatura, o la misma URL si no es
+     *         de Cloudinary.
+     */
+    @Override
+    public String urlMiniatura(String url) {
+        int inicio = url == null ? -1 : url.indexOf("/upload/");
+        if (inicio == -1) {
+            return url;
+        }
+        int fin = inicio + "/upload/".length();
+        return url.substring(0, fin) + transformacionMiniatura + "/" + url.substring(fin);
+    }
+
+    /**
+     * Obtiene el ID público de una imagen: la ruta después de "/upload/", sin la
+     * versión ("v123/") ni la extensión.
+     *
+     * @param url La URL de la imagen.
+     * @return El ID público, o {@code null} si la URL no es de Cloudinary.
+     */
+    @Override
+    public String obtenerPublicId(String url) {
+        int inicio = url == null ? -1 : url.indexOf("/upload/");
+        if (inicio == -1) {
+            return null;
+        }
+        String ruta = url.substring(inicio + "/upload/".length()).replaceFirst("^v\\d+/", "");
+        int punto = ruta.lastIndexOf('.');
+        if (punto > ruta.lastIndexOf('/')) {
+            ruta = ruta.substring(0, punto);
+        }
+        return ruta.isEmpty() ? null : ruta;
+    }
+
 }
\ No newline at end of file
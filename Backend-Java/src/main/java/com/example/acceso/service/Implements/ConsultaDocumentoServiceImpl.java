@@ -0,0 +1,184 @@
+package com.example.acceso.service.Implements;
+
+import com.example.acceso.DTO.DocumentoIdentidadDTO;
+import com.example.acceso.model.Cliente;
+import com.example.acceso.model.DocumentoConsultado;
+import com.example.acceso.repository.ClienteRepository;
+import com.example.acceso.repository.DocumentoConsultadoRepository;
+import com.example.acceso.service.Interfaces.ConsultaDocumentoService;
+import com.example.acceso.service.Interfaces.FuenteDocumentosService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+
+/**
+ * Obtiene el nombre asociado a un DNI o RUC, consultando a la API externa de
+ * pago solo cuando no queda otra opción.
+ *
+ * El documento se busca, en orden:
+ * <ol>
+ * <li>en los clientes registrados;</li>
+ * <li>en la copia en memoria de las consultas externas anteriores;</li>
+ * <li>en la tabla {@code documentos_consultados}, que guarda esas consultas
+ * entre reinicios;</li>
+ * <li>en la API externa, cuyo resultado se guarda en las dos anteriores.</li>
+ * </ol>
+ * Las consultas guardadas vencen: las encontradas a los 30 días y las no
+ * encontradas al día, por defecto. Un error de la API externa (token, cuota,
+ * caída) no se guarda: la siguiente petición vuelve a consultarla. Si varias
+ * peticiones piden a la vez el mismo documento, solo una lo consulta y las
+ * demás esperan su resultado.
+ */
+@Service
+public class ConsultaDocumentoServiceImpl implements ConsultaDocumentoService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConsultaDocumentoServiceImpl.class);
+    private static final Pattern FORMATO_DOCUMENTO = Pattern.compile("\\d{8}|\\d{11}");
+
+    private final ClienteRepository clienteRepository;
+    private final DocumentoConsultadoRepository documentoConsultadoRepository;
+    private final FuenteDocumentosService fuenteDocumentosService;
+    private final Duration vigencia;
+    private final Duration vigenciaNoEncontrado;
+    private final int maximoEnMemoria;
+
+    /** Copia en memoria de las consultas externas, por documento. */
+    private final ConcurrentMap<String, DocumentoConsultado> enMemoria = new ConcurrentHashMap<>();
+    /** Consultas en curso por documento; quien pide el mismo documento espera la misma consulta. */
+    private final ConcurrentMap<String, CompletableFuture<Optional<DocumentoIdentidadDTO>>> enCurso = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor para la inyección de dependencias.
+     *
+     * @param clienteRepository              Repositorio de clientes.
+     * @param documentoConsultadoRepository Repositorio de las consultas externas guardadas.
+     * @param fuenteDocumentosService        La API externa de documentos.
+     * @param vigencia                       Cuánto vale una consulta que encontró el documento.
+     * @param vigenciaNoEncontrado           Cuánto vale una consulta que no lo encontró.
+     * @param maximoEnMemoria                Cuántas consultas se guardan en memoria como máximo.
+     */
+    public ConsultaDocumentoServiceImpl(ClienteRepository clienteRepository,
+                                        DocumentoConsultadoRepository documentoConsultadoRepository,
+                                        FuenteDocumentosService fuenteDocumentosService,
+                                        @Value("${acuamont.documentos.vigencia:30d}") Duration vigencia,
+                                        @Value("${acuamont.documentos.vigencia-no-encontrado:1d}") Duration vigenciaNoEncontrado,
+                                        @Value("${acuamont.documentos.maximo-en-memoria:10000}") int maximoEnMemoria) {
+        this.clienteRepository = clienteRepository;
+        this.documentoConsultadoRepository = documentoConsultadoRepository;
+        this.fuenteDocumentosService = fuenteDocumentosService;
+        this.vigencia = vigencia;
+        this.vigenciaNoEncontrado = vigenciaNoEncontrado;
+        this.maximoEnMemoria = maximoEnMemoria;
+    }
+
+    /**
+     * Busca el nombre asociado a un documento.
+     *
+     * @param documento El DNI (8 dígitos) o RUC (11 dígitos).
+     * @return El nombre y su origen, o vacío si la API externa no encontró el
+     *         documento.
+     * @throws IllegalArgumentException Si el documento no es un DNI ni un RUC.
+     * @throws IllegalStateException    Si hubo que consultar la API externa y
+     *                                  falló, sin una consulta anterior que usar.
+     */
+    @Override
+    public Optional<DocumentoIdentidadDTO> buscar(String documento) {
+        String numero = documento == null ? "" : documento.trim();
+        if (!FORMATO_DOCUMENTO.matcher(numero).matches()) {
+            throw new IllegalArgumentException("Documento inválido: debe ser un DNI de 8 dígitos o un RUC de 11 dígitos");
+        }
+
+        Optional<Cliente> cliente = clienteRepository.findByDocumento(numero);
+        if (cliente.isPresent()) {
+            return Optional.of(new DocumentoIdentidadDTO(numero, cliente.get().getNombre(), cliente.get().getId(), "local"));
+        }
+
+        DocumentoConsultado recordado = enMemoria.get(numero);
+        if (recordado != null && vigente(recordado)) {
+            return aDocumento(recordado, "cache");
+        }
+
+        CompletableFuture<Optional<DocumentoIdentidadDTO>> propia = new CompletableFuture<>();
+        CompletableFuture<Optional<DocumentoIdentidadDTO>> ajena = enCurso.putIfAbsent(numero, propia);
+        if (ajena != null) {
+            try {
+                return ajena.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException causa ? causa : e;
+            }
+        }
+        try {
+            Optional<DocumentoIdentidadDTO> resultado = consultar(numero);
+            propia.complete(resultado);
+            return resultado;
+        } catch (RuntimeException e) {
+            propia.completeExceptionally(e);
+            throw e;
+        } finally {
+            enCurso.remove(numero, propia);
+        }
+    }
+
+    /**
+     * Busca el documento en la tabla de consultas guardadas y, si no está o
+     * venció, en la API externa. Si la API falla y hay una consulta vencida, se
+     * usa esa.
+     */
+    private Optional<DocumentoIdentidadDTO> consultar(String numero) {
+        Optional<DocumentoConsultado> guardado = documentoConsultadoRepository.findById(numero);
+        if (guardado.isPresent() && vigente(guardado.get())) {
+            recordar(guardado.get());
+            return aDocumento(guardado.get(), "cache");
+        }
+
+        Optional<String> nombre;
+        try {
+            nombre = fuenteDocumentosService.consultarNombre(numero);
+        } catch (IllegalStateException e) {
+            if (guardado.isEmpty()) {
+                throw e;
+            }
+            logger.warn("No se pudo consultar el documento {}, se usa la consulta vencida: {}", numero, e.getMessage());
+            return aDocumento(guardado.get(), "cache");
+        }
+
+        DocumentoConsultado consulta = documentoConsultadoRepository.save(
+                new DocumentoConsultado(numero, nombre.orElse(null), LocalDateTime.now()));
+        recordar(consulta);
+        return aDocumento(consulta, "externo");
+    }
+
+    private boolean vigente(DocumentoConsultado consulta) {
+        Duration duracion = consulta.getNombre() != null ? vigencia : vigenciaNoEncontrado;
+        return consulta.getFechaConsulta().plus(duracion).isAfter(LocalDateTime.now());
+    }
+
+    /** Guarda la consulta en memoria; si se llegó al máximo, primero descarta las vencidas o, si no basta, todas. */
+    private void recordar(DocumentoConsultado consulta) {
+        if (enMemoria.size() >= maximoEnMemoria) {
+            enMemoria.values().removeIf(anterior -> !vigente(anterior));
+            if (enMemoria.size() >= maximoEnMemoria) {
+                enMemoria.clear();
+            }
+        }
+        enMemoria.put(consulta.getDocumento(), consulta);
+    }
+
+    private static Optional<DocumentoIdentidadDTO> aDocumento(DocumentoConsultado consulta, String origen) {
+        if (consulta.getNombre() == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new DocumentoIdentidadDTO(consulta.getDocumento(), consulta.getNombre(), null, origen));
+    }
+
+}
@@ -0,0 +1,157 @@
+package com.example.acceso.service.Implements;
+
+import com.example.acceso.DTO.BloqueCorrelativosDTO;
+import com.example.acceso.model.SerieComprobante;
+import com.example.acceso.repository.SerieComprobanteRepository;
+import com.example.acceso.service.Interfaces.CorrelativoService;
+import com.example.acceso.service.Interfaces.MetricasService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Asigna los correlativos de las series de comprobante.
+ *
+ * Cada serie puede trabajar en uno de dos modos:
+ * <ul>
+ * <li><b>Estricto</b> (por defecto): el último correlativo se lee con
+ * {@code SELECT ... FOR UPDATE} y la fila queda bloqueada hasta que la venta se
+ * confirma o se revierte. La numeración no tiene huecos, a costa de que las
+ * ventas de una misma serie se registren de una en una.</li>
+ * <li><b>Por bloques</b>: la base de datos reserva varios números con una sola
+ * sentencia atómica y se reparten desde memoria con un {@link AtomicLong}, sin
+ * volver a tocar la fila de la serie hasta agotar el bloque. Los números que no
+ * se llegan a usar antes de reiniciar la aplicación quedan como huecos.</li>
+ * </ul>
+ *
+ * La reserva de un bloque se hace dentro de la transacción de la venta que lo
+ * necesita, así que no requiere una segunda conexión del pool. El resto del
+ * bloque solo se comparte con otras ventas después de que esa transacción se
+ * confirma; si se revierte, la reserva se deshace en la base de datos y ningún
+ * número del bloque llega a entregarse.
+ */
+@Service
+public class CorrelativoServiceImpl implements CorrelativoService {
+
+    private final SerieComprobanteRepository serieComprobanteRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MetricasService metricasService;
+    private final int tamanoBloque;
+
+    /**
+     * Bloques confirmados por serie. Cada bloque es el siguiente número libre y el
+     * último número del bloque; se consumen en orden de llegada.
+     */
+    private final ConcurrentMap<Long, Queue<Map.Entry<AtomicLong, Long>>> bloques = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor para la inyección de dependencias.
+     *
+     * @param serieComprobanteRepository Repositorio con las sentencias atómicas
+     *                                   sobre el correlativo de la serie.
+     * @param eventPublisher             Publicador usado para compartir un bloque
+     *                                   cuando se confirma la transacción que lo
+     *                                   reservó.
+     * @param metricasService            Registra cuánto espera cada venta por
+     *                                   su correlativo.
+     * @param tamanoBloque               Cantidad de números que se reservan a la
+     *                                   vez en las series por bloques.
+     */
+    public CorrelativoServiceImpl(SerieComprobanteRepository serieComprobanteRepository,
+                                  ApplicationEventPublisher eventPublisher,
+                                  MetricasService metricasService,
+                                  @Value("${acuamont.correlativos.tamano-bloque:50}") int tamanoBloque) {
+        if (tamanoBloque < 1) {
+            throw new IllegalArgumentException("El tamaño del bloque de correlativos debe ser mayor a 0.");
+        }
+        this.serieComprobanteRepository = serieComprobanteRepository;
+        this.eventPublisher = eventPublisher;
+        this.metricasService = metricasService;
+        this.tamanoBloque = tamanoBloque;
+    }
+
+    /**
+     * Obtiene el siguiente correlativo de la serie según su modo. El tiempo de
+     * espera, que en las series estrictas incluye el bloqueo de la fila, se
+     * registra en las métricas.
+     *
+     * @param serie La serie de comprobante de la venta.
+     * @return El correlativo asignado a la venta.
+     * @throws RuntimeException si la serie no existe en la base de datos.
+     */
+    @Transactional
+    public int siguienteCorrelativo(SerieComprobante serie) {
+        boolean estricto = serie.isCorrelativoEstricto();
+        long inicio = System.nanoTime();
+        try {
+            return estricto
+                    ? siguienteEstricto(serie.getId())
+                    : siguienteDeBloque(serie.getId());
+        } finally {
+            metricasService.esperaCorrelativo(serie.getSerie(), estricto, System.nanoTime() - inicio);
+        }
+    }
+
+    /**
+     * Bloquea la fila de la serie, toma el número siguiente y lo reserva. El
+     * bloqueo se mantiene hasta el final de la transacción de la venta.
+     */
+    private int siguienteEstricto(Long serieId) {
+        Integer actual = serieComprobanteRepository.bloquearCorrelativoActual(serieId);
+        if (actual == null) {
+            throw new RuntimeException("Error: La serie de comprobante no existe.");
+        }
+        serieComprobanteRepository.reservarCorrelativos(serieId, 1);
+        return actual + 1;
+    }
+
+    /**
+     * Entrega un número del primer bloque con números libres. Si no queda
+     * ninguno, reserva un bloque nuevo en la transacción actual, se queda con su
+     * primer número y deja el resto pendiente de publicar.
+     */
+    private int siguienteDeBloque(Long serieId) {
+        Queue<Map.Entry<AtomicLong, Long>> cola = bloques.computeIfAbsent(serieId, id -> new ConcurrentLinkedQueue<>());
+
+        for (Map.Entry<AtomicLong, Long> bloque = cola.peek(); bloque != null; bloque = cola.peek()) {
+            long numero = bloque.getKey().getAndIncrement();
+            if (numero <= bloque.getValue()) {
+                return (int) numero;
+            }
+            cola.remove(bloque);
+        }
+
+        if (serieComprobanteRepository.reservarCorrelativos(serieId, tamanoBloque) == 0) {
+            throw new RuntimeException("Error: La serie de comprobante no existe.");
+        }
+        int hasta = serieComprobanteRepository.findCorrelativoActualById(serieId);
+        int desde = hasta - tamanoBloque + 1;
+
+        if (desde < hasta) {
+            eventPublisher.publishEvent(new BloqueCorrelativosDTO(serieId, desde + 1, hasta));
+        }
+        return desde;
+    }
+
+    /**
+     * Pone a disposición de las demás ventas el resto de un bloque una vez que la
+     * transacción que lo reservó se ha confirmado.
+     *
+     * @param bloque El bloque reservado.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void publicarBloque(BloqueCorrelativosDTO bloque) {
+        bloques.computeIfAbsent(bloque.serieId(), id -> new ConcurrentLinkedQueue<>())
+                .add(Map.entry(new AtomicLong(bloque.desde()), (long) bloque.hasta()));
+    }
+
+}
@@ -0,0 +1,71 @@
+package com.example.acceso.service.Implements;
+
+import com.example.acceso.repository.DetalleVentaRepository;
+import com.example.acceso.service.Interfaces.CostoHistoricoService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Servicio que completa el costo de las líneas de venta registradas antes de
+ * que {@code detalle_venta} guardara el costo unitario y la utilidad.
+ *
+ * Se ejecuta una vez al iniciar la aplicación, antes de cargar los resúmenes
+ * diarios de ventas, y solo toca las líneas que todavía no tienen costo; en los
+ * siguientes arranques no encuentra nada que hacer. Las líneas se actualizan en
+ * lotes, cada uno en su propia transacción, para no bloquear la tabla completa.
+ */
+@Service
+public class CostoHistoricoServiceImpl implements CostoHistoricoService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CostoHistoricoServiceImpl.class);
+
+    private static final int TAMANO_LOTE = 1000;
+
+    private final DetalleVentaRepository detalleVentaRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * @param detalleVentaRepository Repositorio para las operaciones de
+     *                               DetalleVenta.
+     * @param transactionManager     Gestor de transacciones para confirmar cada
+     *                               lote por separado.
+     */
+    public CostoHistoricoServiceImpl(DetalleVentaRepository detalleVentaRepository,
+                                     PlatformTransactionManager transactionManager) {
+        this.detalleVentaRepository = detalleVentaRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Completa el costo unitario y la utilidad de todas las líneas que no los
+     * tienen, con el precio de compra actual de cada producto.
+     *
+     * @return La cantidad de líneas completadas.
+     */
+    public int completarCostosHistoricos() {
+        int total = 0;
+        int actualizadas;
+        do {
+            actualizadas = transactionTemplate.execute(status -> detalleVentaRepository.completarCostos(TAMANO_LOTE));
+            total += actualizadas;
+        } while (actualizadas == TAMANO_LOTE);
+        return total;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void completarCostosAlIniciar() {
+        int lineas = completarCostosHistoricos();
+        if (lineas > 0) {
+            logger.info("Costos históricos completados en {} líneas de venta", lineas);
+        }
+    }
+
+}
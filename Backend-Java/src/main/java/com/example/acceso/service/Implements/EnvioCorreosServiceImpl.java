@@ -0,0 +1,306 @@
+package com.example.acceso.service.Implements;
+
+import com.example.acceso.DTO.EstadoCorreoDTO;
+import com.example.acceso.model.CorreoPendiente;
+import com.example.acceso.repository.CorreoPendienteRepository;
+import com.example.acceso.service.Interfaces.EnvioCorreosService;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.AddressException;
+import jakarta.mail.internet.MimeMessage;
+import org.eclipse.angus.mail.smtp.SMTPAddressFailedException;
+import org.eclipse.angus.mail.smtp.SMTPSendFailedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.UnsupportedEncodingException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Envía los correos de la bandeja de salida ({@link CorreoPendiente}).
+ *
+ * Quien pide un correo solo lo guarda con {@link #encolar}; una tarea programada
+ * toma los pendientes por lotes, los reserva con una actualización condicional y
+ * los reparte entre varios hilos virtuales. Cada hilo envía su parte por una sola
+ * conexión SMTP. Si un envío falla por un error temporal, se reintenta con una
+ * espera que se duplica en cada intento; si el servidor lo rechaza de forma
+ * definitiva (respuestas 5xx o direcciones inválidas) o se agotan los intentos,
+ * el correo queda como fallido para revisarlo.
+ */
+@Service
+public class EnvioCorreosServiceImpl implements EnvioCorreosService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EnvioCorreosServiceImpl.class);
+
+    private static final String REMITENTE = "johnchm007@gmail.com";
+    private static final String NOMBRE_REMITENTE = "Acuamont S.A.C.";
+
+    private final CorreoPendienteRepository correoPendienteRepository;
+    private final JavaMailSender mailSender;
+    private final int tamanoLote;
+    private final int conexiones;
+    private final int maximoIntentos;
+    private final Duration esperaInicial;
+    private final Duration esperaMaxima;
+    private final Duration duracionReserva;
+    private final ExecutorService hilosEnvio = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Constructor para la inyección de dependencias.
+     *
+     * @param correoPendienteRepository Repositorio de la bandeja de salida.
+     * @param mailSender                Cliente SMTP.
+     * @param tamanoLote                Cuántos correos se toman en cada pasada.
+     * @param conexiones                Cuántas conexiones SMTP se usan a la vez.
+     * @param maximoIntentos            Intentos antes de dar un correo por fallido.
+     * @param esperaInicial             Espera antes del primer reintento; se
+     *                                  duplica en cada intento.
+     * @param esperaMaxima              Espera máxima entre reintentos.
+     * @param duracionReserva           Cuánto queda reservado un correo mientras
+     *                                  se envía.
+     */
+    public EnvioCorreosServiceImpl(CorreoPendienteRepository correoPendienteRepository, JavaMailSender mailSender,
+                                   @Value("${acuamont.correos.tamano-lote:20}") int tamanoLote,
+                                   @Value("${acuamont.correos.conexiones:2}") int conexiones,
+                                   @Value("${acuamont.correos.maximo-intentos:6}") int maximoIntentos,
+                                   @Value("${acuamont.correos.espera-inicial:30s}") Duration esperaInicial,
+                                   @Value("${acuamont.correos.espera-maxima:1h}") Duration esperaMaxima,
+                                   @Value("${acuamont.correos.duracion-reserva:10m}") Duration duracionReserva) {
+        if (tamanoLote < 1 || conexiones < 1 || maximoIntentos < 1) {
+            throw new IllegalArgumentException("El lote, las conexiones y los intentos de envío de correos deben ser mayores a 0.");
+        }
+        this.correoPendienteRepository = correoPendienteRepository;
+        this.mailSender = mailSender;
+        this.tamanoLote = tamanoLote;
+        this.conexiones = conexiones;
+        this.maximoIntentos = maximoIntentos;
+        this.esperaInicial = esperaInicial;
+        this.esperaMaxima = esperaMaxima;
+        this.duracionReserva = duracionReserva;
+    }
+
+    /**
+     * Guarda un correo en la bandeja de salida para enviarlo en segundo plano.
+     *
+     * @param ventaId      La venta cuya boleta se envía.
+     * @param destinatario El correo del destinatario.
+     * @param asunto       El asunto del correo.
+     * @param cuerpo       El cuerpo del correo en HTML.
+     * @return El estado del correo guardado, pendiente de envío.
+     */
+    @Override
+    @Transactional
+    public EstadoCorreoDTO encolar(Long ventaId, String destinatario, String asunto, String cuerpo) {
+        return aEstado(correoPendienteRepository.save(new CorreoPendiente(ventaId, destinatario, asunto, cuerpo)));
+    }
+
+    /**
+     * Envía un lote de correos pendientes. Se ejecuta periódicamente; cada pasada
+     * libera antes las reservas vencidas de pasadas que no llegaron a terminar.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${acuamont.correos.intervalo:5s}")
+    public void procesarPendientes() {
+        LocalDateTime ahora = LocalDateTime.now();
+        int liberados = correoPendienteRepository.liberarReservasVencidas(ahora);
+        if (liberados > 0) {
+            logger.warn("Se liberaron {} correos cuya reserva de envío venció", liberados);
+        }
+
+        LocalDateTime reservaHasta = ahora.plus(duracionReserva);
+        List<Long> reservados = correoPendienteRepository.buscarListosParaEnviar(ahora, Limit.of(tamanoLote)).stream()
+                .filter(id -> correoPendienteRepository.reservar(id, reservaHasta) == 1)
+                .toList();
+        if (reservados.isEmpty()) {
+            return;
+        }
+        List<CorreoPendiente> correos = correoPendienteRepository.findAllById(reservados);
+
+        // Un grupo por conexión SMTP
+        List<List<CorreoPendiente>> grupos = new ArrayList<>();
+        for (int i = 0; i < Math.min(conexiones, correos.size()); i++) {
+            grupos.add(new ArrayList<>());
+        }
+        for (int i = 0; i < correos.size(); i++) {
+            grupos.get(i % grupos.size()).add(correos.get(i));
+        }
+
+        List<Future<?>> envios = new ArrayList<>();
+        for (List<CorreoPendiente> grupo : grupos) {
+            envios.add(hilosEnvio.submit(() -> enviarGrupo(grupo)));
+        }
+
+        // Se guardan los grupos que terminaron aunque la espera se interrumpa: un
+        // correo ya entregado al servidor SMTP que quedara en ENVIANDO se volvería
+        // a enviar al vencer su reserva
+        boolean interrumpido = false;
+        try {
+            for (Future<?> envio : envios) {
+                try {
+                    envio.get();
+                } catch (InterruptedException e) {
+                    interrumpido = true;
+                    break;
+                } catch (ExecutionException e) {
+                    logger.error("Error inesperado al enviar un lote de correos", e.getCause());
+                }
+            }
+        } finally {
+            List<CorreoPendiente> procesados = new ArrayList<>();
+            for (int i = 0; i < envios.size(); i++) {
+                if (envios.get(i).isDone()) {
+                    procesados.addAll(grupos.get(i));
+                }
+            }
+            correoPendienteRepository.saveAll(procesados);
+            if (interrumpido) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Obtiene el estado de un correo de la bandeja de salida.
+     *
+     * @param correoId El ID del correo.
+     * @return El estado del correo.
+     * @throws RuntimeException si el correo no existe.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public EstadoCorreoDTO obtenerEstado(Long correoId) {
+        return correoPendienteRepository.findById(correoId)
+                .map(EnvioCorreosServiceImpl::aEstado)
+                .orElseThrow(() -> new RuntimeException("Error: El correo con ID " + correoId + " no existe."));
+    }
+
+    @PreDestroy
+    public void detener() {
+        hilosEnvio.shutdown();
+    }
+
+    private static EstadoCorreoDTO aEstado(CorreoPendiente correo) {
+        String estado = switch (correo.getEstado()) {
+            case CorreoPendiente.ENVIADO -> "ENVIADO";
+            case CorreoPendiente.FALLIDO -> "FALLIDO";
+            case CorreoPendiente.ENVIANDO -> "ENVIANDO";
+            default -> "PENDIENTE";
+        };
+        return new EstadoCorreoDTO(correo.getId(), correo.getVentaId(), correo.getDestinatario(), estado,
+                correo.getIntentos(), correo.getProximoIntento(), correo.getFechaEnvio(), correo.getUltimoError());
+    }
+
+    /**
+     * Envía un grupo de correos por una sola conexión SMTP y anota el resultado
+     * de cada uno.
+     */
+    private void enviarGrupo(List<CorreoPendiente> grupo) {
+        Map<MimeMessage, CorreoPendiente> mensajes = new HashMap<>();
+        for (CorreoPendiente correo : grupo) {
+            try {
+                mensajes.put(crearMensaje(correo), correo);
+            } catch (MessagingException | UnsupportedEncodingException e) {
+                registrarFallo(correo, e);
+            }
+        }
+        if (mensajes.isEmpty()) {
+            return;
+        }
+
+        try {
+            mailSender.send(mensajes.keySet().toArray(new MimeMessage[0]));
+            mensajes.values().forEach(this::registrarEnvio);
+        } catch (MailSendException e) {
+            Map<Object, Exception> fallidos = e.getFailedMessages();
+            mensajes.forEach((mensaje, correo) -> {
+                if (fallidos.containsKey(mensaje)) {
+                    registrarFallo(correo, fallidos.get(mensaje));
+                } else {
+                    registrarEnvio(correo);
+                }
+            });
+        } catch (MailException e) {
+            mensajes.values().forEach(correo -> registrarFallo(correo, e));
+        }
+    }
+
+    private MimeMessage crearMensaje(CorreoPendiente correo) throws MessagingException, UnsupportedEncodingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, false, "UTF-8");
+        helper.setFrom(REMITENTE, NOMBRE_REMITENTE);
+        helper.setTo(correo.getDestinatario());
+        helper.setSubject(correo.getAsunto());
+        helper.setText(correo.getCuerpo(), true);
+        return message;
+    }
+
+    private void registrarEnvio(CorreoPendiente correo) {
+        correo.setEstado(CorreoPendiente.ENVIADO);
+        correo.setIntentos(correo.getIntentos() + 1);
+        correo.setFechaEnvio(LocalDateTime.now());
+        correo.setUltimoError(null);
+    }
+
+    private void registrarFallo(CorreoPendiente correo, Exception error) {
+        int intentos = correo.getIntentos() + 1;
+        correo.setIntentos(intentos);
+        String mensaje = String.valueOf(error.getMessage());
+        correo.setUltimoError(mensaje.length() > 1000 ? mensaje.substring(0, 1000) : mensaje);
+
+        if (esDefinitivo(error) || intentos >= maximoIntentos) {
+            correo.setEstado(CorreoPendiente.FALLIDO);
+            logger.warn("El correo {} a {} quedó como fallido tras {} intentos: {}",
+                    correo.getId(), correo.getDestinatario(), intentos, mensaje);
+        } else {
+            correo.setEstado(CorreoPendiente.PENDIENTE);
+            correo.setProximoIntento(LocalDateTime.now().plus(espera(intentos)));
+        }
+    }
+
+    /** Espera antes del siguiente intento: la inicial, duplicada en cada intento fallido. */
+    private Duration espera(int intentos) {
+        Duration espera = esperaInicial;
+        for (int i = 1; i < intentos && espera.compareTo(esperaMaxima) < 0; i++) {
+            espera = espera.multipliedBy(2);
+        }
+        return espera.compareTo(esperaMaxima) > 0 ? esperaMaxima : espera;
+    }
+
+    /**
+     * Indica si un error no se resolverá reintentando: direcciones inválidas o
+     * respuestas 5xx del servidor SMTP.
+     */
+    private static boolean esDefinitivo(Throwable error) {
+        for (Throwable causa = error; causa != null; causa = causa.getCause()) {
+            if (causa instanceof AddressException) {
+                return true;
+            }
+            if (causa instanceof SMTPAddressFailedException rechazo && rechazo.getReturnCode() >= 500) {
+                return true;
+            }
+            if (causa instanceof SMTPSendFailedException rechazo && rechazo.getReturnCode() >= 500) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,246 @@
+package com.example.acceso.service.Implements;
+
+import com.example.acceso.repository.ReportesRepository;
+import com.example.acceso.service.Interfaces.ExportacionReportesService;
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Exporta los reportes de utilidad a Excel (.xlsx) o CSV escribiendo directamente
+ * en el flujo de salida de la respuesta.
+ *
+ * Las filas se leen con el cursor de {@link com.example.acceso.repository.ReportesExportacionRepository}
+ * y se escriben una a una: el libro de Excel es un {@link SXSSFWorkbook} que solo
+ * mantiene en memoria una ventana de {@link #VENTANA_FILAS} filas y baja el resto a
+ * un archivo temporal comprimido, así que la memoria usada no depende del tamaño
+ * del reporte. Los rangos siguen la misma semántica que los reportes en pantalla.
+ */
+@Service
+public class ExportacionReportesServiceImpl implements ExportacionReportesService {
+
+    /** Filas que el libro de Excel mantiene en memoria antes de bajarlas a disco. */
+    static final int VENTANA_FILAS = 100;
+
+    private static final Map<String, List<String>> ENCABEZADOS = Map.of(
+            "utilidad-ventas", List.of("Documento", "Cliente", "Fecha", "Total Venta", "Utilidad"),
+            "utilidad-usuarios", List.of("Vendedor", "Cantidad de Ventas", "Utilidad"),
+            "utilidad-producto", List.of("Producto", "Cantidad Vendida", "Total Venta", "Utilidad"));
+
+    private static final List<String> FORMATOS = List.of("xlsx", "csv");
+
+    private static final DateTimeFormatter FORMATO_FECHA_CSV = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final ReportesRepository reportesRepository;
+
+    /**
+     * Construye el servicio con el repositorio de reportes.
+     *
+     * @param reportesRepository Repositorio que recorre las filas de los reportes.
+     */
+    public ExportacionReportesServiceImpl(ReportesRepository reportesRepository) {
+        this.reportesRepository = reportesRepository;
+    }
+
+    /**
+     * Valida el reporte, el formato y el rango antes de empezar a escribir la
+     * respuesta, para poder devolver un error en lugar de un archivo a medias.
+     *
+     * @throws IllegalArgumentException si algún dato no es válido.
+     */
+    @Override
+    public void validarExportacion(String reporte, String formato, LocalDate inicio, LocalDate fin) {
+        if (!ENCABEZADOS.containsKey(reporte)) {
+            throw new IllegalArgumentException("Error: El reporte '" + reporte + "' no existe.");
+        }
+        if (!FORMATOS.contains(formato)) {
+            throw new IllegalArgumentException("Error: El formato '" + formato + "' no es válido; use xlsx o csv.");
+        }
+        if ((inicio == null) != (fin == null)) {
+            throw new IllegalArgumentException("Error: Debe indicar la fecha de inicio y la de fin, o ninguna.");
+        }
+        if (inicio != null && fin.isBefore(inicio)) {
+            throw new IllegalArgumentException("La fecha de fin no puede ser anterior a la de inicio");
+        }
+    }
+
+    /**
+     * Escribe el reporte en el flujo indicado. El flujo no se cierra.
+     *
+     * @param reporte El reporte: utilidad-ventas, utilidad-usuarios o utilidad-producto.
+     * @param formato El formato: xlsx o csv.
+     * @param inicio  El día inicial, o {@code null} para todo el histórico.
+     * @param fin     El día final, o {@code null} para todo el histórico.
+     * @param salida  El flujo donde se escribe el archivo.
+     * @throws IOException si falla la escritura.
+     */
+    @Override
+    public void exportar(String reporte, String formato, LocalDate inicio, LocalDate fin, OutputStream salida)
+            throws IOException {
+        validarExportacion(reporte, formato, inicio, fin);
+        List<String> encabezados = ENCABEZADOS.get(reporte);
+        Consumer<Consumer<Object[]>> recorrido = fila -> recorrer(reporte, inicio, fin, fila);
+        try {
+            if (formato.equals("xlsx")) {
+                exportarXlsx(encabezados, recorrido, salida);
+            } else {
+                exportarCsv(encabezados, recorrido, salida);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void recorrer(String reporte, LocalDate inicio, LocalDate fin, Consumer<Object[]> fila) {
+        switch (reporte) {
+            case "utilidad-ventas" -> reportesRepository.recorrerUtilidadPorVenta(
+                    inicio != null ? inicio.atStartOfDay() : null,
+                    fin != null ? fin.atTime(LocalTime.MAX) : null, fila);
+            case "utilidad-usuarios" -> reportesRepository.recorrerUtilidadPorUsuario(inicio, fin, fila);
+            default -> reportesRepository.recorrerUtilidadPorProducto(inicio, fin, fila);
+        }
+    }
+
+    private void exportarXlsx(List<String> encabezados, Consumer<Consumer<Object[]>> recorrido, OutputStream salida)
+            throws IOException {
+        SXSSFWorkbook libro = new SXSSFWorkbook(VENTANA_FILAS);
+        libro.setCompressTempFiles(true);
+        try {
+            SXSSFSheet hoja = libro.createSheet("Reporte");
+
+            Font negrita = libro.createFont();
+            negrita.setBold(true);
+            CellStyle estiloEncabezado = libro.createCellStyle();
+            estiloEncabezado.setFont(negrita);
+            CellStyle estiloFecha = libro.createCellStyle();
+            estiloFecha.setDataFormat(libro.createDataFormat().getFormat("dd/mm/yyyy hh:mm"));
+            CellStyle estiloMonto = libro.createCellStyle();
+            estiloMonto.setDataFormat(libro.createDataFormat().getFormat("#,##0.00"));
+
+            Row encabezado = hoja.createRow(0);
+            for (int i = 0; i < encabezados.size(); i++) {
+                Cell celda = encabezado.createCell(i);
+                celda.setCellValue(encabezados.get(i));
+                celda.setCellStyle(estiloEncabezado);
+                hoja.setColumnWidth(i, 20 * 256);
+            }
+
+            int maximoFilas = SpreadsheetVersion.EXCEL2007.getMaxRows();
+            int[] siguienteFila = { 1 };
+            recorrido.accept(valores -> {
+                if (siguienteFila[0] >= maximoFilas) {
+                    throw new IllegalStateException("Error: El reporte supera las " + maximoFilas
+                            + " filas de una hoja de Excel; expórtelo en CSV.");
+                }
+                escribirFila(hoja, siguienteFila[0]++, valores, estiloFecha, estiloMonto);
+            });
+
+            libro.write(salida);
+            salida.flush();
+        } finally {
+            libro.dispose();
+            libro.close();
+        }
+    }
+
+    private static void escribirFila(Sheet hoja, int numero, Object[] valores, CellStyle estiloFecha,
+                                     CellStyle estiloMonto) {
+        Row fila = hoja.createRow(numero);
+        for (int i = 0; i < valores.length; i++) {
+            Object valor = valores[i];
+            if (valor == null) {
+                continue;
+            }
+            Cell celda = fila.createCell(i);
+            if (valor instanceof BigDecimal monto) {
+                celda.setCellValue(monto.doubleValue());
+                celda.setCellStyle(estiloMonto);
+            } else if (valor instanceof Number numeroValor) {
+                celda.setCellValue(numeroValor.doubleValue());
+            } else if (valor instanceof Timestamp fecha) {
+                celda.setCellValue(fecha.toLocalDateTime());
+                celda.setCellStyle(estiloFecha);
+            } else if (valor instanceof LocalDateTime fecha) {
+                celda.setCellValue(fecha);
+                celda.setCellStyle(estiloFecha);
+            } else if (valor instanceof LocalDate fecha) {
+                celda.setCellValue(fecha);
+                celda.setCellStyle(estiloFecha);
+            } else if (valor instanceof Date fecha) {
+                celda.setCellValue(fecha);
+                celda.setCellStyle(estiloFecha);
+            } else {
+                celda.setCellValue(valor.toString());
+            }
+        }
+    }
+
+    private void exportarCsv(List<String> encabezados, Consumer<Consumer<Object[]>> recorrido, OutputStream salida)
+            throws IOException {
+        Writer escritor = new BufferedWriter(new OutputStreamWriter(salida, StandardCharsets.UTF_8));
+        // BOM para que Excel abra el archivo como UTF-8
+        escritor.write('\uFEFF');
+        escribirLineaCsv(escritor, encabezados.toArray());
+        recorrido.accept(valores -> escribirLineaCsv(escritor, valores));
+        escritor.flush();
+    }
+
+    private static void escribirLineaCsv(Writer escritor, Object[] valores) {
+        try {
+            for (int i = 0; i < valores.length; i++) {
+                if (i > 0) {
+                    escritor.write(',');
+                }
+                escritor.write(valorCsv(valores[i]));
+            }
+            escritor.write("\r\n");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String valorCsv(Object valor) {
+        if (valor == null) {
+            return "";
+        }
+        String texto;
+        if (valor instanceof BigDecimal monto) {
+            texto = monto.toPlainString();
+        } else if (valor instanceof Timestamp fecha) {
+            texto = fecha.toLocalDateTime().format(FORMATO_FECHA_CSV);
+        } else if (valor instanceof LocalDateTime fecha) {
+            texto = fecha.format(FORMATO_FECHA_CSV);
+        } else {
+            texto = valor.toString();
+        }
+        if (texto.indexOf(',') >= 0 || texto.indexOf('"') >= 0 || texto.indexOf('\n') >= 0 || texto.indexOf('\r') >= 0) {
+            return '"' + texto.replace("\"", "\"\"") + '"';
+        }
+        return texto;
+    }
+
+}
@@ -0,0 +1,137 @@
+package com.example.acceso.service.Implements;
+
+import com.example.acceso.service.Interfaces.FuenteDocumentosService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Consulta los DNI y RUC a la API externa de pago, la misma que usaba el
+ * servidor auxiliar de Node.
+ *
+ * La URL de cada tipo de documento se completa con el número y la petición
+ * lleva el token como {@code Bearer}. La API responde
+ * {@code {"success": true, "datos": {...}}}, con {@code razon_social} para los
+ * RUC y {@code nombres}, {@code ape_paterno} y {@code ape_materno} para los DNI.
+ * Las URL se configuran, así que en las pruebas pueden apuntar a un servidor
+ * local.
+ *
+ * Un {@code "success": false} no siempre significa que el documento no existe:
+ * la API responde igual cuando el token no vale o se acabó la cuota. Solo se
+ * toma como no encontrado si viene con un 404 o si su mensaje lo dice; en otro
+ * caso es un error, para que no se recuerde como un documento inexistente.
+ */
+@Service
+public class FuenteDocumentosHttpServiceImpl implements FuenteDocumentosService {
+
+    private static final Pattern MENSAJE_NO_ENCONTRADO =
+            Pattern.compile("no se encontr|no encontrad|no existe|not found", Pattern.CASE_INSENSITIVE);
+
+    private final String urlDni;
+    private final String urlRuc;
+    private final String token;
+    private final Duration tiempoMaximo;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Constructor para la inyección de dependencias.
+     *
+     * @param urlDni       URL de consulta de DNI; se le agrega el número al final.
+     * @param urlRuc       URL de consulta de RUC; se le agrega el número al final.
+     * @param token        Token de la API externa.
+     * @param tiempoMaximo Cuánto se espera la respuesta de la API externa.
+     */
+    public FuenteDocumentosHttpServiceImpl(@Value("${acuamont.documentos.url-dni:}") String urlDni,
+                                           @Value("${acuamont.documentos.url-ruc:}") String urlRuc,
+                                           @Value("${acuamont.documentos.token:}") String token,
+                                           @Value("${acuamont.documentos.tiempo-maximo:5s}") Duration tiempoMaximo) {
+        this.urlDni = urlDni;
+        this.urlRuc = urlRuc;
+        this.token = token;
+        this.tiempoMaximo = tiempoMaximo;
+        this.httpClient = HttpClient.newBuilder().connectTimeout(tiempoMaximo).build();
+    }
+
+    /**
+     * Consulta el nombre asociado a un documento.
+     *
+     * @param documento El DNI (8 dígitos) o RUC (11 dígitos).
+     * @return El nombre completo o la razón social, o vacío si la API no
+     *         encontró el documento.
+     * @throws IllegalStateException Si la API no está configurada, no responde
+     *                               o responde con un error, incluido un
+     *                               {@code "success": false} que no es un
+     *                               documento no encontrado.
+     */
+    @Override
+    public Optional<String> consultarNombre(String documento) {
+        String url = documento.length() == 8 ? urlDni : urlRuc;
+        if (url == null || url.isBlank()) {
+            throw new IllegalStateException("La consulta externa de documentos no está configurada");
+        }
+
+        HttpRequest peticion = HttpRequest.newBuilder(URI.create(url + documento))
+                .timeout(tiempoMaximo)
+                .header("Authorization", "Bearer " + token)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+        HttpResponse<String> respuesta;
+        try {
+            respuesta = httpClient.send(peticion, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            throw new IllegalStateException("Error al consultar el documento: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Se interrumpió la consulta del documento", e);
+        }
+
+        if (respuesta.statusCode() == 404) {
+            return Optional.empty();
+        }
+        if (respuesta.statusCode() >= 400) {
+            throw new IllegalStateException("La API de documentos respondió con el estado " + respuesta.statusCode());
+        }
+        try {
+            JsonNode cuerpo = objectMapper.readTree(respuesta.body());
+            if (!cuerpo.path("success").asBoolean(false)) {
+                String mensaje = cuerpo.path("message").asText("");
+                if (MENSAJE_NO_ENCONTRADO.matcher(mensaje).find()) {
+                    return Optional.empty();
+                }
+                throw new IllegalStateException("La API de documentos rechazó la consulta"
+                        + (mensaje.isBlank() ? "" : ": " + mensaje));
+            }
+            return extraerNombre(cuerpo.path("datos"));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("La API de documentos respondió en un formato no reconocido", e);
+        }
+    }
+
+    private static Optional<String> extraerNombre(JsonNode datos) {
+        String razonSocial = datos.path("razon_social").asText("").trim();
+        if (!razonSocial.isEmpty()) {
+            return Optional.of(razonSocial);
+        }
+        String nombreCompleto = Stream.of("nombres", "ape_paterno", "ape_materno")
+                .map(campo -> datos.path(campo).asText("").trim())
+                .filter(parte -> !parte.isEmpty())
+                .collect(Collectors.joining(" "));
+        return nombreCompleto.isEmpty() ? Optional.empty() : Optional.of(nombreCompleto);
+    }
+
+}
@@ -1,63 +1,145 @@
 package com.example.acceso.service.Implements;
 
+import com.example.acceso.DTO.BoletaRenderizadaDTO;
+import com.example.acceso.DTO.EstadoCorreoDTO;
+import com.example.acceso.DTO.VentaModificadaDTO;
 import com.example.acceso.model.Venta;
+import com.example.acceso.service.Interfaces.EnvioCorreosService;
 import com.example.acceso.service.Interfaces.GenerarBoletaService;
+import com.example.acceso.service.Interfaces.MetricasService;
 import com.example.acceso.service.Interfaces.VentaService;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.thymeleaf.TemplateEngine;
+import org.springframework.transaction.event.TransactionalEventListener;
 import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
 import org.xhtmlrenderer.pdf.ITextRenderer;
 
 import java.io.ByteArrayOutputStream;
-
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
-import jakarta.mail.internet.MimeMessage;
-
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Genera y envía las boletas de venta.
+ *
+ * La plantilla de la boleta se resuelve con un motor de Thymeleaf propio que
+ * guarda la plantilla ya analizada, independiente de {@code spring.thymeleaf.cache},
+ * así que solo se lee del disco la primera vez. Los PDF generados se guardan en
+ * una caché LRU limitada por cantidad y por tamaño total. La versión de cada
+ * entrada es la huella SHA-256 del HTML de la boleta: si cambia cualquier dato que
+ * se imprime, la huella cambia y el PDF se vuelve a generar. Además, las ventas
+ * anuladas o pagadas se descartan de la caché en cuanto se confirma el cambio.
+ */
 @Service
 public class GenerarBoletaServiceImpl implements GenerarBoletaService {
 
-    @Autowired
-    private TemplateEngine templateEngine;
+    private static final String PLANTILLA_BOLETA = "Boleta/plantilla_Comprobante";
 
-    @Autowired
-    private VentaService ventaService;
+    private final VentaService ventaService;
+    private final EnvioCorreosService envioCorreosService;
+    private final MetricasService metricasService;
+    private final SpringTemplateEngine motorPlantillas;
+    private final String urlBase;
+    private final long maximoBytes;
+    private final int maximoEntradas;
 
-    @Autowired
-    private JavaMailSender mailSender;
+    /** Boletas generadas por ID de venta, de la menos a la más usada recientemente. */
+    private final LinkedHashMap<Long, BoletaRenderizadaDTO> boletas = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytesEnCache;
 
+    /**
+     * Constructor para la inyección de dependencias.
+     *
+     * @param ventaService        Servicio para obtener la venta con sus detalles.
+     * @param envioCorreosService Bandeja de salida por la que se envía la boleta.
+     * @param metricasService     Registra cuánto tarda cada boleta y si salió de
+     *                            la caché.
+     * @param maximoBytes         Tamaño total máximo de los PDF guardados en caché.
+     * @param maximoEntradas      Cantidad máxima de PDF guardados en caché.
+     */
+    public GenerarBoletaServiceImpl(VentaService ventaService, EnvioCorreosService envioCorreosService,
+                                    MetricasService metricasService,
+                                    @Value("${acuamont.boletas.cache.max-bytes:33554432}") long maximoBytes,
+                                    @Value("${acuamont.boletas.cache.max-entradas:1000}") int maximoEntradas) {
+        this.ventaService = ventaService;
+        this.envioCorreosService = envioCorreosService;
+        this.metricasService = metricasService;
+        this.maximoBytes = maximoBytes;
+        this.maximoEntradas = maximoEntradas;
+
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        resolver.setCacheable(true);
+        motorPlantillas = new SpringTemplateEngine();
+        motorPlantillas.setTemplateResolver(resolver);
+
+        // Las imágenes y hojas de estilo relativas de la plantilla se leen del classpath
+        try {
+            urlBase = new ClassPathResource("templates/Boleta/").getURL().toExternalForm();
+        } catch (IOException e) {
+            throw new IllegalStateException("No se encontró la carpeta de la plantilla de boletas.", e);
+        }
+    }
 
     /**
-     * Genera un PDF de boleta para una venta específica.
+     * Genera un PDF de boleta para una venta específica. Si la boleta ya se generó
+     * y sus datos no cambiaron, devuelve el PDF guardado. La duración se registra
+     * en las métricas, separando las boletas de la caché de las renderizadas.
      * @param ventaId El ID de la venta
      * @return un array de bytes (byte[]) que representa el archivo PDF
      * @throws Exception
      */
-
+    @Transactional(readOnly = true)
     public byte[] generarBoletaPdf(Long ventaId) throws Exception {
-
-        Venta venta = ventaService.obtenerVenta(ventaId);
-
-        Context context = new Context();
-        context.setVariable("venta", venta);
-
-        String html = templateEngine.process("Boleta/plantilla_Comprobante", context);
-
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        ITextRenderer renderer = new ITextRenderer();
-
-        String baseUrl = "File:/";
-        renderer.setDocumentFromString(html, baseUrl);
-        renderer.layout();
-        renderer.createPDF(outputStream);
-
-        return outputStream.toByteArray();
+        long inicio = System.nanoTime();
+        boolean desdeCache = false;
+        Exception error = null;
+        try {
+            Venta venta = ventaService.obtenerVenta(ventaId);
+            String html = renderizarHtml(venta);
+            String huella = huella(html);
+
+            synchronized (boletas) {
+                BoletaRenderizadaDTO guardada = boletas.get(ventaId);
+                if (guardada != null && guardada.huella().equals(huella)) {
+                    desdeCache = true;
+                    return guardada.pdf();
+                }
+            }
+
+            byte[] pdf = renderizarPdf(html);
+            guardar(ventaId, new BoletaRenderizadaDTO(huella, pdf));
+            return pdf;
+        } catch (Exception e) {
+            error = e;
+            throw e;
+        } finally {
+            metricasService.boletaGenerada(desdeCache, error, System.nanoTime() - inicio);
+        }
     }
 
+    /**
+     * Deja la boleta de una venta en la bandeja de salida de correos. El correo se
+     * envía en segundo plano; su avance se consulta con el ID devuelto.
+     * @param ventaId El ID de la venta
+     * @return el estado del correo encolado, pendiente de envío
+     * @throws RuntimeException si el cliente no tiene un correo electrónico
+     */
     @Transactional
-    public String enviarBoletaPorCorreo(Long ventaId) throws Exception {
+    public EstadoCorreoDTO enviarBoletaPorCorreo(Long ventaId) {
 
         Venta venta = ventaService.obtenerVenta(ventaId);
         if (venta.getCliente() == null || venta.getCliente().getCorreo() == null || venta.getCliente().getCorreo().isEmpty()) {
@@ -68,23 +150,62 @@ public class GenerarBoletaServiceImpl implements GenerarBoletaService {
         String correlativoFormateado = String.format("%09d", venta.getCorrelativo());
         String numeroBoleta = venta.getSerieComprobante().getSerie() + "-" + correlativoFormateado;
 
-        Context context = new Context();
-        context.setVariable("venta", venta);
+        String htmlBody = renderizarHtml(venta);
 
-        MimeMessage message = mailSender.createMimeMessage();
-        MimeMessageHelper helper = new MimeMessageHelper(message, false, "UTF-8");
+        return envioCorreosService.encolar(ventaId, correoCliente, "Comprobante de Venta Acuamont: " + numeroBoleta, htmlBody);
+    }
 
-        helper.setFrom("johnchm007@gmail.com", "Acuamont S.A.C.");
-        helper.setTo(correoCliente);
-        helper.setSubject("Comprobante de Venta Acuamont: " + numeroBoleta);
+    /**
+     * Descarta la boleta guardada de una venta anulada o pagada, una vez que se
+     * confirma la transacción que la modificó.
+     *
+     * @param evento La venta modificada.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void invalidarBoleta(VentaModificadaDTO evento) {
+        synchronized (boletas) {
+            BoletaRenderizadaDTO eliminada = boletas.remove(evento.ventaId());
+            if (eliminada != null) {
+                bytesEnCache -= eliminada.pdf().length;
+            }
+        }
+    }
 
-        String htmlBody = templateEngine.process("boleta/plantilla_Comprobante", context);
+    private String renderizarHtml(Venta venta) {
+        Context context = new Context();
+        context.setVariable("venta", venta);
+        return motorPlantillas.process(PLANTILLA_BOLETA, context);
+    }
 
-        helper.setText(htmlBody, true);
+    private byte[] renderizarPdf(String html) throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ITextRenderer renderer = new ITextRenderer();
+        renderer.setDocumentFromString(html, urlBase);
+        renderer.layout();
+        renderer.createPDF(outputStream);
+        return outputStream.toByteArray();
+    }
 
-        mailSender.send(message);
+    private void guardar(Long ventaId, BoletaRenderizadaDTO boleta) {
+        if (boleta.pdf().length > maximoBytes) {
+            return;
+        }
+        synchronized (boletas) {
+            BoletaRenderizadaDTO anterior = boletas.put(ventaId, boleta);
+            bytesEnCache += boleta.pdf().length - (anterior != null ? anterior.pdf().length : 0);
+
+            // Se descartan las boletas usadas hace más tiempo hasta volver a los límites
+            Iterator<Map.Entry<Long, BoletaRenderizadaDTO>> antiguas = boletas.entrySet().iterator();
+            while (bytesEnCache > maximoBytes || boletas.size() > maximoEntradas) {
+                bytesEnCache -= antiguas.next().getValue().pdf().length;
+                antiguas.remove();
+            }
+        }
+    }
 
-        return correoCliente;
+    private static String huella(String html) throws NoSuchAlgorithmException {
+        byte[] digest = MessageDigest.getInstance("SHA-256").digest(html.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest);
     }
 
 }
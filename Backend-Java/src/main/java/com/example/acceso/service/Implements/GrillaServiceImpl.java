@@ -0,0 +1,89 @@
+package com.example.acceso.service.Implements;
+
+import com.example.acceso.DTO.PaginaGrillaDTO;
+import com.example.acceso.DTO.SolicitudGrillaDTO;
+import com.example.acceso.service.Interfaces.GrillaService;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Consulta las páginas de las grillas de productos, clientes, proveedores y
+ * usuarios, que se paginan, filtran y ordenan en la base de datos en lugar de
+ * enviarse completas al navegador.
+ *
+ * Cada página trae una fila de más para saber si hay otra después, sin contar
+ * todas las filas. El total sin búsqueda lo da una consulta de conteo sobre el
+ * índice de {@code estado}, y el total filtrado solo se cuenta cuando hay una
+ * búsqueda y la página no permite deducirlo.
+ *
+ * Los botones de exportación piden todas las filas a la vez, con el mismo
+ * filtro y el mismo orden que la grilla, para no exportar solo la página que
+ * se está viendo.
+ */
+@Service
+public class GrillaServiceImpl implements GrillaService {
+
+    /**
+     * Obtiene una página de una grilla.
+     *
+     * @param solicitud          La página, la búsqueda y el orden pedidos.
+     * @param columnasOrdenables Las columnas por las que se puede ordenar, con
+     *                           la propiedad de la entidad que les corresponde.
+     *                           Cualquier otra columna ordena por ID.
+     * @param leerPagina         Lee las filas filtradas de una página, sin
+     *                           contarlas.
+     * @param contarTotal        Cuenta las filas sin aplicar la búsqueda.
+     * @param contarFiltrados    Cuenta las filas que cumplen la búsqueda.
+     * @return Las filas de la página y los totales.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public <T> PaginaGrillaDTO<T> consultar(SolicitudGrillaDTO solicitud, Map<String, String> columnasOrdenables,
+                                            Function<Pageable, Slice<T>> leerPagina, LongSupplier contarTotal,
+                                            LongSupplier contarFiltrados) {
+        long total = contarTotal.getAsLong();
+        if (total == 0) {
+            return new PaginaGrillaDTO<>(List.of(), 0, 0);
+        }
+
+        Pageable pagina = solicitud.todas()
+                ? Pageable.unpaged(ordenar(solicitud, columnasOrdenables))
+                : PageRequest.of(solicitud.inicio() / solicitud.tamano(), solicitud.tamano(),
+                        ordenar(solicitud, columnasOrdenables));
+        Slice<T> datos = leerPagina.apply(pagina);
+
+        long filtrados;
+        if (!solicitud.tieneBusqueda()) {
+            filtrados = total;
+        } else if (solicitud.todas()) {
+            filtrados = datos.getNumberOfElements();
+        } else if (!datos.hasNext() && (datos.hasContent() || pagina.getOffset() == 0)) {
+            filtrados = pagina.getOffset() + datos.getNumberOfElements();
+        } else {
+            filtrados = contarFiltrados.getAsLong();
+        }
+        return new PaginaGrillaDTO<>(datos.getContent(), total, filtrados);
+    }
+
+    /**
+     * Ordena por la columna pedida si está permitida, y luego por ID para que
+     * las filas con el mismo valor no cambien de página entre consultas.
+     */
+    private static Sort ordenar(SolicitudGrillaDTO solicitud, Map<String, String> columnasOrdenables) {
+        Sort.Direction direccion = Sort.Direction.fromString(solicitud.direccion());
+        String propiedad = solicitud.orden() != null ? columnasOrdenables.get(solicitud.orden()) : null;
+        if (propiedad == null || propiedad.equals("id")) {
+            return Sort.by(direccion, "id");
+        }
+        return Sort.by(direccion, propiedad).and(Sort.by(Sort.Direction.ASC, "id"));
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.acceso.service.Implements;
+
+import com.example.acceso.DTO.ImagenSubidaDTO;
+import com.example.acceso.service.Interfaces.AlmacenImagenes;
+import com.example.acceso.service.Interfaces.ImagenesService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Sube y elimina las imágenes de los productos en el almacén de imágenes.
+ *
+ * Cada archivo recibido se pasa a un archivo temporal (sin cargarlo entero en
+ * memoria) y se sube desde el disco. Las subidas de una misma petición se hacen
+ * en paralelo, en hilos virtuales, con un máximo de subidas simultáneas para no
+ * saturar al almacén. Si alguna falla, se eliminan las que sí se subieron para
+ * no dejar imágenes huérfanas. Este servicio no abre transacciones: quien lo usa
+ * debe llamarlo fuera de ellas para no retener una conexión a la base de datos
+ * mientras dura la subida.
+ */
+@Service
+public class ImagenesServiceImpl implements ImagenesService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImagenesServiceImpl.class);
+
+    private final AlmacenImagenes almacenImagenes;
+    private final ExecutorService hilosSubida;
+
+    /**
+     * Constructor para la inyección de dependencias.
+     *
+     * @param almacenImagenes    Almacén donde se guardan las imágenes.
+     * @param subidasSimultaneas Cuántas imágenes se suben a la vez como máximo.
+     */
+    public ImagenesServiceImpl(AlmacenImagenes almacenImagenes,
+                               @Value("${acuamont.imagenes.subidas-simultaneas:4}") int subidasSimultaneas) {
+        if (subidasSimultaneas < 1) {
+            throw new IllegalArgumentException("Las subidas simultáneas de imágenes deben ser mayores a 0.");
+        }
+        this.almacenImagenes = almacenImagenes;
+        this.hilosSubida = Executors.newFixedThreadPool(subidasSimultaneas, Thread.ofVirtual().name("subida-imagen-", 0).factory());
+    }
+
+    /**
+     * Sube en paralelo todas las imágenes no vacías a una carpeta del almacén.
+     * Si alguna falla, elimina las que se subieron y lanza el error.
+     *
+     * @param archivos Las imágenes recibidas; puede ser {@code null}.
+     * @param carpeta  La carpeta de destino.
+     * @return Las imágenes subidas, en el mismo orden en que se recibieron.
+     * @throws RuntimeException si no se pudo subir alguna imagen.
+     */
+    @Override
+    public List<ImagenSubidaDTO> subirTodas(List<MultipartFile> archivos, String carpeta) {
+        List<MultipartFile> imagenes = archivos == null ? List.of()
+                : archivos.stream().filter(archivo -> archivo != null && !archivo.isEmpty()).toList();
+        if (imagenes.isEmpty()) {
+            return List.of();
+        }
+
+        List<Path> temporales = new ArrayList<>();
+        try {
+            for (MultipartFile imagen : imagenes) {
+                Path temporal = Files.createTempFile("acuamont-imagen-", ".tmp");
+                temporales.add(temporal);
+                imagen.transferTo(temporal);
+            }
+
+            List<Future<ImagenSubidaDTO>> subidas = new ArrayList<>();
+            for (Path temporal : temporales) {
+                subidas.add(hilosSubida.submit(() -> almacenImagenes.subir(temporal, carpeta)));
+            }
+            return esperarSubidas(subidas);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error al leer la imagen recibida: " + e.getMessage(), e);
+        } finally {
+            temporales.forEach(ImagenesServiceImpl::borrarTemporal);
+        }
+    }
+
+    /**
+     * Elimina una imagen del almacén.
+     *
+     * @param url La URL de la imagen.
+     * @throws RuntimeException si el almacén no pudo eliminarla.
+     */
+    @Override
+    public void eliminar(String url) {
+        almacenImagenes.eliminar(url);
+    }
+
+    /**
+     * Elimina varias imágenes del almacén. Los errores se registran y no
+     * interrumpen la eliminación de las demás.
+     *
+     * @param urls Las URL de las imágenes.
+     */
+    @Override
+    public void eliminarTodas(List<String> urls) {
+        for (String url : urls) {
+            try {
+                almacenImagenes.eliminar(url);
+            } catch (RuntimeException e) {
+                logger.warn("No se pudo eliminar la imagen {}: {}", url, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Obtiene la URL de la miniatura de una imagen, para los listados.
+     *
+     * @param url La URL de la imagen.
+     * @return La URL de la miniatura.
+     */
+    @Override
+    public String urlMiniatura(String url) {
+        return almacenImagenes.urlMiniatura(url);
+    }
+
+    /**
+     * Obtiene el identificador de una imagen en el almacén.
+     *
+     * @param url La URL de la imagen.
+     * @return El identificador, o {@code null} si la imagen no es del almacén.
+     */
+    @Override
+    public String obtenerPublicId(String url) {
+        return almacenImagenes.obtenerPublicId(url);
+    }
+
+    @PreDestroy
+    public void detener() {
+        hilosSubida.shutdown();
+    }
+
+    /**
+     * Espera todas las subidas, aunque alguna falle, para saber cuáles hay que
+     * eliminar.
+     */
+    private List<ImagenSubidaDTO> esperarSubidas(List<Future<ImagenSubidaDTO>> subidas) {
+        RuntimeException error = null;
+        for (Future<ImagenSubidaDTO> subida : subidas) {
+            try {
+                subida.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                subidas.forEach(pendiente -> pendiente.cancel(true));
+                error = new RuntimeException("Se interrumpió la subida de imágenes.", e);
+                break;
+            } catch (ExecutionException e) {
+                if (error == null) {
+                    error = e.getCause() instanceof RuntimeException causa ? causa
+                            : new RuntimeException("Error al subir imagen: " + e.getCause().getMessage(), e.getCause());
+                }
+            }
+        }
+
+        List<ImagenSubidaDTO> subidasCompletas = subidas.stream()
+                .filter(subida -> subida.state() == Future.State.SUCCESS)
+                .map(Future::resultNow)
+                .toList();
+        if (error != null) {
+            eliminarTodas(subidasCompletas.stream().map(ImagenSubidaDTO::url).toList());
+            throw error;
+        }
+        return subidasCompletas;
+    }
+
+    private static void borrarTemporal(Path temporal) {
+        try {
+            Files.deleteIfExists(temporal);
+        } catch (IOException e) {
+            logger.warn("No se pudo borrar el archivo temporal {}: {}", temporal, e.getMessage());
+        }
+    }
+
+}
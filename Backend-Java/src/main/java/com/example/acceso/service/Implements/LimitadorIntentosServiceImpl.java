@@ -0,0 +1,108 @@
+package com.example.acceso.service.Implements;
+
+import com.example.acceso.service.Interfaces.LimitadorIntentosService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Limita los intentos de inicio de sesión por usuario y por IP con cubetas de
+ * fichas: cada intento gasta una ficha y las fichas se recargan a ritmo fijo
+ * hasta la capacidad de la cubeta.
+ *
+ * Las cubetas no se guardan por clave sino en un arreglo fijo de franjas: el
+ * usuario o la IP eligen su franja por hash, así que la memoria no crece con
+ * los intentos de un ataque. Dos claves pueden compartir franja; con miles de
+ * franjas es poco probable y solo adelanta el límite. Cada franja es un
+ * {@code long} con el momento de la última recarga y las fichas restantes, que
+ * se actualiza con compare-and-set, sin bloqueos.
+ */
+@Service
+public class LimitadorIntentosServiceImpl implements LimitadorIntentosService {
+
+    /** Bits del estado de cada franja que guardan las fichas, en milésimas; el resto guarda el momento en ms. */
+    private static final int BITS_FICHAS = 20;
+    private static final long MASCARA_FICHAS = (1L << BITS_FICHAS) - 1;
+    private static final long FICHA = 1_000;
+
+    private final AtomicLongArray porUsuario;
+    private final AtomicLongArray porIp;
+    private final long capacidadUsuario;
+    private final long capacidadIp;
+    private final double recargaUsuario;
+    private final double recargaIp;
+    private final long inicio = System.nanoTime();
+
+    /**
+     * Constructor para la inyección de dependencias.
+     *
+     * @param capacidadUsuario Intentos seguidos que se permiten a un usuario.
+     * @param porMinutoUsuario Intentos por minuto que recupera un usuario.
+     * @param capacidadIp      Intentos seguidos que se permiten a una IP.
+     * @param porMinutoIp      Intentos por minuto que recupera una IP.
+     * @param franjas          Cuántas cubetas hay para cada tipo de clave; se
+     *                         redondea a la potencia de 2 siguiente.
+     */
+    public LimitadorIntentosServiceImpl(@Value("${acuamont.login.usuario.capacidad:5}") int capacidadUsuario,
+                                        @Value("${acuamont.login.usuario.por-minuto:5}") int porMinutoUsuario,
+                                        @Value("${acuamont.login.ip.capacidad:10}") int capacidadIp,
+                                        @Value("${acuamont.login.ip.por-minuto:10}") int porMinutoIp,
+                                        @Value("${acuamont.login.franjas:4096}") int franjas) {
+        if (capacidadUsuario < 1 || capacidadIp < 1 || capacidadUsuario > 1_000 || capacidadIp > 1_000) {
+            throw new IllegalArgumentException("La capacidad de intentos de inicio de sesión debe estar entre 1 y 1000.");
+        }
+        if (porMinutoUsuario < 1 || porMinutoIp < 1 || franjas < 1) {
+            throw new IllegalArgumentException("La recarga de intentos y las franjas deben ser mayores a 0.");
+        }
+        int tamano = Integer.highestOneBit(Math.max(1, franjas - 1)) << 1;
+        this.porUsuario = new AtomicLongArray(tamano);
+        this.porIp = new AtomicLongArray(tamano);
+        this.capacidadUsuario = capacidadUsuario * FICHA;
+        this.capacidadIp = capacidadIp * FICHA;
+        this.recargaUsuario = porMinutoUsuario * FICHA / 60_000.0;
+        this.recargaIp = porMinutoIp * FICHA / 60_000.0;
+    }
+
+    /**
+     * Registra un intento de inicio de sesión.
+     *
+     * @param usuario El nombre de usuario, ya normalizado.
+     * @param ip      La IP desde la que se intenta.
+     * @return {@code true} si la IP y el usuario tenían una ficha disponible.
+     */
+    @Override
+    public boolean intentar(String usuario, String ip) {
+        return tomar(porIp, ip, capacidadIp, recargaIp) && tomar(porUsuario, usuario, capacidadUsuario, recargaUsuario);
+    }
+
+    private boolean tomar(AtomicLongArray cubetas, String clave, long capacidad, double recargaPorMs) {
+        int franja = franja(clave, cubetas.length());
+        long ahora = (System.nanoTime() - inicio) / 1_000_000 + 1;
+        while (true) {
+            long estado = cubetas.get(franja);
+            long fichas = capacidad;
+            long momento = ahora;
+            // Un estado 0 es una cubeta sin usar, que empieza llena
+            if (estado != 0) {
+                long anterior = estado >>> BITS_FICHAS;
+                fichas = Math.min(capacidad,
+                        (estado & MASCARA_FICHAS) + (long) (Math.max(0, ahora - anterior) * recargaPorMs));
+                momento = Math.max(ahora, anterior);
+            }
+            if (fichas < FICHA) {
+                return false;
+            }
+            if (cubetas.compareAndSet(franja, estado, (momento << BITS_FICHAS) | (fichas - FICHA))) {
+                return true;
+            }
+        }
+    }
+
+    private static int franja(String clave, int franjas) {
+        int hash = clave == null ? 0 : clave.hashCode();
+        hash ^= hash >>> 16;
+        return (hash * 0x9E3779B9) & (franjas - 1);
+    }
+
+}
@@ -0,0 +1,250 @@
+package com.example.acceso.service.Implements;
+
+import com.example.acceso.DTO.ResumenMetricaDTO;
+import com.example.acceso.service.Interfaces.MetricasService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Métricas de las operaciones críticas de ventas, pagos e inventario.
+ *
+ * Aquí se definen todos los nombres, etiquetas y percentiles, para que los
+ * servicios solo informen qué pasó y cuánto tardó. Los timers y la
+ * distribución de líneas por venta publican p50, p95 y p99 y un histograma,
+ * que Prometheus puede agregar entre instancias. Las etiquetas son la serie,
+ * la forma de pago y el resultado: {@code exito}, {@code rechazada} (datos
+ * inválidos o estado no permitido) o {@code error}.
+ */
+@Service
+public class MetricasServiceImpl implements MetricasService {
+
+    private static final String PREFIJO = "acuamont.";
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+    private static final String SIN_DATO = "desconocida";
+
+    private final MeterRegistry meterRegistry;
+    private final Counter rechazosStock;
+
+    /**
+     * Constructor para la inyección de dependencias.
+     *
+     * @param meterRegistry El registro de Micrometer de la aplicación.
+     */
+    public MetricasServiceImpl(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.rechazosStock = Counter.builder("acuamont.stock.rechazos")
+                .description("Movimientos de stock rechazados por falta de unidades")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Registra la creación de una venta: su duración y, si se creó, el contador
+     * de ventas y la cantidad de líneas.
+     *
+     * @param serie     La serie del comprobante, por ejemplo {@code B001}.
+     * @param formaPago El nombre de la forma de pago.
+     * @param lineas    Productos distintos de la venta.
+     * @param error     La excepción que interrumpió la venta, o {@code null}.
+     * @param nanos     Cuánto tardó, en nanosegundos.
+     */
+    @Override
+    public void ventaCreada(String serie, String formaPago, int lineas, Throwable error, long nanos) {
+        timer("acuamont.ventas.creacion", "Duración del registro de una venta",
+                "serie", etiqueta(serie), "formaPago", etiqueta(formaPago), "resultado", resultado(error))
+                .record(nanos, TimeUnit.NANOSECONDS);
+        if (error == null) {
+            Counter.builder("acuamont.ventas.creadas")
+                    .description("Ventas registradas")
+                    .tags("serie", etiqueta(serie), "formaPago", etiqueta(formaPago))
+                    .register(meterRegistry)
+                    .increment();
+            DistributionSummary.builder("acuamont.ventas.lineas")
+                    .description("Productos distintos por venta")
+                    .tags("serie", etiqueta(serie), "formaPago", etiqueta(formaPago))
+                    .publishPercentiles(PERCENTILES)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(1.0)
+                    .maximumExpectedValue(200.0)
+                    .register(meterRegistry)
+                    .record(lineas);
+        }
+    }
+
+    /**
+     * Registra la anulación de una venta.
+     *
+     * @param serie     La serie del comprobante anulado.
+     * @param formaPago El nombre de la forma de pago de la venta.
+     * @param error     La excepción que interrumpió la anulación, o {@code null}.
+     * @param nanos     Cuánto tardó, en nanosegundos.
+     */
+    @Override
+    public void ventaAnulada(String serie, String formaPago, Throwable error, long nanos) {
+        timer("acuamont.ventas.anulacion", "Duración de la anulación de una venta",
+                "serie", etiqueta(serie), "formaPago", etiqueta(formaPago), "resultado", resultado(error))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Registra el pago de una cuota.
+     *
+     * @param serie     La serie del comprobante de la venta.
+     * @param formaPago El nombre de la forma de pago de la venta.
+     * @param error     La excepción que interrumpió el pago, o {@code null}.
+     * @param nanos     Cuánto tardó, en nanosegundos.
+     */
+    @Override
+    public void pagoRegistrado(String serie, String formaPago, Throwable error, long nanos) {
+        timer("acuamont.pagos.registro", "Duración del registro de un pago",
+                "serie", etiqueta(serie), "formaPago", etiqueta(formaPago), "resultado", resultado(error))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Registra un ajuste de inventario.
+     *
+     * @param tipo  El tipo de movimiento, por ejemplo {@code Entrada}.
+     * @param error La excepción que interrumpió el ajuste, o {@code null}.
+     * @param nanos Cuánto tardó, en nanosegundos.
+     */
+    @Override
+    public void ajusteGuardado(String tipo, Throwable error, long nanos) {
+        timer("acuamont.inventario.ajustes", "Duración del registro de un ajuste de inventario",
+                "tipo", etiqueta(tipo), "resultado", resultado(error))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Cuenta un movimiento de stock rechazado por falta de unidades.
+     */
+    @Override
+    public void stockRechazado() {
+        rechazosStock.increment();
+    }
+
+    /**
+     * Registra cuánto esperó una venta por su correlativo. En las series
+     * estrictas incluye la espera por el bloqueo de la fila de la serie.
+     *
+     * @param serie    La serie del comprobante.
+     * @param estricto Si la serie numera sin huecos.
+     * @param nanos    Cuánto tardó, en nanosegundos.
+     */
+    @Override
+    public void esperaCorrelativo(String serie, boolean estricto, long nanos) {
+        timer("acuamont.correlativos.espera", "Espera para obtener el correlativo de una venta",
+                "serie", etiqueta(serie), "modo", estricto ? "estricto" : "bloques")
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Registra la generación del PDF de una boleta.
+     *
+     * @param desdeCache Si el PDF se tomó de la caché en lugar de renderizarse.
+     * @param error      La excepción que interrumpió la generación, o {@code null}.
+     * @param nanos      Cuánto tardó, en nanosegundos.
+     */
+    @Override
+    public void boletaGenerada(boolean desdeCache, Throwable error, long nanos) {
+        timer("acuamont.boletas.pdf", "Duración de la generación del PDF de una boleta",
+                "origen", desdeCache ? "cache" : "renderizada", "resultado", resultado(error))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Registra una llamada a Cloudinary.
+     *
+     * @param operacion {@code subir}, {@code eliminar} o {@code listar}.
+     * @param error     La excepción de la llamada, o {@code null}.
+     * @param nanos     Cuánto tardó, en nanosegundos.
+     */
+    @Override
+    public void llamadaCloudinary(String operacion, Throwable error, long nanos) {
+        timer("acuamont.cloudinary.llamadas", "Latencia de las llamadas a Cloudinary",
+                "operacion", operacion, "resultado", resultado(error))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Resume todas las métricas de la aplicación, ordenadas por nombre.
+     *
+     * @return Una entrada por cada combinación de etiquetas de cada métrica.
+     */
+    @Override
+    public List<ResumenMetricaDTO> resumen() {
+        List<ResumenMetricaDTO> resumen = new ArrayList<>();
+        for (Meter meter : meterRegistry.getMeters()) {
+            String nombre = meter.getId().getName();
+            if (!nombre.startsWith(PREFIJO)) {
+                continue;
+            }
+            Map<String, String> etiquetas = new LinkedHashMap<>();
+            for (Tag tag : meter.getId().getTags()) {
+                etiquetas.put(tag.getKey(), tag.getValue());
+            }
+            if (meter instanceof Timer timer) {
+                HistogramSnapshot snapshot = timer.takeSnapshot();
+                resumen.add(new ResumenMetricaDTO(nombre, "timer", etiquetas, snapshot.count(),
+                        snapshot.mean(TimeUnit.MILLISECONDS), snapshot.max(TimeUnit.MILLISECONDS),
+                        percentiles(snapshot, TimeUnit.MILLISECONDS)));
+            } else if (meter instanceof DistributionSummary distribucion) {
+                HistogramSnapshot snapshot = distribucion.takeSnapshot();
+                resumen.add(new ResumenMetricaDTO(nombre, "distribucion", etiquetas, snapshot.count(),
+                        snapshot.mean(), snapshot.max(), percentiles(snapshot, null)));
+            } else if (meter instanceof Counter contador) {
+                resumen.add(new ResumenMetricaDTO(nombre, "contador", etiquetas, (long) contador.count(),
+                        contador.count(), 0, Map.of()));
+            }
+        }
+        resumen.sort(Comparator.comparing(ResumenMetricaDTO::nombre)
+                .thenComparing(metrica -> metrica.etiquetas().toString()));
+        return resumen;
+    }
+
+    private Timer timer(String nombre, String descripcion, String... etiquetas) {
+        return Timer.builder(nombre)
+                .description(descripcion)
+                .tags(etiquetas)
+                .publishPercentiles(PERCENTILES)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(meterRegistry);
+    }
+
+    private static Map<String, Double> percentiles(HistogramSnapshot snapshot, TimeUnit unidad) {
+        Map<String, Double> valores = new LinkedHashMap<>();
+        for (ValueAtPercentile percentil : snapshot.percentileValues()) {
+            valores.put("p" + Math.round(percentil.percentile() * 100),
+                    unidad == null ? percentil.value() : percentil.value(unidad));
+        }
+        return valores;
+    }
+
+    private static String etiqueta(String valor) {
+        return valor == null || valor.isBlank() ? SIN_DATO : valor;
+    }
+
+    private static String resultado(Throwable error) {
+        if (error == null) {
+            return "exito";
+        }
+        return error instanceof IllegalArgumentException || error instanceof IllegalStateException
+                ? "rechazada" : "error";
+    }
+}
@@ -1,11 +1,13 @@
 package com.example.acceso.service.Implements;
 
+import com.example.acceso.DTO.PerfilModificadoDTO;
 import com.example.acceso.model.Perfil;
 import com.example.acceso.model.Opcion;
 import com.example.acceso.repository.PerfilRepository;
 import com.example.acceso.repository.OpcionRepository;
 import com.example.acceso.repository.UsuarioRepository;
 import com.example.acceso.service.Interfaces.PerfilService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,11 +20,14 @@ public class PerfilServiceImpl implements PerfilService {
     private final PerfilRepository perfilRepository;
     private final OpcionRepository opcionRepository;
     private final UsuarioRepository usuarioRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public PerfilServiceImpl(PerfilRepository perfilRepository, OpcionRepository opcionRepository, UsuarioRepository usuarioRepository) {
+    public PerfilServiceImpl(PerfilRepository perfilRepository, OpcionRepository opcionRepository, UsuarioRepository usuarioRepository,
+                             ApplicationEventPublisher eventPublisher) {
         this.perfilRepository = perfilRepository;
         this.opcionRepository = opcionRepository;
         this.usuarioRepository = usuarioRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -40,7 +45,9 @@ public class PerfilServiceImpl implements PerfilService {
     @Override
     @Transactional
     public Perfil guardarPerfil(Perfil perfil) {
-        return perfilRepository.save(perfil);
+        Perfil guardado = perfilRepository.save(perfil);
+        eventPublisher.publishEvent(new PerfilModificadoDTO(guardado.getId()));
+        return guardado;
     }
 
     @Override
@@ -58,7 +65,9 @@ public class PerfilServiceImpl implements PerfilService {
             } else if (perfil.getEstado() == 0) {
                 perfil.setEstado(1);
             }
-            return perfilRepository.save(perfil);
+            Perfil guardado = perfilRepository.save(perfil);
+            eventPublisher.publishEvent(new PerfilModificadoDTO(guardado.getId()));
+            return guardado;
         });
     }
 
@@ -81,5 +90,6 @@ public class PerfilServiceImpl implements PerfilService {
 
         perfil.setEstado(2);
         perfilRepository.save(perfil);
+        eventPublisher.publishEvent(new PerfilModificadoDTO(perfil.getId()));
     }
 }
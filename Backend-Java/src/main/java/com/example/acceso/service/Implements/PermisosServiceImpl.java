@@ -0,0 +1,111 @@
+package com.example.acceso.service.Implements;
+
+import com.example.acceso.DTO.ModeloPermisosDTO;
+import com.example.acceso.DTO.OpcionMenuDTO;
+import com.example.acceso.DTO.PerfilModificadoDTO;
+import com.example.acceso.DTO.PermisosPerfilDTO;
+import com.example.acceso.model.Perfil;
+import com.example.acceso.repository.PerfilRepository;
+import com.example.acceso.service.Interfaces.PermisosService;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Mantiene en memoria el menú y las rutas permitidas de cada perfil activo.
+ *
+ * Antes, cada inicio de sesión cargaba el perfil y todas sus opciones junto con
+ * el usuario, y guardaba el menú en la sesión. Ahora la sesión guarda solo el
+ * ID del perfil y el menú se toma de un {@link ModeloPermisosDTO} inmutable que
+ * se arma al iniciar la aplicación y se reemplaza entero, con una versión
+ * nueva, cada vez que se guarda, cambia de estado o elimina un perfil. Las
+ * lecturas no toman bloqueos: leen la referencia vigente.
+ */
+@Service
+public class PermisosServiceImpl implements PermisosService {
+
+    private final PerfilRepository perfilRepository;
+
+    private volatile ModeloPermisosDTO modelo;
+
+    /**
+     * Constructor para la inyección de dependencias.
+     *
+     * @param perfilRepository Repositorio de perfiles.
+     */
+    public PermisosServiceImpl(PerfilRepository perfilRepository) {
+        this.perfilRepository = perfilRepository;
+    }
+
+    /**
+     * Devuelve los permisos vigentes; si todavía no se armaron, los arma.
+     *
+     * @return El modelo de permisos actual.
+     */
+    @Override
+    public ModeloPermisosDTO modelo() {
+        ModeloPermisosDTO actual = modelo;
+        if (actual == null) {
+            reconstruir();
+            actual = modelo;
+        }
+        return actual;
+    }
+
+    /**
+     * Devuelve el menú de un perfil.
+     *
+     * @param perfilId El ID del perfil.
+     * @return Las opciones ordenadas por ID, o una lista vacía si el perfil no
+     *         existe o no está activo.
+     */
+    @Override
+    public List<OpcionMenuDTO> menu(Long perfilId) {
+        if (perfilId == null) {
+            return List.of();
+        }
+        PermisosPerfilDTO permisos = modelo().perfiles().get(perfilId);
+        return permisos != null ? permisos.menu() : List.of();
+    }
+
+    /**
+     * Arma los permisos de todos los perfiles activos y los publica con la
+     * versión siguiente.
+     */
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void reconstruir() {
+        Map<Long, PermisosPerfilDTO> perfiles = new HashMap<>();
+        for (Perfil perfil : perfilRepository.findAllConOpcionesByEstado(1)) {
+            List<OpcionMenuDTO> menu = perfil.getOpciones().stream()
+                    .map(opcion -> new OpcionMenuDTO(opcion.getId(), opcion.getNombre(), opcion.getRuta(),
+                            opcion.getIcono()))
+                    .sorted(Comparator.comparing(OpcionMenuDTO::id))
+                    .toList();
+            perfiles.put(perfil.getId(), new PermisosPerfilDTO(perfil.getId(), menu,
+                    menu.stream().map(OpcionMenuDTO::ruta).collect(Collectors.toSet())));
+        }
+        long version = modelo != null ? modelo.version() + 1 : 1;
+        modelo = new ModeloPermisosDTO(version, perfiles);
+    }
+
+    /**
+     * Vuelve a armar los permisos una vez que se confirma la transacción que
+     * modificó un perfil.
+     *
+     * @param evento El aviso de modificación.
+     */
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alModificarPerfil(PerfilModificadoDTO evento) {
+        reconstruir();
+    }
+
+}
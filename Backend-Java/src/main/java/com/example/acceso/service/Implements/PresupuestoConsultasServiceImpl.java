@@ -0,0 +1,141 @@
+package com.example.acceso.service.Implements;
+
+import com.example.acceso.DTO.ConsultasRutaDTO;
+import com.example.acceso.service.Interfaces.PresupuestoConsultasService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Presupuesto de consultas SQL por petición, para detectar los N+1 antes de
+ * que lleguen a producción.
+ *
+ * Hibernate avisa cada sentencia que prepara (ver {@code ConsultasConfig}) y
+ * aquí se cuenta en el hilo de la petición en curso. Al terminar la petición,
+ * el total se acumula por ruta y, si supera el presupuesto, se registra una
+ * advertencia. Hay tres modos:
+ * <ul>
+ * <li><b>desactivado</b> (por defecto): no se cuenta nada.</li>
+ * <li><b>registrar</b>: se cuenta y se advierte en el log.</li>
+ * <li><b>fallar</b>: además, la sentencia que supera el presupuesto lanza una
+ * excepción y la petición falla; pensado para las pruebas.</li>
+ * </ul>
+ * Las sentencias que corren en otros hilos (exportaciones asíncronas, tareas
+ * programadas) no se cuentan.
+ */
+@Service
+public class PresupuestoConsultasServiceImpl implements PresupuestoConsultasService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PresupuestoConsultasServiceImpl.class);
+
+    /** Sentencias de la petición en curso en cada hilo; -1 si no hay petición. */
+    private static final ThreadLocal<int[]> SENTENCIAS = ThreadLocal.withInitial(() -> new int[] {-1});
+
+    private final boolean activo;
+    private final boolean fallar;
+    private final int presupuesto;
+    private final ConcurrentMap<String, ConsultasRutaDTO> porRuta = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor para la inyección de dependencias.
+     *
+     * @param modo        {@code desactivado}, {@code registrar} o {@code fallar}.
+     * @param presupuesto Sentencias que puede ejecutar una petición.
+     */
+    public PresupuestoConsultasServiceImpl(@Value("${acuamont.consultas.modo:desactivado}") String modo,
+                                           @Value("${acuamont.consultas.presupuesto:30}") int presupuesto) {
+        if (!List.of("desactivado", "registrar", "fallar").contains(modo)) {
+            throw new IllegalArgumentException("Modo de presupuesto de consultas no válido: " + modo);
+        }
+        if (presupuesto < 1) {
+            throw new IllegalArgumentException("El presupuesto de consultas debe ser mayor a 0.");
+        }
+        this.activo = !modo.equals("desactivado");
+        this.fallar = modo.equals("fallar");
+        this.presupuesto = presupuesto;
+    }
+
+    /**
+     * @return {@code true} si se cuentan las consultas de las peticiones.
+     */
+    @Override
+    public boolean activo() {
+        return activo;
+    }
+
+    /**
+     * Empieza a contar las sentencias del hilo actual.
+     */
+    @Override
+    public void iniciar() {
+        if (activo) {
+            SENTENCIAS.get()[0] = 0;
+        }
+    }
+
+    /**
+     * Cuenta una sentencia del hilo actual, si en él hay una petición en curso.
+     *
+     * @throws IllegalStateException en el modo {@code fallar}, si la sentencia
+     *                               supera el presupuesto.
+     */
+    @Override
+    public void contarSentencia() {
+        if (!activo) {
+            return;
+        }
+        int[] sentencias = SENTENCIAS.get();
+        if (sentencias[0] < 0) {
+            return;
+        }
+        sentencias[0]++;
+        if (fallar && sentencias[0] > presupuesto) {
+            throw new IllegalStateException("La petición superó el presupuesto de " + presupuesto + " consultas.");
+        }
+    }
+
+    /**
+     * Deja de contar y acumula las sentencias de la petición en su ruta.
+     *
+     * @param ruta El método y el patrón de la ruta atendida.
+     * @return Las sentencias que ejecutó la petición; 0 si no se estaba contando.
+     */
+    @Override
+    public int terminar(String ruta) {
+        if (!activo) {
+            return 0;
+        }
+        int[] sentencias = SENTENCIAS.get();
+        int total = Math.max(0, sentencias[0]);
+        sentencias[0] = -1;
+
+        boolean excedida = total > presupuesto;
+        if (excedida) {
+            logger.warn("{} ejecutó {} consultas; el presupuesto es {}.", ruta, total, presupuesto);
+        }
+        porRuta.merge(ruta, new ConsultasRutaDTO(ruta, 1, total, total, excedida ? 1 : 0),
+                (acumulado, nueva) -> acumulado.sumar(total, excedida));
+        return total;
+    }
+
+    /**
+     * Las rutas que más consultas ejecutaron en una sola petición.
+     *
+     * @param limite Cuántas rutas devolver.
+     * @return Las rutas ordenadas de mayor a menor máximo de sentencias.
+     */
+    @Override
+    public List<ConsultasRutaDTO> peores(int limite) {
+        return porRuta.values().stream()
+                .sorted(Comparator.comparingInt(ConsultasRutaDTO::maximo).reversed()
+                        .thenComparing(ConsultasRutaDTO::ruta))
+                .limit(limite)
+                .toList();
+    }
+}
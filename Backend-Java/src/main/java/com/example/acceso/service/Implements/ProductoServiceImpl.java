@@ -1,32 +1,77 @@
 package com.example.acceso.service.Implements;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
-import com.cloudinary.utils.ObjectUtils;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.example.acceso.DTO.CatalogoModificadoDTO;
+import com.example.acceso.DTO.ImagenSubidaDTO;
+import com.example.acceso.DTO.PaginaGrillaDTO;
+import com.example.acceso.DTO.ProductoCatalogoDTO;
+import com.example.acceso.DTO.ProductoModificadoDTO;
+import com.example.acceso.DTO.SolicitudGrillaDTO;
 import com.example.acceso.model.Producto;
+import com.example.acceso.model.ProductoImagen;
+import com.example.acceso.repository.EspecificacionesGrilla;
+import com.example.acceso.repository.ProductoImagenRepository;
 import com.example.acceso.repository.ProductoRepository;
+import com.example.acceso.service.Interfaces.GrillaService;
+import com.example.acceso.service.Interfaces.ImagenesService;
 import com.example.acceso.service.Interfaces.ProductoService;
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 @Service
 public class ProductoServiceImpl implements ProductoService {
 
+    private static final Logger logger = LoggerFactory.getLogger(ProductoServiceImpl.class);
+    private static final int TAMANO_LOTE_MIGRACION = 100;
+
+    /** Columnas de la grilla por las que se puede ordenar, con su propiedad. */
+    private static final Map<String, String> COLUMNAS_ORDENABLES = Map.of(
+            "id", "id",
+            "nombre", "nombre",
+            "categoriaNombre", "categoria.nombre",
+            "precioCompra", "precioCompra",
+            "precioVenta", "precioVenta",
+            "stock", "stock",
+            "stockSeguridad", "stockSeguridad",
+            "estado", "estado");
+
     private final ProductoRepository productoRepository;
-    private final CloudinaryService cloudinaryService;
+    private final ProductoImagenRepository productoImagenRepository;
+    private final ImagenesService imagenesService;
+    private final GrillaService grillaService;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
-    public ProductoServiceImpl(ProductoRepository productoRepository, CloudinaryService cloudinaryService) {
+    public ProductoServiceImpl(ProductoRepository productoRepository, ProductoImagenRepository productoImagenRepository,
+                               ImagenesService imagenesService, GrillaService grillaService,
+                               PlatformTransactionManager transactionManager, ApplicationEventPublisher eventPublisher) {
         this.productoRepository = productoRepository;
-        this.cloudinaryService = cloudinaryService;
+        this.productoImagenRepository = productoImagenRepository;
+        this.imagenesService = imagenesService;
+        this.grillaService = grillaService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional(readOnly = true)
@@ -34,8 +79,103 @@ public class ProductoServiceImpl implements ProductoService {
         return productoRepository.findAllByEstadoNot(2);
     }
 
-    @Transactional
+    /**
+     * Lista los productos no eliminados con la miniatura de su imagen principal.
+     *
+     * Usa dos consultas fijas, sin importar cuántos productos haya: una para los
+     * productos con su categoría y otra para las imágenes principales. El resto
+     * de las imágenes no se lee; se piden con {@link #listarImagenes(Long)} al
+     * abrir el detalle de un producto.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProductoCatalogoDTO> listarCatalogo() {
+        Map<Long, String> principales = productoImagenRepository.findPrincipalesDeProductosActivos().stream()
+                .collect(Collectors.toMap(imagen -> imagen.getProducto().getId(), ProductoImagen::getUrl,
+                        (primera, segunda) -> primera));
+
+        return productoRepository.findAllConCategoriaByEstadoNot(2).stream()
+                .map(producto -> aCatalogo(producto, principales.get(producto.getId())))
+                .toList();
+    }
+
+    /**
+     * Obtiene una página de la grilla de productos no eliminados.
+     *
+     * Usa tres consultas fijas: el conteo, la página con su categoría y las
+     * imágenes principales de los productos de la página. El texto buscado se
+     * compara con cualquier parte del nombre.
+     *
+     * @param solicitud La página, la búsqueda y el orden pedidos.
+     * @return Los productos de la página y los totales.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public PaginaGrillaDTO<ProductoCatalogoDTO> listarGrilla(SolicitudGrillaDTO solicitud) {
+        Specification<Producto> filtro = filtroGrilla(solicitud);
+        PaginaGrillaDTO<Producto> pagina = grillaService.consultar(solicitud, COLUMNAS_ORDENABLES,
+                paginable -> productoRepository.findBy(filtro, consulta -> consulta.project("categoria").slice(paginable)),
+                () -> productoRepository.countByEstadoNot(2), () -> productoRepository.count(filtro));
+        if (pagina.datos().isEmpty()) {
+            return new PaginaGrillaDTO<>(List.of(), pagina.total(), pagina.filtrados());
+        }
+
+        Map<Long, String> principales = productoImagenRepository
+                .findByPrincipalTrueAndProductoIdIn(pagina.datos().stream().map(Producto::getId).toList()).stream()
+                .collect(Collectors.toMap(imagen -> imagen.getProducto().getId(), ProductoImagen::getUrl,
+                        (primera, segunda) -> primera));
+        return new PaginaGrillaDTO<>(pagina.datos().stream()
+                .map(producto -> aCatalogo(producto, principales.get(producto.getId())))
+                .toList(), pagina.total(), pagina.filtrados());
+    }
+
+    /** Filas no eliminadas que coinciden con el texto buscado, si lo hay. */
+    private static Specification<Producto> filtroGrilla(SolicitudGrillaDTO solicitud) {
+        Specification<Producto> filtro = EspecificacionesGrilla.noEliminados();
+        if (solicitud.tieneBusqueda()) {
+            filtro = filtro.and(EspecificacionesGrilla.contiene("nombre", solicitud.busqueda()));
+        }
+        return filtro;
+    }
+
+    private ProductoCatalogoDTO aCatalogo(Producto producto, String principal) {
+        return new ProductoCatalogoDTO(
+                producto.getId(),
+                producto.getNombre(),
+                producto.getDescripcion(),
+                producto.getPrecioCompra(),
+                producto.getPrecioVenta(),
+                producto.getStock(),
+                producto.getStockSeguridad(),
+                producto.getEstado(),
+                producto.getCategoria() != null ? producto.getCategoria().getId() : null,
+                producto.getCategoria() != null ? producto.getCategoria().getNombre() : null,
+                principal != null ? imagenesService.urlMiniatura(principal) : null);
+    }
+
+    /**
+     * Obtiene las URL de las imágenes de un producto, empezando por la principal.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<String> listarImagenes(Long productoId) {
+        return productoImagenRepository.findByProductoIdOrderByOrdenAsc(productoId).stream()
+                .map(ProductoImagen::getUrl)
+                .toList();
+    }
+
+    /**
+     * Guarda un producto y sube sus imágenes nuevas.
+     *
+     * Las imágenes se suben en paralelo y fuera de toda transacción, para no
+     * retener una conexión a la base de datos mientras dura la subida. La lista
+     * de imágenes del producto solo se actualiza si todas se subieron; si algo
+     * falla, se eliminan las imágenes ya subidas y, si el producto era nuevo, el
+     * producto mismo.
+     */
     public Producto guardarProducto(Producto producto, List<MultipartFile> fotos) {
+        Long productoNuevoId = null;
+        List<ImagenSubidaDTO> imagenesSubidas = List.of();
         try {
             // Validations
             if (producto.getNombre() == null || producto.getNombre().trim().isEmpty()) {
@@ -61,53 +201,21 @@ public class ProductoServiceImpl implements ProductoService {
             producto.setDescripcion(producto.getDescripcion().trim());
 
             // If it's a new product, save it first to get an ID
-            boolean isNewProduct = producto.getId() == null;
-            if (isNewProduct) {
-                producto.setImagen("[]"); // Initialize with an empty JSON array
-                producto = productoRepository.save(producto);
+            if (producto.getId() == null) {
+                Producto nuevo = producto;
+                producto = transactionTemplate.execute(status -> productoRepository.save(nuevo));
+                productoNuevoId = producto.getId();
             }
 
-            // Fetch the entity to ensure we're working with a managed instance
-            Producto finalProducto = producto;
-            Producto productoParaActualizar = productoRepository.findById(producto.getId())
-                    .orElseThrow(() -> new IllegalArgumentException("Error al guardar, no se encontró el producto con ID: " + finalProducto.getId()));
-
-            // Handle file uploads
-            if (fotos != null && !fotos.isEmpty() && fotos.stream().anyMatch(f -> !f.isEmpty())) {
-                List<String> listaImagenes;
-                String jsonImagenesActual = productoParaActualizar.getImagen();
-                if (jsonImagenesActual != null && !jsonImagenesActual.isEmpty() && !"[]".equals(jsonImagenesActual)) {
-                    try {
-                        listaImagenes = objectMapper.readValue(jsonImagenesActual, new TypeReference<List<String>>() {});
-                    } catch (JsonProcessingException e) {
-                        listaImagenes = new ArrayList<>();
-                    }
-                } else {
-                    listaImagenes = new ArrayList<>();
-                }
-                String nombreCarpetaNube = "productos_acuamont/" + productoParaActualizar.getId();
-                for (MultipartFile foto : fotos) {
-                    if (foto != null && !foto.isEmpty()) {
-                        String urlImagen = cloudinaryService.subirImagen(foto, nombreCarpetaNube);
-                        listaImagenes.add(urlImagen);
-                    }
-                }
-                String jsonImagenesNuevo = objectMapper.writeValueAsString(listaImagenes);
-                productoParaActualizar.setImagen(jsonImagenesNuevo);
-            }
-            
-            // Update other product fields from the input object
-            productoParaActualizar.setNombre(producto.getNombre());
-            productoParaActualizar.setDescripcion(producto.getDescripcion());
-            productoParaActualizar.setPrecioCompra(producto.getPrecioCompra());
-            productoParaActualizar.setPrecioVenta(producto.getPrecioVenta());
-            productoParaActualizar.setStock(producto.getStock());
-            productoParaActualizar.setStockSeguridad(producto.getStockSeguridad());
-            productoParaActualizar.setEstado(producto.getEstado());
-
-            return productoRepository.save(productoParaActualizar);
+            // Handle file uploads, outside of any transaction
+            imagenesSubidas = imagenesService.subirTodas(fotos, "productos_acuamont/" + producto.getId());
+
+            Producto datos = producto;
+            List<ImagenSubidaDTO> nuevasImagenes = imagenesSubidas;
+            return transactionTemplate.execute(status -> actualizarProducto(datos, nuevasImagenes));
 
         } catch (DataIntegrityViolationException e) {
+            deshacerGuardado(productoNuevoId, imagenesSubidas);
             String message = e.getMessage().toLowerCase();
             if (message.contains("nombre")) {
                 throw new IllegalArgumentException("Ya existe un producto con el mismo nombre");
@@ -117,10 +225,67 @@ public class ProductoServiceImpl implements ProductoService {
                 throw new IllegalArgumentException("Error de integridad de datos");
             }
         } catch (Exception e) {
+            deshacerGuardado(productoNuevoId, imagenesSubidas);
             throw new IllegalArgumentException("Error al guardar el producto: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * Registra las imágenes subidas a continuación de las que ya tenía el
+     * producto y copia el resto de los datos. Si el producto no tenía imágenes,
+     * la primera nueva queda como principal. Se ejecuta dentro de una
+     * transacción.
+     */
+    private Producto actualizarProducto(Producto producto, List<ImagenSubidaDTO> nuevasImagenes) {
+        // Fetch the entity to ensure we're working with a managed instance
+        Producto productoParaActualizar = productoRepository.findById(producto.getId())
+                .orElseThrow(() -> new IllegalArgumentException("Error al guardar, no se encontró el producto con ID: " + producto.getId()));
+
+        if (!nuevasImagenes.isEmpty()) {
+            List<ProductoImagen> actuales = productoImagenRepository.findByProductoIdOrderByOrdenAsc(producto.getId());
+            int orden = actuales.isEmpty() ? 0 : actuales.get(actuales.size() - 1).getOrden() + 1;
+            boolean principal = actuales.stream().noneMatch(ProductoImagen::isPrincipal);
+            List<ProductoImagen> filas = new ArrayList<>();
+            for (ImagenSubidaDTO imagen : nuevasImagenes) {
+                filas.add(new ProductoImagen(productoParaActualizar, imagen.url(), imagen.publicId(), orden++,
+                        principal, imagen.ancho(), imagen.alto()));
+                principal = false;
+            }
+            productoImagenRepository.saveAll(filas);
+        }
+
+        // Update other product fields from the input object
+        productoParaActualizar.setNombre(producto.getNombre());
+        productoParaActualizar.setDescripcion(producto.getDescripcion());
+        productoParaActualizar.setPrecioCompra(producto.getPrecioCompra());
+        productoParaActualizar.setPrecioVenta(producto.getPrecioVenta());
+        productoParaActualizar.setStock(producto.getStock());
+        productoParaActualizar.setStockSeguridad(producto.getStockSeguridad());
+        productoParaActualizar.setEstado(producto.getEstado());
+
+        Producto guardado = productoRepository.save(productoParaActualizar);
+        eventPublisher.publishEvent(new CatalogoModificadoDTO());
+        eventPublisher.publishEvent(new ProductoModificadoDTO(guardado.getId()));
+        return guardado;
+    }
+
+    /**
+     * Deshace un guardado fallido: elimina las imágenes que llegaron a subirse y
+     * el producto, si se había creado en este mismo guardado.
+     */
+    private void deshacerGuardado(Long productoNuevoId, List<ImagenSubidaDTO> imagenesSubidas) {
+        imagenesService.eliminarTodas(imagenesSubidas.stream().map(ImagenSubidaDTO::url).toList());
+        if (productoNuevoId != null) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> productoRepository.deleteById(productoNuevoId));
+                eventPublisher.publishEvent(new CatalogoModificadoDTO());
+                eventPublisher.publishEvent(new ProductoModificadoDTO(productoNuevoId));
+            } catch (RuntimeException e) {
+                logger.warn("No se pudo eliminar el producto {} tras un guardado fallido: {}", productoNuevoId, e.getMessage());
+            }
+        }
+    }
+
     @Transactional(readOnly = true)
     public long contarProductos() {
         return productoRepository.countByEstadoNot(2);
@@ -150,10 +315,13 @@ public class ProductoServiceImpl implements ProductoService {
                 .orElseThrow(() -> new IllegalArgumentException("Producto no encontrado"));
 
         eliminarTodasLasImagenesDeCloudinary(producto);
+        productoImagenRepository.eliminarPorProducto(producto.getId());
 
         producto.setImagen(null);
         producto.setEstado(2);
         productoRepository.save(producto);
+        eventPublisher.publishEvent(new CatalogoModificadoDTO());
+        eventPublisher.publishEvent(new ProductoModificadoDTO(producto.getId()));
     }
 
     @Transactional
@@ -168,74 +336,122 @@ public class ProductoServiceImpl implements ProductoService {
             } else if (producto.getEstado() == 0) {
                 producto.setEstado(1);
             }
-            return productoRepository.save(producto);
+            Producto guardado = productoRepository.save(producto);
+            eventPublisher.publishEvent(new CatalogoModificadoDTO());
+            eventPublisher.publishEvent(new ProductoModificadoDTO(guardado.getId()));
+            return guardado;
         });
     }
 
+    /**
+     * Elimina una imagen de un producto. Si era la principal, pasa a serlo la
+     * siguiente en orden.
+     */
     @Override
     @Transactional
     public void eliminarImagen(Long productoId, String urlImagenAEliminar) {
-        Producto producto = productoRepository.findById(productoId)
-                .orElseThrow(() -> new IllegalArgumentException("Producto no encontrado"));
-
-        String jsonImagenes = producto.getImagen();
-        if (jsonImagenes == null || jsonImagenes.isEmpty()) {
-            throw new IllegalArgumentException("El producto no tiene imágenes.");
+        if (!productoRepository.existsById(productoId)) {
+            throw new IllegalArgumentException("Producto no encontrado");
         }
+        ProductoImagen imagen = productoImagenRepository.findByProductoIdAndUrl(productoId, urlImagenAEliminar)
+                .orElseThrow(() -> new IllegalArgumentException("La imagen no pertenece al producto."));
 
         try {
-            List<String> listaUrls = objectMapper.readValue(jsonImagenes, new TypeReference<List<String>>() {});
-
-            if (!listaUrls.contains(urlImagenAEliminar)) {
-                throw new IllegalArgumentException("La imagen no pertenece al producto.");
-            }
-
-            String publicId = obtenerPublicId(urlImagenAEliminar);
-            if (publicId != null) {
-                cloudinaryService.eliminarImagen(publicId, ObjectUtils.emptyMap());
+            if (esImagenDelAlmacen(urlImagenAEliminar)) {
+                imagenesService.eliminar(urlImagenAEliminar);
             }
-
-            listaUrls.remove(urlImagenAEliminar);
-            String nuevoJson = objectMapper.writeValueAsString(listaUrls);
-            producto.setImagen(nuevoJson);
-            productoRepository.save(producto);
-
         } catch (Exception e) {
             throw new RuntimeException("Error al eliminar imagen: " + e.getMessage(), e);
         }
+
+        productoImagenRepository.delete(imagen);
+        if (imagen.isPrincipal()) {
+            productoImagenRepository.findByProductoIdOrderByOrdenAsc(productoId).stream()
+                    .filter(restante -> !restante.getId().equals(imagen.getId()))
+                    .findFirst()
+                    .ifPresent(siguiente -> siguiente.setPrincipal(true));
+        }
+        eventPublisher.publishEvent(new CatalogoModificadoDTO());
     }
 
-    private String obtenerPublicId(String url) {
-        try {
-            int inicio = url.indexOf("productos_acuamont/");
-            if (inicio == -1) return null;
+    private boolean esImagenDelAlmacen(String url) {
+        return url != null && url.contains("productos_acuamont/");
+    }
+
+    private void eliminarTodasLasImagenesDeCloudinary(Producto producto) {
+        List<String> urls = productoImagenRepository.findByProductoIdOrderByOrdenAsc(producto.getId()).stream()
+                .map(ProductoImagen::getUrl)
+                .filter(this::esImagenDelAlmacen)
+                .toList();
+        imagenesService.eliminarTodas(urls);
+    }
+
+    /**
+     * Pasa las imágenes guardadas en la columna JSON antigua de los productos a
+     * la tabla de imágenes: la primera queda como principal y se conserva el
+     * orden. Los productos se procesan por lotes, cada uno en su propia
+     * transacción, y la columna antigua queda en nulo, así que volver a
+     * ejecutarla no duplica imágenes.
+     *
+     * @return Cuántos productos se migraron.
+     */
+    @Override
+    public int migrarImagenesAntiguas() {
+        int total = 0;
+        long desde = 0;
+        List<Long> ids;
+        do {
+            ids = productoRepository.findIdsConImagenAntigua(desde, Limit.of(TAMANO_LOTE_MIGRACION));
+            for (Long id : ids) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> migrarImagenesDe(id));
+                    total++;
+                } catch (RuntimeException e) {
+                    logger.warn("No se pudieron migrar las imágenes del producto {}: {}", id, e.getMessage());
+                }
+                desde = id;
+            }
+        } while (ids.size() == TAMANO_LOTE_MIGRACION);
+        if (total > 0) {
+            eventPublisher.publishEvent(new CatalogoModificadoDTO());
+        }
+        return total;
+    }
 
-            String rutaConExt = url.substring(inicio);
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrarImagenesAlIniciar() {
+        int productos = migrarImagenesAntiguas();
+        if (productos > 0) {
+            logger.info("Imágenes migradas a la tabla de imágenes en {} productos", productos);
+        }
+    }
 
-            int punto = rutaConExt.lastIndexOf(".");
-            if (punto != -1) {
-                return rutaConExt.substring(0, punto);
+    private void migrarImagenesDe(Long productoId) {
+        Producto producto = productoRepository.findById(productoId).orElseThrow();
+        if (!productoImagenRepository.existsByProductoId(productoId)) {
+            List<ProductoImagen> filas = new ArrayList<>();
+            for (String imagen : leerImagenesAntiguas(producto.getImagen())) {
+                // Las imágenes más antiguas se guardaban en disco y el JSON solo tenía el nombre del archivo
+                String url = imagen.startsWith("http") ? imagen : "/Fotos-Productos/" + productoId + "/" + imagen;
+                filas.add(new ProductoImagen(producto, url, imagenesService.obtenerPublicId(url), filas.size(),
+                        filas.isEmpty(), null, null));
             }
-            return rutaConExt;
-        } catch (Exception e) {
-            return null;
+            productoImagenRepository.saveAll(filas);
         }
+        producto.setImagen(null);
     }
 
-    private void eliminarTodasLasImagenesDeCloudinary(Producto producto) {
+    private List<String> leerImagenesAntiguas(String json) {
+        if (json == null || json.isBlank()) {
+            return List.of();
+        }
         try {
-            String json = producto.getImagen();
-            if (json != null && !json.equals("[]")) {
-                List<String> urls = objectMapper.readValue(json, new TypeReference<List<String>>() {});
-                for (String url : urls) {
-                    String publicId = obtenerPublicId(url);
-                    if (publicId != null) {
-                        cloudinaryService.eliminarImagen(publicId, ObjectUtils.emptyMap());
-                    }
-                }
-            }
-        } catch (Exception e) {
-            System.err.println("Error borrando imágenes de Cloudinary: " + e.getMessage());
+            return Arrays.stream(objectMapper.readValue(json, String[].class))
+                    .filter(imagen -> imagen != null && !imagen.isBlank())
+                    .toList();
+        } catch (JsonProcessingException e) {
+            // Algunos productos guardaban una sola imagen sin formato JSON
+            return List.of(json.trim());
         }
     }
 
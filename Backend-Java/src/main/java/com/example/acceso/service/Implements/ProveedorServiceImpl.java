@@ -1,29 +1,68 @@
 package com.example.acceso.service.Implements;
 
+import com.example.acceso.DTO.PaginaGrillaDTO;
+import com.example.acceso.DTO.ProveedorGrillaDTO;
+import com.example.acceso.DTO.SolicitudGrillaDTO;
 import com.example.acceso.model.Proveedor;
+import com.example.acceso.repository.EspecificacionesGrilla;
 import com.example.acceso.repository.ProveedorRepository;
+import com.example.acceso.service.Interfaces.GrillaService;
 import com.example.acceso.service.Interfaces.ProveedorService;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 
 @Service
 public class ProveedorServiceImpl implements ProveedorService {
 
+    private static final Map<String, String> COLUMNAS_ORDENABLES = Map.of(
+            "id", "id",
+            "nombre", "nombre",
+            "documento", "documento",
+            "estado", "estado");
+
     private final ProveedorRepository proveedorRepository;
+    private final GrillaService grillaService;
     
-    public ProveedorServiceImpl(ProveedorRepository proveedorRepository) {
+    public ProveedorServiceImpl(ProveedorRepository proveedorRepository, GrillaService grillaService) {
         this.proveedorRepository = proveedorRepository;
+        this.grillaService = grillaService;
     }
 
     @Transactional(readOnly = true)
     public List<Proveedor> listarProveedores() {
         return proveedorRepository.findAllByEstadoNot(2);
     }
+
+    @Transactional(readOnly = true)
+    public PaginaGrillaDTO<ProveedorGrillaDTO> listarGrilla(SolicitudGrillaDTO solicitud) {
+        Specification<Proveedor> filtro = filtroGrilla(solicitud);
+        PaginaGrillaDTO<Proveedor> pagina = grillaService.consultar(solicitud, COLUMNAS_ORDENABLES,
+                paginable -> proveedorRepository.findBy(filtro, consulta -> consulta.slice(paginable)),
+                () -> proveedorRepository.countByEstadoNot(2), () -> proveedorRepository.count(filtro));
+        return new PaginaGrillaDTO<>(pagina.datos().stream()
+                .map(proveedor -> new ProveedorGrillaDTO(proveedor.getId(), proveedor.getNombre(),
+                        proveedor.getDocumento(), proveedor.getTelefono(), proveedor.getCorreo(),
+                        proveedor.getEstado()))
+                .toList(), pagina.total(), pagina.filtrados());
+    }
+
+    private static Specification<Proveedor> filtroGrilla(SolicitudGrillaDTO solicitud) {
+        Specification<Proveedor> filtro = EspecificacionesGrilla.noEliminados();
+        if (solicitud.tieneBusqueda()) {
+            String texto = solicitud.busqueda();
+            filtro = filtro.and(EspecificacionesGrilla.esDocumento(texto)
+                    ? EspecificacionesGrilla.empiezaCon("documento", texto)
+                    : EspecificacionesGrilla.contiene("nombre", texto));
+        }
+        return filtro;
+    }
     
     @Transactional
     public Proveedor guardarProveedor(Proveedor proveedor) {
@@ -1,12 +1,17 @@
 package com.example.acceso.service.Implements;
 
 import com.example.acceso.DTO.RedSocialDTO;
+import com.example.acceso.DTO.RedesSocialesModificadasDTO;
 import com.example.acceso.model.RedSocial;
 import com.example.acceso.repository.RedSocialRepository;
 import com.example.acceso.service.Interfaces.RedSocialService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,11 +20,22 @@ import java.util.Optional;
  *
  * Proporciona métodos para listar, actualizar y cambiar el estado de las
  * redes sociales que se muestran en el sitio web.
+ *
+ * Las redes activas aparecen en el pie de todas las páginas públicas, así que se
+ * guardan en caché durante un tiempo limitado. La caché se descarta en cuanto se
+ * confirma un cambio de URL o de estado.
  */
 @Service
 public class RedSocialServiceImpl implements RedSocialService {
 
     private final RedSocialRepository redSocialRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final long duracionCacheNanos;
+
+    /** Redes activas en caché; {@code null} si hay que volver a leerlas. */
+    private List<RedSocial> redesActivas;
+    private long cacheExpiraEn;
+    private final Object bloqueoCache = new Object();
 
     /**
      * Constructor para la inyección de dependencias del repositorio de redes
@@ -27,9 +43,15 @@ public class RedSocialServiceImpl implements RedSocialService {
      *
      * @param redSocialRepository El repositorio para las operaciones de base de
      *                            datos de {@link RedSocial}.
+     * @param eventPublisher      Publica el aviso de que cambiaron las redes.
+     * @param duracionCache       Cuánto tiempo se guardan en caché las redes
+     *                            activas.
      */
-    public RedSocialServiceImpl(RedSocialRepository redSocialRepository) {
+    public RedSocialServiceImpl(RedSocialRepository redSocialRepository, ApplicationEventPublisher eventPublisher,
+                                @Value("${acuamont.redes-sociales.cache.duracion:10m}") Duration duracionCache) {
         this.redSocialRepository = redSocialRepository;
+        this.eventPublisher = eventPublisher;
+        this.duracionCacheNanos = duracionCache.toNanos();
     }
 
     /**
@@ -44,12 +66,32 @@ public class RedSocialServiceImpl implements RedSocialService {
 
     /**
      * Obtiene una lista de todas las redes sociales que están activas (estado = 1).
+     * Se lee de la caché mientras no venza ni se modifique ninguna red; si varias
+     * peticiones la piden a la vez con la caché vacía, solo una va a la base de datos.
      *
-     * @return Una lista de objetos {@link RedSocial} activos.
+     * @return Una lista inmutable de objetos {@link RedSocial} activos.
      */
-    @Transactional(readOnly = true)
     public List<RedSocial> listarRedesSocialesActivas() {
-        return redSocialRepository.findAllByEstado(1);
+        synchronized (bloqueoCache) {
+            if (redesActivas == null || System.nanoTime() - cacheExpiraEn >= 0) {
+                redesActivas = List.copyOf(redSocialRepository.findAllByEstado(1));
+                cacheExpiraEn = System.nanoTime() + duracionCacheNanos;
+            }
+            return redesActivas;
+        }
+    }
+
+    /**
+     * Descarta las redes activas guardadas en caché una vez que se confirma la
+     * transacción que modificó alguna red.
+     *
+     * @param evento El aviso de modificación.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void invalidarCache(RedesSocialesModificadasDTO evento) {
+        synchronized (bloqueoCache) {
+            redesActivas = null;
+        }
     }
 
     /**
@@ -66,7 +108,9 @@ public class RedSocialServiceImpl implements RedSocialService {
         RedSocial redSocialActual = redSocialRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Error: La red social con id: " + id + " , no existe."));
         redSocialActual.setUrl(redSocialDTO.getUrl());
-        return redSocialRepository.save(redSocialActual);
+        RedSocial guardada = redSocialRepository.save(redSocialActual);
+        eventPublisher.publishEvent(new RedesSocialesModificadasDTO());
+        return guardada;
     }
 
     /**
@@ -87,7 +131,9 @@ public class RedSocialServiceImpl implements RedSocialService {
             } else if (redSocial.getEstado() == 0) {
                 redSocial.setEstado(1);
             }
-            return redSocialRepository.save(redSocial);
+            RedSocial guardada = redSocialRepository.save(redSocial);
+            eventPublisher.publishEvent(new RedesSocialesModificadasDTO());
+            return guardada;
         });
     }
 
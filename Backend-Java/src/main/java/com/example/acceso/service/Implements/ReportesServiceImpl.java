@@ -10,6 +10,14 @@ import org.springframework.stereotype.Service;
 import java.time.LocalDateTime;
 import java.util.List;
 
+/**
+ * Servicio de los reportes de utilidad.
+ *
+ * El reporte por venta se calcula desde las ventas; los reportes por usuario y
+ * por producto se leen de los resúmenes diarios que mantiene
+ * {@link com.example.acceso.service.Interfaces.ResumenVentasService}, así que
+ * sus rangos se aplican por día completo.
+ */
 @Service
 public class ReportesServiceImpl implements ReportesService {
 
@@ -26,9 +34,7 @@ public class ReportesServiceImpl implements ReportesService {
 
     @Override
     public List<ReporteUtilidadVentaDTO> obtenerUtilidadPorVentaRango(LocalDateTime inicio, LocalDateTime fin) {
-        if (inicio != null && fin != null && fin.isBefore(inicio)) {
-            throw new IllegalArgumentException("La fecha de fin no puede ser anterior a la de inicio");
-        }
+        validarRango(inicio, fin);
         return reportesRepository.obtenerUtilidadPorVentaRango(inicio, fin);
     }
 
@@ -39,10 +45,8 @@ public class ReportesServiceImpl implements ReportesService {
 
     @Override
     public List<ReporteUttilidadUsuarioDTO> obtenerUtilidadPorUsuarioRango(LocalDateTime inicio, LocalDateTime fin) {
-        if (inicio != null && fin != null && fin.isBefore(inicio)) {
-            throw new IllegalArgumentException("La fecha de fin no puede ser anterior a la de inicio");
-        }
-        return reportesRepository.obtenerUtilidadPorUsuarioRango(inicio,fin);
+        validarRango(inicio, fin);
+        return reportesRepository.obtenerUtilidadPorUsuarioRango(inicio.toLocalDate(), fin.toLocalDate());
     }
 
     @Override
@@ -51,9 +55,16 @@ public class ReportesServiceImpl implements ReportesService {
 
     @Override
     public List<ReporteUtilidadProductoDTO> obtenerUtilidadPorProductoRango(LocalDateTime inicio, LocalDateTime fin) {
-        if (inicio != null && fin != null && fin.isBefore(inicio)) {
-            throw new IllegalArgumentException("Rango de fechas inválido");
+        validarRango(inicio, fin);
+        return reportesRepository.obtenerUtilidadPorProductoRango(inicio.toLocalDate(), fin.toLocalDate());
+    }
+
+    private static void validarRango(LocalDateTime inicio, LocalDateTime fin) {
+        if (inicio == null || fin == null) {
+            throw new IllegalArgumentException("Debe indicar la fecha de inicio y la de fin");
+        }
+        if (fin.isBefore(inicio)) {
+            throw new IllegalArgumentException("La fecha de fin no puede ser anterior a la de inicio");
         }
-        return reportesRepository.obtenerUtilidadPorProductoRango(inicio, fin);
     }
 }
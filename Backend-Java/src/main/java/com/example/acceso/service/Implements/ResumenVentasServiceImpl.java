@@ -0,0 +1,269 @@
+package com.example.acceso.service.Implements;
+
+import com.example.acceso.DTO.DiferenciaResumenDTO;
+import com.example.acceso.model.DetalleVenta;
+import com.example.acceso.model.Venta;
+import com.example.acceso.model.VentaDiariaProductoUsuario;
+import com.example.acceso.model.VentaDiariaUsuario;
+import com.example.acceso.repository.ResumenVentasRepository.LineaResumen;
+import com.example.acceso.repository.VentaDiariaProductoUsuarioRepository;
+import com.example.acceso.repository.VentaDiariaUsuarioRepository;
+import com.example.acceso.repository.VentaRepository;
+import com.example.acceso.service.Interfaces.ResumenVentasService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Servicio que mantiene los resúmenes diarios de ventas usados por los reportes.
+ *
+ * Las ventas se acumulan en {@code ventas_diarias_producto_usuario} y
+ * {@code ventas_diarias_usuario} dentro de la misma transacción que las crea,
+ * las anula o las termina de pagar, así que un reporte nunca ve una venta a
+ * medias. Solo se acumulan las ventas pendientes (0) y pagadas (1); el estado
+ * forma parte de la clave para que los reportes puedan filtrar por él.
+ *
+ * El costo de cada línea es el que quedó guardado en {@code detalle_venta} al
+ * vender, así que cambiar después el precio de compra de un producto no altera
+ * los resúmenes ni su verificación.
+ */
+@Service
+public class ResumenVentasServiceImpl implements ResumenVentasService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResumenVentasServiceImpl.class);
+
+    /** Diferencia máxima aceptada en los importes, por el redondeo de los costos. */
+    private static final BigDecimal TOLERANCIA = new BigDecimal("0.01");
+
+    private final VentaDiariaProductoUsuarioRepository ventaDiariaProductoUsuarioRepository;
+    private final VentaDiariaUsuarioRepository ventaDiariaUsuarioRepository;
+    private final VentaRepository ventaRepository;
+
+    /**
+     * @param ventaDiariaProductoUsuarioRepository Repositorio del resumen por
+     *                                             producto y usuario.
+     * @param ventaDiariaUsuarioRepository         Repositorio del resumen por
+     *                                             usuario.
+     * @param ventaRepository                      Repositorio para las
+     *                                             operaciones de Venta.
+     */
+    public ResumenVentasServiceImpl(VentaDiariaProductoUsuarioRepository ventaDiariaProductoUsuarioRepository,
+                                    VentaDiariaUsuarioRepository ventaDiariaUsuarioRepository,
+                                    VentaRepository ventaRepository) {
+        this.ventaDiariaProductoUsuarioRepository = ventaDiariaProductoUsuarioRepository;
+        this.ventaDiariaUsuarioRepository = ventaDiariaUsuarioRepository;
+        this.ventaRepository = ventaRepository;
+    }
+
+    /**
+     * Suma una venta recién creada a los resúmenes de su día, en su estado actual.
+     *
+     * @param venta La venta ya guardada, con sus detalles.
+     */
+    @Transactional
+    public void registrarVenta(Venta venta) {
+        acumular(venta, venta.getEstado(), 1);
+    }
+
+    /**
+     * Resta una venta de los resúmenes de su día. Se llama antes de marcarla
+     * como anulada, mientras todavía conserva el estado en el que se acumuló.
+     *
+     * @param venta La venta a retirar de los resúmenes.
+     */
+    @Transactional
+    public void revertirVenta(Venta venta) {
+        acumular(venta, venta.getEstado(), -1);
+    }
+
+    /**
+     * Mueve una venta del estado en el que estaba acumulada a su estado actual,
+     * por ejemplo cuando se termina de pagar una venta a crédito.
+     *
+     * @param venta          La venta con su estado ya actualizado.
+     * @param estadoAnterior El estado en el que estaba acumulada.
+     */
+    @Transactional
+    public void cambiarEstado(Venta venta, int estadoAnterior) {
+        if (venta.getEstado() == estadoAnterior) {
+            return;
+        }
+        acumular(venta, estadoAnterior, -1);
+        acumular(venta, venta.getEstado(), 1);
+    }
+
+    private void acumular(Venta venta, int estado, int signo) {
+        if ((estado != 0 && estado != 1) || venta.getDetalleVentas().isEmpty()) {
+            return;
+        }
+
+        // Ordenadas por producto para que las filas del resumen se bloqueen siempre en el mismo orden
+        Map<Long, LineaResumen> lineas = new TreeMap<>();
+        for (DetalleVenta detalle : venta.getDetalleVentas()) {
+            BigDecimal costo = costoUnitario(detalle).multiply(BigDecimal.valueOf(detalle.getCantidad()));
+
+            LineaResumen linea = new LineaResumen(detalle.getProducto().getId(),
+                    signo * detalle.getCantidad(),
+                    detalle.getSubtotal().multiply(BigDecimal.valueOf(signo)),
+                    costo.multiply(BigDecimal.valueOf(signo)));
+            lineas.merge(linea.productoId(), linea, LineaResumen::sumar);
+        }
+
+        Long usuarioId = venta.getUsuario() != null ? venta.getUsuario().getId() : 0L;
+        ventaDiariaProductoUsuarioRepository.acumular(venta.getFecha().toLocalDate(), usuarioId, estado, signo,
+                venta.getTotal().multiply(BigDecimal.valueOf(signo)), lineas.values());
+    }
+
+    /**
+     * El costo congelado en la línea; solo las líneas anteriores a esa columna que
+     * todavía no se completaron usan el precio de compra actual del producto.
+     */
+    private static BigDecimal costoUnitario(DetalleVenta detalle) {
+        if (detalle.getCostoUnitario() != null) {
+            return detalle.getCostoUnitario();
+        }
+        Double precioCompra = detalle.getProducto().getPrecioCompra();
+        return (precioCompra != null ? BigDecimal.valueOf(precioCompra) : BigDecimal.ZERO)
+                .setScale(2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Reconstruye los resúmenes de un rango de días a partir de las ventas.
+     * Sirve para la carga inicial y para corregir las diferencias que encuentre
+     * {@link #verificar}.
+     *
+     * @param desde El primer día a reconstruir, o {@code null} para empezar desde
+     *              la primera venta.
+     * @param hasta El último día a reconstruir (inclusive), o {@code null} para
+     *              llegar hasta la última venta.
+     * @return La cantidad de filas del resumen por producto y usuario que se
+     *         generaron.
+     * @throws IllegalArgumentException si el rango de fechas no es válido.
+     */
+    @Transactional
+    public int reconstruir(LocalDate desde, LocalDate hasta) {
+        validarRango(desde, hasta);
+        LocalDateTime inicio = desde != null ? desde.atStartOfDay() : null;
+        LocalDateTime fin = hasta != null ? hasta.plusDays(1).atStartOfDay() : null;
+
+        ventaDiariaProductoUsuarioRepository.eliminarEntre(desde, hasta);
+        ventaDiariaUsuarioRepository.eliminarEntre(desde, hasta);
+        ventaDiariaUsuarioRepository.insertarDesdeVentas(inicio, fin);
+        return ventaDiariaProductoUsuarioRepository.insertarDesdeVentas(inicio, fin);
+    }
+
+    /**
+     * Carga los resúmenes la primera vez que la aplicación arranca con ventas
+     * registradas y los resúmenes todavía vacíos. Corre después de que
+     * {@link CostoHistoricoServiceImpl} complete el costo de las líneas antiguas.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void cargarResumenesIniciales() {
+        if (ventaDiariaUsuarioRepository.count() == 0 && ventaRepository.count() > 0) {
+            int filas = reconstruir(null, null);
+            logger.info("Resúmenes diarios de ventas cargados: {} filas", filas);
+        }
+    }
+
+    /**
+     * Compara los resúmenes de un rango de días con lo que resulta de agregar
+     * directamente las ventas registradas.
+     *
+     * @param desde El primer día a verificar, o {@code null} para no limitarlo.
+     * @param hasta El último día a verificar (inclusive), o {@code null} para no
+     *              limitarlo.
+     * @return Las diferencias encontradas; una lista vacía si los resúmenes son
+     *         consistentes.
+     * @throws IllegalArgumentException si el rango de fechas no es válido.
+     */
+    @Transactional(readOnly = true)
+    public List<DiferenciaResumenDTO> verificar(LocalDate desde, LocalDate hasta) {
+        validarRango(desde, hasta);
+        LocalDateTime inicio = desde != null ? desde.atStartOfDay() : null;
+        LocalDateTime fin = hasta != null ? hasta.plusDays(1).atStartOfDay() : null;
+
+        List<DiferenciaResumenDTO> diferencias = new ArrayList<>();
+
+        Map<String, BigDecimal[]> esperadoProducto = new HashMap<>();
+        for (VentaDiariaProductoUsuarioRepository.AgregadoProducto fila : ventaDiariaProductoUsuarioRepository.agregarDesdeVentas(inicio, fin)) {
+            esperadoProducto.put(clave(fila.getDia(), fila.getProductoId(), fila.getUsuarioId(), fila.getEstado()),
+                    new BigDecimal[] { BigDecimal.valueOf(fila.getCantidad()), fila.getIngresos(), fila.getCosto() });
+        }
+        Map<String, BigDecimal[]> registradoProducto = new HashMap<>();
+        for (VentaDiariaProductoUsuario fila : ventaDiariaProductoUsuarioRepository.buscarEntre(desde, hasta)) {
+            registradoProducto.put(clave(fila.getDia(), fila.getProductoId(), fila.getUsuarioId(), fila.getEstado()),
+                    new BigDecimal[] { BigDecimal.valueOf(fila.getCantidad()), fila.getIngresos(), fila.getCosto() });
+        }
+        comparar("ventas_diarias_producto_usuario", new String[] { "cantidad", "ingresos", "costo" },
+                esperadoProducto, registradoProducto, diferencias);
+
+        Map<String, BigDecimal[]> esperadoUsuario = new HashMap<>();
+        for (VentaDiariaUsuarioRepository.AgregadoUsuario fila : ventaDiariaUsuarioRepository.agregarDesdeVentas(inicio, fin)) {
+            esperadoUsuario.put(clave(fila.getDia(), null, fila.getUsuarioId(), fila.getEstado()),
+                    new BigDecimal[] { BigDecimal.valueOf(fila.getCantidadVentas()), fila.getTotal(), fila.getUtilidad() });
+        }
+        Map<String, BigDecimal[]> registradoUsuario = new HashMap<>();
+        for (VentaDiariaUsuario fila : ventaDiariaUsuarioRepository.buscarEntre(desde, hasta)) {
+            registradoUsuario.put(clave(fila.getDia(), null, fila.getUsuarioId(), fila.getEstado()),
+                    new BigDecimal[] { BigDecimal.valueOf(fila.getCantidadVentas()), fila.getTotal(), fila.getUtilidad() });
+        }
+        comparar("ventas_diarias_usuario", new String[] { "cantidad_ventas", "total", "utilidad" },
+                esperadoUsuario, registradoUsuario, diferencias);
+
+        return diferencias;
+    }
+
+    private static String clave(LocalDate dia, Long productoId, Long usuarioId, Integer estado) {
+        return "día " + dia + (productoId != null ? ", producto " + productoId : "")
+                + ", usuario " + usuarioId + ", estado " + estado;
+    }
+
+    /**
+     * Compara campo por campo las filas esperadas con las registradas. Una fila
+     * que falta de un lado cuenta como ceros, así que una fila del resumen que
+     * quedó en cero tras anular sus ventas no es una diferencia.
+     */
+    private static void comparar(String tabla, String[] campos, Map<String, BigDecimal[]> esperado,
+                                 Map<String, BigDecimal[]> registrado, List<DiferenciaResumenDTO> diferencias) {
+        Set<String> claves = new LinkedHashSet<>(esperado.keySet());
+        claves.addAll(registrado.keySet());
+        for (String clave : claves) {
+            BigDecimal[] valoresEsperados = esperado.get(clave);
+            BigDecimal[] valoresRegistrados = registrado.get(clave);
+            for (int i = 0; i < campos.length; i++) {
+                BigDecimal valorEsperado = valor(valoresEsperados, i);
+                BigDecimal valorRegistrado = valor(valoresRegistrados, i);
+                if (valorEsperado.subtract(valorRegistrado).abs().compareTo(TOLERANCIA) > 0) {
+                    diferencias.add(new DiferenciaResumenDTO(tabla, clave, campos[i], valorEsperado, valorRegistrado));
+                }
+            }
+        }
+    }
+
+    private static BigDecimal valor(BigDecimal[] valores, int indice) {
+        return valores != null && valores[indice] != null ? valores[indice] : BigDecimal.ZERO;
+    }
+
+    private static void validarRango(LocalDate desde, LocalDate hasta) {
+        if (desde != null && hasta != null && hasta.isBefore(desde)) {
+            throw new IllegalArgumentException("La fecha de fin no puede ser anterior a la de inicio");
+        }
+    }
+
+}
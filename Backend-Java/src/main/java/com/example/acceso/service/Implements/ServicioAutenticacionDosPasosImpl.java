@@ -1,7 +1,9 @@
 package com.example.acceso.service.Implements;
 
+import com.example.acceso.service.CodigosUsados;
 import com.example.acceso.service.Interfaces.ServicioAutenticacionDosPasos;
 import dev.samstevens.totp.code.*;
+import dev.samstevens.totp.exceptions.CodeGenerationException;
 import dev.samstevens.totp.exceptions.QrGenerationException;
 import dev.samstevens.totp.qr.QrData;
 import dev.samstevens.totp.qr.QrGenerator;
@@ -13,6 +15,11 @@ import dev.samstevens.totp.time.TimeProvider;
 import dev.samstevens.totp.util.Utils;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
 /**
  * Servicio para gestionar la lógica de la autenticación de dos factores (2FA)
  * utilizando el protocolo TOTP (Time-Based One-Time Password).
@@ -21,10 +28,47 @@ import org.springframework.stereotype.Service;
  * 1. Generar secretos compatibles con aplicaciones como Google Authenticator.
  * 2. Crear URIs de datos para códigos QR que facilitan la configuración.
  * 3. Verificar los códigos TOTP ingresados por el usuario.
+ *
+ * Un código aceptado no se puede volver a usar. Los códigos usados se guardan
+ * en memoria, en un anillo de pasos de tiempo: cada posición tiene el conjunto
+ * de usuarios que ya usaron el código de un paso, y se reemplaza entera cuando
+ * llega un paso más nuevo. Como solo se aceptan el paso actual y sus vecinos,
+ * basta con {@link #PASOS_RECORDADOS} posiciones; cada usuario activo ocupa a lo
+ * sumo una entrada por paso y nada se escribe en la base de datos.
  */
 @Service
 public class ServicioAutenticacionDosPasosImpl implements ServicioAutenticacionDosPasos {
 
+    private static final int PERIODO_SEGUNDOS = 30;
+    /** Pasos aceptados antes y después del actual, por desfase de reloj. */
+    private static final int PASOS_TOLERADOS = 1;
+    /** Posiciones del anillo: más que los pasos aceptados, para que nunca se pisen. */
+    private static final int PASOS_RECORDADOS = 4;
+
+    // Los generadores no guardan estado entre llamadas; se crean una sola vez
+    // en lugar de en cada inicio de sesión
+    private final SecretGenerator secretGenerator = new DefaultSecretGenerator(64);
+    private final QrGenerator qrGenerator = new ZxingPngQrGenerator();
+    private final CodeGenerator codeGenerator = new DefaultCodeGenerator();
+    private final TimeProvider timeProvider;
+    private final AtomicReferenceArray<CodigosUsados> codigosUsados = new AtomicReferenceArray<>(PASOS_RECORDADOS);
+
+    /**
+     * Crea el servicio con el reloj del sistema.
+     */
+    public ServicioAutenticacionDosPasosImpl() {
+        this(new SystemTimeProvider());
+    }
+
+    /**
+     * Crea el servicio con un reloj dado.
+     *
+     * @param timeProvider El reloj del que se toma el paso de tiempo actual.
+     */
+    public ServicioAutenticacionDosPasosImpl(TimeProvider timeProvider) {
+        this.timeProvider = timeProvider;
+    }
+
     /**
      * Genera un nuevo secreto aleatorio de 64 bits.
      *
@@ -34,7 +78,6 @@ public class ServicioAutenticacionDosPasosImpl implements ServicioAutenticacionD
      * @return Una cadena de texto que representa el secreto en formato Base32.
      */
     public String generarNuevoSecreto() {
-        SecretGenerator secretGenerator = new DefaultSecretGenerator(64);
         return secretGenerator.generate();
     }
 
@@ -64,32 +107,69 @@ public class ServicioAutenticacionDosPasosImpl implements ServicioAutenticacionD
                 .period(30)
                 .build();
 
-        QrGenerator generator = new ZxingPngQrGenerator();
         byte[] imageData;
         try {
-            imageData = generator.generate(data);
+            imageData = qrGenerator.generate(data);
         } catch (QrGenerationException e) {
             throw new RuntimeException("Error al generar el código QR", e);
         }
 
-        return Utils.getDataUriForImage(imageData, generator.getImageMimeType());
+        return Utils.getDataUriForImage(imageData, qrGenerator.getImageMimeType());
     }
 
     /**
      * Verifica si un código TOTP proporcionado por el usuario es válido para un
-     * secreto específico.
+     * secreto específico y lo marca como usado.
      *
      * Compara el código ingresado con el que se espera en el momento actual,
      * permitiendo una pequeña ventana de tiempo para compensar desincronizaciones.
+     * Si varias peticiones llegan a la vez con el mismo código, solo una lo acepta.
+     *
+     * @param usuarioId El ID del usuario al que pertenece el secreto.
+     * @param secreto   El secreto Base32 del usuario.
+     * @param codigo    El código de 6 dígitos ingresado por el usuario.
+     * @return {@code true} si el código es válido y no se había usado,
+     *         {@code false} en caso contrario.
+     */
+    public boolean esCodigoValido(Long usuarioId, String secreto, String codigo) {
+        if (usuarioId == null || secreto == null || codigo == null || codigo.isBlank()) {
+            return false;
+        }
+        long actual = Math.floorDiv(timeProvider.getTime(), PERIODO_SEGUNDOS);
+        byte[] ingresado = codigo.getBytes(StandardCharsets.US_ASCII);
+        for (long paso = actual - PASOS_TOLERADOS; paso <= actual + PASOS_TOLERADOS; paso++) {
+            String esperado;
+            try {
+                esperado = codeGenerator.generate(secreto, paso);
+            } catch (CodeGenerationException e) {
+                return false;
+            }
+            // Comparación en tiempo constante, como la del verificador de la librería
+            if (MessageDigest.isEqual(esperado.getBytes(StandardCharsets.US_ASCII), ingresado)) {
+                return marcarUsado(usuarioId, paso);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Registra que el usuario usó el código de un paso.
      *
-     * @param secreto El secreto Base32 del usuario.
-     * @param codigo  El código de 6 dígitos ingresado por el usuario.
-     * @return {@code true} si el código es válido, {@code false} en caso contrario.
+     * @return {@code true} si es la primera vez; {@code false} si ya lo había
+     *         usado o si el paso es tan viejo que su posición ya es de otro.
      */
-    public boolean esCodigoValido(String secreto, String codigo) {
-        TimeProvider timeProvider = new SystemTimeProvider();
-        CodeGenerator codeGenerator = new DefaultCodeGenerator();
-        CodeVerifier verifier = new DefaultCodeVerifier(codeGenerator, timeProvider);
-        return verifier.isValidCode(secreto, codigo);
+    private boolean marcarUsado(Long usuarioId, long paso) {
+        int posicion = (int) Math.floorMod(paso, PASOS_RECORDADOS);
+        while (true) {
+            CodigosUsados registrados = codigosUsados.get(posicion);
+            if (registrados != null && registrados.paso() == paso) {
+                return registrados.usuarios().add(usuarioId);
+            }
+            if (registrados != null && registrados.paso() > paso) {
+                return false;
+            }
+            // La posición tiene un paso vencido (o ninguno): se reemplaza entera
+            codigosUsados.compareAndSet(posicion, registrados, new CodigosUsados(paso, ConcurrentHashMap.newKeySet()));
+        }
     }
 }
@@ -0,0 +1,168 @@
+package com.example.acceso.service.Implements;
+
+import com.example.acceso.service.Interfaces.AlmacenImagenes;
+import com.example.acceso.service.Interfaces.SlidesService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Mantiene el manifiesto de los slides de la página principal.
+ *
+ * Las URL de los slides se guardan en memoria y en un archivo JSON local, así
+ * que mostrar una página nunca consulta el almacén de imágenes (la Admin API de
+ * Cloudinary tiene límites de uso y tarda cientos de milisegundos). El
+ * manifiesto se vuelve a leer del almacén periódicamente y se actualiza en el
+ * acto al subir o eliminar un slide. Si el almacén no responde, se sigue usando
+ * la última lista conocida.
+ */
+@Service
+public class SlidesServiceImpl implements SlidesService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SlidesServiceImpl.class);
+
+    private final AlmacenImagenes almacenImagenes;
+    private final String carpeta;
+    private final Path manifiesto;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /** URL de los slides; se reemplaza entera en cada cambio. */
+    private volatile List<String> slides;
+    /** Cuántos cambios se hicieron al manifiesto; se modifica con {@code bloqueoCambios}. */
+    private long version;
+    private final Object bloqueoCambios = new Object();
+
+    /**
+     * Constructor para la inyección de dependencias. Carga el manifiesto guardado,
+     * si existe, para tener slides desde el arranque.
+     *
+     * @param almacenImagenes Almacén donde están las imágenes de los slides.
+     * @param carpeta         Carpeta de los slides en el almacén.
+     * @param manifiesto      Archivo JSON donde se guarda la lista de slides.
+     */
+    public SlidesServiceImpl(AlmacenImagenes almacenImagenes,
+                             @Value("${acuamont.slides.carpeta:slides_inicio}") String carpeta,
+                             @Value("${acuamont.slides.manifiesto:${java.io.tmpdir}/acuamont/slides-manifiesto.json}") Path manifiesto) {
+        this.almacenImagenes = almacenImagenes;
+        this.carpeta = carpeta;
+        this.manifiesto = manifiesto;
+        this.slides = leerManifiesto();
+    }
+
+    /**
+     * Obtiene las URL de los slides desde el manifiesto en memoria.
+     *
+     * @return Una lista inmutable con las URL de los slides.
+     */
+    @Override
+    public List<String> listarSlides() {
+        return slides;
+    }
+
+    /**
+     * Vuelve a leer los slides del almacén y guarda el manifiesto. Se ejecuta al
+     * arrancar y luego periódicamente.
+     *
+     * La lista se pide al almacén sin retener el bloqueo, porque tarda. Si
+     * mientras tanto se guardó o eliminó un slide, la lista leída puede no
+     * incluir ese cambio: se descarta y el manifiesto se refresca en la próxima
+     * pasada.
+     */
+    @Override
+    @Scheduled(initialDelayString = "${acuamont.slides.refresco-inicial:0s}",
+            fixedDelayString = "${acuamont.slides.refresco:15m}")
+    public void refrescarSlides() {
+        long versionLeida;
+        synchronized (bloqueoCambios) {
+            versionLeida = version;
+        }
+        List<String> actuales;
+        try {
+            actuales = almacenImagenes.listar(carpeta);
+        } catch (RuntimeException e) {
+            logger.warn("No se pudo refrescar el manifiesto de slides; se mantiene la última lista: {}", e.getMessage());
+            return;
+        }
+        synchronized (bloqueoCambios) {
+            if (version != versionLeida) {
+                logger.debug("Los slides cambiaron durante el refresco; se descarta la lista leída");
+                return;
+            }
+            actualizar(actuales);
+        }
+    }
+
+    /**
+     * Sube un slide nuevo y lo agrega al manifiesto.
+     *
+     * @param contenido Los bytes de la imagen.
+     * @return La URL del slide subido.
+     */
+    @Override
+    public String guardarSlide(byte[] contenido) {
+        String url = almacenImagenes.subir(contenido, carpeta);
+        synchronized (bloqueoCambios) {
+            if (!slides.contains(url)) {
+                List<String> nuevos = new ArrayList<>(slides);
+                nuevos.add(url);
+                actualizar(nuevos);
+            }
+        }
+        return url;
+    }
+
+    /**
+     * Elimina un slide del almacén y lo quita del manifiesto.
+     *
+     * @param url La URL del slide.
+     * @throws IllegalArgumentException si la URL no es de la carpeta de slides.
+     */
+    @Override
+    public void eliminarSlide(String url) {
+        if (url == null || !url.contains(carpeta + "/")) {
+            throw new IllegalArgumentException("No se pudo identificar la imagen para borrar");
+        }
+        almacenImagenes.eliminar(url);
+        synchronized (bloqueoCambios) {
+            List<String> nuevos = new ArrayList<>(slides);
+            nuevos.remove(url);
+            actualizar(nuevos);
+        }
+    }
+
+    private void actualizar(List<String> nuevos) {
+        version++;
+        slides = List.copyOf(nuevos);
+        try {
+            Path directorio = Files.createDirectories(manifiesto.toAbsolutePath().getParent());
+            Path temporal = Files.createTempFile(directorio, "slides", ".tmp");
+            objectMapper.writeValue(temporal.toFile(), slides);
+            Files.move(temporal, manifiesto, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("No se pudo guardar el manifiesto de slides en {}: {}", manifiesto, e.getMessage());
+        }
+    }
+
+    private List<String> leerManifiesto() {
+        if (!Files.exists(manifiesto)) {
+            return List.of();
+        }
+        try {
+            return List.of(objectMapper.readValue(manifiesto.toFile(), String[].class));
+        } catch (IOException e) {
+            logger.warn("No se pudo leer el manifiesto de slides en {}: {}", manifiesto, e.getMessage());
+            return List.of();
+        }
+    }
+
+}
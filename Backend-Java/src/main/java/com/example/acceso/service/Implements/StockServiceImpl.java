@@ -0,0 +1,162 @@
+package com.example.acceso.service.Implements;
+
+import com.example.acceso.DTO.CatalogoModificadoDTO;
+import com.example.acceso.model.Producto;
+import com.example.acceso.repository.ProductoRepository;
+import com.example.acceso.service.Interfaces.MetricasService;
+import com.example.acceso.service.Interfaces.StockService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntSupplier;
+
+/**
+ * Motor de stock compartido por las ventas, las anulaciones y los ajustes de
+ * inventario.
+ *
+ * Cada movimiento se aplica con una sentencia {@code UPDATE} atómica y
+ * condicional en lugar de leer el stock, compararlo en Java y volver a
+ * escribirlo, por lo que dos cajeros vendiendo el mismo producto al mismo
+ * tiempo no pueden sobrevender. Los productos se actualizan siempre en orden
+ * ascendente de ID para que dos transacciones nunca se bloqueen mutuamente, y
+ * si el bloqueo de una fila no se obtiene a tiempo la sentencia se reintenta
+ * con espera exponencial.
+ *
+ * Los métodos deben ejecutarse dentro de la transacción del llamador para que
+ * el movimiento de stock se confirme o se revierta junto con la venta o el
+ * ajuste que lo origina.
+ */
+@Service
+public class StockServiceImpl implements StockService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockServiceImpl.class);
+
+    private static final int MAX_INTENTOS = 5;
+    private static final long ESPERA_BASE_MS = 10;
+    private static final long ESPERA_MAXIMA_MS = 200;
+
+    private final ProductoRepository productoRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MetricasService metricasService;
+
+    /**
+     * Constructor para la inyección de dependencias del repositorio de productos.
+     *
+     * @param productoRepository Repositorio que expone las operaciones atómicas de
+     *                           stock.
+     * @param eventPublisher     Publica el aviso de que cambió el catálogo
+     *                           público, que muestra el stock.
+     * @param metricasService    Cuenta los movimientos rechazados por falta de
+     *                           stock.
+     */
+    public StockServiceImpl(ProductoRepository productoRepository, ApplicationEventPublisher eventPublisher,
+                            MetricasService metricasService) {
+        this.productoRepository = productoRepository;
+        this.eventPublisher = eventPublisher;
+        this.metricasService = metricasService;
+    }
+
+    /**
+     * Descuenta el stock de varios productos. Si alguno no tiene unidades
+     * suficientes se lanza una excepción y, al revertirse la transacción, también
+     * se revierten los descuentos ya aplicados.
+     *
+     * @param cantidadesPorProducto Mapa de ID de producto a cantidad a descontar.
+     * @throws RuntimeException si algún producto no tiene stock suficiente.
+     */
+    @Transactional
+    public void descontarStock(Map<Long, Integer> cantidadesPorProducto) {
+        for (Map.Entry<Long, Integer> movimiento : enOrdenDeId(cantidadesPorProducto).entrySet()) {
+            Long productoId = movimiento.getKey();
+            int cantidad = movimiento.getValue();
+
+            int filas = ejecutarConReintentos(() -> productoRepository.descontarStockSiDisponible(productoId, cantidad));
+            if (filas == 0) {
+                metricasService.stockRechazado();
+                throw new RuntimeException("Stock insuficiente para el producto: " + nombreDelProducto(productoId));
+            }
+        }
+        eventPublisher.publishEvent(new CatalogoModificadoDTO());
+    }
+
+    /**
+     * Devuelve stock a varios productos, por ejemplo al anular una venta o al
+     * registrar una entrada de inventario.
+     *
+     * @param cantidadesPorProducto Mapa de ID de producto a cantidad a reponer.
+     * @throws RuntimeException si algún producto no existe.
+     */
+    @Transactional
+    public void reponerStock(Map<Long, Integer> cantidadesPorProducto) {
+        for (Map.Entry<Long, Integer> movimiento : enOrdenDeId(cantidadesPorProducto).entrySet()) {
+            Long productoId = movimiento.getKey();
+            int cantidad = movimiento.getValue();
+
+            int filas = ejecutarConReintentos(() -> productoRepository.incrementarStock(productoId, cantidad));
+            if (filas == 0) {
+                throw new RuntimeException("Error: El producto con ID " + productoId + " no existe.");
+            }
+        }
+        eventPublisher.publishEvent(new CatalogoModificadoDTO());
+    }
+
+    /**
+     * Ordena los movimientos por ID de producto. Todas las transacciones bloquean
+     * las filas en el mismo orden, lo que evita los interbloqueos.
+     */
+    private Map<Long, Integer> enOrdenDeId(Map<Long, Integer> cantidadesPorProducto) {
+        Map<Long, Integer> ordenado = new TreeMap<>();
+        cantidadesPorProducto.forEach((productoId, cantidad) -> {
+            if (cantidad == null || cantidad <= 0) {
+                throw new IllegalArgumentException("La cantidad del producto con ID " + productoId + " debe ser mayor a 0.");
+            }
+            ordenado.merge(productoId, cantidad, Integer::sum);
+        });
+        return ordenado;
+    }
+
+    /**
+     * Ejecuta una sentencia de stock reintentándola si la base de datos no
+     * concede el bloqueo de la fila a tiempo. Solo se reintenta la espera de
+     * bloqueo, que revierte únicamente la sentencia; cualquier otro error se
+     * propaga de inmediato.
+     */
+    private int ejecutarConReintentos(IntSupplier sentencia) {
+        for (int intento = 1; ; intento++) {
+            try {
+                return sentencia.getAsInt();
+            } catch (CannotAcquireLockException e) {
+                if (intento >= MAX_INTENTOS) {
+                    throw e;
+                }
+                logger.debug("Bloqueo de stock no concedido (intento {} de {}), reintentando.", intento, MAX_INTENTOS);
+                esperar(intento);
+            }
+        }
+    }
+
+    private void esperar(int intento) {
+        long espera = Math.min(ESPERA_MAXIMA_MS, ESPERA_BASE_MS << (intento - 1));
+        long conVariacion = espera / 2 + ThreadLocalRandom.current().nextLong(espera / 2 + 1);
+        try {
+            Thread.sleep(conVariacion);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Se interrumpió la espera para actualizar el stock.", e);
+        }
+    }
+
+    private String nombreDelProducto(Long productoId) {
+        return productoRepository.findById(productoId)
+                .map(Producto::getNombre)
+                .orElse("ID " + productoId);
+    }
+
+}
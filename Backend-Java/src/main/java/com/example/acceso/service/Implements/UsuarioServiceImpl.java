@@ -1,14 +1,21 @@
 package com.example.acceso.service.Implements;
 
+import com.example.acceso.DTO.PaginaGrillaDTO;
+import com.example.acceso.DTO.SolicitudGrillaDTO;
+import com.example.acceso.DTO.UsuarioGrillaDTO;
 import com.example.acceso.model.Usuario;
+import com.example.acceso.repository.EspecificacionesGrilla;
 import com.example.acceso.repository.UsuarioRepository;
+import com.example.acceso.service.Interfaces.GrillaService;
 import com.example.acceso.service.Interfaces.UsuarioService;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -21,19 +28,32 @@ import java.util.Optional;
 @Service
 public class UsuarioServiceImpl implements UsuarioService {
 
+    /** Columnas de la grilla por las que se puede ordenar, con su propiedad. */
+    private static final Map<String, String> COLUMNAS_ORDENABLES = Map.of(
+            "id", "id",
+            "nombre", "nombre",
+            "usuario", "usuario",
+            "perfilNombre", "perfil.nombre",
+            "estado", "estado");
+
     private final UsuarioRepository usuarioRepository;
+    private final GrillaService grillaService;
     private final BCryptPasswordEncoder passwordEncoder;
 
     /**
      * Constructor para la inyección de dependencias del repositorio de usuarios.
-     * Inicializa el codificador de contraseñas BCrypt.
      *
      * @param usuarioRepository El repositorio para las operaciones de base de datos
      *                          de Usuario.
+     * @param grillaService     El servicio que pagina las grillas en la base de datos.
+     * @param passwordEncoder   El codificador BCrypt definido en {@code SecurityConfig},
+     *                          con el costo configurado.
      */
-    public UsuarioServiceImpl(UsuarioRepository usuarioRepository) {
+    public UsuarioServiceImpl(UsuarioRepository usuarioRepository, GrillaService grillaService,
+                              BCryptPasswordEncoder passwordEncoder) {
         this.usuarioRepository = usuarioRepository;
-        this.passwordEncoder = new BCryptPasswordEncoder();
+        this.grillaService = grillaService;
+        this.passwordEncoder = passwordEncoder;
     }
 
     /**
@@ -46,6 +66,40 @@ public class UsuarioServiceImpl implements UsuarioService {
         return usuarioRepository.findAllByEstadoNot(2);
     }
 
+    /**
+     * Obtiene una página de la grilla de usuarios no eliminados, con su perfil
+     * cargado en la misma consulta.
+     * <p>
+     * El texto buscado se compara con cualquier parte del nombre y con el inicio
+     * del nombre de usuario. Las filas no incluyen la clave ni el secreto 2FA.
+     *
+     * @param solicitud La página, la búsqueda y el orden pedidos.
+     * @return Los usuarios de la página y los totales.
+     */
+    @Transactional(readOnly = true)
+    public PaginaGrillaDTO<UsuarioGrillaDTO> listarGrilla(SolicitudGrillaDTO solicitud) {
+        Specification<Usuario> filtro = filtroGrilla(solicitud);
+        PaginaGrillaDTO<Usuario> pagina = grillaService.consultar(solicitud, COLUMNAS_ORDENABLES,
+                paginable -> usuarioRepository.findBy(filtro, consulta -> consulta.project("perfil").slice(paginable)),
+                () -> usuarioRepository.countByEstadoNot(2), () -> usuarioRepository.count(filtro));
+        return new PaginaGrillaDTO<>(pagina.datos().stream()
+                .map(usuario -> new UsuarioGrillaDTO(usuario.getId(), usuario.getNombre(), usuario.getUsuario(),
+                        usuario.getCorreo(), usuario.getEstado(),
+                        usuario.getPerfil() != null ? usuario.getPerfil().getNombre() : null))
+                .toList(), pagina.total(), pagina.filtrados());
+    }
+
+    /** Filas no eliminadas que coinciden con el texto buscado, si lo hay. */
+    private static Specification<Usuario> filtroGrilla(SolicitudGrillaDTO solicitud) {
+        Specification<Usuario> filtro = EspecificacionesGrilla.noEliminados();
+        if (solicitud.tieneBusqueda()) {
+            String texto = solicitud.busqueda();
+            filtro = filtro.and(EspecificacionesGrilla.<Usuario>contiene("nombre", texto)
+                    .or(EspecificacionesGrilla.empiezaCon("usuario", texto.toLowerCase())));
+        }
+        return filtro;
+    }
+
     /**
      * Guarda o actualiza un usuario en la base de datos.
      * <p>
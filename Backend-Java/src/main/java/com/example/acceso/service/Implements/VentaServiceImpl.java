@@ -2,18 +2,36 @@ package com.example.acceso.service.Implements;
 
 import com.example.acceso.DTO.CuotasProgramadasDTO;
 import com.example.acceso.DTO.DetalleVentaDTO;
+import com.example.acceso.DTO.FiltroVentasDTO;
 import com.example.acceso.DTO.PagosDTO;
+import com.example.acceso.DTO.PaginaVentasDTO;
 import com.example.acceso.DTO.VentaDTO;
+import com.example.acceso.DTO.VentaModificadaDTO;
+import com.example.acceso.DTO.VentaResumenDTO;
 import com.example.acceso.model.*;
 import com.example.acceso.repository.*;
+import com.example.acceso.service.MetricaAlTerminarTransaccion;
+import com.example.acceso.service.Interfaces.CorrelativoService;
+import com.example.acceso.service.Interfaces.MetricasService;
+import com.example.acceso.service.Interfaces.ResumenVentasService;
+import com.example.acceso.service.Interfaces.StockService;
 import com.example.acceso.service.Interfaces.VentaService;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Servicio para gestionar la lógica de negocio de las ventas.
@@ -27,6 +45,8 @@ import java.util.List;
 @Service
 public class VentaServiceImpl implements VentaService {
 
+    private static final int TAMANO_PAGINA_MAXIMO = 100;
+
     private final VentaRepository ventaRepository;
     private final ClienteRepository clienteRepository;
     private final UsuarioRepository usuarioRepository;
@@ -35,6 +55,11 @@ public class VentaServiceImpl implements VentaService {
     private final SerieComprobanteRepository serieComprobanteRepository;
     private final FormaPagoRepository formaPagoRepository;
     private final ProductoRepository productoRepository;
+    private final StockService stockService;
+    private final CorrelativoService correlativoService;
+    private final ResumenVentasService resumenVentasService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MetricasService metricasService;
 
     /**
      * Constructor para la inyección de todas las dependencias de repositorios
@@ -53,11 +78,24 @@ public class VentaServiceImpl implements VentaService {
      *                                   FormaPago.
      * @param productoRepository         Repositorio para las operaciones de
      *                                   Producto.
+     * @param stockService               Servicio que aplica los movimientos de
+     *                                   stock de forma atómica.
+     * @param correlativoService         Servicio que asigna los correlativos de
+     *                                   las series de comprobante.
+     * @param resumenVentasService       Servicio que mantiene los resúmenes
+     *                                   diarios de ventas de los reportes.
+     * @param eventPublisher             Publicador que avisa de las ventas
+     *                                   anuladas o pagadas para descartar sus
+     *                                   comprobantes ya generados.
+     * @param metricasService            Registra la duración y el resultado de
+     *                                   las ventas, anulaciones y pagos.
      */
     public VentaServiceImpl(VentaRepository ventaRepository, ClienteRepository clienteRepository,
                             UsuarioRepository usuarioRepository, CuotaRepository cuotaRepository, PagoRepository pagoRepository,
                             SerieComprobanteRepository serieComprobanteRepository, FormaPagoRepository formaPagoRepository,
-                            ProductoRepository productoRepository) {
+                            ProductoRepository productoRepository, StockService stockService,
+                            CorrelativoService correlativoService, ResumenVentasService resumenVentasService,
+                            ApplicationEventPublisher eventPublisher, MetricasService metricasService) {
         this.ventaRepository = ventaRepository;
         this.clienteRepository = clienteRepository;
         this.usuarioRepository = usuarioRepository;
@@ -66,6 +104,11 @@ public class VentaServiceImpl implements VentaService {
         this.serieComprobanteRepository = serieComprobanteRepository;
         this.formaPagoRepository = formaPagoRepository;
         this.productoRepository = productoRepository;
+        this.stockService = stockService;
+        this.correlativoService = correlativoService;
+        this.resumenVentasService = resumenVentasService;
+        this.eventPublisher = eventPublisher;
+        this.metricasService = metricasService;
     }
 
     /**
@@ -79,7 +122,76 @@ public class VentaServiceImpl implements VentaService {
     }
 
     /**
-     * Busca una venta por su ID.
+     * Obtiene una página del listado de ventas como proyección plana
+     * ({@link VentaResumenDTO}), de la más reciente a la más antigua.
+     * <p>Las páginas se recorren con un cursor opaco que apunta a la última venta
+     * devuelta, así que pedir la página 1 o la 10.000 cuesta lo mismo. Los
+     * detalles y las cuotas no se incluyen; se consultan por el ID de la
+     * venta.</p>
+     *
+     * @param filtro Filtros opcionales de fecha, estado, cliente y serie.
+     * @param cursor El cursor devuelto por la página anterior, o {@code null} para
+     *               la primera página.
+     * @param tamano Cantidad de ventas por página (entre 1 y 100).
+     * @return La página con las ventas y el cursor de la página siguiente.
+     * @throws IllegalArgumentException si el cursor no es válido.
+     */
+    @Transactional(readOnly = true)
+    public PaginaVentasDTO listarVentasPaginadas(FiltroVentasDTO filtro, String cursor, int tamano) {
+        int tamanoPagina = Math.min(Math.max(tamano, 1), TAMANO_PAGINA_MAXIMO);
+
+        LocalDateTime desde = filtro.getDesde() != null ? filtro.getDesde().atStartOfDay() : null;
+        LocalDateTime hasta = filtro.getHasta() != null ? filtro.getHasta().plusDays(1).atStartOfDay() : null;
+        Limit limite = Limit.of(tamanoPagina + 1);
+
+        List<VentaRepository.ResumenVenta> filas;
+        if (cursor == null || cursor.isBlank()) {
+            filas = ventaRepository.buscarResumenes(desde, hasta, filtro.getEstado(),
+                    filtro.getClienteId(), filtro.getSerieId(), limite);
+        } else {
+            String[] partes = decodificarCursor(cursor);
+            filas = ventaRepository.buscarResumenesDespuesDe(desde, hasta, filtro.getEstado(),
+                    filtro.getClienteId(), filtro.getSerieId(),
+                    LocalDateTime.parse(partes[0]), Long.valueOf(partes[1]), limite);
+        }
+        List<VentaResumenDTO> ventas = filas.stream().map(VentaServiceImpl::aResumen).toList();
+
+        // Se pide una venta de más solo para saber si existe una página siguiente
+        if (ventas.size() <= tamanoPagina) {
+            return new PaginaVentasDTO(ventas, null);
+        }
+        List<VentaResumenDTO> pagina = ventas.subList(0, tamanoPagina);
+        VentaResumenDTO ultima = pagina.get(tamanoPagina - 1);
+        return new PaginaVentasDTO(pagina, codificarCursor(ultima.fecha(), ultima.id()));
+    }
+
+    private static VentaResumenDTO aResumen(VentaRepository.ResumenVenta fila) {
+        return new VentaResumenDTO(fila.getId(), fila.getSerie(), fila.getCorrelativo(), fila.getFecha(),
+                fila.getTotal(), fila.getDeuda(), fila.getEstado(), fila.getClienteId(), fila.getClienteNombre(),
+                fila.getClienteCorreo(), fila.getClienteTelefono(), fila.getUsuarioNombre(), fila.getFormaPagoNombre());
+    }
+
+    private String codificarCursor(LocalDateTime fecha, Long id) {
+        String valor = fecha + "_" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodificarCursor(String cursor) {
+        try {
+            String[] partes = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("_");
+            if (partes.length != 2) {
+                throw new IllegalArgumentException("Error: El cursor de paginación no es válido.");
+            }
+            LocalDateTime.parse(partes[0]);
+            Long.parseLong(partes[1]);
+            return partes;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Error: El cursor de paginación no es válido.", e);
+        }
+    }
+
+    /**
+     * Busca una venta por su ID, junto con sus detalles y productos.
      *
      * @param ventaId El ID de la venta a buscar.
      * @return La entidad {@link Venta} encontrada.
@@ -88,14 +200,22 @@ public class VentaServiceImpl implements VentaService {
      */
     @Transactional(readOnly = true)
     public Venta obtenerVenta(Long ventaId) {
-        return ventaRepository.findById(ventaId)
+        return ventaRepository.findConDetallesById(ventaId)
                 .orElseThrow(() -> new RuntimeException("Error: La venta con ID " + ventaId + " no existe."));
     }
 
     /**
      * Crea una nueva venta a partir de los datos proporcionados en un DTO.
-     * Actualiza el stock de los productos, genera cuotas si es a crédito y
-     * actualiza el correlativo de la serie.
+     * Los productos se cargan en una sola consulta y las líneas repetidas de un
+     * mismo producto se consolidan en una sola línea de detalle. Cada línea guarda
+     * el precio de compra vigente y su utilidad.
+     * El stock se descuenta al final, con una actualización atómica por producto
+     * (ver {@link StockService}), para mantener bloqueadas las filas el menor
+     * tiempo posible. Genera cuotas si es a crédito y toma el correlativo de la
+     * serie a través de {@link CorrelativoService}. La venta se suma a los
+     * resúmenes diarios de los reportes en la misma transacción. La duración, la
+     * cantidad de líneas y el resultado se registran en las métricas, por serie
+     * y forma de pago, cuando la transacción termina.
      *
      * @param ventaRequest El DTO {@link VentaDTO} con todos los datos de la venta.
      * @return La entidad {@link Venta} creada y guardada en la base de datos.
@@ -106,7 +226,29 @@ public class VentaServiceImpl implements VentaService {
      */
     @Transactional
     public Venta crearVenta(VentaDTO ventaRequest) {
+        long inicio = System.nanoTime();
+        Venta nuevaVenta = new Venta();
+        RuntimeException error = null;
+        try {
+            return completarVenta(ventaRequest, nuevaVenta);
+        } catch (RuntimeException e) {
+            error = e;
+            throw e;
+        } finally {
+            String serie = serieDe(nuevaVenta);
+            String formaPago = formaPagoDe(nuevaVenta);
+            int lineas = nuevaVenta.getDetalleVentas().size();
+            MetricaAlTerminarTransaccion.registrar(error, resultado ->
+                    metricasService.ventaCreada(serie, formaPago, lineas, resultado, System.nanoTime() - inicio));
+        }
+    }
 
+    /**
+     * Completa y guarda la venta. La serie y la forma de pago se asignan apenas
+     * se cargan, para que las métricas de {@link #crearVenta(VentaDTO)} las
+     * tengan aunque la venta se rechace después.
+     */
+    private Venta completarVenta(VentaDTO ventaRequest, Venta nuevaVenta) {
         Cliente cliente = clienteRepository.findById(ventaRequest.getClienteId())
                 .orElseThrow(() -> new RuntimeException("Error: El cliente no existe."));
         Usuario usuario = usuarioRepository.findById(ventaRequest.getUsuarioId())
@@ -115,22 +257,17 @@ public class VentaServiceImpl implements VentaService {
                 .orElseThrow(() -> new RuntimeException("Error: La forma de pago no existe."));
         SerieComprobante serie = serieComprobanteRepository.findById(ventaRequest.getSerieComprobanteId())
                 .orElseThrow(() -> new RuntimeException("Error: La serie de comprobante no existe."));
+        nuevaVenta.setFormaPago(formaPago);
+        nuevaVenta.setSerieComprobante(serie);
 
-        BigDecimal totalVenta = BigDecimal.ZERO;
-        Venta nuevaVenta = new Venta();
-
-        for (DetalleVentaDTO detalleDTO : ventaRequest.getDetalles()) {
-            Producto producto = productoRepository.findById(detalleDTO.getProductoId())
-                    .orElseThrow(() -> new RuntimeException(
-                            "Error: El producto con ID " + detalleDTO.getProductoId() + " no existe."));
-
-            int cantidad = detalleDTO.getCantidad();
+        Map<Long, Integer> cantidadesPorProducto = agruparDetallesPorProducto(ventaRequest.getDetalles());
+        Map<Long, Producto> productos = cargarProductos(cantidadesPorProducto.keySet());
 
-            if (producto.getStock() < cantidad) {
-                throw new RuntimeException("Stock insuficiente para el producto: " + producto.getNombre());
-            }
+        BigDecimal totalVenta = BigDecimal.ZERO;
 
-            producto.setStock(producto.getStock() - cantidad);
+        for (Map.Entry<Long, Integer> linea : cantidadesPorProducto.entrySet()) {
+            Producto producto = productos.get(linea.getKey());
+            int cantidad = linea.getValue();
 
             DetalleVenta nuevoDetalle = new DetalleVenta();
             nuevoDetalle.setVenta(nuevaVenta);
@@ -141,15 +278,18 @@ public class VentaServiceImpl implements VentaService {
             BigDecimal subtotal = BigDecimal.valueOf(producto.getPrecioVenta()).multiply(BigDecimal.valueOf(cantidad));
             nuevoDetalle.setSubtotal(subtotal);
 
+            // El costo se congela al vender, así los cambios de precio de compra no alteran la utilidad histórica
+            BigDecimal costoUnitario = (producto.getPrecioCompra() != null
+                    ? BigDecimal.valueOf(producto.getPrecioCompra()) : BigDecimal.ZERO).setScale(2, RoundingMode.HALF_UP);
+            nuevoDetalle.setCostoUnitario(costoUnitario);
+            nuevoDetalle.setUtilidad(subtotal.subtract(costoUnitario.multiply(BigDecimal.valueOf(cantidad))));
+
             nuevaVenta.getDetalleVentas().add(nuevoDetalle);
             totalVenta = totalVenta.add(subtotal);
         }
 
         nuevaVenta.setCliente(cliente);
         nuevaVenta.setUsuario(usuario);
-        nuevaVenta.setFormaPago(formaPago);
-        nuevaVenta.setSerieComprobante(serie);
-        nuevaVenta.setCorrelativo(serie.getCorrelativo_actual() + 1);
         nuevaVenta.setFecha(LocalDateTime.now());
         nuevaVenta.setTotal(totalVenta.setScale(2, RoundingMode.HALF_UP));
 
@@ -177,13 +317,57 @@ public class VentaServiceImpl implements VentaService {
 
         }
 
-        Venta ventaGuardada = ventaRepository.save(nuevaVenta);
+        nuevaVenta.setCorrelativo(correlativoService.siguienteCorrelativo(serie));
 
-        serie.setCorrelativo_actual(serie.getCorrelativo_actual() + 1);
+        stockService.descontarStock(cantidadesPorProducto);
 
+        Venta ventaGuardada = ventaRepository.save(nuevaVenta);
+        resumenVentasService.registrarVenta(ventaGuardada);
         return ventaGuardada;
     }
 
+    /**
+     * Consolida las líneas del detalle de una venta, sumando las cantidades de las
+     * líneas que se refieren al mismo producto.
+     * Se conserva el orden en que cada producto aparece por primera vez.
+     *
+     * @param detalles Las líneas del detalle recibidas en el DTO de la venta.
+     * @return Un mapa ordenado de ID de producto a cantidad total solicitada.
+     */
+    private Map<Long, Integer> agruparDetallesPorProducto(List<DetalleVentaDTO> detalles) {
+        Map<Long, Integer> cantidades = new LinkedHashMap<>();
+        for (DetalleVentaDTO detalleDTO : detalles) {
+            cantidades.merge(detalleDTO.getProductoId(), detalleDTO.getCantidad(), Integer::sum);
+        }
+        return cantidades;
+    }
+
+    /**
+     * Carga en una sola consulta todos los productos referenciados por la venta.
+     * Si alguno de los IDs no existe, la venta se rechaza antes de modificar nada.
+     *
+     * @param ids Los IDs de los productos a cargar.
+     * @return Un mapa de ID de producto a la entidad {@link Producto}.
+     * @throws RuntimeException si alguno de los productos no existe.
+     */
+    private Map<Long, Producto> cargarProductos(Set<Long> ids) {
+        Map<Long, Producto> productos = new HashMap<>();
+        for (Producto producto : productoRepository.findAllConCategoriaByIdIn(ids)) {
+            productos.put(producto.getId(), producto);
+        }
+
+        List<Long> inexistentes = ids.stream()
+                .filter(id -> !productos.containsKey(id))
+                .toList();
+        if (inexistentes.size() == 1) {
+            throw new RuntimeException("Error: El producto con ID " + inexistentes.get(0) + " no existe.");
+        }
+        if (!inexistentes.isEmpty()) {
+            throw new RuntimeException("Error: Los productos con ID " + inexistentes + " no existen.");
+        }
+        return productos;
+    }
+
     /**
      * Valida la consistencia de los montos en una venta a crédito.
      * Asegura que el total de la venta sea igual a la suma del monto inicial más
@@ -219,8 +403,9 @@ public class VentaServiceImpl implements VentaService {
 
     /**
      * Anula una venta existente.
-     * Cambia el estado de la venta y sus cuotas a "anulado" (2) y revierte el stock
-     * de los productos vendidos.
+     * Cambia el estado de la venta y sus cuotas a "anulado" (2), revierte el stock
+     * de los productos vendidos y la resta de los resúmenes diarios. La duración y
+     * el resultado se registran en las métricas cuando la transacción termina.
      *
      * @param ventaId El ID de la venta a anular.
      * @return La entidad {@link Venta} con su estado actualizado a "anulado".
@@ -229,20 +414,37 @@ public class VentaServiceImpl implements VentaService {
      */
     @Transactional
     public Venta anularVenta(Long ventaId) {
-        Venta venta = ventaRepository.findById(ventaId)
-                .orElseThrow(() -> new RuntimeException("Error: La venta con ID " + ventaId + " no existe."));
+        long inicio = System.nanoTime();
+        Venta venta = null;
+        RuntimeException error = null;
+        try {
+            venta = ventaRepository.findById(ventaId)
+                    .orElseThrow(() -> new RuntimeException("Error: La venta con ID " + ventaId + " no existe."));
+            return anular(venta);
+        } catch (RuntimeException e) {
+            error = e;
+            throw e;
+        } finally {
+            String serie = serieDe(venta);
+            String formaPago = formaPagoDe(venta);
+            MetricaAlTerminarTransaccion.registrar(error, resultado ->
+                    metricasService.ventaAnulada(serie, formaPago, resultado, System.nanoTime() - inicio));
+        }
+    }
+
+    private Venta anular(Venta venta) {
 
         if (venta.getEstado() == 2) {
             throw new IllegalStateException("La venta ya se encuentra eliminada y no puede ser procesada de nuevo.");
         }
 
+        Map<Long, Integer> cantidadesADevolver = new HashMap<>();
         for (DetalleVenta detalle : venta.getDetalleVentas()) {
-            Producto producto = detalle.getProducto();
-            int cantidadVendida = detalle.getCantidad();
-
-            producto.setStock(producto.getStock() + cantidadVendida);
+            cantidadesADevolver.merge(detalle.getProducto().getId(), detalle.getCantidad(), Integer::sum);
         }
+        stockService.reponerStock(cantidadesADevolver);
 
+        resumenVentasService.revertirVenta(venta);
         venta.setEstado(2);
 
         for (Cuota cuota : venta.getCuotas()) {
@@ -253,6 +455,7 @@ public class VentaServiceImpl implements VentaService {
         }
 
         ventaRepository.save(venta);
+        eventPublisher.publishEvent(new VentaModificadaDTO(venta.getId()));
         return venta;
     }
 
@@ -274,7 +477,10 @@ public class VentaServiceImpl implements VentaService {
 
     /**
      * Registra un pago para una cuota específica de una venta.
-     * Actualiza el saldo de la cuota y la deuda total de la venta.
+     * Actualiza el saldo de la cuota y la deuda total de la venta. Si con este
+     * pago la venta queda pagada, se mueve a ese estado en los resúmenes diarios.
+     * La duración y el resultado se registran en las métricas, con la serie y la
+     * forma de pago de la venta, cuando la transacción termina.
      *
      * @param pagoRequest El DTO {@link PagosDTO} con los detalles del pago.
      * @return La entidad {@link Venta} actualizada después de registrar el pago.
@@ -284,9 +490,27 @@ public class VentaServiceImpl implements VentaService {
      */
     @Transactional
     public Venta registrarPago(PagosDTO pagoRequest) {
-        Cuota cuota = cuotaRepository.findById(pagoRequest.getCuotaId())
-                .orElseThrow(() -> new RuntimeException(
-                        "Error: La cuota con ID " + pagoRequest.getCuotaId() + " no existe."));
+        long inicio = System.nanoTime();
+        Cuota cuota = null;
+        RuntimeException error = null;
+        try {
+            cuota = cuotaRepository.findById(pagoRequest.getCuotaId())
+                    .orElseThrow(() -> new RuntimeException(
+                            "Error: La cuota con ID " + pagoRequest.getCuotaId() + " no existe."));
+            return pagar(cuota, pagoRequest);
+        } catch (RuntimeException e) {
+            error = e;
+            throw e;
+        } finally {
+            Venta venta = cuota != null ? cuota.getVenta() : null;
+            String serie = serieDe(venta);
+            String formaPago = formaPagoDe(venta);
+            MetricaAlTerminarTransaccion.registrar(error, resultado ->
+                    metricasService.pagoRegistrado(serie, formaPago, resultado, System.nanoTime() - inicio));
+        }
+    }
+
+    private Venta pagar(Cuota cuota, PagosDTO pagoRequest) {
 
         if (pagoRequest.getMontoPagado().compareTo(cuota.getSaldo()) > 0) {
             throw new IllegalArgumentException(
@@ -307,15 +531,28 @@ public class VentaServiceImpl implements VentaService {
         }
 
         Venta venta = cuota.getVenta();
+        int estadoAnterior = venta.getEstado();
         venta.setDeuda(venta.getDeuda().subtract(pagoRequest.getMontoPagado()));
 
         if (venta.getDeuda().compareTo(BigDecimal.ZERO) <= 0) {
             venta.setEstado(1); // Pagada
         }
+        resumenVentasService.cambiarEstado(venta, estadoAnterior);
+        eventPublisher.publishEvent(new VentaModificadaDTO(venta.getId()));
 
         return venta;
     }
 
+    /** La serie de la venta para las métricas, o {@code null} si aún no se conoce. */
+    private static String serieDe(Venta venta) {
+        return venta != null && venta.getSerieComprobante() != null ? venta.getSerieComprobante().getSerie() : null;
+    }
+
+    /** La forma de pago de la venta para las métricas, o {@code null} si aún no se conoce. */
+    private static String formaPagoDe(Venta venta) {
+        return venta != null && venta.getFormaPago() != null ? venta.getFormaPago().getNombre() : null;
+    }
+
     /**
      * Obtiene todas las cuotas asociadas a una venta específica.
      *
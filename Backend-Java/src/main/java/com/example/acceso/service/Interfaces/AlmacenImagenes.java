@@ -0,0 +1,22 @@
+package com.example.acceso.service.Interfaces;
+
+import com.example.acceso.DTO.ImagenSubidaDTO;
+
+import java.nio.file.Path;
+import java.util.List;
+
+public interface AlmacenImagenes {
+
+    String subir(byte[] contenido, String carpeta);
+
+    ImagenSubidaDTO subir(Path archivo, String carpeta);
+
+    void eliminar(String url);
+
+    List<String> listar(String carpeta);
+
+    String urlMiniatura(String url);
+
+    String obtenerPublicId(String url);
+
+}
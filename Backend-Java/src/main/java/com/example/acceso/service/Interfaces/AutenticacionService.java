@@ -0,0 +1,9 @@
+package com.example.acceso.service.Interfaces;
+
+import com.example.acceso.DTO.SesionUsuario;
+
+public interface AutenticacionService {
+
+    SesionUsuario autenticar(String usuario, String clave, String token, String ip);
+
+}
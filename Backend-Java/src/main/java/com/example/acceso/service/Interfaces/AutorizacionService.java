@@ -0,0 +1,7 @@
+package com.example.acceso.service.Interfaces;
+
+public interface AutorizacionService {
+
+    boolean permite(Long perfilId, String ruta);
+
+}
@@ -0,0 +1,19 @@
+package com.example.acceso.service.Interfaces;
+
+import com.example.acceso.DTO.CategoriaModificadaDTO;
+import com.example.acceso.DTO.ProductoBusquedaDTO;
+import com.example.acceso.DTO.ProductoModificadoDTO;
+
+import java.util.List;
+
+public interface BusquedaProductosService {
+
+    List<ProductoBusquedaDTO> buscar(String texto, int limite);
+
+    void reconstruirIndice();
+
+    void reindexarProducto(ProductoModificadoDTO evento);
+
+    void reindexarCategoria(CategoriaModificadaDTO evento);
+
+}
@@ -0,0 +1,12 @@
+package com.example.acceso.service.Interfaces;
+
+import com.example.acceso.DTO.CatalogoModificadoDTO;
+import com.example.acceso.DTO.CatalogoPublicoDTO;
+
+public interface CatalogoPublicoService {
+
+    CatalogoPublicoDTO obtenerCatalogo();
+
+    void invalidarCatalogo(CatalogoModificadoDTO evento);
+
+}
@@ -0,0 +1,11 @@
+package com.example.acceso.service.Interfaces;
+
+public interface ClavesService {
+
+    boolean verificar(String clave, String claveCodificada);
+
+    String codificar(String clave);
+
+    boolean requiereRecodificar(String claveCodificada);
+
+}
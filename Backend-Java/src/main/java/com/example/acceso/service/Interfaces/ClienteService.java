@@ -1,5 +1,8 @@
 package com.example.acceso.service.Interfaces;
 
+import com.example.acceso.DTO.ClienteGrillaDTO;
+import com.example.acceso.DTO.PaginaGrillaDTO;
+import com.example.acceso.DTO.SolicitudGrillaDTO;
 import com.example.acceso.model.Cliente;
 
 import java.util.List;
@@ -9,6 +12,8 @@ public interface ClienteService {
 
     List<Cliente> listarClientes();
 
+    PaginaGrillaDTO<ClienteGrillaDTO> listarGrilla(SolicitudGrillaDTO solicitud);
+
     Cliente guardarCliente(Cliente cliente);
 
     long contarClientes();
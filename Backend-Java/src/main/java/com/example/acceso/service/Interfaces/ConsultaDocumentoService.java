@@ -0,0 +1,11 @@
+package com.example.acceso.service.Interfaces;
+
+import com.example.acceso.DTO.DocumentoIdentidadDTO;
+
+import java.util.Optional;
+
+public interface ConsultaDocumentoService {
+
+    Optional<DocumentoIdentidadDTO> buscar(String documento);
+
+}
@@ -0,0 +1,9 @@
+package com.example.acceso.service.Interfaces;
+
+import com.example.acceso.model.SerieComprobante;
+
+public interface CorrelativoService {
+
+    int siguienteCorrelativo(SerieComprobante serie);
+
+}
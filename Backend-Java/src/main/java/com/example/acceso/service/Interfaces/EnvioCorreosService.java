@@ -0,0 +1,13 @@
+package com.example.acceso.service.Interfaces;
+
+import com.example.acceso.DTO.EstadoCorreoDTO;
+
+public interface EnvioCorreosService {
+
+    EstadoCorreoDTO encolar(Long ventaId, String destinatario, String asunto, String cuerpo);
+
+    void procesarPendientes();
+
+    EstadoCorreoDTO obtenerEstado(Long correoId);
+
+}
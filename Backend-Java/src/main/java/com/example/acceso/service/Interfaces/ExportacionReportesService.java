@@ -0,0 +1,13 @@
+package com.example.acceso.service.Interfaces;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+public interface ExportacionReportesService {
+
+    void validarExportacion(String reporte, String formato, LocalDate inicio, LocalDate fin);
+
+    void exportar(String reporte, String formato, LocalDate inicio, LocalDate fin, OutputStream salida) throws IOException;
+
+}
@@ -0,0 +1,9 @@
+package com.example.acceso.service.Interfaces;
+
+import java.util.Optional;
+
+public interface FuenteDocumentosService {
+
+    Optional<String> consultarNombre(String documento);
+
+}
@@ -1,9 +1,11 @@
 package com.example.acceso.service.Interfaces;
 
+import com.example.acceso.DTO.EstadoCorreoDTO;
+
 public interface GenerarBoletaService {
 
     byte[] generarBoletaPdf(Long ventaId) throws Exception;
 
-    String enviarBoletaPorCorreo(Long ventaId) throws Exception;
+    EstadoCorreoDTO enviarBoletaPorCorreo(Long ventaId);
 
 }
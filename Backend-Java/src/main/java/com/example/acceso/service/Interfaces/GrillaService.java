@@ -0,0 +1,18 @@
+package com.example.acceso.service.Interfaces;
+
+import com.example.acceso.DTO.PaginaGrillaDTO;
+import com.example.acceso.DTO.SolicitudGrillaDTO;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+public interface GrillaService {
+
+    <T> PaginaGrillaDTO<T> consultar(SolicitudGrillaDTO solicitud, Map<String, String> columnasOrdenables,
+                                     Function<Pageable, Slice<T>> leerPagina, LongSupplier contarTotal,
+                                     LongSupplier contarFiltrados);
+
+}
@@ -0,0 +1,20 @@
+package com.example.acceso.service.Interfaces;
+
+import com.example.acceso.DTO.ImagenSubidaDTO;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.List;
+
+public interface ImagenesService {
+
+    List<ImagenSubidaDTO> subirTodas(List<MultipartFile> archivos, String carpeta);
+
+    void eliminar(String url);
+
+    void eliminarTodas(List<String> urls);
+
+    String urlMiniatura(String url);
+
+    String obtenerPublicId(String url);
+
+}
@@ -0,0 +1,7 @@
+package com.example.acceso.service.Interfaces;
+
+public interface LimitadorIntentosService {
+
+    boolean intentar(String usuario, String ip);
+
+}
@@ -0,0 +1,27 @@
+package com.example.acceso.service.Interfaces;
+
+import com.example.acceso.DTO.ResumenMetricaDTO;
+
+import java.util.List;
+
+public interface MetricasService {
+
+    void ventaCreada(String serie, String formaPago, int lineas, Throwable error, long nanos);
+
+    void ventaAnulada(String serie, String formaPago, Throwable error, long nanos);
+
+    void pagoRegistrado(String serie, String formaPago, Throwable error, long nanos);
+
+    void ajusteGuardado(String tipo, Throwable error, long nanos);
+
+    void stockRechazado();
+
+    void esperaCorrelativo(String serie, boolean estricto, long nanos);
+
+    void boletaGenerada(boolean desdeCache, Throwable error, long nanos);
+
+    void llamadaCloudinary(String operacion, Throwable error, long nanos);
+
+    List<ResumenMetricaDTO> resumen();
+
+}
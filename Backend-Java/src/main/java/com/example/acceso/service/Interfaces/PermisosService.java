@@ -0,0 +1,19 @@
+package com.example.acceso.service.Interfaces;
+
+import com.example.acceso.DTO.ModeloPermisosDTO;
+import com.example.acceso.DTO.OpcionMenuDTO;
+import com.example.acceso.DTO.PerfilModificadoDTO;
+
+import java.util.List;
+
+public interface PermisosService {
+
+    ModeloPermisosDTO modelo();
+
+    List<OpcionMenuDTO> menu(Long perfilId);
+
+    void reconstruir();
+
+    void alModificarPerfil(PerfilModificadoDTO evento);
+
+}
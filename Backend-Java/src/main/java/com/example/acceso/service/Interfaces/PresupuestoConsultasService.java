@@ -0,0 +1,19 @@
+package com.example.acceso.service.Interfaces;
+
+import com.example.acceso.DTO.ConsultasRutaDTO;
+
+import java.util.List;
+
+public interface PresupuestoConsultasService {
+
+    boolean activo();
+
+    void iniciar();
+
+    void contarSentencia();
+
+    int terminar(String ruta);
+
+    List<ConsultasRutaDTO> peores(int limite);
+
+}
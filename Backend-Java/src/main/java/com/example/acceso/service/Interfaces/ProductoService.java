@@ -1,5 +1,8 @@
 package com.example.acceso.service.Interfaces;
 
+import com.example.acceso.DTO.PaginaGrillaDTO;
+import com.example.acceso.DTO.ProductoCatalogoDTO;
+import com.example.acceso.DTO.SolicitudGrillaDTO;
 import com.example.acceso.model.Producto;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -10,6 +13,12 @@ public interface ProductoService {
 
     List<Producto> listarProductos();
 
+    List<ProductoCatalogoDTO> listarCatalogo();
+
+    PaginaGrillaDTO<ProductoCatalogoDTO> listarGrilla(SolicitudGrillaDTO solicitud);
+
+    List<String> listarImagenes(Long productoId);
+
     Producto guardarProducto(Producto producto, List<MultipartFile> fotos);
 
     long contarProductos();
@@ -24,6 +33,8 @@ public interface ProductoService {
 
     void eliminarImagen(Long productoId, String nombreImagen);
 
+    int migrarImagenesAntiguas();
+
     List<Object[]> findTop5ProductosMasVendidos();
 
 }
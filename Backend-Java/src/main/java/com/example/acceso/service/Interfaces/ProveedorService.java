@@ -1,5 +1,8 @@
 package com.example.acceso.service.Interfaces;
 
+import com.example.acceso.DTO.PaginaGrillaDTO;
+import com.example.acceso.DTO.ProveedorGrillaDTO;
+import com.example.acceso.DTO.SolicitudGrillaDTO;
 import com.example.acceso.model.Proveedor;
 
 import java.util.List;
@@ -9,6 +12,8 @@ public interface ProveedorService {
 
     List<Proveedor> listarProveedores();
 
+    PaginaGrillaDTO<ProveedorGrillaDTO> listarGrilla(SolicitudGrillaDTO solicitud);
+
     Proveedor guardarProveedor(Proveedor proveedor);
 
     long contarProveedores();
@@ -0,0 +1,21 @@
+package com.example.acceso.service.Interfaces;
+
+import com.example.acceso.DTO.DiferenciaResumenDTO;
+import com.example.acceso.model.Venta;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ResumenVentasService {
+
+    void registrarVenta(Venta venta);
+
+    void revertirVenta(Venta venta);
+
+    void cambiarEstado(Venta venta, int estadoAnterior);
+
+    int reconstruir(LocalDate desde, LocalDate hasta);
+
+    List<DiferenciaResumenDTO> verificar(LocalDate desde, LocalDate hasta);
+
+}
@@ -6,6 +6,6 @@ public interface ServicioAutenticacionDosPasos {
 
     String generarUriDatosQr(String secreto, String email, String issuer);
 
-    boolean esCodigoValido(String secreto, String codigo);
+    boolean esCodigoValido(Long usuarioId, String secreto, String codigo);
 
 }
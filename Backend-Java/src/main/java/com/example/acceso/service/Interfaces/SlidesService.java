@@ -0,0 +1,15 @@
+package com.example.acceso.service.Interfaces;
+
+import java.util.List;
+
+public interface SlidesService {
+
+    List<String> listarSlides();
+
+    void refrescarSlides();
+
+    String guardarSlide(byte[] contenido);
+
+    void eliminarSlide(String url);
+
+}
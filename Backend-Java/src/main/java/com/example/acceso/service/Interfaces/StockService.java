@@ -0,0 +1,11 @@
+package com.example.acceso.service.Interfaces;
+
+import java.util.Map;
+
+public interface StockService {
+
+    void descontarStock(Map<Long, Integer> cantidadesPorProducto);
+
+    void reponerStock(Map<Long, Integer> cantidadesPorProducto);
+
+}
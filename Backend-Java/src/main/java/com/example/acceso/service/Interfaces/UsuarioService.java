@@ -1,5 +1,8 @@
 package com.example.acceso.service.Interfaces;
 
+import com.example.acceso.DTO.PaginaGrillaDTO;
+import com.example.acceso.DTO.SolicitudGrillaDTO;
+import com.example.acceso.DTO.UsuarioGrillaDTO;
 import com.example.acceso.model.Usuario;
 
 import java.util.List;
@@ -9,6 +12,8 @@ public interface UsuarioService {
 
     List<Usuario> listarUsuarios();
 
+    PaginaGrillaDTO<UsuarioGrillaDTO> listarGrilla(SolicitudGrillaDTO solicitud);
+
     Usuario guardarUsuario(Usuario usuario);
 
     long contarUsuarios();
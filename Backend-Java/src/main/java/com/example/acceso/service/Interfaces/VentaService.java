@@ -1,6 +1,8 @@
 package com.example.acceso.service.Interfaces;
 
+import com.example.acceso.DTO.FiltroVentasDTO;
 import com.example.acceso.DTO.PagosDTO;
+import com.example.acceso.DTO.PaginaVentasDTO;
 import com.example.acceso.DTO.VentaDTO;
 import com.example.acceso.model.Cuota;
 import com.example.acceso.model.Pago;
@@ -13,6 +15,8 @@ public interface VentaService {
 
     List<Venta> listarVentas();
 
+    PaginaVentasDTO listarVentasPaginadas(FiltroVentasDTO filtro, String cursor, int tamano);
+
     Venta obtenerVenta(Long ventaId);
 
     Venta crearVenta(VentaDTO ventaRequest);
@@ -0,0 +1,50 @@
+package com.example.acceso.service;
+
+import java.util.function.Consumer;
+
+import org.springframework.transaction.UnexpectedRollbackException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Registra una métrica cuando termina la transacción en curso, para que cuente
+ * el resultado confirmado y la duración incluya la confirmación.
+ *
+ * Si la transacción se revierte sin que la operación haya fallado (por ejemplo,
+ * al confirmar o por un error posterior del llamador), se registra como error.
+ * Sin transacción activa se registra en el momento.
+ */
+public final class MetricaAlTerminarTransaccion implements TransactionSynchronization {
+
+    private final RuntimeException error;
+    private final Consumer<Throwable> registro;
+
+    private MetricaAlTerminarTransaccion(RuntimeException error, Consumer<Throwable> registro) {
+        this.error = error;
+        this.registro = registro;
+    }
+
+    /**
+     * Registra la métrica al terminar la transacción en curso, o en el momento
+     * si no hay ninguna.
+     *
+     * @param error    La excepción que interrumpió la operación, o {@code null}.
+     * @param registro Registra la métrica con el resultado final.
+     */
+    public static void registrar(RuntimeException error, Consumer<Throwable> registro) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            registro.accept(error);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new MetricaAlTerminarTransaccion(error, registro));
+    }
+
+    @Override
+    public void afterCompletion(int estado) {
+        if (estado == STATUS_COMMITTED || error != null) {
+            registro.accept(error);
+        } else {
+            registro.accept(new UnexpectedRollbackException("La transacción no se confirmó."));
+        }
+    }
+}
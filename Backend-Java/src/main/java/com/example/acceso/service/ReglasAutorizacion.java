@@ -0,0 +1,20 @@
+package com.example.acceso.service;
+
+import java.util.Map;
+
+/**
+ * Los árboles de rutas permitidas de cada perfil activo, compilados a partir de
+ * una versión de {@link com.example.acceso.DTO.ModeloPermisosDTO}. Se reemplaza entero cuando cambia
+ * esa versión.
+ *
+ * @param version  La versión del modelo de permisos de la que salió.
+ * @param perfiles El árbol de rutas de cada perfil activo, por ID de perfil.
+ */
+public record ReglasAutorizacion(
+        long version,
+        Map<Long, ArbolRutas> perfiles) {
+
+    public ReglasAutorizacion {
+        perfiles = Map.copyOf(perfiles);
+    }
+}
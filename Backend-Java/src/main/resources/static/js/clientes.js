@@ -4,14 +4,13 @@ $(document).ready(function () {
     let clienteModal;
 
     const API_BASE_URL = '/clientes/api';
-    const API_MIAPI='https://acuamont-system-1.onrender.com';
     const ENDPOINTS = {
-        list: `${API_BASE_URL}/listar`,
+        list: `${API_BASE_URL}/grilla`,
         save: `${API_BASE_URL}/guardar`,
         get: (id) => `${API_BASE_URL}/${id}`,
         delete: (id) => `${API_BASE_URL}/eliminar/${id}`,
         toggleStatus: (id) => `${API_BASE_URL}/cambiar-estado/${id}`,
-        buscarDocumento: (dni) => `${API_MIAPI}${API_BASE_URL}/buscar-documento/${dni}`
+        buscarDocumento: (dni) => `${API_BASE_URL}/buscar-documento/${dni}`
     };
 
     initializeDataTable();
@@ -31,16 +30,30 @@ $(document).ready(function () {
             responsive: true,
             processing: true,
             deferRender: true,
+            serverSide: true,
+            searchDelay: 400,
             ajax: {
                 url: ENDPOINTS.list,
+                data: function (d) {
+                    // Solo se envía lo que necesita la grilla paginada en el servidor
+                    const orden = d.order.length ? d.order[0] : null;
+                    return {
+                        draw: d.draw,
+                        inicio: d.start,
+                        tamano: d.length,
+                        busqueda: d.search.value,
+                        orden: orden ? d.columns[orden.column].data : null,
+                        direccion: orden ? orden.dir : null
+                    };
+                },
                 dataSrc: 'data'
             },
             columns: [
                 { data: 'id' },
                 { data: 'nombre' },
                 { data: 'documento' },
-                { data: 'telefono' },
-                { data: 'correo' },
+                { data: 'telefono', orderable: false },
+                { data: 'correo', orderable: false },
                 {
                     data: 'estado', render: function (data, type, row) {
                         return data === 1
@@ -71,7 +84,7 @@ $(document).ready(function () {
             lengthMenu: [10, 25, 50],
             dom: 'lBfrtip',
             buttons: [
-                {
+                exportarTodasLasFilas({
                     extend: 'excelHtml5',
                     text: '<i class="bi bi-file-earmark-excel"></i> Exportar a Excel',
                     title: 'Listado de Clientes',
@@ -82,8 +95,8 @@ $(document).ready(function () {
                             page: 'all'
                         }
                     }
-                },
-                {
+                }),
+                exportarTodasLasFilas({
                     extend: 'pdfHtml5',
                     text: '<i class="bi bi-file-earmark-pdf"></i> Exportar a PDF',
                     title: 'Listado de Clientes',
@@ -96,8 +109,8 @@ $(document).ready(function () {
                             page: 'all'
                         }
                     }
-                },
-                {
+                }),
+                exportarTodasLasFilas({
                     extend: 'print',
                     text: '<i class="bi bi-printer"></i> Imprimir',
                     className: 'btn btn-info',
@@ -114,7 +127,7 @@ $(document).ready(function () {
                             .css('font-size', '10pt')
                             .prepend('<h3 style="text-align:center;">Listado de Clientes</h3>');
                     }
-                }
+                })
             ]
         });
     }
@@ -422,18 +435,15 @@ $(document).ready(function () {
             .then(data => {
                 console.log("Respuesta del servidor:", data);
 
-                if (data.success && data.datos) {
-                    const persona = data.datos;
+                if (data.success && data.data) {
+                    $('#nombre').val(data.data.nombre);
+                    $('#documento').val(data.data.documento);
 
-                    if (doc.length === 8) {
-                        $('#nombre').val(`${persona.nombres || ''} ${persona.ape_paterno || ''} ${persona.ape_materno || ''}`.trim());
-                        $('#documento').val(persona.dni || doc);
-                    } else if (doc.length === 11) {
-                        $('#nombre').val(persona.razon_social || '');
-                        $('#documento').val(persona.ruc || doc);
+                    if (data.data.clienteId) {
+                        showNotification('El cliente ya está registrado', 'error');
+                    } else {
+                        showNotification('Datos obtenidos correctamente', 'success');
                     }
-
-                    showNotification('Datos obtenidos correctamente', 'success');
                 } else {
                     showNotification(data.message || 'No se encontró información para el documento ingresado', 'error');
                     $('#nombre').val('');
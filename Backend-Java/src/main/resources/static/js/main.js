@@ -3,6 +3,41 @@
  * Archivo: src/main/resources/static/js/main.js
  */
 
+/**
+ * Prepara un botón de exportación (Excel, PDF o impresión) de una grilla
+ * paginada en el servidor para que exporte todas las filas que cumplen la
+ * búsqueda y el orden actuales, y no solo la página visible.
+ *
+ * Al pulsarlo se piden todas las filas al servidor sin dibujarlas en la tabla,
+ * se exportan con la acción original del botón y se vuelve a cargar la página
+ * en la que estaba el usuario.
+ *
+ * @param {Object} configuracion La configuración del botón, con su `extend`.
+ * @returns {Object} La misma configuración con la acción que exporta todo.
+ */
+function exportarTodasLasFilas(configuracion) {
+    return $.extend({}, configuracion, {
+        action: function (e, dt, nodo, config, cb) {
+            const boton = this;
+            const accionOriginal = $.fn.dataTable.ext.buttons[configuracion.extend].action;
+
+            dt.one('preXhr', function (evento, settings, datos) {
+                datos.inicio = 0;
+                datos.tamano = -1;
+                dt.one('preDraw', function () {
+                    accionOriginal.call(boton, e, dt, nodo, config, cb);
+                    setTimeout(function () {
+                        dt.ajax.reload(null, false);
+                    }, 0);
+                    // Las filas ya se exportaron; no se dibujan en la tabla
+                    return false;
+                });
+            });
+            dt.ajax.reload(null, false);
+        }
+    });
+}
+
 $(document).ready(function() {
     /**
      * Configura la interactividad del sidebar responsivo.
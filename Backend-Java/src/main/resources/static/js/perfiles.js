@@ -19,8 +19,7 @@ $(document).ready(function () {
         toggleStatus: (id) => `${API_BASE}/cambiar-estado/${id}`,
         delete: (id) => `${API_BASE}/eliminar/${id}`,
         options: `${API_BASE}/opciones`,
-        usuarioLogin: '/usuarios/api/usuarioLogueado',
-        getUsuario: (id) => `/usuarios/api/${id}`
+        usuarioLogin: '/usuarios/api/usuarioLogueado'
     };
 
     // Inicializar Componentes
@@ -442,24 +441,11 @@ $(document).ready(function () {
             })
             .then(loginData => {
                 if (loginData.success && loginData.usuarioActual) {
-                    return fetch(ENDPOINTS.getUsuario(loginData.usuarioActual));
+                    usuario = { id: loginData.usuarioActual, perfil: { id: loginData.perfilActual } };
                 } else {
                     throw new Error('No se encontró el ID del usuario logueado en la respuesta.');
                 }
             })
-            .then(response => {
-                if (!response.ok) {
-                    throw new Error('Error al obtener los datos del usuario.');
-                }
-                return response.json();
-            })
-            .then(userData => {
-                if (userData.success) {
-                    usuario = userData.data;
-                } else {
-                    throw new Error('La respuesta para obtener datos de usuario no fue exitosa.');
-                }
-            })
             .catch(error => {
                 console.error('Error al cargar la información del usuario logueado:', error);
                 usuario = null;
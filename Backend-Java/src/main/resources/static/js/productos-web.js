@@ -5,20 +5,25 @@ $(document).ready(function () {
 
     const API_BASE = 'productos/api';
     const ENDPOINTS = {
-        LISTAR: `${API_BASE}/listar`,
+        LISTAR: `${API_BASE}/catalogo`,
         get: (id) => `${API_BASE}/${id}`,
-        categorias: `${API_BASE}/categorias`,
+        imagenes: (id) => `${API_BASE}/imagenes/${id}`,
         toggleStatus: (id) => `${API_BASE}/cambiar-estado/${id}`,
     };
 
     //inicializar componentes
     cargarProductos();
-    loadCategorias();
 
     $(document).on('click', '.btn-detalles', function (e) {
         e.preventDefault();
         const idProducto = $(this).data('id');
-        showModalDetalles(idProducto);
+        fetch(ENDPOINTS.imagenes(idProducto))
+            .then(response => response.json())
+            .then(data => showModalDetalles(idProducto, data.success ? data.data : []))
+            .catch(error => {
+                console.error('Error cargando imágenes:', error);
+                showModalDetalles(idProducto, []);
+            });
     });
 
     $('#btnCarrito').on('click', function () {
@@ -40,11 +45,12 @@ $(document).ready(function () {
 
     $('#id_categoria, #orden, #nombre').on('change keyup', filtrarProductos);
 
-    // Función para cargar los productos desde el servidor
+    // Función para cargar los productos y las categorías desde el catálogo público
     function cargarProductos() {
         $.get(ENDPOINTS.LISTAR, function (respuesta) {
             productos = respuesta.data;
             renderizarProductos(productos);
+            renderizarCategorias(respuesta.categorias);
         });
     }
 
@@ -66,31 +72,7 @@ $(document).ready(function () {
         productos.forEach(prod => {
             const isAgotado = prod.stock === 0;
 
-            let imageUrl = 'https://placehold.co/150';
-
-            if (prod.imagen) {
-                try {
-                    const images = JSON.parse(prod.imagen);
-
-                    if (Array.isArray(images) && images.length > 0) {
-                        const imgRaw = images[0];
-
-                        if (imgRaw.startsWith('http')) {
-                            imageUrl = imgRaw;
-                        } else {
-                            imageUrl = `/Fotos-Productos/${prod.id}/${imgRaw}`;
-                        }
-                    }
-                } catch (e) {
-                    if (prod.imagen && prod.imagen !== "[]") {
-                        if (prod.imagen.startsWith('http')) {
-                            imageUrl = prod.imagen;
-                        } else {
-                            imageUrl = `/Fotos-Productos/${prod.id}/${prod.imagen}`;
-                        }
-                    }
-                }
-            }
+            const imageUrl = prod.miniatura || 'https://placehold.co/150';
 
             const productoCard = `
                 <div class="col-12 col-sm-6 col-lg-3">
@@ -119,34 +101,19 @@ $(document).ready(function () {
         });
     }
 
-    function showModalDetalles(idProducto) {
+    function showModalDetalles(idProducto, images) {
         const producto = productos.find(p => p.id == idProducto);
 
         if (producto) {
             const isAgotado = producto.stock === 0;
-            let images = [];
-            try {
-                images = JSON.parse(producto.imagen);
-            } catch (e) {
-                if (producto.imagen && producto.imagen !== "[]") {
-                    images = [producto.imagen];
-                }
-            }
 
             let carouselIndicators = '';
             let carouselItems = '';
 
             if (images.length > 0) {
-                images.forEach((img, index) => {
+                images.forEach((imageUrl, index) => {
                     const activeClass = index === 0 ? 'active' : '';
 
-                    let imageUrl;
-                    if (img.startsWith('http')) {
-                        imageUrl = img;
-                    } else {
-                        imageUrl = `/Fotos-Productos/${producto.id}/${img}`;
-                    }
-
                     carouselIndicators += `<button type="button" data-bs-target="#productCarousel" data-bs-slide-to="${index}" class="${activeClass}" aria-current="${index === 0}" aria-label="Slide ${index + 1}"></button>`;
 
                     carouselItems += `
@@ -225,23 +192,12 @@ $(document).ready(function () {
 
 
 
-    function loadCategorias() {
-        fetch(ENDPOINTS.categorias)
-            .then(response => response.json())
-            .then(data => {
-                if (data.success) {
-                    const select = $('#id_categoria');
-                    select.empty().append('<option value="">Seleccione una categoría...</option>');
-                    data.data.forEach(categoria => {
-                        select.append(`<option value="${categoria.id}">${categoria.nombre}</option>`);
-                    });
-                } else {
-                    showNotification('Error al cargar categorias', 'error');
-                }
-
-            }).catch(error => {
-                console.error('Error cargando categorias:', error);
-            });
+    function renderizarCategorias(categorias) {
+        const select = $('#id_categoria');
+        select.empty().append('<option value="">Seleccione una categoría...</option>');
+        categorias.forEach(categoria => {
+            select.append(`<option value="${categoria.id}">${categoria.nombre}</option>`);
+        });
     }
 
 
@@ -251,7 +207,7 @@ $(document).ready(function () {
         const nombre = $('#nombre').val().toLowerCase();
 
         let productosFiltrados = productos.filter(prod => {
-            const coincideCategoria = categoriaId ? prod.categoria.id == categoriaId : true;
+            const coincideCategoria = categoriaId ? prod.categoriaId == categoriaId : true;
             const coincideNombre = nombre ? prod.nombre.toLowerCase().includes(nombre) : true;
             return coincideCategoria && coincideNombre;
         });
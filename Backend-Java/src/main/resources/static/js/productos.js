@@ -9,7 +9,7 @@ $(document).ready(function () {
     // Configuración inicial
     const API_BASE = '/productos/api';
     const ENDPOINTS = {
-        list: `${API_BASE}/listar`,
+        list: `${API_BASE}/grilla`,
         save: `${API_BASE}/guardar`,
         get: (id) => `${API_BASE}/${id}`,
         delete: (id) => `${API_BASE}/eliminar/${id}`,
@@ -32,38 +32,38 @@ $(document).ready(function () {
             responsive: true,
             processing: true,
             deferRender: true,
+            serverSide: true,
+            searchDelay: 400,
             ajax: {
                 url: ENDPOINTS.list,
+                data: function (d) {
+                    // Solo se envía lo que necesita la grilla paginada en el servidor
+                    const orden = d.order.length ? d.order[0] : null;
+                    return {
+                        draw: d.draw,
+                        inicio: d.start,
+                        tamano: d.length,
+                        busqueda: d.search.value,
+                        orden: orden ? d.columns[orden.column].data : null,
+                        direccion: orden ? orden.dir : null
+                    };
+                },
                 dataSrc: 'data'
             },
             columns: [
                 { data: 'id' },
                 {
-                    data: 'imagen', render: function (data, type, row) {
-                        let imageUrl = 'https://placehold.co/150';
-
-                        if (data) {
-                            try {
-                                const images = JSON.parse(data);
-
-                                if (Array.isArray(images) && images.length > 0) {
-                                    imageUrl = images[0];
-                                }
-                            } catch (e) {
-                                if (data && data !== "[]") {
-                                    imageUrl = data;
-                                }
-                            }
-                        }
+                    data: 'miniatura', orderable: false, render: function (data, type, row) {
+                        const imageUrl = data || 'https://placehold.co/150';
                         return `<img src="${imageUrl}" class="rounded-3" style="width: 60px; height: 60px; object-fit: cover;">`;
                     }
                 },
                 { data: 'nombre' },
-                { data: 'descripcion' },
+                { data: 'descripcion', orderable: false },
                 {
-                    data: 'categoria',
+                    data: 'categoriaNombre',
                     render: function (data, type, row) {
-                        return data ? data.nombre : '';
+                        return data || '';
                     }
                 },
                 {
@@ -119,7 +119,7 @@ $(document).ready(function () {
             lengthMenu: [5, 10, 25, 50],
             dom: 'lBfrtip',
             buttons: [
-                {
+                exportarTodasLasFilas({
                     extend: 'excelHtml5',
                     text: '<i class="bi bi-file-earmark-excel"></i> Exportar a Excel',
                     title: 'Listado de Productos',
@@ -130,8 +130,8 @@ $(document).ready(function () {
                             page: 'all'
                         }
                     }
-                },
-                {
+                }),
+                exportarTodasLasFilas({
                     extend: 'pdfHtml5',
                     text: '<i class="bi bi-file-earmark-pdf"></i> Exportar a PDF',
                     title: 'Listado de Productos',
@@ -144,8 +144,8 @@ $(document).ready(function () {
                             page: 'all'
                         }
                     }
-                },
-                {
+                }),
+                exportarTodasLasFilas({
                     extend: 'print',
                     text: '<i class="bi bi-printer"></i> Imprimir',
                     className: 'btn btn-info',
@@ -162,7 +162,7 @@ $(document).ready(function () {
                             .css('font-size', '10pt')
                             .prepend('<h3 style="text-align:center;">Listado de Productos</h3>');
                     }
-                },
+                }),
                 {
                     extend: 'colvis',
                     text: '<i class="bi bi-eye"></i> Mostrar/Ocultar',
@@ -337,7 +337,7 @@ $(document).ready(function () {
                 return response.json();
             })
             .then(data => {
-                if (data.success) openModalForEdit(data.data);
+                if (data.success) openModalForEdit(data.data, data.imagenes);
                 else showNotification('Error al cargar producto: ' + data.message, 'error');
             })
             .catch(error => {
@@ -469,7 +469,7 @@ $(document).ready(function () {
         productoModal.show();
     }
 
-    function openModalForEdit(producto) {
+    function openModalForEdit(producto, imagenes) {
         clearForm();
         $('#modalTitle').text('Editar Producto');
         $('#id').val(producto.id);
@@ -481,16 +481,7 @@ $(document).ready(function () {
         $('#stock_seguridad').val(producto.stockSeguridad);
         $('#id_categoria').val(producto.categoria.id);
 
-        if (producto.imagen) {
-            try {
-                const images = JSON.parse(producto.imagen);
-                existingImageFiles = Array.isArray(images) ? images : [images];
-            } catch (e) {
-                if (producto.imagen && producto.imagen !== "[]") {
-                    existingImageFiles = [producto.imagen];
-                }
-            }
-        }
+        existingImageFiles = imagenes || [];
         renderImagePreviews();
         productoModal.show();
     }
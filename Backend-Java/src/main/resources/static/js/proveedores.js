@@ -5,14 +5,13 @@ $(document).ready(function () {
 
     const API_CLIENTES = '/clientes/api';
     const API_BASE_URL = '/proveedores/api';
-    const API_MIAPI = 'https://acuamont-system-1.onrender.com';
     const ENDPOINTS = {
-        list: `${API_BASE_URL}/listar`,
+        list: `${API_BASE_URL}/grilla`,
         save: `${API_BASE_URL}/guardar`,
         get: (id) => `${API_BASE_URL}/${id}`,
         delete: (id) => `${API_BASE_URL}/eliminar/${id}`,
         toggleStatus: (id) => `${API_BASE_URL}/cambiar-estado/${id}`,
-        buscarDocumento: (documento) => `${API_MIAPI}${API_CLIENTES}/buscar-documento/${documento}`
+        buscarDocumento: (documento) => `${API_CLIENTES}/buscar-documento/${documento}`
     };
 
     initializeDataTable();
@@ -32,16 +31,30 @@ $(document).ready(function () {
             responsive: true,
             processing: true,
             deferRender: true,
+            serverSide: true,
+            searchDelay: 400,
             ajax: {
                 url: ENDPOINTS.list,
+                data: function (d) {
+                    // Solo se envía lo que necesita la grilla paginada en el servidor
+                    const orden = d.order.length ? d.order[0] : null;
+                    return {
+                        draw: d.draw,
+                        inicio: d.start,
+                        tamano: d.length,
+                        busqueda: d.search.value,
+                        orden: orden ? d.columns[orden.column].data : null,
+                        direccion: orden ? orden.dir : null
+                    };
+                },
                 dataSrc: 'data'
             },
             columns: [
                 { data: 'id' },
                 { data: 'nombre' },
                 { data: 'documento' },
-                { data: 'telefono' },
-                { data: 'correo' },
+                { data: 'telefono', orderable: false },
+                { data: 'correo', orderable: false },
                 {
                     data: 'estado', render: function (data, type, row) {
                         return data === 1
@@ -72,7 +85,7 @@ $(document).ready(function () {
             lengthMenu: [10, 25, 50],
             dom: 'lBfrtip',
             buttons: [
-                {
+                exportarTodasLasFilas({
                     extend: 'excelHtml5',
                     text: '<i class="bi bi-file-earmark-excel"></i> Exportar a Excel',
                     title: 'Listado de Proveedores',
@@ -83,8 +96,8 @@ $(document).ready(function () {
                             page: 'all'
                         }
                     }
-                },
-                {
+                }),
+                exportarTodasLasFilas({
                     extend: 'pdfHtml5',
                     text: '<i class="bi bi-file-earmark-pdf"></i> Exportar a PDF',
                     title: 'Listado de Proveedores',
@@ -97,8 +110,8 @@ $(document).ready(function () {
                             page: 'all'
                         }
                     }
-                },
-                {
+                }),
+                exportarTodasLasFilas({
                     extend: 'print',
                     text: '<i class="bi bi-printer"></i> Imprimir',
                     className: 'btn btn-info',
@@ -115,7 +128,7 @@ $(document).ready(function () {
                             .css('font-size', '10pt')
                             .prepend('<h3 style="text-align:center;">Listado de Proveedores</h3>');
                     }
-                }
+                })
             ]
         });
     }
@@ -423,13 +436,9 @@ $(document).ready(function () {
             .then(data => {
                 console.log("Respuesta del servidor:", data);
 
-                if (data.success && data.datos) {
-                    const persona = data.datos;
-
-                    if (doc.length === 11) {
-                        $('#nombre').val(persona.razon_social || '');
-                        $('#documento').val(persona.ruc || doc);
-                    }
+                if (data.success && data.data) {
+                    $('#nombre').val(data.data.nombre);
+                    $('#documento').val(data.data.documento);
 
                     showNotification('Datos obtenidos correctamente', 'success');
                 } else {
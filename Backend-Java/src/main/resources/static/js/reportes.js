@@ -41,6 +41,18 @@ $(document).ready(function () {
 
     }
 
+    // Descarga el reporte completo generado en el servidor, con el rango de
+    // fechas del filtro si ambas fechas están seleccionadas
+    function descargarReporte(reporte, formato, sufijoFiltro) {
+        const inicio = $(`#fechaInicio${sufijoFiltro}`).val();
+        const fin = $(`#fechaFin${sufijoFiltro}`).val();
+        let url = `${API_BASE}/${reporte}/export.${formato}`;
+        if (inicio && fin) {
+            url += `?inicio=${inicio}&fin=${fin}`;
+        }
+        window.location.href = url;
+    }
+
     //Pagina de Utilidades por Venta
 
     function initializeDataTableUtilidadesVentas() {
@@ -89,16 +101,14 @@ $(document).ready(function () {
             dom: 'lBfrtip',
             buttons: [
                 {
-                    extend: 'excelHtml5',
                     text: '<i class="bi bi-file-earmark-excel"></i> Exportar a Excel',
-                    title: 'Reporte de utilidades por venta',
                     className: 'btn btn-success',
-                    exportOptions: {
-                        columns: [0, 1, 2, 3, 4],
-                        modifier: {
-                            page: 'all'
-                        }
-                    }
+                    action: () => descargarReporte('utilidad-ventas', 'xlsx', 'Ventas')
+                },
+                {
+                    text: '<i class="bi bi-filetype-csv"></i> Exportar a CSV',
+                    className: 'btn btn-outline-success',
+                    action: () => descargarReporte('utilidad-ventas', 'csv', 'Ventas')
                 },
                 {
                     extend: 'pdfHtml5',
@@ -280,16 +290,14 @@ $(document).ready(function () {
             dom: 'lBfrtip',
             buttons: [
                 {
-                    extend: 'excelHtml5',
                     text: '<i class="bi bi-file-earmark-excel"></i> Exportar a Excel',
-                    title: 'Reporte de utilidades por venta',
                     className: 'btn btn-success',
-                    exportOptions: {
-                        columns: [0, 1, 2],
-                        modifier: {
-                            page: 'all'
-                        }
-                    }
+                    action: () => descargarReporte('utilidad-usuarios', 'xlsx', 'Vendedor')
+                },
+                {
+                    text: '<i class="bi bi-filetype-csv"></i> Exportar a CSV',
+                    className: 'btn btn-outline-success',
+                    action: () => descargarReporte('utilidad-usuarios', 'csv', 'Vendedor')
                 },
                 {
                     extend: 'pdfHtml5',
@@ -455,16 +463,14 @@ $(document).ready(function () {
             dom: 'lBfrtip',
             buttons: [
                 {
-                    extend: 'excelHtml5',
                     text: '<i class="bi bi-file-earmark-excel"></i> Exportar a Excel',
-                    title: 'Reporte de utilidades por Producto',
                     className: 'btn btn-success',
-                    exportOptions: {
-                        columns: [0, 1, 2, 3],
-                        modifier: {
-                            page: 'all'
-                        }
-                    }
+                    action: () => descargarReporte('utilidad-producto', 'xlsx', 'Producto')
+                },
+                {
+                    text: '<i class="bi bi-filetype-csv"></i> Exportar a CSV',
+                    className: 'btn btn-outline-success',
+                    action: () => descargarReporte('utilidad-producto', 'csv', 'Producto')
                 },
                 {
                     extend: 'pdfHtml5',
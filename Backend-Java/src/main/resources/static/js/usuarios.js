@@ -17,7 +17,7 @@ $(document).ready(function () {
     const ENDPOINTS = {
         usuarioLogin: `${API_BASE}/usuarioLogueado`,
         usuario: (id) => `${API_BASE}/${id}`,
-        list: `${API_BASE}/listar`,
+        list: `${API_BASE}/grilla`,
         save: `${API_BASE}/guardar`,
         get: (id) => `${API_BASE}/${id}`,
         delete: (id) => `${API_BASE}/eliminar/${id}`,
@@ -49,16 +49,30 @@ $(document).ready(function () {
         dataTable = $('#tablaUsuarios').DataTable({
             responsive: true,
             processing: true,
+            serverSide: true,
+            searchDelay: 400,
             ajax: {
                 url: ENDPOINTS.list,
-                dataSrc: 'data' // La propiedad en la respuesta JSON que contiene el array de usuarios
+                data: function (d) {
+                    // Solo se envía lo que necesita la grilla paginada en el servidor
+                    const orden = d.order.length ? d.order[0] : null;
+                    return {
+                        draw: d.draw,
+                        inicio: d.start,
+                        tamano: d.length,
+                        busqueda: d.search.value,
+                        orden: orden ? d.columns[orden.column].data : null,
+                        direccion: orden ? orden.dir : null
+                    };
+                },
+                dataSrc: 'data'
             },
             columns: [
                 { data: 'id' },
                 { data: 'nombre' },
                 { data: 'usuario' },
-                { data: 'perfil.nombre' }, // Nueva columna para el perfil
-                { data: 'correo' },
+                { data: 'perfilNombre' },
+                { data: 'correo', orderable: false },
                 {
                     data: 'estado',
                     render: function (data, type, row) {
@@ -8,9 +8,11 @@ $(document).ready(function () {
     let pagosModal;
     let registrarPagoModal;
     let clienteSeleccionadoId = null;
-    let productosDisponibles = [];
+    let temporizadorBusqueda = null;
+    let busquedaProductos = null;
     let productosSeleccionados = [];
     let usuarioLogueadoId = null;
+    let siguienteCursor = null;
 
     // Configuración de las rutas de la API
     const API_CLIENTES = '/clientes/api';
@@ -18,7 +20,6 @@ $(document).ready(function () {
     const API_PRODUCTOS = '/productos/api';
     const API_PAGOS = '/pagos/api';
     const API_BASE = '/ventas/api';
-    const API_MIAPI = 'https://acuamont-system-1.onrender.com';
     const ENDPOINTS = {
         usuario: `${API_USUARIOS}/usuarioLogueado`,
         list: `${API_BASE}/listar`,
@@ -30,10 +31,9 @@ $(document).ready(function () {
         formas_pago: `${API_BASE}/formaPago`,
         lista_Pagos: (id) => `${API_BASE}/pagos/${id}`,
         lista_Cuotas: (id) => `${API_BASE}/cuotas/${id}`,
-        productos: `${API_PRODUCTOS}/listar`,
+        buscar_productos: (texto) => `${API_PRODUCTOS}/buscar?q=${encodeURIComponent(texto)}`,
         guardar_cliente: `${API_CLIENTES}/guardar`,
-        buscar_cliente: (documento) => `${API_CLIENTES}/buscar-cliente-documento/${documento}`,
-        buscar_documento_externo: (documento) => `${API_MIAPI}${API_CLIENTES}/buscar-documento/${documento}`,
+        buscar_documento: (documento) => `${API_CLIENTES}/buscar-documento/${documento}`,
         guardar_pago: `${API_PAGOS}/registrarPago`,
         descargar_boleta: (id) => `${API_BASE}/boleta/${id}`,
         enviar_correo: (id) => `${API_BASE}/envio-correo/${id}`,
@@ -47,7 +47,6 @@ $(document).ready(function () {
     registrarPagoModal = new bootstrap.Modal(document.getElementById('registrarPagoModal'));
 
     cargarUsuarioLogueado();
-    cargarProductosDisponibles();
     loadSelects();
     setupEventListeners();
 
@@ -57,19 +56,16 @@ $(document).ready(function () {
             responsive: true,
             processing: true,
             serverSide: false,
-            ajax: {
-                url: ENDPOINTS.list,
-                type: 'GET',
-                dataSrc: 'data'
-            },
+            data: [],
+            order: [],
             columns: [
                 { data: 'id' },
                 {
                     data: null,
-                    render: (data, type, row) => `${row.serieComprobante.serie}-${String(row.correlativo).padStart(9, '0')}`
+                    render: (data, type, row) => `${row.serie}-${String(row.correlativo).padStart(9, '0')}`
                 },
-                { data: 'cliente.nombre' },
-                { data: 'usuario.nombre' },
+                { data: 'clienteNombre', defaultContent: '' },
+                { data: 'usuarioNombre', defaultContent: '' },
                 {
                     data: 'fecha',
                     render: (data) => new Date(data).toLocaleString('es-PE')
@@ -79,7 +75,7 @@ $(document).ready(function () {
                     render: (data) => `S/ ${(data ?? 0).toFixed(2)}`
                 },
                 {
-                    data: 'formaPago.nombre',
+                    data: 'formaPagoNombre',
                     render: function (data) {
                         if (data === 'Contado') return '<span class="badge bg-info">Contado</span>';
                         if (data === 'Credito') return '<span class="badge bg-warning">Crédito</span>';
@@ -170,6 +166,41 @@ $(document).ready(function () {
                 }
             ]
         });
+
+        cargarVentas(true);
+    }
+
+    /**
+     * Carga una página de ventas desde la API, aplicando los filtros del
+     * formulario. Si {@code reiniciar} es verdadero vuelve a la primera página;
+     * si no, agrega la página siguiente a las filas que ya están en la tabla.
+     */
+    function cargarVentas(reiniciar) {
+        if (reiniciar) {
+            siguienteCursor = null;
+            dataTable.clear().draw();
+        }
+
+        const params = new URLSearchParams({ tamano: 100 });
+        const desde = $('#filtroDesde').val();
+        const hasta = $('#filtroHasta').val();
+        const estado = $('#filtroEstado').val();
+        if (desde) params.append('desde', desde);
+        if (hasta) params.append('hasta', hasta);
+        if (estado) params.append('estado', estado);
+        if (siguienteCursor) params.append('cursor', siguienteCursor);
+
+        fetch(`${ENDPOINTS.list}?${params}`)
+            .then(response => response.json())
+            .then(data => {
+                if (!data.success) {
+                    throw new Error(data.message || 'Error al cargar ventas');
+                }
+                dataTable.rows.add(data.data).draw(false);
+                siguienteCursor = data.siguienteCursor;
+                $('#btnCargarMas').toggleClass('d-none', !siguienteCursor);
+            })
+            .catch(error => showNotification(error.message, 'error'));
     }
 
     function createActionButtons(row) {
@@ -183,7 +214,7 @@ $(document).ready(function () {
                 </button>
         `;
 
-        if (row.formaPago.nombre.toLowerCase() === 'credito') {
+        if ((row.formaPagoNombre || '').toLowerCase() === 'credito') {
             buttons += `
                 <button data-id="${row.id}" class="btn btn-sm btn-success action-verCuotas" title="Ver Cuotas">
                     <i class="bi bi-calendar-week"></i>
@@ -201,11 +232,11 @@ $(document).ready(function () {
     function createActionButtonsComprobante(row) {
         let url = ENDPOINTS.descargar_boleta(row.id);
         let url_Correo = ENDPOINTS.enviar_correo(row.id);
-        let verifiCorreo = row.cliente.correo != null && row.cliente.correo != '';
-        let verifiNumero= row.cliente.telefono != null && row.cliente.telefono !='';
-        let nombre = row.cliente.nombre;
-        let telefono = row.cliente.telefono;
-        let documento = `${row.serieComprobante.serie}-${String(row.correlativo).padStart(9, '0')}`;
+        let verifiCorreo = row.clienteCorreo != null && row.clienteCorreo != '';
+        let verifiNumero= row.clienteTelefono != null && row.clienteTelefono !='';
+        let nombre = row.clienteNombre;
+        let telefono = row.clienteTelefono;
+        let documento = `${row.serie}-${String(row.correlativo).padStart(9, '0')}`;
         let fecha   = new Date(row.fecha).toLocaleString('es-PE');
         let total = row.total;
 
@@ -280,6 +311,13 @@ $(document).ready(function () {
             saveVenta();
         });
 
+        // Filtros y paginación del listado
+        $('#filtrosVentas').on('submit', function (e) {
+            e.preventDefault();
+            cargarVentas(true);
+        });
+        $('#btnCargarMas').on('click', () => cargarVentas(false));
+
         $('#tablaVentas tbody').on('click', '.btn-enviar-correo', enviarCorrero);
         // Eventos de las tablas
         $('#tablaVentas tbody').on('click', '.action-eliminarVenta', eliminarVenta);
@@ -404,37 +442,16 @@ $(document).ready(function () {
         showLoading(true);
 
         try {
-            let localResp = await fetch(ENDPOINTS.buscar_cliente(documento));
-            let localData = await localResp.json();
+            // El servidor busca en los clientes registrados y, si no está, en la API externa
+            let documentoResp = await fetch(ENDPOINTS.buscar_documento(documento));
+            let documentoData = await documentoResp.json();
 
-            if (localResp.ok && localData.success && localData.data) {
-                $('#nombreCliente').val(localData.data.nombre);
-                clienteSeleccionadoId = localData.data.id;
+            if (documentoResp.ok && documentoData.success && documentoData.data?.clienteId) {
+                $('#nombreCliente').val(documentoData.data.nombre);
+                clienteSeleccionadoId = documentoData.data.clienteId;
             } else {
-                let externalResp = await fetch(ENDPOINTS.buscar_documento_externo(documento));
-                let externalData = await externalResp.json();
-
-                if (externalResp.ok && externalData.success && externalData.datos) {
-                    const datos = externalData.datos;
-                    let nombreCompleto = '';
-
-                    if (datos.razon_social) {
-                        nombreCompleto = datos.razon_social;
-                    }
-                    else if (datos.nombres) {
-                        nombreCompleto = [
-                            datos.nombres,
-                            datos.ape_paterno,
-                            datos.ape_materno
-                        ].filter(Boolean).join(' ');
-                    }
-                    else {
-                        throw new Error('Formato de datos externos no reconocido.');
-                    }
-
-                    if (!nombreCompleto) {
-                        throw new Error('No se pudo extraer un nombre de la API externa.');
-                    }
+                if (documentoResp.ok && documentoData.success && documentoData.data) {
+                    const nombreCompleto = documentoData.data.nombre;
 
                     let createResp = await fetch(ENDPOINTS.guardar_cliente, {
                         method: 'POST',
@@ -483,16 +500,6 @@ $(document).ready(function () {
                     data.data.forEach(item => {
                         select.append(new Option(`${item.nombre}(${item.serie})`, item.id));
                     });
-
-                    // Evento para cuando se selecciona una serie
-                    select.on('change', function () {
-                        const serieId = $(this).val();
-                        if (serieId) {
-                            cargarCorrelativoActual(serieId);
-                        } else {
-                            $('#correlativo_venta').val('');
-                        }
-                    });
                 } else {
                     showNotification('Error al cargar series de comprobantes', 'error');
                 }
@@ -558,8 +565,12 @@ $(document).ready(function () {
 
 
             hideModal();
-            showNotification('Venta guardada exitosamente', 'success');
-            dataTable.ajax.reload();
+            // El correlativo lo asigna el servidor al guardar; se muestra el que devolvió
+            const venta = ventaGuardada.data;
+            showNotification(venta && venta.serieComprobante && venta.correlativo
+                ? `Venta ${venta.serieComprobante.serie}-${String(venta.correlativo).padStart(9, '0')} guardada exitosamente`
+                : 'Venta guardada exitosamente', 'success');
+            cargarVentas(true);
             clearForm();
             clienteSeleccionadoId = null; // Resetear para la siguiente venta
             isEditing = false; // Resetear para la siguiente venta
@@ -862,7 +873,7 @@ $(document).ready(function () {
                         })
                         .then(ventaEliminada => {
                             showNotification('Venta eliminada exitosamente', 'success');
-                            dataTable.ajax.reload();
+                            cargarVentas(true);
                         })
                         .catch(error => {
                             console.error('Error al eliminar venta:', error);
@@ -875,27 +886,6 @@ $(document).ready(function () {
             });
     }
 
-    function cargarCorrelativoActual(serieId) {
-        fetch(ENDPOINTS.serie_comprobantes)
-            .then(response => response.json())
-            .then(data => {
-                if (data.success) {
-                    const serie = data.data.find(item => item.id == serieId);
-                    if (serie) {
-                        // Sumar 1 al correlativo actual para mostrar el próximo número
-                        const siguienteCorrelativo = serie.correlativo_actual + 1;
-                        $('#correlativo_venta').val(siguienteCorrelativo);
-                    }
-                } else {
-                    showNotification('Error al obtener el correlativo', 'error');
-                }
-            })
-            .catch(error => {
-                console.error('Error al cargar correlativo:', error);
-                showNotification('Error al cargar el correlativo', 'error');
-            });
-    }
-
     function verPagos(e) {
         e.preventDefault();
         const ventaId = $(this).data('id');
@@ -957,21 +947,16 @@ $(document).ready(function () {
     }
 
     function obtenerDatosVenta(ventaId) {
-        return fetch(ENDPOINTS.list)
+        return fetch(ENDPOINTS.select_venta(ventaId))
             .then(response => {
                 if (!response.ok) {
-                    throw new Error('Error al cargar ventas');
+                    throw new Error('Venta no encontrada');
                 }
                 return response.json();
             })
             .then(data => {
                 if (data.success) {
-                    const venta = data.data.find(v => v.id == ventaId);
-                    if (venta) {
-                        return venta;
-                    } else {
-                        throw new Error('Venta no encontrada');
-                    }
+                    return data.data;
                 } else {
                     throw new Error('Error en la respuesta del servidor');
                 }
@@ -1115,7 +1100,7 @@ $(document).ready(function () {
                 registrarPagoModal.hide();
                 cuotasModal.hide();
 
-                dataTable.ajax.reload();
+                cargarVentas(true);
             })
             .catch(error => {
                 console.error('Error al registrar pago:', error);
@@ -1255,48 +1240,41 @@ $(document).ready(function () {
         actualizarTotalVenta();
     }
 
-    function cargarProductosDisponibles() {
-        fetch(ENDPOINTS.productos)
-            .then(response => response.json())
-            .then(data => {
-                if (data.success) {
-                    productosDisponibles = data.data;
-                    actualizarDatalistProductos();
-                } else {
-                    showNotification('Error al cargar productos', 'error');
-                }
-            })
-            .catch(error => {
-                console.error('Error al cargar productos:', error);
-            });
-    }
-
-    function actualizarDatalistProductos() {
-        const datalist = $('#listaProductos');
-        datalist.empty();
-
-        productosDisponibles.forEach(producto => {
-            if (producto.stock > 0) {
-                datalist.append(new Option(
-                    `${producto.nombre} - Stock: ${producto.stock} - S/ ${producto.precioVenta.toFixed(2)}`,
-                    producto.nombre
-                ));
-            }
-        });
-    }
-
     function mostrarSugerencias(termino) {
-        const contenedor = $('#sugerenciasProductos');
-        contenedor.empty();
+        clearTimeout(temporizadorBusqueda);
+        if (busquedaProductos) {
+            busquedaProductos.abort();
+            busquedaProductos = null;
+        }
 
         if (termino.length < 2) {
-            contenedor.addClass('d-none');
+            $('#sugerenciasProductos').empty().addClass('d-none');
             return;
         }
 
-        const productosFiltrados = productosDisponibles.filter(producto =>
-            producto.nombre.toLowerCase().includes(termino) && producto.stock > 0
-        );
+        // Se espera a que el usuario deje de escribir antes de consultar
+        temporizadorBusqueda = setTimeout(() => {
+            busquedaProductos = new AbortController();
+            fetch(ENDPOINTS.buscar_productos(termino), { signal: busquedaProductos.signal })
+                .then(response => response.json())
+                .then(data => {
+                    if (data.success) {
+                        renderizarSugerencias(data.data.filter(producto => producto.stock > 0));
+                    } else {
+                        showNotification('Error al buscar productos', 'error');
+                    }
+                })
+                .catch(error => {
+                    if (error.name !== 'AbortError') {
+                        console.error('Error al buscar productos:', error);
+                    }
+                });
+        }, 200);
+    }
+
+    function renderizarSugerencias(productosFiltrados) {
+        const contenedor = $('#sugerenciasProductos');
+        contenedor.empty();
 
         if (productosFiltrados.length === 0) {
             contenedor.append(`
@@ -1385,7 +1363,6 @@ $(document).ready(function () {
         hideContentCredito();
         actualizarTablaProductosSeleccionados();
         actualizarTotalVenta();
-        $('#correlativo_venta').val('');
     }
 
     function showContentCredito() {
@@ -0,0 +1,115 @@
+package com.example.acceso.benchmarks;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import com.example.acceso.DTO.ModeloPermisosDTO;
+import com.example.acceso.DTO.OpcionMenuDTO;
+import com.example.acceso.DTO.PerfilModificadoDTO;
+import com.example.acceso.DTO.PermisosPerfilDTO;
+import com.example.acceso.service.Implements.AutorizacionServiceImpl;
+import com.example.acceso.service.Interfaces.PermisosService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Mide cuánto tarda la verificación de permisos por ruta que hace
+ * {@code SessionInterceptor} en cada petición, con cientos de opciones de menú.
+ *
+ * Se arman {@link #PERFILES} perfiles sobre {@code rutas} opciones distintas;
+ * cada perfil tiene la mitad de las opciones, elegidas al azar. Cada medición
+ * decide sobre una ruta {@code /api} de varios segmentos, permitida o no.
+ *
+ * No se ejecuta con {@code mvn test}; se lanza desde {@link #main(String[])}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AutorizacionBenchmark {
+
+    private static final int PERFILES = 20;
+    private static final int CONSULTAS = 1_024;
+
+    @Param({"100", "500"})
+    public int rutas;
+
+    private AutorizacionServiceImpl autorizacionService;
+    private Long[] perfiles;
+    private String[] consultas;
+    private int siguiente;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random aleatorio = new Random(17);
+        Map<Long, PermisosPerfilDTO> permisos = new HashMap<>();
+        for (long perfilId = 1; perfilId <= PERFILES; perfilId++) {
+            List<OpcionMenuDTO> menu = new ArrayList<>();
+            Set<String> rutasPerfil = new HashSet<>();
+            for (int opcion = 0; opcion < rutas; opcion++) {
+                if (aleatorio.nextBoolean()) {
+                    String ruta = "/modulo" + opcion + "/listar";
+                    menu.add(new OpcionMenuDTO((long) opcion, "Módulo " + opcion, ruta, "bi bi-circle"));
+                    rutasPerfil.add(ruta);
+                }
+            }
+            permisos.put(perfilId, new PermisosPerfilDTO(perfilId, menu, rutasPerfil));
+        }
+        ModeloPermisosDTO modelo = new ModeloPermisosDTO(1, permisos);
+        autorizacionService = new AutorizacionServiceImpl(permisosFijos(modelo));
+
+        perfiles = new Long[CONSULTAS];
+        consultas = new String[CONSULTAS];
+        for (int i = 0; i < CONSULTAS; i++) {
+            perfiles[i] = 1L + aleatorio.nextInt(PERFILES);
+            consultas[i] = "/modulo" + aleatorio.nextInt(rutas) + "/api/cambiar-estado/" + aleatorio.nextInt(10_000);
+        }
+        autorizacionService.permite(perfiles[0], consultas[0]);
+    }
+
+    /** Permisos que no cambian durante la medición. */
+    private static PermisosService permisosFijos(ModeloPermisosDTO modelo) {
+        return new PermisosService() {
+            @Override
+            public ModeloPermisosDTO modelo() {
+                return modelo;
+            }
+
+            @Override
+            public List<OpcionMenuDTO> menu(Long perfilId) {
+                return modelo.perfiles().get(perfilId).menu();
+            }
+
+            @Override
+            public void reconstruir() {
+            }
+
+            @Override
+            public void alModificarPerfil(PerfilModificadoDTO evento) {
+            }
+        };
+    }
+
+    @Benchmark
+    public boolean permite() {
+        int i = siguiente++ & (CONSULTAS - 1);
+        return autorizacionService.permite(perfiles[i], consultas[i]);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options opciones = new OptionsBuilder()
+                .include(AutorizacionBenchmark.class.getSimpleName())
+                .build();
+        new Runner(opciones).run();
+    }
+}
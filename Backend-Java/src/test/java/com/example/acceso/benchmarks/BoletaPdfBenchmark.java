@@ -0,0 +1,103 @@
+package com.example.acceso.benchmarks;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import com.example.acceso.DTO.VentaModificadaDTO;
+import com.example.acceso.model.*;
+import com.example.acceso.service.Implements.GenerarBoletaServiceImpl;
+import com.example.acceso.service.Implements.MetricasServiceImpl;
+import com.example.acceso.service.Interfaces.VentaService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compara la generación de la boleta en PDF en frío y en caliente.
+ *
+ * <ul>
+ * <li><b>frio</b>: un servicio nuevo en cada descarga, que analiza la plantilla
+ * y genera el PDF desde cero, como ocurría antes en cada descarga.</li>
+ * <li><b>plantillaEnCache</b>: la plantilla ya está analizada pero el PDF se
+ * vuelve a generar, como tras anular o pagar la venta.</li>
+ * <li><b>caliente</b>: la boleta ya está en la caché de PDF.</li>
+ * </ul>
+ *
+ * La venta se entrega desde memoria, así que no se mide la consulta a la base
+ * de datos. No se ejecuta con {@code mvn test}; se lanza desde {@link #main(String[])}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BoletaPdfBenchmark {
+
+    private static final long VENTA_ID = 1L;
+
+    private VentaService ventaService;
+    private GenerarBoletaServiceImpl boletaService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        Venta venta = crearVenta();
+        ventaService = (VentaService) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { VentaService.class }, (proxy, metodo, args) -> {
+                    if (metodo.getName().equals("obtenerVenta")) {
+                        return venta;
+                    }
+                    throw new UnsupportedOperationException(metodo.getName());
+                });
+        boletaService = nuevoServicio();
+        boletaService.generarBoletaPdf(VENTA_ID);
+    }
+
+    private GenerarBoletaServiceImpl nuevoServicio() {
+        return new GenerarBoletaServiceImpl(ventaService, null, new MetricasServiceImpl(new SimpleMeterRegistry()),
+                32L * 1024 * 1024, 1000);
+    }
+
+    private static Venta crearVenta() {
+        Venta venta = new Venta();
+        venta.setId(VENTA_ID);
+        venta.setCliente(new Cliente("Cliente Benchmark", "12345678", "", "cliente@prueba.com"));
+        venta.setSerieComprobante(new SerieComprobante("Boleta", "B001", 0));
+        venta.setCorrelativo(123);
+        venta.setFecha(LocalDateTime.of(2025, 11, 5, 10, 30));
+        venta.setTotal(new BigDecimal("250.00"));
+        for (int i = 1; i <= 10; i++) {
+            Producto producto = new Producto();
+            producto.setNombre("Producto " + i);
+            venta.getDetalleVentas().add(new DetalleVenta(venta, producto, 2, new BigDecimal("12.50"), new BigDecimal("25.00")));
+        }
+        return venta;
+    }
+
+    @Benchmark
+    public byte[] frio() throws Exception {
+        return nuevoServicio().generarBoletaPdf(VENTA_ID);
+    }
+
+    @Benchmark
+    public byte[] plantillaEnCache() throws Exception {
+        boletaService.invalidarBoleta(new VentaModificadaDTO(VENTA_ID));
+        return boletaService.generarBoletaPdf(VENTA_ID);
+    }
+
+    @Benchmark
+    public byte[] caliente() throws Exception {
+        return boletaService.generarBoletaPdf(VENTA_ID);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options opciones = new OptionsBuilder()
+                .include(BoletaPdfBenchmark.class.getSimpleName())
+                .build();
+        new Runner(opciones).run();
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.acceso.benchmarks;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import com.example.acceso.DTO.ProductoBusquedaDTO;
+import com.example.acceso.model.Categoria;
+import com.example.acceso.model.Producto;
+import com.example.acceso.repository.ProductoRepository;
+import com.example.acceso.service.Implements.BusquedaProductosServiceImpl;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compara el buscador de productos de la pantalla de ventas con la búsqueda
+ * equivalente en SQL con {@code LIKE '%texto%'}, sobre 100.000 productos.
+ *
+ * El índice en memoria se arma con un repositorio simulado; la consulta SQL
+ * corre sobre una base H2 en memoria con los mismos productos. El modo
+ * {@code SampleTime} reporta los percentiles, entre ellos el p99, que para el
+ * índice en memoria debe quedar por debajo de 5 ms. La consulta SQL es la
+ * referencia favorable: sin tildes ni viaje por la red.
+ *
+ * No se ejecuta con {@code mvn test}; se lanza desde {@link #main(String[])}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BusquedaProductosBenchmark {
+
+    private static final int PRODUCTOS = 100_000;
+    private static final String[] TIPOS = {"Tubo", "Codo", "Válvula", "Llave de paso", "Bomba", "Filtro", "Manguera",
+            "Tanque", "Unión", "Reducción", "Grifo", "Caño", "Tee", "Adaptador", "Niple", "Abrazadera"};
+    private static final String[] MATERIALES = {"PVC", "cobre", "bronce", "acero inoxidable", "polietileno", "fierro galvanizado"};
+    private static final String[] MEDIDAS = {"1/2", "3/4", "1", "1 1/2", "2", "3", "4"};
+    private static final String[] MARCAS = {"Pavco", "Nicoll", "Rotoplas", "Eternit", "Vainsa", "Trebol", "Pedrollo"};
+    private static final String[] CATEGORIAS = {"Tuberias", "Accesorios", "Bombeo", "Griferia", "Almacenamiento", "Filtracion"};
+
+    @Param({"va", "tubo pvc", "rotoplas 3/4", "m54321"})
+    public String consulta;
+
+    private List<Producto> productos;
+    private BusquedaProductosServiceImpl busquedaProductosService;
+    private Connection conexion;
+    private PreparedStatement consultaLike;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        productos = generarProductos();
+        busquedaProductosService = new BusquedaProductosServiceImpl(repositorioSimulado());
+        busquedaProductosService.reconstruirIndice();
+
+        conexion = DriverManager.getConnection("jdbc:h2:mem:busqueda;MODE=MySQL;DATABASE_TO_LOWER=TRUE", "sa", "");
+        try (Statement sentencia = conexion.createStatement()) {
+            sentencia.execute("CREATE TABLE productos (id BIGINT PRIMARY KEY, nombre VARCHAR(100), descripcion VARCHAR(255), "
+                    + "categoria VARCHAR(50), precio_venta DOUBLE, stock INT, estado INT)");
+            sentencia.execute("CREATE INDEX idx_productos_nombre ON productos (nombre)");
+        }
+        try (PreparedStatement insertar = conexion.prepareStatement("INSERT INTO productos VALUES (?, ?, ?, ?, ?, ?, 1)")) {
+            for (Producto producto : productos) {
+                insertar.setLong(1, producto.getId());
+                insertar.setString(2, producto.getNombre());
+                insertar.setString(3, producto.getDescripcion());
+                insertar.setString(4, producto.getCategoria().getNombre());
+                insertar.setDouble(5, producto.getPrecioVenta());
+                insertar.setInt(6, producto.getStock());
+                insertar.addBatch();
+            }
+            insertar.executeBatch();
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void prepararConsulta() throws SQLException {
+        if (consultaLike != null) {
+            consultaLike.close();
+        }
+        // Una condición por palabra, como la búsqueda en memoria
+        String[] palabras = consulta.split(" ");
+        StringBuilder sql = new StringBuilder("SELECT id, nombre, categoria, precio_venta, stock FROM productos WHERE estado = 1");
+        for (int i = 0; i < palabras.length; i++) {
+            sql.append(" AND (LOWER(nombre) LIKE ? OR LOWER(descripcion) LIKE ? OR LOWER(categoria) LIKE ?)");
+        }
+        sql.append(" ORDER BY nombre, id LIMIT 20");
+        consultaLike = conexion.prepareStatement(sql.toString());
+        int parametro = 1;
+        for (String palabra : palabras) {
+            for (int i = 0; i < 3; i++) {
+                consultaLike.setString(parametro++, "%" + palabra + "%");
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        conexion.close();
+    }
+
+    private static List<Producto> generarProductos() {
+        Random aleatorio = new Random(17);
+        Categoria[] categorias = new Categoria[CATEGORIAS.length];
+        for (int i = 0; i < CATEGORIAS.length; i++) {
+            categorias[i] = new Categoria(CATEGORIAS[i]);
+            categorias[i].setId(i + 1L);
+        }
+        List<Producto> productos = new ArrayList<>(PRODUCTOS);
+        for (long id = 1; id <= PRODUCTOS; id++) {
+            String nombre = TIPOS[aleatorio.nextInt(TIPOS.length)] + " " + MATERIALES[aleatorio.nextInt(MATERIALES.length)]
+                    + " " + MEDIDAS[aleatorio.nextInt(MEDIDAS.length)] + " " + MARCAS[aleatorio.nextInt(MARCAS.length)]
+                    + " M" + id;
+            Producto producto = new Producto(nombre, "Modelo " + Long.toString(id * 7919, 36) + " para instalaciones de agua",
+                    5.0, 10.0, 20, 5, null, categorias[aleatorio.nextInt(categorias.length)]);
+            producto.setId(id);
+            productos.add(producto);
+        }
+        return productos;
+    }
+
+    /**
+     * Repositorio en memoria que solo implementa las consultas que usa el
+     * buscador: los productos activos para armar el índice y el stock de los
+     * productos sugeridos.
+     */
+    private ProductoRepository repositorioSimulado() {
+        return (ProductoRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { ProductoRepository.class }, (proxy, metodo, args) -> {
+                    switch (metodo.getName()) {
+                        case "findAllConCategoriaByEstado":
+                            return productos;
+                        case "findStockByIdIn":
+                            List<Object[]> filas = new ArrayList<>();
+                            for (Object id : (Collection<?>) args[0]) {
+                                filas.add(new Object[] { id, productos.get((int) ((Long) id - 1)).getStock() });
+                            }
+                            return filas;
+                        default:
+                            throw new UnsupportedOperationException(metodo.getName());
+                    }
+                });
+    }
+
+    @Benchmark
+    public List<ProductoBusquedaDTO> indiceEnMemoria() {
+        return busquedaProductosService.buscar(consulta, 20);
+    }
+
+    @Benchmark
+    public List<ProductoBusquedaDTO> sqlLike() throws SQLException {
+        List<ProductoBusquedaDTO> encontrados = new ArrayList<>();
+        try (ResultSet filas = consultaLike.executeQuery()) {
+            while (filas.next()) {
+                encontrados.add(new ProductoBusquedaDTO(filas.getLong(1), filas.getString(2), filas.getString(3),
+                        filas.getDouble(4), filas.getInt(5)));
+            }
+        }
+        return encontrados;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options opciones = new OptionsBuilder()
+                .include(BusquedaProductosBenchmark.class.getSimpleName())
+                .build();
+        new Runner(opciones).run();
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.acceso.benchmarks;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.example.acceso.AccesoApplication;
+import com.example.acceso.DTO.CatalogoModificadoDTO;
+import com.example.acceso.model.Categoria;
+import com.example.acceso.model.Producto;
+import com.example.acceso.model.ProductoImagen;
+import com.example.acceso.repository.CategoriaRepository;
+import com.example.acceso.repository.ProductoImagenRepository;
+import com.example.acceso.repository.ProductoRepository;
+import com.example.acceso.service.Interfaces.CatalogoPublicoService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Mide cuántas peticiones por segundo atiende el catálogo público a través de
+ * HTTP, con la aplicación levantada en un puerto local con el perfil
+ * {@code test} y {@link #PRODUCTOS} productos de tres imágenes cada uno.
+ *
+ * Se comparan tres casos, con varios clientes a la vez:
+ * <ul>
+ *   <li>{@code generadoEnCadaPeticion}: se invalida el catálogo antes de cada
+ *   petición, así que se consulta la base de datos y se genera el JSON, como
+ *   antes.</li>
+ *   <li>{@code desdeMemoria}: el catálogo ya generado se sirve desde memoria.</li>
+ *   <li>{@code conEtag}: el navegador envía el ETag vigente y recibe un 304 sin
+ *   cuerpo.</li>
+ * </ul>
+ * Los dos últimos deberían atender bastantes más peticiones que el primero.
+ *
+ * No se ejecuta con {@code mvn test}; se lanza desde {@link #main(String[])}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(8)
+@Fork(1)
+public class CatalogoPublicoBenchmark {
+
+    private static final int PRODUCTOS = 300;
+
+    private ConfigurableApplicationContext contexto;
+    private CatalogoPublicoService catalogoPublicoService;
+    private final HttpClient cliente = HttpClient.newHttpClient();
+    private URI catalogo;
+    private String etag;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        contexto = new SpringApplicationBuilder(AccesoApplication.class)
+                .profiles("test")
+                .properties("server.port=0")
+                .run();
+        catalogoPublicoService = contexto.getBean(CatalogoPublicoService.class);
+        ProductoRepository productoRepository = contexto.getBean(ProductoRepository.class);
+        ProductoImagenRepository productoImagenRepository = contexto.getBean(ProductoImagenRepository.class);
+
+        Categoria categoria = contexto.getBean(CategoriaRepository.class).save(new Categoria("Bebidas"));
+        List<Producto> productos = new ArrayList<>();
+        for (int i = 0; i < PRODUCTOS; i++) {
+            productos.add(new Producto("Producto " + i, "Descripcion del producto " + i, 5.0, 10.0 + i, 20, 5, null, categoria));
+        }
+        productos = productoRepository.saveAll(productos);
+
+        List<ProductoImagen> imagenes = new ArrayList<>();
+        for (Producto producto : productos) {
+            for (int orden = 0; orden < 3; orden++) {
+                imagenes.add(new ProductoImagen(producto,
+                        "https://res.cloudinary.com/demo/image/upload/v1/productos_acuamont/" + producto.getId() + "/" + orden + ".jpg",
+                        "productos_acuamont/" + producto.getId() + "/" + orden, orden, orden == 0, 800, 600));
+            }
+        }
+        productoImagenRepository.saveAll(imagenes);
+        catalogoPublicoService.invalidarCatalogo(new CatalogoModificadoDTO());
+
+        catalogo = URI.create("http://localhost:" + contexto.getEnvironment().getProperty("local.server.port")
+                + "/productos/api/catalogo");
+        etag = pedir(null).headers().firstValue("ETag").orElseThrow();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        contexto.close();
+    }
+
+    private HttpResponse<String> pedir(String etagVigente) throws IOException, InterruptedException {
+        HttpRequest.Builder peticion = HttpRequest.newBuilder(catalogo);
+        if (etagVigente != null) {
+            peticion.header("If-None-Match", etagVigente);
+        }
+        return cliente.send(peticion.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Benchmark
+    public int generadoEnCadaPeticion() throws Exception {
+        catalogoPublicoService.invalidarCatalogo(new CatalogoModificadoDTO());
+        return pedir(null).statusCode();
+    }
+
+    @Benchmark
+    public int desdeMemoria() throws Exception {
+        return pedir(null).statusCode();
+    }
+
+    @Benchmark
+    public int conEtag() throws Exception {
+        return pedir(etag).statusCode();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options opciones = new OptionsBuilder()
+                .include(CatalogoPublicoBenchmark.class.getSimpleName())
+                .build();
+        new Runner(opciones).run();
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.acceso.benchmarks;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.example.acceso.DTO.BloqueCorrelativosDTO;
+import com.example.acceso.model.SerieComprobante;
+import com.example.acceso.repository.SerieComprobanteRepository;
+import com.example.acceso.service.Implements.CorrelativoServiceImpl;
+import com.example.acceso.service.Implements.MetricasServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compara el asignador de correlativos en modo estricto y por bloques.
+ *
+ * La base de datos se reemplaza por un repositorio en memoria que simula la
+ * fila de la serie: cada sentencia cuesta un viaje a la base de datos y, en el
+ * modo estricto, la fila queda bloqueada desde el {@code SELECT ... FOR UPDATE}
+ * hasta que se reserva el número, igual que durante la transacción de una venta.
+ *
+ * No se ejecuta con {@code mvn test}; se lanza desde {@link #main(String[])} con
+ * 1, 8 y 32 hilos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CorrelativoBenchmark {
+
+    /** Costo simulado de un viaje a la base de datos, en unidades de Blackhole. */
+    private static final long COSTO_SENTENCIA = 2_000;
+
+    private final ReentrantLock filaSerie = new ReentrantLock();
+    private int correlativoActual;
+
+    private CorrelativoServiceImpl correlativoService;
+    private SerieComprobante serieEstricta;
+    private SerieComprobante seriePorBloques;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        correlativoActual = 0;
+
+        CorrelativoServiceImpl[] servicio = new CorrelativoServiceImpl[1];
+        correlativoService = new CorrelativoServiceImpl(repositorioSimulado(),
+                evento -> servicio[0].publicarBloque((BloqueCorrelativosDTO) evento),
+                new MetricasServiceImpl(new SimpleMeterRegistry()), 50);
+        servicio[0] = correlativoService;
+
+        serieEstricta = new SerieComprobante("Boleta", "E001", 0);
+        serieEstricta.setId(1L);
+        seriePorBloques = new SerieComprobante("Boleta", "B001", 0);
+        seriePorBloques.setId(2L);
+        seriePorBloques.setCorrelativoEstricto(false);
+    }
+
+    /**
+     * Repositorio en memoria que solo implementa las sentencias que usa el
+     * asignador. La fila queda bloqueada hasta el final de la "transacción":
+     * en el modo estricto, hasta reservar el único número; por bloques, hasta
+     * leer el último número reservado.
+     */
+    private SerieComprobanteRepository repositorioSimulado() {
+        return (SerieComprobanteRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { SerieComprobanteRepository.class }, (proxy, metodo, args) -> {
+                    switch (metodo.getName()) {
+                        case "bloquearCorrelativoActual":
+                            filaSerie.lock();
+                            Blackhole.consumeCPU(COSTO_SENTENCIA);
+                            return correlativoActual;
+                        case "reservarCorrelativos":
+                            filaSerie.lock();
+                            Blackhole.consumeCPU(COSTO_SENTENCIA);
+                            correlativoActual += (Integer) args[1];
+                            if ((Integer) args[1] == 1) {
+                                liberarFila();
+                            }
+                            return 1;
+                        case "findCorrelativoActualById":
+                            Blackhole.consumeCPU(COSTO_SENTENCIA);
+                            int actual = correlativoActual;
+                            liberarFila();
+                            return actual;
+                        default:
+                            throw new UnsupportedOperationException(metodo.getName());
+                    }
+                });
+    }
+
+    private void liberarFila() {
+        while (filaSerie.isHeldByCurrentThread()) {
+            filaSerie.unlock();
+        }
+    }
+
+    @Benchmark
+    public int estricto() {
+        return correlativoService.siguienteCorrelativo(serieEstricta);
+    }
+
+    @Benchmark
+    public int porBloques() {
+        return correlativoService.siguienteCorrelativo(seriePorBloques);
+    }
+
+    public static void main(String[] args) throws Exception {
+        for (int hilos : new int[] { 1, 8, 32 }) {
+            Options opciones = new OptionsBuilder()
+                    .include(CorrelativoBenchmark.class.getSimpleName())
+                    .threads(hilos)
+                    .build();
+            new Runner(opciones).run();
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.example.acceso.benchmarks;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import com.example.acceso.model.Usuario;
+import com.example.acceso.repository.UsuarioRepository;
+import com.example.acceso.service.Implements.AutenticacionServiceImpl;
+import com.example.acceso.service.Implements.ClavesServiceImpl;
+import com.example.acceso.service.Implements.LimitadorIntentosServiceImpl;
+import com.example.acceso.service.Interfaces.AutenticacionService;
+import com.example.acceso.service.Interfaces.ClavesService;
+import com.example.acceso.service.Interfaces.ServicioAutenticacionDosPasos;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Mide cuánto tarda el inicio de sesión de un usuario legítimo durante una
+ * ráfaga de relleno de credenciales de 1000 intentos por segundo.
+ *
+ * Los {@link #ATACANTES} hilos del grupo {@code rafaga} prueban contraseñas al
+ * ritmo fijado, desde {@link #IPS_ATACANTES} IPs y sobre
+ * {@link #USUARIOS_ATACADOS} usuarios. Un hilo más inicia sesión con
+ * credenciales correctas, rotando entre usuarios e IPs propios. El resultado
+ * que importa es el percentil 99 de {@code legitimo}; el de {@code atacante}
+ * solo muestra cuánto cuesta rechazar.
+ *
+ * Se comparan dos modos, ambos con BCrypt real de costo 10:
+ * <ul>
+ *   <li>{@code pipeline}: el limitador de intentos y el grupo acotado de hilos
+ *   de BCrypt, como en producción.</li>
+ *   <li>{@code sinLimite}: sin limitador y con BCrypt en el hilo de cada
+ *   petición, como antes.</li>
+ * </ul>
+ * El repositorio de usuarios se reemplaza por uno en memoria. El calentamiento
+ * es largo a propósito: al empezar, las cubetas de las IPs atacantes están
+ * llenas y dejan pasar una primera tanda de intentos hasta BCrypt; la medición
+ * empieza cuando esa tanda ya se procesó.
+ *
+ * No se ejecuta con {@code mvn test}; se lanza desde {@link #main(String[])}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class LoginRafagaBenchmark {
+
+    private static final int INTENTOS_POR_SEGUNDO = 1_000;
+    private static final int ATACANTES = 32;
+    private static final int IPS_ATACANTES = 20;
+    private static final int USUARIOS_ATACADOS = 200;
+    private static final int USUARIOS_LEGITIMOS = 1_000;
+    private static final String CLAVE = "clave-correcta";
+
+    @Param({"pipeline", "sinLimite"})
+    public String modo;
+
+    private AutenticacionService autenticacionService;
+    private ClavesServiceImpl clavesPipeline;
+    private Usuario[] legitimos;
+    private final AtomicInteger siguienteLegitimo = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(10);
+        String hash = passwordEncoder.encode(CLAVE);
+        legitimos = new Usuario[USUARIOS_LEGITIMOS];
+        for (int i = 0; i < USUARIOS_LEGITIMOS; i++) {
+            legitimos[i] = usuario((long) i + 1, "legitimo" + i, hash);
+        }
+
+        if (modo.equals("pipeline")) {
+            clavesPipeline = new ClavesServiceImpl(passwordEncoder, 2, 32, Duration.ofSeconds(5));
+            autenticacionService = new AutenticacionServiceImpl(repositorioSimulado(hash), clavesPipeline,
+                    new LimitadorIntentosServiceImpl(5, 5, 10, 10, 4096), sin2FA());
+        } else {
+            autenticacionService = new AutenticacionServiceImpl(repositorioSimulado(hash),
+                    clavesEnElHilo(passwordEncoder), (usuario, ip) -> true, sin2FA());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (clavesPipeline != null) {
+            clavesPipeline.cerrar();
+        }
+    }
+
+    private static Usuario usuario(Long id, String nombre, String hash) {
+        Usuario usuario = new Usuario();
+        usuario.setId(id);
+        usuario.setUsuario(nombre);
+        usuario.setClave(hash);
+        usuario.setEstado(1);
+        return usuario;
+    }
+
+    /**
+     * Repositorio en memoria: los usuarios legítimos y los atacados existen, con
+     * la misma contraseña; los atacantes nunca la aciertan.
+     */
+    private UsuarioRepository repositorioSimulado(String hash) {
+        return (UsuarioRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { UsuarioRepository.class }, (proxy, metodo, args) -> {
+                    switch (metodo.getName()) {
+                        case "findByUsuario":
+                            String nombre = (String) args[0];
+                            if (nombre.startsWith("legitimo")) {
+                                return Optional.of(legitimos[Integer.parseInt(nombre.substring(8))]);
+                            }
+                            return Optional.of(usuario(-1L, nombre, hash));
+                        case "actualizarClave":
+                            return 1;
+                        default:
+                            throw new UnsupportedOperationException(metodo.getName());
+                    }
+                });
+    }
+
+    /** BCrypt en el hilo de cada petición, sin límite de concurrencia. */
+    private static ClavesService clavesEnElHilo(BCryptPasswordEncoder passwordEncoder) {
+        return new ClavesService() {
+            @Override
+            public boolean verificar(String clave, String claveCodificada) {
+                return passwordEncoder.matches(clave, claveCodificada);
+            }
+
+            @Override
+            public String codificar(String clave) {
+                return passwordEncoder.encode(clave);
+            }
+
+            @Override
+            public boolean requiereRecodificar(String claveCodificada) {
+                return false;
+            }
+        };
+    }
+
+    private static ServicioAutenticacionDosPasos sin2FA() {
+        return new ServicioAutenticacionDosPasos() {
+            @Override
+            public String generarNuevoSecreto() {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public String generarUriDatosQr(String secreto, String email, String issuer) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public boolean esCodigoValido(Long usuarioId, String secreto, String codigo) {
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Reparte el ritmo de la ráfaga entre los hilos atacantes. La espera se hace
+     * antes de cada intento, fuera de la medición.
+     */
+    @State(Scope.Thread)
+    public static class Ritmo {
+        private static final long PERIODO = TimeUnit.SECONDS.toNanos(1) * ATACANTES / INTENTOS_POR_SEGUNDO;
+        private long siguiente;
+
+        @Setup(Level.Invocation)
+        public void esperarTurno() {
+            long ahora = System.nanoTime();
+            if (siguiente > ahora) {
+                LockSupport.parkNanos(siguiente - ahora);
+            }
+            siguiente = Math.max(siguiente, ahora) + PERIODO;
+        }
+    }
+
+    @Benchmark
+    @Group("rafaga")
+    @GroupThreads(ATACANTES)
+    public boolean atacante(Ritmo ritmo) {
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        return intentar("victima" + aleatorio.nextInt(USUARIOS_ATACADOS), "clave" + aleatorio.nextInt(),
+                "203.0.113." + aleatorio.nextInt(IPS_ATACANTES));
+    }
+
+    @Benchmark
+    @Group("rafaga")
+    @GroupThreads(1)
+    public boolean legitimo() {
+        int i = siguienteLegitimo.getAndIncrement() % USUARIOS_LEGITIMOS;
+        return intentar("legitimo" + i, CLAVE, "198.51.100." + (i % 250));
+    }
+
+    private boolean intentar(String usuario, String clave, String ip) {
+        try {
+            autenticacionService.autenticar(usuario, clave, "", ip);
+            return true;
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return false;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options opciones = new OptionsBuilder()
+                .include(LoginRafagaBenchmark.class.getSimpleName())
+                .build();
+        new Runner(opciones).run();
+    }
+}
@@ -0,0 +1,190 @@
+package com.example.acceso.benchmarks;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import com.example.acceso.model.*;
+import com.example.acceso.repository.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Compara el reporte de utilidad por venta calculado con el precio de compra
+ * actual (uniendo {@code productos}) contra el que suma la utilidad guardada en
+ * {@code detalle_venta}.
+ *
+ * Siembra 100.000 ventas con 3 líneas cada una y comprueba que el plan de la
+ * consulta actual ya no lee {@code productos} y que el reporte completo tarda
+ * menos que antes. Los planes y los tiempos medianos del reporte completo y de
+ * un mes se muestran en el mensaje de las aserciones. No forma parte de
+ * {@code mvn test}; se ejecuta con
+ * {@code mvn test -Dtest=ReportesUtilidadBenchmark}.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReportesUtilidadBenchmark {
+
+    private static final int VENTAS = 100_000;
+    private static final int LINEAS_POR_VENTA = 3;
+    private static final int PRODUCTOS = 1_000;
+    private static final int REPETICIONES = 7;
+
+    /** La consulta del reporte antes de guardar el costo en el detalle. */
+    private static final String ANTES = """
+        SELECT CONCAT(sc.serie, '-', v.correlativo) AS documento, c.nombre AS cliente, v.fecha AS fecha,
+               v.total AS totalVenta, SUM((dv.precio_unitario - p.precio_compra) * dv.cantidad) AS utilidad
+        FROM ventas v
+        INNER JOIN clientes c ON v.id_cliente = c.id
+        INNER JOIN series_comprobante sc ON v.id_serie_comprobante = sc.id
+        INNER JOIN detalle_venta dv ON v.id = dv.id_venta
+        INNER JOIN productos p ON dv.id_producto = p.id
+        WHERE v.estado = 1 AND v.fecha BETWEEN ? AND ?
+        GROUP BY v.id, sc.serie, v.correlativo, c.nombre, v.fecha, v.total
+        ORDER BY v.fecha DESC
+        """;
+
+    /** La consulta actual de {@link ReportesRepository#obtenerUtilidadPorVentaRango}. */
+    private static final String DESPUES = """
+        SELECT CONCAT(sc.serie, '-', v.correlativo) AS documento, c.nombre AS cliente, v.fecha AS fecha,
+               v.total AS totalVenta, SUM(dv.utilidad) AS utilidad
+        FROM ventas v
+        INNER JOIN clientes c ON v.id_cliente = c.id
+        INNER JOIN series_comprobante sc ON v.id_serie_comprobante = sc.id
+        INNER JOIN detalle_venta dv ON v.id = dv.id_venta
+        WHERE v.estado = 1 AND v.fecha BETWEEN ? AND ?
+        GROUP BY v.id, sc.serie, v.correlativo, c.nombre, v.fecha, v.total
+        ORDER BY v.fecha DESC
+        """;
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private ReportesRepository reportesRepository;
+    @Autowired private ClienteRepository clienteRepository;
+    @Autowired private SerieComprobanteRepository serieComprobanteRepository;
+    @Autowired private CategoriaRepository categoriaRepository;
+    @Autowired private ProductoRepository productoRepository;
+
+    private Cliente cliente;
+    private SerieComprobante serie;
+    private Categoria categoria;
+    private final LocalDateTime inicio = LocalDateTime.of(2020, 1, 1, 8, 0);
+
+    @BeforeEach
+    void sembrar() {
+        cliente = clienteRepository.save(new Cliente("Cliente Benchmark", "99999999", "", "benchmark@prueba.com"));
+        serie = serieComprobanteRepository.save(new SerieComprobante("Boleta", "B999", 0));
+        categoria = categoriaRepository.save(new Categoria("Benchmark"));
+
+        List<Long> productos = new ArrayList<>();
+        for (int i = 0; i < PRODUCTOS; i++) {
+            productos.add(productoRepository.save(new Producto("Producto " + i, "Descripcion " + i,
+                    5.0 + i % 7, 12.0 + i % 11, 1_000_000, 5, "[]", categoria)).getId());
+        }
+
+        List<Object[]> ventas = new ArrayList<>();
+        List<Object[]> detalles = new ArrayList<>();
+        long primerId = 10_000_000L;
+        for (int i = 0; i < VENTAS; i++) {
+            long ventaId = primerId + i;
+            ventas.add(new Object[] { ventaId, serie.getId(), i + 1, cliente.getId(),
+                    Timestamp.valueOf(inicio.plusMinutes(i * 15L)), 100, 0, i % 20 == 0 ? 2 : 1 });
+            for (int l = 0; l < LINEAS_POR_VENTA; l++) {
+                int producto = (i * LINEAS_POR_VENTA + l) % PRODUCTOS;
+                BigDecimal costo = BigDecimal.valueOf(5.0 + producto % 7);
+                BigDecimal precio = BigDecimal.valueOf(12.0 + producto % 11);
+                detalles.add(new Object[] { ventaId, productos.get(producto), 2, precio, precio.multiply(BigDecimal.TWO),
+                        costo, precio.subtract(costo).multiply(BigDecimal.TWO) });
+            }
+            if (ventas.size() == 10_000) {
+                insertar(ventas, detalles);
+            }
+        }
+        insertar(ventas, detalles);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    private void insertar(List<Object[]> ventas, List<Object[]> detalles) {
+        jdbcTemplate.batchUpdate("INSERT INTO ventas (id, id_serie_comprobante, correlativo, id_cliente, fecha, total, "
+                + "deuda, estado) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", ventas);
+        jdbcTemplate.batchUpdate("INSERT INTO detalle_venta (id_venta, id_producto, cantidad, precio_unitario, subtotal, "
+                + "costo_unitario, utilidad) VALUES (?, ?, ?, ?, ?, ?, ?)", detalles);
+        ventas.clear();
+        detalles.clear();
+    }
+
+    @AfterEach
+    void limpiar() {
+        jdbcTemplate.update("DELETE FROM detalle_venta WHERE id_venta IN (SELECT id FROM ventas WHERE id_serie_comprobante = ?)",
+                serie.getId());
+        jdbcTemplate.update("DELETE FROM ventas WHERE id_serie_comprobante = ?", serie.getId());
+        productoRepository.deleteAll(productoRepository.findAll().stream()
+                .filter(producto -> producto.getCategoria().getId().equals(categoria.getId())).toList());
+        categoriaRepository.delete(categoria);
+        serieComprobanteRepository.delete(serie);
+        clienteRepository.delete(cliente);
+    }
+
+    @Test
+    void compararReportePorVenta() {
+        Timestamp desde = Timestamp.valueOf(inicio);
+        Timestamp hasta = Timestamp.valueOf(inicio.plusYears(10));
+        Timestamp finMes = Timestamp.valueOf(inicio.plusMonths(1));
+
+        String planAntes = plan(ANTES, desde, hasta);
+        String planDespues = plan(DESPUES, desde, hasta);
+        double antesHistorico = medianaMs(ANTES, desde, hasta);
+        double despuesHistorico = medianaMs(DESPUES, desde, hasta);
+        double antesMes = medianaMs(ANTES, desde, finMes);
+        double despuesMes = medianaMs(DESPUES, desde, finMes);
+
+        String resumen = String.format("Utilidad por venta: todo el histórico antes %.1f ms, después %.1f ms; "
+                + "un mes antes %.1f ms, después %.1f ms.%nPlan ANTES:%n%s%nPlan DESPUÉS:%n%s",
+                antesHistorico, despuesHistorico, antesMes, despuesMes, planAntes, planDespues);
+
+        // El reporte ya no necesita leer el precio de compra de cada producto
+        assertThat(planAntes.toLowerCase()).as(resumen).contains("productos");
+        assertThat(planDespues.toLowerCase()).as(resumen).doesNotContain("productos");
+        assertThat(despuesHistorico).as(resumen).isLessThan(antesHistorico);
+
+        // Los datos sembrados usan el precio de compra vigente, así que ambos reportes coinciden
+        assertThat(jdbcTemplate.queryForList(DESPUES, desde, hasta))
+                .hasSameSizeAs(jdbcTemplate.queryForList(ANTES, desde, hasta))
+                .hasSize(VENTAS - VENTAS / 20);
+        assertThat(reportesRepository.obtenerUtilidadPorVentaRango(inicio, inicio.plusMonths(1))).isNotEmpty();
+    }
+
+    private String plan(String consulta, Object... parametros) {
+        return jdbcTemplate.queryForList("EXPLAIN " + consulta, parametros).stream()
+                .map(Map::values)
+                .map(Object::toString)
+                .reduce("", String::concat);
+    }
+
+    private double medianaMs(String consulta, Object... parametros) {
+        jdbcTemplate.queryForList(consulta, parametros);
+        double[] tiempos = new double[REPETICIONES];
+        for (int i = 0; i < REPETICIONES; i++) {
+            long inicioConsulta = System.nanoTime();
+            jdbcTemplate.queryForList(consulta, parametros);
+            tiempos[i] = (System.nanoTime() - inicioConsulta) / 1_000_000.0;
+        }
+        Arrays.sort(tiempos);
+        return tiempos[REPETICIONES / 2];
+    }
+}
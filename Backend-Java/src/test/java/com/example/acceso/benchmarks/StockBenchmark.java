@@ -0,0 +1,125 @@
+package com.example.acceso.benchmarks;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.example.acceso.repository.ProductoRepository;
+import com.example.acceso.repository.ProductoStockRepositoryImpl;
+import com.example.acceso.service.Implements.MetricasServiceImpl;
+import com.example.acceso.service.Implements.StockServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcConnectionPool;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Mide cuántos descuentos de stock por segundo atiende {@link StockServiceImpl}
+ * con 1, 8 y 64 cajeros, cada uno vendiendo su propio producto.
+ *
+ * Las sentencias son las de {@link ProductoStockRepositoryImpl}, contra una base
+ * H2 en memoria con {@link #PRODUCTOS} productos. Cada descuento se confirma
+ * solo, como una venta de una línea. Con productos distintos ningún cajero
+ * espera la fila de otro, así que las ventas por segundo deberían crecer con
+ * los cajeros hasta agotar los núcleos; sobre un único producto el límite es
+ * la fila bloqueada, y eso lo cubre {@code StockServiceConcurrenciaTest}.
+ *
+ * No se ejecuta con {@code mvn test}; se lanza desde {@link #main(String[])} con
+ * 1, 8 y 64 hilos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StockBenchmark {
+
+    private static final int PRODUCTOS = 64;
+    private static final int STOCK_INICIAL = 1_000_000_000;
+
+    private JdbcConnectionPool conexiones;
+    private StockServiceImpl stockService;
+    private final AtomicInteger siguienteCajero = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        conexiones = JdbcConnectionPool.create("jdbc:h2:mem:stock;MODE=MySQL;DATABASE_TO_LOWER=TRUE", "sa", "");
+        conexiones.setMaxConnections(PRODUCTOS + 1);
+        try (Connection conexion = conexiones.getConnection()) {
+            try (Statement sentencia = conexion.createStatement()) {
+                sentencia.execute("CREATE TABLE productos (id BIGINT PRIMARY KEY, nombre VARCHAR(100), stock INT)");
+            }
+            try (PreparedStatement insertar = conexion.prepareStatement("INSERT INTO productos VALUES (?, ?, ?)")) {
+                for (long id = 1; id <= PRODUCTOS; id++) {
+                    insertar.setLong(1, id);
+                    insertar.setString(2, "Producto " + id);
+                    insertar.setInt(3, STOCK_INICIAL);
+                    insertar.addBatch();
+                }
+                insertar.executeBatch();
+            }
+        }
+
+        stockService = new StockServiceImpl(repositorioSobreH2(new ProductoStockRepositoryImpl(new JdbcTemplate(conexiones))),
+                evento -> { }, new MetricasServiceImpl(new SimpleMeterRegistry()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        conexiones.dispose();
+    }
+
+    /**
+     * Repositorio que solo implementa las sentencias de stock, delegando en el
+     * fragmento JDBC real.
+     */
+    private ProductoRepository repositorioSobreH2(ProductoStockRepositoryImpl stock) {
+        return (ProductoRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { ProductoRepository.class }, (proxy, metodo, args) -> {
+                    switch (metodo.getName()) {
+                        case "descontarStockSiDisponible":
+                            return stock.descontarStockSiDisponible((Long) args[0], (Integer) args[1]);
+                        case "incrementarStock":
+                            return stock.incrementarStock((Long) args[0], (Integer) args[1]);
+                        default:
+                            throw new UnsupportedOperationException(metodo.getName());
+                    }
+                });
+    }
+
+    /** El producto que vende cada cajero; los cajeros se reparten los productos en orden. */
+    @State(Scope.Thread)
+    public static class Cajero {
+        private Map<Long, Integer> venta;
+
+        @Setup(Level.Trial)
+        public void asignarProducto(StockBenchmark benchmark) {
+            long productoId = benchmark.siguienteCajero.getAndIncrement() % PRODUCTOS + 1;
+            venta = Map.of(productoId, 1);
+        }
+    }
+
+    @Benchmark
+    public void descontarStock(Cajero cajero) {
+        stockService.descontarStock(cajero.venta);
+    }
+
+    public static void main(String[] args) throws Exception {
+        for (int hilos : new int[] { 1, 8, 64 }) {
+            Options opciones = new OptionsBuilder()
+                    .include(StockBenchmark.class.getSimpleName())
+                    .threads(hilos)
+                    .build();
+            new Runner(opciones).run();
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.acceso.benchmarks;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.example.acceso.DTO.FiltroVentasDTO;
+import com.example.acceso.DTO.PaginaVentasDTO;
+import com.example.acceso.model.*;
+import com.example.acceso.repository.*;
+import com.example.acceso.service.Implements.CorrelativoServiceImpl;
+import com.example.acceso.service.Implements.MetricasServiceImpl;
+import com.example.acceso.service.Implements.ResumenVentasServiceImpl;
+import com.example.acceso.service.Implements.StockServiceImpl;
+import com.example.acceso.service.Implements.VentaServiceImpl;
+import com.example.acceso.service.Interfaces.VentaService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Mide el listado paginado de ventas con 500.000 ventas sembradas.
+ *
+ * Recorre todas las páginas con el cursor y comprueba que las últimas no
+ * tardan más de {@link #MARGEN} veces lo que tardan las primeras, y que la
+ * misma página profunda pedida con {@code OFFSET} tarda al menos
+ * {@link #MARGEN} veces más que con el cursor. Los tiempos medidos se muestran
+ * en el mensaje de las aserciones.
+ *
+ * No forma parte de {@code mvn test} por su duración; se ejecuta con
+ * {@code mvn test -Dtest=VentaPaginacionBenchmark}.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({VentaServiceImpl.class, StockServiceImpl.class, CorrelativoServiceImpl.class,
+        ResumenVentasServiceImpl.class, MetricasServiceImpl.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class VentaPaginacionBenchmark {
+
+    private static final int VENTAS = 500_000;
+    private static final int TAMANO_PAGINA = 100;
+    private static final int MUESTRA = 20;
+    private static final int REPETICIONES_OFFSET = 5;
+    /** Cuántas veces más lenta puede ser una página profunda que una de las primeras. */
+    private static final double MARGEN = 3;
+    /** Margen absoluto para cuando las primeras páginas tardan menos de un milisegundo. */
+    private static final double HOLGURA_MS = 2;
+
+    @Autowired private VentaService ventaService;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private ClienteRepository clienteRepository;
+    @Autowired private UsuarioRepository usuarioRepository;
+    @Autowired private FormaPagoRepository formaPagoRepository;
+    @Autowired private SerieComprobanteRepository serieComprobanteRepository;
+
+    private Cliente cliente;
+    private Usuario usuario;
+    private FormaPago contado;
+    private SerieComprobante serie;
+
+    @BeforeEach
+    void sembrarVentas() {
+        cliente = clienteRepository.save(new Cliente("Cliente Benchmark", "99999999", "", "benchmark@prueba.com"));
+        usuario = usuarioRepository.save(new Usuario("Usuario Benchmark", "benchmark", "clave123", "usuario@prueba.com"));
+        contado = formaPagoRepository.save(new FormaPago("Contado"));
+        serie = serieComprobanteRepository.save(new SerieComprobante("Boleta", "B999", 0));
+
+        LocalDateTime inicio = LocalDateTime.of(2020, 1, 1, 8, 0);
+        List<Object[]> lote = new ArrayList<>();
+        for (int i = 0; i < VENTAS; i++) {
+            // Varias ventas por minuto para que haya empates en la fecha
+            lote.add(new Object[] { serie.getId(), i + 1, cliente.getId(), usuario.getId(),
+                    Timestamp.valueOf(inicio.plusMinutes(i / 3)), 10, contado.getId(), 0, i % 50 == 0 ? 2 : 1 });
+            if (lote.size() == 10_000) {
+                insertar(lote);
+            }
+        }
+        insertar(lote);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    private void insertar(List<Object[]> lote) {
+        jdbcTemplate.batchUpdate("INSERT INTO ventas (id_serie_comprobante, correlativo, id_cliente, id_usuario, "
+                + "fecha, total, id_forma_pago, deuda, estado) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", lote);
+        lote.clear();
+    }
+
+    @AfterEach
+    void limpiar() {
+        jdbcTemplate.update("DELETE FROM ventas WHERE id_serie_comprobante = ?", serie.getId());
+        serieComprobanteRepository.delete(serie);
+        formaPagoRepository.delete(contado);
+        usuarioRepository.delete(usuario);
+        clienteRepository.delete(cliente);
+    }
+
+    @Test
+    void recorrerTodasLasPaginas() {
+        FiltroVentasDTO filtro = new FiltroVentasDTO(null, null, null, null, serie.getId());
+        List<Long> tiempos = new ArrayList<>();
+        int ventasListadas = 0;
+
+        String cursor = null;
+        do {
+            long inicio = System.nanoTime();
+            PaginaVentasDTO pagina = ventaService.listarVentasPaginadas(filtro, cursor, TAMANO_PAGINA);
+            tiempos.add(System.nanoTime() - inicio);
+            ventasListadas += pagina.ventas().size();
+            cursor = pagina.siguienteCursor();
+        } while (cursor != null);
+
+        // Referencia: la misma página profunda pedida con OFFSET
+        List<Long> tiemposOffset = new ArrayList<>();
+        for (int i = 0; i < REPETICIONES_OFFSET; i++) {
+            long inicioOffset = System.nanoTime();
+            jdbcTemplate.queryForList("SELECT id FROM ventas WHERE estado <> 2 AND id_serie_comprobante = ? "
+                    + "ORDER BY fecha DESC, id DESC LIMIT ? OFFSET ?", serie.getId(), TAMANO_PAGINA, ventasListadas - TAMANO_PAGINA);
+            tiemposOffset.add(System.nanoTime() - inicioOffset);
+        }
+
+        double primeras = promedioMs(tiempos.subList(1, 1 + MUESTRA));
+        double medias = promedioMs(tiempos.subList(tiempos.size() / 2, tiempos.size() / 2 + MUESTRA));
+        double ultimas = promedioMs(tiempos.subList(tiempos.size() - MUESTRA, tiempos.size()));
+        double offset = promedioMs(tiemposOffset);
+
+        String resumen = String.format("Paginación por cursor sobre %d ventas (%d páginas de %d): primeras %.2f ms, "
+                + "del medio %.2f ms, últimas %.2f ms por página; última página con OFFSET %.2f ms",
+                VENTAS, tiempos.size(), TAMANO_PAGINA, primeras, medias, ultimas, offset);
+
+        assertThat(ventasListadas).as(resumen).isEqualTo(VENTAS - VENTAS / 50);
+        // Con el cursor la página no depende de su posición; con OFFSET se recorren todas las anteriores
+        assertThat(ultimas).as(resumen).isLessThanOrEqualTo(Math.max(primeras * MARGEN, primeras + HOLGURA_MS));
+        assertThat(ultimas * MARGEN).as(resumen).isLessThan(offset);
+    }
+
+    private static double promedioMs(List<Long> tiempos) {
+        return tiempos.stream().mapToLong(Long::longValue).average().orElse(0) / 1_000_000.0;
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.acceso.services;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+import java.util.stream.Stream;
+
+import com.example.acceso.DTO.ImagenSubidaDTO;
+import com.example.acceso.service.Interfaces.AlmacenImagenes;
+
+/**
+ * Almacén de imágenes sobre una carpeta local, para las pruebas que no deben
+ * llamar a Cloudinary. Cuenta cuántas veces se lista una carpeta, puede simular
+ * la latencia de la red, que una subida falle o que el almacén no responda, y
+ * registra cuántas conexiones a la base de datos estaban en uso durante las
+ * subidas.
+ */
+class AlmacenImagenesLocal implements AlmacenImagenes {
+
+    private final Path raiz;
+    private int listados;
+    private volatile boolean caido;
+    private volatile Duration latencia = Duration.ZERO;
+    private volatile int fallarEnSubida;
+    private final AtomicInteger subidas = new AtomicInteger();
+    private volatile IntSupplier conexionesActivas = () -> 0;
+    private volatile Runnable alListar = () -> { };
+    private final AtomicInteger maximoConexionesEnSubida = new AtomicInteger();
+
+    AlmacenImagenesLocal(Path raiz) {
+        this.raiz = raiz;
+    }
+
+    int getListados() {
+        return listados;
+    }
+
+    void setCaido(boolean caido) {
+        this.caido = caido;
+    }
+
+    void setLatencia(Duration latencia) {
+        this.latencia = latencia;
+    }
+
+    /** Hace fallar la n-ésima subida desde ahora (contando desde 1); 0 para no fallar nunca. */
+    void setFallarEnSubida(int fallarEnSubida) {
+        subidas.set(0);
+        this.fallarEnSubida = fallarEnSubida;
+    }
+
+    void setConexionesActivas(IntSupplier conexionesActivas) {
+        this.conexionesActivas = conexionesActivas;
+    }
+
+    /** Acción que se ejecuta después de leer una carpeta y antes de devolver la lista. */
+    void setAlListar(Runnable alListar) {
+        this.alListar = alListar;
+    }
+
+    int getMaximoConexionesEnSubida() {
+        return maximoConexionesEnSubida.get();
+    }
+
+    @Override
+    public String subir(byte[] contenido, String carpeta) {
+        verificarDisponible();
+        try {
+            Path destino = Files.createDirectories(raiz.resolve(carpeta)).resolve(UUID.randomUUID() + ".jpg");
+            Files.write(destino, contenido);
+            return destino.toUri().toString();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public ImagenSubidaDTO subir(Path archivo, String carpeta) {
+        verificarDisponible();
+        maximoConexionesEnSubida.accumulateAndGet(conexionesActivas.getAsInt(), Math::max);
+        try {
+            Thread.sleep(latencia);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+        if (subidas.incrementAndGet() == fallarEnSubida) {
+            throw new RuntimeException("El almacén rechazó la imagen");
+        }
+        try {
+            Path destino = Files.createDirectories(raiz.resolve(carpeta)).resolve(UUID.randomUUID() + ".jpg");
+            Files.copy(archivo, destino);
+            String url = destino.toUri().toString();
+            return new ImagenSubidaDTO(url, obtenerPublicId(url), 800, 600);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void eliminar(String url) {
+        verificarDisponible();
+        try {
+            Files.deleteIfExists(Path.of(URI.create(url)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public List<String> listar(String carpeta) {
+        verificarDisponible();
+        listados++;
+        Path directorio = raiz.resolve(carpeta);
+        List<String> urls = List.of();
+        if (Files.isDirectory(directorio)) {
+            try (Stream<Path> archivos = Files.list(directorio)) {
+                urls = archivos.sorted().map(archivo -> archivo.toUri().toString()).toList();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        alListar.run();
+        return urls;
+    }
+
+    /** La miniatura es la misma imagen con un parámetro que la distingue. */
+    @Override
+    public String urlMiniatura(String url) {
+        return url + "?miniatura";
+    }
+
+    @Override
+    public String obtenerPublicId(String url) {
+        if (url == null || !url.startsWith("file:")) {
+            return null;
+        }
+        return raiz.toUri().relativize(URI.create(url)).toString();
+    }
+
+    /** Todos los archivos guardados en el almacén, de cualquier carpeta. */
+    Stream<Path> listarTodo() throws IOException {
+        if (!Files.isDirectory(raiz)) {
+            return Stream.empty();
+        }
+        return Files.walk(raiz).filter(Files::isRegularFile);
+    }
+
+    private void verificarDisponible() {
+        if (caido) {
+            throw new RuntimeException("El almacén de imágenes no responde");
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.acceso.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import com.example.acceso.DTO.SesionUsuario;
+import com.example.acceso.model.Usuario;
+import com.example.acceso.repository.UsuarioRepository;
+import com.example.acceso.service.Implements.AutenticacionServiceImpl;
+import com.example.acceso.service.Implements.ClavesServiceImpl;
+import com.example.acceso.service.Interfaces.LimitadorIntentosService;
+import com.example.acceso.service.Interfaces.ServicioAutenticacionDosPasos;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Pruebas del Servicio AutenticacionService")
+class AutenticacionServiceTest {
+
+    private static final String IP = "10.0.0.1";
+
+    @Mock private UsuarioRepository usuarioRepository;
+    @Mock private LimitadorIntentosService limitadorIntentosService;
+    @Mock private ServicioAutenticacionDosPasos servicio2FA;
+
+    // BCrypt real con el costo mínimo, para que las pruebas sean rápidas
+    private ClavesServiceImpl clavesService;
+    private AutenticacionServiceImpl autenticacionService;
+    private Usuario usuario;
+
+    @BeforeEach
+    void setUp() {
+        clavesService = claves(5);
+        autenticacionService = new AutenticacionServiceImpl(usuarioRepository, clavesService, limitadorIntentosService,
+                servicio2FA);
+        usuario = new Usuario();
+        usuario.setId(1L);
+        usuario.setNombre("John Doe");
+        usuario.setUsuario("john");
+        usuario.setClave(clavesService.codificar("secreta"));
+        usuario.setEstado(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        clavesService.cerrar();
+    }
+
+    private ClavesServiceImpl claves(int costo) {
+        return new ClavesServiceImpl(new BCryptPasswordEncoder(costo), 2, 8, Duration.ofSeconds(5));
+    }
+
+    @Test
+    @DisplayName("Debe autenticar con el usuario normalizado, devolver solo los datos de sesión y no volver a codificar la contraseña")
+    void testAutenticar_Exitoso() {
+        // Given
+        when(limitadorIntentosService.intentar("john", IP)).thenReturn(true);
+        when(usuarioRepository.findByUsuario("john")).thenReturn(Optional.of(usuario));
+
+        // When
+        SesionUsuario resultado = autenticacionService.autenticar("  John ", "secreta", "", IP);
+
+        // Then
+        assertThat(resultado).isEqualTo(new SesionUsuario(1L, "John Doe", null, SesionUsuario.VERSION_ACTUAL));
+        verify(usuarioRepository, never()).actualizarClave(anyLong(), anyString());
+        verifyNoInteractions(servicio2FA);
+    }
+
+    @Test
+    @DisplayName("Debe rechazar el intento sin consultar la base cuando se superó el límite")
+    void testAutenticar_LimiteSuperado() {
+        // Given
+        when(limitadorIntentosService.intentar("john", IP)).thenReturn(false);
+
+        // When & Then
+        assertThatThrownBy(() -> autenticacionService.autenticar("john", "secreta", "", IP))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Demasiados intentos");
+        verifyNoInteractions(usuarioRepository);
+    }
+
+    @Test
+    @DisplayName("Debe dar el mismo mensaje para un usuario inexistente y para una contraseña incorrecta")
+    void testAutenticar_CredencialesIncorrectas() {
+        // Given
+        when(limitadorIntentosService.intentar(anyString(), eq(IP))).thenReturn(true);
+        when(usuarioRepository.findByUsuario("john")).thenReturn(Optional.of(usuario));
+        when(usuarioRepository.findByUsuario("nadie")).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> autenticacionService.autenticar("john", "otra", "", IP))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Usuario o contraseña incorrectos.");
+        assertThatThrownBy(() -> autenticacionService.autenticar("nadie", "secreta", "", IP))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Usuario o contraseña incorrectos.");
+    }
+
+    @Test
+    @DisplayName("Debe exigir y verificar el token cuando el usuario usa 2FA")
+    void testAutenticar_DosPasos() {
+        // Given
+        usuario.setUsa2FA(true);
+        usuario.setSecreto2FA("SECRETO");
+        when(limitadorIntentosService.intentar("john", IP)).thenReturn(true);
+        when(usuarioRepository.findByUsuario("john")).thenReturn(Optional.of(usuario));
+        when(servicio2FA.esCodigoValido(1L, "SECRETO", "123456")).thenReturn(false);
+        when(servicio2FA.esCodigoValido(1L, "SECRETO", "654321")).thenReturn(true);
+
+        // When & Then
+        assertThatThrownBy(() -> autenticacionService.autenticar("john", "secreta", " ", IP))
+                .hasMessage("Se requiere el token de seguridad.");
+        assertThatThrownBy(() -> autenticacionService.autenticar("john", "secreta", "123456", IP))
+                .hasMessage("El token de seguridad es incorrecto.");
+        assertThat(autenticacionService.autenticar("john", "secreta", "654321", IP).id()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Debe volver a codificar la contraseña al iniciar sesión cuando sube el costo de BCrypt")
+    void testAutenticar_RecodificaConNuevoCosto() {
+        // Given: la contraseña se guardó con costo 5 y ahora el costo es 6
+        ClavesServiceImpl clavesNuevas = claves(6);
+        AutenticacionServiceImpl conNuevoCosto = new AutenticacionServiceImpl(usuarioRepository, clavesNuevas,
+                limitadorIntentosService, servicio2FA);
+        String anterior = usuario.getClave();
+        when(limitadorIntentosService.intentar("john", IP)).thenReturn(true);
+        when(usuarioRepository.findByUsuario("john")).thenReturn(Optional.of(usuario));
+
+        // When
+        conNuevoCosto.autenticar("john", "secreta", "", IP);
+
+        // Then
+        verify(usuarioRepository).actualizarClave(eq(1L), argThat(clave -> clave.startsWith("$2a$06$")));
+        assertThat(usuario.getClave()).isNotEqualTo(anterior).startsWith("$2a$06$");
+        assertThat(clavesNuevas.verificar("secreta", usuario.getClave())).isTrue();
+        clavesNuevas.cerrar();
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.acceso.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import com.example.acceso.DTO.ModeloPermisosDTO;
+import com.example.acceso.DTO.OpcionMenuDTO;
+import com.example.acceso.DTO.PerfilModificadoDTO;
+import com.example.acceso.DTO.PermisosPerfilDTO;
+import com.example.acceso.service.Implements.AutorizacionServiceImpl;
+import com.example.acceso.service.Interfaces.PermisosService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Pruebas del Servicio AutorizacionService")
+class AutorizacionServiceTest {
+
+    private static final Long ADMINISTRADOR = 1L;
+    private static final Long VENDEDOR = 2L;
+
+    // Un PermisosService escrito a mano en lugar de un mock: los mocks crean
+    // objetos en cada llamada y la prueba de asignaciones mediría eso
+    private ModeloPermisosDTO modelo;
+    private final PermisosService permisosService = new PermisosService() {
+        @Override
+        public ModeloPermisosDTO modelo() {
+            return modelo;
+        }
+
+        @Override
+        public List<OpcionMenuDTO> menu(Long perfilId) {
+            return modelo.perfiles().get(perfilId).menu();
+        }
+
+        @Override
+        public void reconstruir() {
+        }
+
+        @Override
+        public void alModificarPerfil(PerfilModificadoDTO evento) {
+        }
+    };
+
+    private AutorizacionServiceImpl autorizacionService;
+
+    @BeforeEach
+    void setUp() {
+        modelo = new ModeloPermisosDTO(1, Map.of(
+                ADMINISTRADOR, permisos(ADMINISTRADOR, "/usuarios/listar", "/perfiles/listar", "/productos/listar"),
+                VENDEDOR, permisos(VENDEDOR, "/ventas/listar")));
+        autorizacionService = new AutorizacionServiceImpl(permisosService);
+    }
+
+    private PermisosPerfilDTO permisos(Long perfilId, String... rutas) {
+        List<OpcionMenuDTO> menu = IntStream.range(0, rutas.length)
+                .mapToObj(i -> new OpcionMenuDTO((long) i, rutas[i], rutas[i], "bi bi-circle"))
+                .toList();
+        return new PermisosPerfilDTO(perfilId, menu, Set.of(rutas));
+    }
+
+    @Test
+    @DisplayName("Debe permitir el módulo de cada opción y las rutas que usa su pantalla, y nada más")
+    void testPermite_PorModulo() {
+        // When & Then
+        assertThat(autorizacionService.permite(ADMINISTRADOR, "/usuarios/api/grilla")).isTrue();
+        assertThat(autorizacionService.permite(ADMINISTRADOR, "/productos//api/guardar/")).isTrue();
+        assertThat(autorizacionService.permite(ADMINISTRADOR, "/ventas/listar")).isFalse();
+        assertThat(autorizacionService.permite(ADMINISTRADOR, "/productosX/listar")).isFalse();
+
+        assertThat(autorizacionService.permite(VENDEDOR, "/ventas/api/guardar")).isTrue();
+        assertThat(autorizacionService.permite(VENDEDOR, "/clientes/api/buscar-documento/12345678")).isTrue();
+        assertThat(autorizacionService.permite(VENDEDOR, "/productos/api/buscar")).isTrue();
+        assertThat(autorizacionService.permite(VENDEDOR, "/productos/api/guardar")).isFalse();
+        assertThat(autorizacionService.permite(VENDEDOR, "/clientes/listar")).isFalse();
+        assertThat(autorizacionService.permite(VENDEDOR, "/usuarios/api/eliminar/1")).isFalse();
+
+        assertThat(autorizacionService.permite(VENDEDOR, "/")).isTrue();
+        assertThat(autorizacionService.permite(VENDEDOR, "/usuarios/api/usuarioLogueado")).isTrue();
+        assertThat(autorizacionService.permite(null, "/")).isTrue();
+        assertThat(autorizacionService.permite(null, "/ventas/listar")).isFalse();
+        assertThat(autorizacionService.permite(9L, "/ventas/listar")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Debe usar los permisos nuevos en cuanto cambia la versión del modelo")
+    void testPermite_NuevaVersion() {
+        // Given
+        assertThat(autorizacionService.permite(VENDEDOR, "/clientes/listar")).isFalse();
+
+        // When
+        modelo = new ModeloPermisosDTO(2, Map.of(VENDEDOR, permisos(VENDEDOR, "/clientes/listar")));
+
+        // Then
+        assertThat(autorizacionService.permite(VENDEDOR, "/clientes/listar")).isTrue();
+        assertThat(autorizacionService.permite(VENDEDOR, "/ventas/listar")).isFalse();
+        assertThat(autorizacionService.permite(ADMINISTRADOR, "/usuarios/listar")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Debe decidir sin crear objetos")
+    void testPermite_SinAsignaciones() {
+        // Given
+        com.sun.management.ThreadMXBean hilos = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long hilo = Thread.currentThread().getId();
+        String[] rutas = {"/usuarios/api/grilla", "/ventas/api/guardar", "/productos/api/buscar", "/reportes/listar"};
+        int permitidas = 0;
+        for (int i = 0; i < 20_000; i++) {
+            permitidas += autorizacionService.permite(ADMINISTRADOR, rutas[i % rutas.length]) ? 1 : 0;
+        }
+
+        // When
+        long antes = hilos.getThreadAllocatedBytes(hilo);
+        for (int i = 0; i < 100_000; i++) {
+            permitidas += autorizacionService.permite(ADMINISTRADOR, rutas[i % rutas.length]) ? 1 : 0;
+        }
+        long asignados = hilos.getThreadAllocatedBytes(hilo) - antes;
+
+        // Then: 100.000 decisiones; lo único asignado es lo que use la propia medición
+        assertThat(permitidas).isEqualTo(60_000);
+        assertThat(asignados).isLessThan(1_024);
+    }
+}
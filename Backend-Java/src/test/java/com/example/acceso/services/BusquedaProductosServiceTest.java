@@ -0,0 +1,227 @@
+package com.example.acceso.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.example.acceso.DTO.CategoriaModificadaDTO;
+import com.example.acceso.DTO.ProductoBusquedaDTO;
+import com.example.acceso.DTO.ProductoModificadoDTO;
+import com.example.acceso.model.Categoria;
+import com.example.acceso.model.Producto;
+import com.example.acceso.repository.ProductoRepository;
+import com.example.acceso.service.Implements.BusquedaProductosServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Pruebas del Servicio BusquedaProductosService")
+class BusquedaProductosServiceTest {
+
+    private static final String[] TIPOS = {"Tubo", "Codo", "Válvula", "Llave de paso", "Bomba", "Filtro", "Manguera",
+            "Tanque", "Unión", "Reducción", "Grifo", "Caño", "Tee", "Adaptador", "Niple", "Abrazadera"};
+    private static final String[] MATERIALES = {"PVC", "cobre", "bronce", "acero inoxidable", "polietileno", "fierro galvanizado"};
+    private static final String[] MEDIDAS = {"1/2", "3/4", "1", "1 1/2", "2", "3", "4"};
+    private static final String[] MARCAS = {"Pavco", "Nicoll", "Rotoplas", "Eternit", "Vainsa", "Trébol", "Pedrollo"};
+    private static final String[] CATEGORIAS = {"Tuberías", "Accesorios", "Bombeo", "Grifería", "Almacenamiento", "Filtración"};
+
+    @Mock private ProductoRepository productoRepository;
+
+    @InjectMocks private BusquedaProductosServiceImpl busquedaProductosService;
+
+    private final Map<Long, Integer> stock = new HashMap<>();
+    private Categoria griferia;
+
+    @BeforeEach
+    void setUp() {
+        griferia = new Categoria("Grifería");
+        griferia.setId(1L);
+        lenient().when(productoRepository.findStockByIdIn(anyCollection())).thenAnswer(invocacion -> {
+            Collection<Long> ids = invocacion.getArgument(0);
+            return ids.stream().filter(stock::containsKey).map(id -> new Object[] {id, stock.get(id)}).toList();
+        });
+    }
+
+    private Producto producto(long id, String nombre, String descripcion, Categoria categoria) {
+        Producto producto = new Producto(nombre, descripcion, 5.0, 10.0, 20, 5, null, categoria);
+        producto.setId(id);
+        stock.put(id, 20);
+        return producto;
+    }
+
+    private List<String> nombres(List<ProductoBusquedaDTO> productos) {
+        return productos.stream().map(ProductoBusquedaDTO::nombre).toList();
+    }
+
+    @Test
+    @DisplayName("Debe encontrar por el comienzo de las palabras sin distinguir tildes ni mayúsculas, con el nombre primero")
+    void testBuscar_SinTildesYOrdenado() {
+        // Given
+        when(productoRepository.findAllConCategoriaByEstado(1)).thenReturn(List.of(
+                producto(1L, "Llave de paso con válvula", "Para cortar el agua", griferia),
+                producto(2L, "Válvula de bronce 1/2", "Válvula de compuerta", griferia),
+                producto(3L, "Tubo PVC 1/2", "Tubo de presión", null),
+                producto(4L, "Niple de cobre", "Niño de prueba en la descripción", null),
+                producto(5L, "Grifo de cocina", "Acabado cromado", griferia)));
+
+        // When
+        List<ProductoBusquedaDTO> valvula = busquedaProductosService.buscar("VALV", 20);
+        List<ProductoBusquedaDTO> valvulaBronce = busquedaProductosService.buscar("válvula  bronce", 20);
+        List<ProductoBusquedaDTO> porDescripcion = busquedaProductosService.buscar("nino", 20);
+        List<ProductoBusquedaDTO> porCategoria = busquedaProductosService.buscar("griferia", 20);
+
+        // Then
+        assertThat(nombres(valvula)).containsExactly("Válvula de bronce 1/2", "Llave de paso con válvula");
+        assertThat(nombres(valvulaBronce)).containsExactly("Válvula de bronce 1/2");
+        assertThat(nombres(porDescripcion)).containsExactly("Niple de cobre");
+        assertThat(nombres(porCategoria)).containsExactly("Grifo de cocina", "Llave de paso con válvula",
+                "Válvula de bronce 1/2");
+        assertThat(porCategoria.get(0).categoriaNombre()).isEqualTo("Grifería");
+        verify(productoRepository, times(1)).findAllConCategoriaByEstado(1);
+    }
+
+    @Test
+    @DisplayName("Debe devolver el stock actual, respetar el límite y no consultar nada si no hay palabras")
+    void testBuscar_StockYLimite() {
+        // Given
+        List<Producto> productos = new ArrayList<>();
+        for (long id = 1; id <= 30; id++) {
+            productos.add(producto(id, String.format("Codo PVC %02d", id), "Codo de 90 grados", null));
+        }
+        when(productoRepository.findAllConCategoriaByEstado(1)).thenReturn(productos);
+        stock.put(2L, 0);
+
+        // When
+        List<ProductoBusquedaDTO> codos = busquedaProductosService.buscar("codo", 5);
+        List<ProductoBusquedaDTO> vacio = busquedaProductosService.buscar(" ¿? ", 5);
+
+        // Then
+        assertThat(nombres(codos)).containsExactly("Codo PVC 01", "Codo PVC 02", "Codo PVC 03", "Codo PVC 04", "Codo PVC 05");
+        assertThat(codos.get(1).stock()).isZero();
+        assertThat(busquedaProductosService.buscar("codo", 500)).hasSize(30);
+        assertThat(vacio).isEmpty();
+        verify(productoRepository, times(2)).findStockByIdIn(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Debe actualizar solo el producto o la categoría modificados, sin volver a armar el índice")
+    void testReindexar_Incremental() {
+        // Given
+        Producto bomba = producto(1L, "Bomba periférica", "Bomba de medio caballo", null);
+        Producto grifo = producto(2L, "Grifo de lavadero", "Grifo de pared", griferia);
+        Producto tanque = producto(3L, "Tanque de 600 litros", "Tanque tricapa", null);
+        when(productoRepository.findAllConCategoriaByEstado(1)).thenReturn(List.of(bomba, grifo, tanque));
+        busquedaProductosService.reconstruirIndice();
+
+        // When: se renombra la bomba, se desactiva el tanque, se agrega un filtro y se renombra la categoría
+        bomba.setNombre("Electrobomba periférica");
+        tanque.setEstado(0);
+        Producto filtro = producto(4L, "Filtro de sedimentos", "Filtro de 10 pulgadas", griferia);
+        when(productoRepository.findAllConCategoriaByIdIn(any())).thenAnswer(invocacion -> {
+            Collection<Long> ids = invocacion.getArgument(0);
+            return List.of(bomba, grifo, tanque, filtro).stream().filter(producto -> ids.contains(producto.getId())).toList();
+        });
+        busquedaProductosService.reindexarProducto(new ProductoModificadoDTO(1L));
+        busquedaProductosService.reindexarProducto(new ProductoModificadoDTO(3L));
+        busquedaProductosService.reindexarProducto(new ProductoModificadoDTO(4L));
+
+        griferia.setNombre("Sanitarios");
+        when(productoRepository.findIdsByCategoriaId(1L)).thenReturn(List.of(2L, 4L));
+        busquedaProductosService.reindexarCategoria(new CategoriaModificadaDTO(1L));
+
+        // Then
+        assertThat(nombres(busquedaProductosService.buscar("electro", 20))).containsExactly("Electrobomba periférica");
+        assertThat(nombres(busquedaProductosService.buscar("bomba", 20))).containsExactly("Electrobomba periférica");
+        assertThat(busquedaProductosService.buscar("tanque", 20)).isEmpty();
+        assertThat(nombres(busquedaProductosService.buscar("sanitario", 20)))
+                .containsExactly("Filtro de sedimentos", "Grifo de lavadero");
+        assertThat(busquedaProductosService.buscar("griferia", 20)).isEmpty();
+        verify(productoRepository, times(1)).findAllConCategoriaByEstado(1);
+    }
+
+    @Test
+    @DisplayName("No debe aplicar una lectura vieja de un producto después de una más nueva")
+    void testReindexar_LecturasConcurrentes() throws Exception {
+        // Given: la primera lectura ve el nombre viejo y se demora; la segunda ve el nuevo
+        Producto bomba = producto(1L, "Bomba periférica", "Bomba de medio caballo", null);
+        when(productoRepository.findAllConCategoriaByEstado(1)).thenReturn(List.of(bomba));
+        busquedaProductosService.reconstruirIndice();
+
+        Producto vieja = producto(1L, "Bomba sumergible", "Bomba de medio caballo", null);
+        Producto nueva = producto(1L, "Electrobomba periférica", "Bomba de medio caballo", null);
+        CountDownLatch primeraLeyendo = new CountDownLatch(1);
+        CountDownLatch soltarPrimera = new CountDownLatch(1);
+        AtomicInteger lecturas = new AtomicInteger();
+        when(productoRepository.findAllConCategoriaByIdIn(any())).thenAnswer(invocacion -> {
+            if (lecturas.incrementAndGet() == 1) {
+                primeraLeyendo.countDown();
+                soltarPrimera.await(5, TimeUnit.SECONDS);
+                return List.of(vieja);
+            }
+            return List.of(nueva);
+        });
+
+        // When
+        Thread primera = new Thread(() -> busquedaProductosService.reindexarProducto(new ProductoModificadoDTO(1L)));
+        primera.start();
+        assertThat(primeraLeyendo.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread segunda = new Thread(() -> busquedaProductosService.reindexarProducto(new ProductoModificadoDTO(1L)));
+        segunda.start();
+        Thread.sleep(200);
+        soltarPrimera.countDown();
+        primera.join(5_000);
+        segunda.join(5_000);
+
+        // Then
+        assertThat(lecturas).hasValue(2);
+        assertThat(busquedaProductosService.buscar("sumergible", 20)).isEmpty();
+        assertThat(nombres(busquedaProductosService.buscar("electro", 20))).containsExactly("Electrobomba periférica");
+    }
+
+    @Test
+    @DisplayName("Debe encontrar los productos por modelo y por palabras entre 100.000 productos")
+    void testBuscar_CatalogoGrande() {
+        // Given
+        Random aleatorio = new Random(17);
+        Categoria[] categorias = new Categoria[CATEGORIAS.length];
+        for (int i = 0; i < CATEGORIAS.length; i++) {
+            categorias[i] = new Categoria(CATEGORIAS[i]);
+            categorias[i].setId(i + 1L);
+        }
+        List<Producto> productos = new ArrayList<>();
+        for (long id = 1; id <= 100_000; id++) {
+            String nombre = TIPOS[aleatorio.nextInt(TIPOS.length)] + " " + MATERIALES[aleatorio.nextInt(MATERIALES.length)]
+                    + " " + MEDIDAS[aleatorio.nextInt(MEDIDAS.length)] + " " + MARCAS[aleatorio.nextInt(MARCAS.length)]
+                    + " M" + id;
+            productos.add(producto(id, nombre, "Modelo " + Long.toString(id * 7919, 36) + " para instalaciones de agua",
+                    categorias[aleatorio.nextInt(categorias.length)]));
+        }
+        when(productoRepository.findAllConCategoriaByEstado(1)).thenReturn(productos);
+        busquedaProductosService.reconstruirIndice();
+
+        // When
+        List<ProductoBusquedaDTO> porModelo = busquedaProductosService.buscar("m4242", 20);
+        List<ProductoBusquedaDTO> porPalabras = busquedaProductosService.buscar("tubo pvc", 20);
+
+        // Then
+        assertThat(porModelo).extracting(ProductoBusquedaDTO::id).contains(4242L);
+        assertThat(porPalabras).hasSize(20)
+                .allMatch(producto -> producto.nombre().startsWith("Tubo PVC"));
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.acceso.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.example.acceso.DTO.CatalogoModificadoDTO;
+import com.example.acceso.model.Categoria;
+import com.example.acceso.model.Producto;
+import com.example.acceso.model.ProductoImagen;
+import com.example.acceso.repository.CategoriaRepository;
+import com.example.acceso.repository.ProductoImagenRepository;
+import com.example.acceso.repository.ProductoRepository;
+import com.example.acceso.service.Interfaces.CatalogoPublicoService;
+import com.example.acceso.service.Interfaces.ProductoService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Verifica el catálogo público a través de HTTP, con la aplicación levantada en
+ * un puerto local: datos expuestos, ETag, respuestas 304 y cabeceras de caché.
+ * Las peticiones por segundo se miden en {@code CatalogoPublicoBenchmark}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@DisplayName("Pruebas del Servicio CatalogoPublicoService")
+class CatalogoPublicoServiceTest {
+
+    private static final int PRODUCTOS = 300;
+
+    @LocalServerPort private int puerto;
+
+    @Autowired private CatalogoPublicoService catalogoPublicoService;
+    @Autowired private ProductoService productoService;
+    @Autowired private ProductoRepository productoRepository;
+    @Autowired private ProductoImagenRepository productoImagenRepository;
+    @Autowired private CategoriaRepository categoriaRepository;
+
+    private final HttpClient cliente = HttpClient.newHttpClient();
+    private Producto inactivo;
+
+    @BeforeEach
+    void setUp() {
+        Categoria categoria = categoriaRepository.save(new Categoria("Bebidas"));
+        List<Producto> productos = new ArrayList<>();
+        for (int i = 0; i < PRODUCTOS; i++) {
+            productos.add(new Producto("Producto " + i, "Descripcion del producto " + i, 5.0, 10.0 + i, 20, 5, null, categoria));
+        }
+        productos = productoRepository.saveAll(productos);
+
+        List<ProductoImagen> imagenes = new ArrayList<>();
+        for (Producto producto : productos) {
+            for (int orden = 0; orden < 3; orden++) {
+                imagenes.add(new ProductoImagen(producto,
+                        "https://res.cloudinary.com/demo/image/upload/v1/productos_acuamont/" + producto.getId() + "/" + orden + ".jpg",
+                        "productos_acuamont/" + producto.getId() + "/" + orden, orden, orden == 0, 800, 600));
+            }
+        }
+        productoImagenRepository.saveAll(imagenes);
+
+        inactivo = productos.get(0);
+        inactivo.setEstado(0);
+        productoRepository.save(inactivo);
+        catalogoPublicoService.invalidarCatalogo(new CatalogoModificadoDTO());
+    }
+
+    @AfterEach
+    void tearDown() {
+        productoImagenRepository.deleteAll();
+        productoRepository.deleteAll();
+        categoriaRepository.deleteAll();
+    }
+
+    private HttpResponse<String> pedirCatalogo(String etag) {
+        HttpRequest.Builder peticion = HttpRequest.newBuilder(URI.create("http://localhost:" + puerto + "/productos/api/catalogo"));
+        if (etag != null) {
+            peticion.header("If-None-Match", etag);
+        }
+        try {
+            return cliente.send(peticion.build(), HttpResponse.BodyHandlers.ofString());
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Test
+    @DisplayName("Debe exponer solo productos activos, sin precio de compra, con miniatura y categorías")
+    void testCatalogo_DatosPublicos() {
+        // When
+        HttpResponse<String> respuesta = pedirCatalogo(null);
+
+        // Then
+        assertThat(respuesta.statusCode()).isEqualTo(200);
+        assertThat(respuesta.headers().firstValue("Content-Type")).hasValueSatisfying(tipo -> assertThat(tipo).startsWith("application/json"));
+        assertThat(respuesta.body())
+                .doesNotContain("precioCompra", "stockSeguridad", "\"nombre\":\"" + inactivo.getNombre() + "\"")
+                .contains("\"categoriaNombre\":\"Bebidas\"", "/upload/c_fill,w_400,h_300,q_auto,f_auto/v1/productos_acuamont/",
+                        "\"categorias\":[{");
+    }
+
+    @Test
+    @DisplayName("Debe responder 304 sin cuerpo cuando el navegador envía el ETag vigente")
+    void testCatalogo_EtagYCache() {
+        // Given
+        HttpResponse<String> primera = pedirCatalogo(null);
+        String etag = primera.headers().firstValue("ETag").orElseThrow();
+
+        // When
+        HttpResponse<String> segunda = pedirCatalogo(etag);
+
+        // Then
+        assertThat(etag).startsWith("\"").doesNotStartWith("W/");
+        assertThat(primera.headers().firstValue("Cache-Control")).hasValue("max-age=60, public");
+        assertThat(segunda.statusCode()).isEqualTo(304);
+        assertThat(segunda.body()).isEmpty();
+        assertThat(segunda.headers().firstValue("ETag")).hasValue(etag);
+    }
+
+    @Test
+    @DisplayName("Debe cambiar el ETag cuando se modifica un producto")
+    void testCatalogo_CambiaAlModificarProducto() {
+        // Given
+        String etag = pedirCatalogo(null).headers().firstValue("ETag").orElseThrow();
+
+        // When
+        productoService.cambiarEstadoProducto(inactivo.getId());
+        HttpResponse<String> respuesta = pedirCatalogo(etag);
+
+        // Then
+        assertThat(respuesta.statusCode()).isEqualTo(200);
+        assertThat(respuesta.headers().firstValue("ETag")).isPresent().get().isNotEqualTo(etag);
+        assertThat(respuesta.body()).contains("\"nombre\":\"" + inactivo.getNombre() + "\"");
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.acceso.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import com.cloudinary.Api;
+import com.cloudinary.Cloudinary;
+import com.cloudinary.api.ApiResponse;
+import com.example.acceso.service.Implements.CloudinaryService;
+import com.example.acceso.service.Interfaces.MetricasService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Pruebas del Servicio CloudinaryService")
+class CloudinaryServiceTest {
+
+    @Mock private Cloudinary cloudinary;
+    @Mock private Api api;
+    @Mock private MetricasService metricasService;
+
+    @InjectMocks
+    private CloudinaryService cloudinaryService;
+
+    @Test
+    @DisplayName("Debe recorrer todas las páginas de la carpeta con next_cursor")
+    void testListar_Paginas() throws Exception {
+        // Given
+        ApiResponse primera = pagina("abc", "https://res.cloudinary.com/demo/slides_inicio/1.jpg",
+                "https://res.cloudinary.com/demo/slides_inicio/2.jpg");
+        ApiResponse segunda = pagina(null, "https://res.cloudinary.com/demo/slides_inicio/3.jpg");
+        when(cloudinary.api()).thenReturn(api);
+        when(api.resources(anyMap())).thenReturn(primera, segunda);
+
+        // When
+        List<String> urls = cloudinaryService.listar("slides_inicio");
+
+        // Then
+        assertThat(urls).containsExactly("https://res.cloudinary.com/demo/slides_inicio/1.jpg",
+                "https://res.cloudinary.com/demo/slides_inicio/2.jpg",
+                "https://res.cloudinary.com/demo/slides_inicio/3.jpg");
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<String, Object>> opciones = ArgumentCaptor.forClass(Map.class);
+        verify(api, times(2)).resources(opciones.capture());
+        assertThat(opciones.getAllValues().get(0)).containsEntry("prefix", "slides_inicio/").doesNotContainKey("next_cursor");
+        assertThat(opciones.getAllValues().get(1)).containsEntry("next_cursor", "abc");
+    }
+
+    private static ApiResponse pagina(String siguiente, String... urls) {
+        ApiResponse respuesta = mock(ApiResponse.class);
+        when(respuesta.get("resources")).thenReturn(Arrays.stream(urls)
+                .map(url -> Map.of("secure_url", url))
+                .toList());
+        when(respuesta.get("next_cursor")).thenReturn(siguiente);
+        return respuesta;
+    }
+}
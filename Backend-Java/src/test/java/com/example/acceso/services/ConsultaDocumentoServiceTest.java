@@ -0,0 +1,248 @@
+package com.example.acceso.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.example.acceso.DTO.DocumentoIdentidadDTO;
+import com.example.acceso.model.Cliente;
+import com.example.acceso.repository.ClienteRepository;
+import com.example.acceso.repository.DocumentoConsultadoRepository;
+import com.example.acceso.service.Implements.ConsultaDocumentoServiceImpl;
+import com.example.acceso.service.Implements.FuenteDocumentosHttpServiceImpl;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Pruebas de la consulta de DNI y RUC contra un servidor HTTP local que imita a
+ * la API externa y cuenta cuántas veces se la llama.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Pruebas del Servicio ConsultaDocumentoService")
+class ConsultaDocumentoServiceTest {
+
+    private static final String TOKEN = "token-de-prueba";
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private DocumentoConsultadoRepository documentoConsultadoRepository;
+
+    private HttpServer servidor;
+    private final AtomicInteger consultasExternas = new AtomicInteger();
+    private volatile long demoraMs;
+    private final List<Long> clientesCreados = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        servidor = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        servidor.createContext("/dni/", intercambio -> responder(intercambio,
+                "{\"success\": true, \"datos\": {\"nombres\": \"Ana María\", \"ape_paterno\": \"Quispe\", \"ape_materno\": \"Huamán\"}}"));
+        servidor.createContext("/ruc/", intercambio -> responder(intercambio,
+                "{\"success\": true, \"datos\": {\"ruc\": \"20123456789\", \"razon_social\": \"Ferretería El Tubo S.A.C.\"}}"));
+        servidor.setExecutor(Executors.newFixedThreadPool(4));
+        servidor.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        servidor.stop(0);
+        documentoConsultadoRepository.deleteAll();
+        clienteRepository.deleteAllById(clientesCreados);
+        clientesCreados.clear();
+    }
+
+    /**
+     * Responde como la API externa: los documentos que terminan en 0 no existen
+     * (404), los que terminan en 1 agotaron la cuota y los que terminan en 2 no
+     * existen pero se informan con un 200.
+     */
+    private void responder(HttpExchange intercambio, String encontrado) throws IOException {
+        consultasExternas.incrementAndGet();
+        try {
+            Thread.sleep(demoraMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        String path = intercambio.getRequestURI().getPath();
+        boolean autorizado = ("Bearer " + TOKEN).equals(intercambio.getRequestHeaders().getFirst("Authorization"));
+        int estado = !autorizado ? 401 : path.endsWith("0") ? 404 : 200;
+        String respuesta = estado != 200 ? "{\"success\": false}"
+                : path.endsWith("1") ? "{\"success\": false, \"message\": \"Ha superado el límite de consultas de su plan\"}"
+                : path.endsWith("2") ? "{\"success\": false, \"message\": \"No se encontraron resultados\"}"
+                : encontrado;
+        byte[] cuerpo = respuesta.getBytes(StandardCharsets.UTF_8);
+        intercambio.getResponseHeaders().set("Content-Type", "application/json");
+        intercambio.sendResponseHeaders(estado, cuerpo.length);
+        try (OutputStream salida = intercambio.getResponseBody()) {
+            salida.write(cuerpo);
+        }
+    }
+
+    private ConsultaDocumentoServiceImpl crearServicio(Duration vigencia) {
+        String base = "http://127.0.0.1:" + servidor.getAddress().getPort();
+        FuenteDocumentosHttpServiceImpl fuente = new FuenteDocumentosHttpServiceImpl(base + "/dni/", base + "/ruc/", TOKEN,
+                Duration.ofSeconds(2));
+        return new ConsultaDocumentoServiceImpl(clienteRepository, documentoConsultadoRepository, fuente, vigencia,
+                vigencia, 100);
+    }
+
+    @Test
+    @DisplayName("Debe devolver el cliente registrado sin consultar la API externa")
+    void testBuscar_ClienteRegistrado() {
+        // Given
+        Cliente cliente = clienteRepository.save(new Cliente("Juan Pérez", "45678912", "987654321", "juan@correo.com"));
+        clientesCreados.add(cliente.getId());
+        ConsultaDocumentoServiceImpl consultaDocumentoService = crearServicio(Duration.ofDays(30));
+
+        // When
+        Optional<DocumentoIdentidadDTO> resultado = consultaDocumentoService.buscar("45678912");
+
+        // Then
+        assertThat(resultado).contains(new DocumentoIdentidadDTO("45678912", "Juan Pérez", cliente.getId(), "local"));
+        assertThat(consultasExternas).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("Debe consultar la API externa una sola vez y luego responder desde memoria y desde la base")
+    void testBuscar_GuardaLaConsulta() {
+        // Given
+        ConsultaDocumentoServiceImpl consultaDocumentoService = crearServicio(Duration.ofDays(30));
+
+        // When
+        Optional<DocumentoIdentidadDTO> primera = consultaDocumentoService.buscar("20123456789");
+        Optional<DocumentoIdentidadDTO> segunda = consultaDocumentoService.buscar("20123456789");
+        // Un servicio nuevo, como tras un reinicio, no tiene nada en memoria
+        Optional<DocumentoIdentidadDTO> trasReinicio = crearServicio(Duration.ofDays(30)).buscar("20123456789");
+        Optional<DocumentoIdentidadDTO> dni = consultaDocumentoService.buscar("12345678");
+
+        // Then
+        assertThat(primera).contains(new DocumentoIdentidadDTO("20123456789", "Ferretería El Tubo S.A.C.", null, "externo"));
+        assertThat(segunda.map(DocumentoIdentidadDTO::origen)).contains("cache");
+        assertThat(trasReinicio.map(DocumentoIdentidadDTO::origen)).contains("cache");
+        assertThat(dni.map(DocumentoIdentidadDTO::nombre)).contains("Ana María Quispe Huamán");
+        assertThat(consultasExternas).hasValue(2);
+        assertThat(documentoConsultadoRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Debe volver a consultar la API externa cuando la consulta guardada venció")
+    void testBuscar_ConsultaVencida() {
+        // Given
+        ConsultaDocumentoServiceImpl consultaDocumentoService = crearServicio(Duration.ZERO);
+
+        // When
+        consultaDocumentoService.buscar("12345678");
+        Optional<DocumentoIdentidadDTO> resultado = consultaDocumentoService.buscar("12345678");
+
+        // Then
+        assertThat(resultado.map(DocumentoIdentidadDTO::origen)).contains("externo");
+        assertThat(consultasExternas).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Debe recordar también los documentos que la API externa no encontró")
+    void testBuscar_NoEncontrado() {
+        // Given
+        ConsultaDocumentoServiceImpl consultaDocumentoService = crearServicio(Duration.ofDays(1));
+
+        // When
+        Optional<DocumentoIdentidadDTO> primera = consultaDocumentoService.buscar("12345670");
+        Optional<DocumentoIdentidadDTO> segunda = consultaDocumentoService.buscar("12345670");
+        Optional<DocumentoIdentidadDTO> conMensaje = consultaDocumentoService.buscar("12345672");
+        Optional<DocumentoIdentidadDTO> conMensajeOtraVez = consultaDocumentoService.buscar("12345672");
+
+        // Then
+        assertThat(primera).isEmpty();
+        assertThat(segunda).isEmpty();
+        assertThat(conMensaje).isEmpty();
+        assertThat(conMensajeOtraVez).isEmpty();
+        assertThat(consultasExternas).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("No debe recordar como no encontrado un documento que la API rechazó por un error suyo")
+    void testBuscar_ErrorDeLaApi() {
+        // Given
+        ConsultaDocumentoServiceImpl consultaDocumentoService = crearServicio(Duration.ofDays(1));
+
+        // When & Then
+        assertThatThrownBy(() -> consultaDocumentoService.buscar("12345671"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("límite de consultas");
+        assertThatThrownBy(() -> consultaDocumentoService.buscar("12345671"))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(consultasExternas).hasValue(2);
+        assertThat(documentoConsultadoRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Debe consultar la API externa una sola vez cuando varias peticiones piden el mismo documento a la vez")
+    void testBuscar_PeticionesSimultaneas() throws Exception {
+        // Given
+        ConsultaDocumentoServiceImpl consultaDocumentoService = crearServicio(Duration.ofDays(30));
+        demoraMs = 300;
+        int peticiones = 16;
+        ExecutorService hilos = Executors.newFixedThreadPool(peticiones);
+        CountDownLatch salida = new CountDownLatch(1);
+        List<Future<Optional<DocumentoIdentidadDTO>>> resultados = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < peticiones; i++) {
+            resultados.add(hilos.submit(() -> {
+                salida.await();
+                return consultaDocumentoService.buscar("20123456789");
+            }));
+        }
+        salida.countDown();
+
+        // Then
+        for (Future<Optional<DocumentoIdentidadDTO>> resultado : resultados) {
+            assertThat(resultado.get().map(DocumentoIdentidadDTO::nombre)).contains("Ferretería El Tubo S.A.C.");
+        }
+        hilos.shutdown();
+        assertThat(consultasExternas).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Debe rechazar los documentos que no son DNI ni RUC")
+    void testBuscar_DocumentoInvalido() {
+        // Given
+        ConsultaDocumentoServiceImpl consultaDocumentoService = crearServicio(Duration.ofDays(30));
+
+        // When & Then
+        assertThatThrownBy(() -> consultaDocumentoService.buscar("1234"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Documento inválido");
+        assertThatThrownBy(() -> consultaDocumentoService.buscar("2012345678A"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(consultasExternas).hasValue(0);
+    }
+}
@@ -0,0 +1,432 @@
+package com.example.acceso.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.example.acceso.DTO.ConsultasRutaDTO;
+import com.example.acceso.model.*;
+import com.example.acceso.repository.*;
+import com.example.acceso.service.Interfaces.PermisosService;
+import com.example.acceso.service.Interfaces.PresupuestoConsultasService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+/**
+ * Llama a todas las rutas {@code /api} de la aplicación, con un usuario
+ * logueado y sobre una base H2 con datos, y verifica que ninguna ejecute más
+ * consultas SQL que su presupuesto. Así un N+1 nuevo (una relación EAGER, una
+ * colección perezosa que Jackson recorre) se detecta aquí y no en producción.
+ *
+ * Las consultas de cada petición se cuentan con el {@code StatementInspector}
+ * de {@link PresupuestoConsultasService}, que en el perfil de pruebas está en
+ * modo {@code fallar}. Hay varias ventas del mismo producto y varios productos
+ * por categoría a propósito: un presupuesto que hay que subir porque crecieron
+ * las filas de la prueba delata un N+1.
+ *
+ * Una ruta {@code /api} nueva hace fallar la prueba hasta que se le asigna un
+ * presupuesto aquí, o se explica en {@link #SIN_MEDIR} por qué no se mide.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@DisplayName("Pruebas del presupuesto de consultas por endpoint")
+class ConsultasPorEndpointTest {
+
+    private static final int PRODUCTOS = 12;
+    private static final String CLAVE = "clave-segura";
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+
+    /** Rutas que no se miden porque dependen de un servicio externo. */
+    private static final Map<String, String> SIN_MEDIR = Map.of(
+            "POST /productos/api/guardar", "sube las imágenes a Cloudinary",
+            "POST /productos/api/eliminar-imagen", "borra la imagen en Cloudinary",
+            "GET /ventas/api/envio-correo/{ventaid}", "el envío por SMTP corre en segundo plano");
+
+    private static final List<String> TABLAS = List.of("pagos", "cuotas", "detalle_venta", "ventas",
+            "ventas_diarias_producto_usuario", "ventas_diarias_usuario", "ajustes_inventario", "correos_pendientes",
+            "producto_imagenes", "productos", "categorias", "clientes", "proveedor", "documentos_consultados",
+            "usuarios", "perfil_opcion", "perfiles", "opciones", "forma_pago", "series_comprobante",
+            "tipo_movimiento", "red_social", "spring_session_attributes", "spring_session");
+
+    @LocalServerPort private int puerto;
+
+    @Autowired private PresupuestoConsultasService presupuestoConsultasService;
+    @Autowired private PermisosService permisosService;
+    @Autowired private BCryptPasswordEncoder passwordEncoder;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired @Qualifier("requestMappingHandlerMapping") private RequestMappingHandlerMapping handlerMapping;
+
+    @Autowired private CategoriaRepository categoriaRepository;
+    @Autowired private ProductoRepository productoRepository;
+    @Autowired private ProductoImagenRepository productoImagenRepository;
+    @Autowired private ClienteRepository clienteRepository;
+    @Autowired private ProveedorRepository proveedorRepository;
+    @Autowired private OpcionRepository opcionRepository;
+    @Autowired private PerfilRepository perfilRepository;
+    @Autowired private UsuarioRepository usuarioRepository;
+    @Autowired private FormaPagoRepository formaPagoRepository;
+    @Autowired private SerieComprobanteRepository serieComprobanteRepository;
+    @Autowired private TipoMovimientoRepository tipoMovimientoRepository;
+    @Autowired private RedSocialRepository redSocialRepository;
+
+    private final HttpClient cliente = HttpClient.newBuilder()
+            .cookieHandler(new CookieManager())
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .build();
+
+    /** Consultas de la petición más costosa de cada ruta medida. */
+    private final Map<String, Integer> medidas = new LinkedHashMap<>();
+    private final Map<String, Integer> presupuestos = new LinkedHashMap<>();
+    private final List<String> fallidas = new ArrayList<>();
+
+    private Usuario administrador;
+    private Perfil perfilAdministrador;
+    private List<Producto> productos;
+    private Cliente clienteFrecuente;
+    private Proveedor proveedor;
+    private FormaPago contado;
+    private FormaPago credito;
+    private SerieComprobante serie;
+    private TipoMovimiento entrada;
+    private RedSocial facebook;
+
+    @BeforeEach
+    void setUp() {
+        List<Categoria> categorias = categoriaRepository.saveAll(List.of(
+                new Categoria("Tuberías"), new Categoria("Grifería"), new Categoria("Bombas")));
+        productos = new ArrayList<>();
+        for (int i = 0; i < PRODUCTOS; i++) {
+            productos.add(new Producto("Tubo " + i, "Descripción del producto " + i, 5.0, 10.0 + i, 100, 5, null,
+                    categorias.get(i % categorias.size())));
+        }
+        productos = productoRepository.saveAll(productos);
+        List<ProductoImagen> imagenes = new ArrayList<>();
+        for (Producto producto : productos) {
+            for (int orden = 0; orden < 2; orden++) {
+                imagenes.add(new ProductoImagen(producto,
+                        "https://res.cloudinary.com/demo/image/upload/v1/productos_acuamont/" + producto.getId() + "/" + orden + ".jpg",
+                        "productos_acuamont/" + producto.getId() + "/" + orden, orden, orden == 0, 800, 600));
+            }
+        }
+        productoImagenRepository.saveAll(imagenes);
+
+        clienteFrecuente = clienteRepository.save(new Cliente("Cliente Frecuente", "12345678", "", "frecuente@prueba.com"));
+        clienteRepository.save(new Cliente("Otro Cliente", "87654321", "", "otro@prueba.com"));
+        proveedor = proveedorRepository.save(new Proveedor("Proveedor Uno", "20123456789", "", "proveedor@prueba.com"));
+
+        Set<Opcion> opciones = new HashSet<>();
+        long id = 1;
+        for (String modulo : List.of("categorias", "clientes", "inventario", "perfiles", "productos", "proveedores",
+                "reportes", "slides", "usuarios", "ventas")) {
+            Opcion opcion = new Opcion();
+            opcion.setNombre("Módulo " + modulo + " " + id++);
+            opcion.setRuta("/" + modulo + "/listar");
+            opcion.setIcono("bi bi-circle");
+            opciones.add(opcionRepository.save(opcion));
+        }
+        perfilAdministrador = new Perfil();
+        perfilAdministrador.setNombre("Administrador");
+        perfilAdministrador.setOpciones(opciones);
+        perfilAdministrador = perfilRepository.save(perfilAdministrador);
+
+        administrador = new Usuario("Administrador", "admin", passwordEncoder.encode(CLAVE), "admin@prueba.com");
+        administrador.setPerfil(perfilAdministrador);
+        administrador = usuarioRepository.save(administrador);
+
+        contado = formaPagoRepository.save(new FormaPago("Contado"));
+        credito = formaPagoRepository.save(new FormaPago("Credito"));
+        serie = serieComprobanteRepository.save(new SerieComprobante("Boleta", "B001", 0));
+        entrada = tipoMovimientoRepository.save(new TipoMovimiento("Entrada"));
+        tipoMovimientoRepository.save(new TipoMovimiento("Salida"));
+        facebook = redSocialRepository.save(new RedSocial("Facebook", "https://facebook.com/acuamont", "bi bi-facebook", "1"));
+
+        permisosService.reconstruir();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("SET REFERENTIAL_INTEGRITY FALSE");
+        try {
+            TABLAS.forEach(tabla -> jdbcTemplate.execute("TRUNCATE TABLE " + tabla));
+        } finally {
+            jdbcTemplate.execute("SET REFERENTIAL_INTEGRITY TRUE");
+        }
+        permisosService.reconstruir();
+    }
+
+    @Test
+    @DisplayName("Debe atender cada ruta /api dentro de su presupuesto de consultas")
+    void testPresupuestoPorEndpoint() throws Exception {
+        // Given
+        iniciarSesion();
+        Long productoId = productos.get(0).getId();
+
+        // When: primero las ventas, para que los listados y reportes tengan filas
+        String ventaContado = json("""
+                {"clienteId":%d,"usuarioId":%d,"serieComprobanteId":%d,"formaPagoId":%d,"detalles":[%s]}"""
+                .formatted(clienteFrecuente.getId(), administrador.getId(), serie.getId(), contado.getId(), detalles(4)));
+        Long ventaId = null;
+        for (int i = 0; i < 5; i++) {
+            ventaId = idDe(medir("POST", "/ventas/api/guardar", 14, ventaContado));
+        }
+        String ventaCredito = json("""
+                {"clienteId":%d,"usuarioId":%d,"serieComprobanteId":%d,"formaPagoId":%d,"detalles":[%s],
+                 "montoInicial":0,"planDeCuotas":[{"monto":%s,"fechaVencimiento":"%s"},{"monto":%s,"fechaVencimiento":"%s"}]}"""
+                .formatted(clienteFrecuente.getId(), administrador.getId(), serie.getId(), credito.getId(),
+                        "{\"productoId\":%d,\"cantidad\":2}".formatted(productoId),
+                        "10.00", LocalDate.now().plusMonths(1), "10.00", LocalDate.now().plusMonths(2)));
+        Long ventaCreditoId = idDe(medir("POST", "/ventas/api/guardar", 14, ventaCredito));
+        Long cuotaId = idDe(medir("GET", "/ventas/api/cuotas/{ventaId}", 3, null, ventaCreditoId));
+        medir("POST", "/pagos/api/registrarPago", 8, json("""
+                {"cuotaId":%d,"montoPagado":5.00,"metodoPago":"Efectivo","comentario":"Pago parcial"}""".formatted(cuotaId)));
+        medir("GET", "/ventas/api/pagos/{ventaId}", 3, null, ventaCreditoId);
+        medir("GET", "/ventas/api/listar", 1, null);
+        medir("GET", "/ventas/api/ventas_id/{id}", 10, null, ventaId);
+        medir("GET", "/ventas/api/formaPago", 1, null);
+        medir("GET", "/ventas/api/serieComprobante", 1, null);
+        medir("GET", "/ventas/api/boleta/{ventaId}", 8, null, ventaId);
+        medir("GET", "/ventas/api/envio-correo/estado/{correoId}", 1, null, 999_999L);
+        medir("PUT", "/ventas/api/actualizar/{id}", 14, ventaContado, ventaId);
+        medir("DELETE", "/ventas/api/eliminar/{id}", 8, null, ventaCreditoId);
+
+        medir("GET", "/categorias/api/listar", 1, null);
+        medir("GET", "/categorias/api/{id}", 1, null, productos.get(0).getCategoria().getId());
+        Long categoriaId = idDe(medir("POST", "/categorias/api/guardar", 2, json("{\"nombre\":\"Temporal\"}")));
+        medir("POST", "/categorias/api/cambiar-estado/{id}", 2, null, categoriaId);
+        medir("DELETE", "/categorias/api/eliminar/{id}", 2, null, categoriaId);
+
+        medir("GET", "/clientes/api/grilla", 2, null);
+        medir("GET", "/clientes/api/{id}", 1, null, clienteFrecuente.getId());
+        medir("GET", "/clientes/api/buscar-cliente-documento/{documento}", 1, null, "12345678");
+        medir("GET", "/clientes/api/buscar-documento/{documento}", 1, null, "87654321");
+        Long clienteId = idDe(medir("POST", "/clientes/api/guardar", 2, json("""
+                {"nombre":"Cliente Nuevo","documento":"11223344","telefono":"","correo":"nuevo@prueba.com"}""")));
+        medir("POST", "/clientes/api/cambiar-estado/{id}", 2, null, clienteId);
+        medir("DELETE", "/clientes/api/eliminar/{id}", 2, null, clienteId);
+
+        medir("GET", "/inventario/api/listar", 4, null);
+        medir("GET", "/inventario/api/movimientos/{productoId}", 9, null, productoId);
+        medir("GET", "/inventario/api/ajustes/{productoId}", 1, null, productoId);
+        medir("GET", "/inventario/api/tipoMovimientos", 1, null);
+        medir("POST", "/inventario/api/guardarAjuste", 3, json("""
+                {"productoId":%d,"tipoMovimientoId":%d,"cantidad":5,"comentario":"Reposición"}"""
+                .formatted(productoId, entrada.getId())));
+
+        medir("GET", "/perfiles/api/listar", 1, null);
+        medir("GET", "/perfiles/api/{id}", 2, null, perfilAdministrador.getId());
+        medir("GET", "/perfiles/api/opciones", 1, null);
+        Long perfilId = idDe(medir("POST", "/perfiles/api/guardar", 2, json("""
+                {"nombre":"Temporal","descripcion":"Perfil de prueba","opciones":[]}""")));
+        medir("POST", "/perfiles/api/cambiar-estado/{id}", 3, null, perfilId);
+        medir("DELETE", "/perfiles/api/eliminar/{id}", 4, null, perfilId);
+
+        medir("GET", "/productos/api/grilla", 3, null);
+        medir("GET", "/productos/api/buscar?q=tubo", 1, null);
+        medir("GET", "/productos/api/catalogo", 3, null);
+        medir("GET", "/productos/api/imagenes/{id}", 1, null, productoId);
+        medir("GET", "/productos/api/categorias", 1, null);
+        medir("GET", "/productos/api/{id}", 2, null, productoId);
+        medir("POST", "/productos/api/cambiar-estado/{id}", 3, null, productos.get(1).getId());
+        medir("DELETE", "/productos/api/eliminar/{id}", 5, null, productos.get(2).getId());
+
+        medir("GET", "/proveedores/api/grilla", 2, null);
+        medir("GET", "/proveedores/api/{id}", 1, null, proveedor.getId());
+        medir("GET", "/proveedores/api/buscar-proveedor-documento/{documento}", 1, null, "20123456789");
+        Long proveedorId = idDe(medir("POST", "/proveedores/api/guardar", 2, json("""
+                {"nombre":"Proveedor Dos","documento":"20987654321","telefono":"","correo":"dos@prueba.com"}""")));
+        medir("POST", "/proveedores/api/cambiar-estado/{id}", 2, null, proveedorId);
+        medir("DELETE", "/proveedores/api/eliminar/{id}", 2, null, proveedorId);
+
+        medir("GET", "/redes/api/listar", 1, null);
+        medir("PUT", "/redes/api/actualizar/{id}", 2, json("{\"url\":\"https://facebook.com/acuamont.pe\"}"),
+                facebook.getId());
+        medir("POST", "/redes/api/cambiar-estado/{id}", 2, null, facebook.getId());
+
+        String rango = "?inicio=" + LocalDate.now().minusDays(7) + "&fin=" + LocalDate.now();
+        medir("GET", "/reportes/api/utilidad-ventas", 1, null);
+        medir("GET", "/reportes/api/utilidad-ventas-rango" + rango, 1, null);
+        medir("GET", "/reportes/api/utilidad-usuarios", 1, null);
+        medir("GET", "/reportes/api/utilidad-usuarios-rango" + rango, 1, null);
+        medir("GET", "/reportes/api/utilidad-producto", 1, null);
+        medir("GET", "/reportes/api/utilidad-producto-rango" + rango, 1, null);
+        // El archivo se escribe en otro hilo, fuera del conteo de la petición
+        medir("GET", "/reportes/api/{reporte}/export.{formato}", 1, null, "utilidad-ventas", "csv");
+        medir("GET", "/reportes/api/resumenes/verificar", 4, null);
+        medir("POST", "/reportes/api/resumenes/reconstruir", 4, null);
+
+        medir("GET", "/slides/api/listar-urls", 0, null);
+
+        medir("GET", "/usuarios/api/grilla", 2, null);
+        medir("GET", "/usuarios/api/usuarioLogueado", 0, null);
+        medir("GET", "/usuarios/api/perfiles", 1, null);
+        medir("GET", "/usuarios/api/{id}", 2, null, administrador.getId());
+        Long usuarioId = idDe(medir("POST", "/usuarios/api/guardar", 1, json("""
+                {"nombre":"Vendedor","usuario":"vendedor","clave":"clave-vendedor","correo":"vendedor@prueba.com",
+                 "perfil":{"id":%d}}""".formatted(perfilAdministrador.getId()))));
+        medir("GET", "/usuarios/api/generar-2fa/{id}", 1, null, usuarioId);
+        medir("POST", "/usuarios/api/verificar-2fa", 1, json("""
+                {"id":"%d","codigo":"000000","secreto":"JBSWY3DPEHPK3PXP"}""".formatted(usuarioId)));
+        medir("POST", "/usuarios/api/cambiar-estado/{id}", 3, null, usuarioId);
+        medir("DELETE", "/usuarios/api/eliminar/{id}", 2, null, usuarioId);
+
+        // Then: si alguna ruta se pasa del presupuesto, el mensaje trae la tabla completa
+        StringBuilder tabla = new StringBuilder();
+        medidas.forEach((ruta, consultas) ->
+                tabla.append("%n  %-62s %3d / %d".formatted(ruta, consultas, presupuestos.get(ruta))));
+
+        assertThat(fallidas).as("Rutas que respondieron con un error").isEmpty();
+        assertThat(medidas)
+                .as("Consultas por endpoint (medidas / presupuesto):%s", tabla)
+                .allSatisfy((ruta, consultas) ->
+                        assertThat(consultas).as("Consultas de " + ruta).isLessThanOrEqualTo(presupuestos.get(ruta)));
+        Set<String> sinPresupuesto = new TreeSet<>(rutasApi());
+        sinPresupuesto.removeAll(medidas.keySet());
+        sinPresupuesto.removeAll(SIN_MEDIR.keySet());
+        assertThat(sinPresupuesto).as("Rutas /api sin presupuesto de consultas").isEmpty();
+    }
+
+    @Test
+    @DisplayName("Debe informar las rutas con más consultas en /actuator/consultas, solo con el token")
+    void testEndpointConsultas() throws Exception {
+        // Given
+        iniciarSesion();
+        pedir("GET", "/productos/api/grilla", null);
+
+        // When
+        HttpResponse<String> sinToken = cliente.send(HttpRequest.newBuilder(uri("/actuator/consultas")).build(),
+                HttpResponse.BodyHandlers.ofString());
+        HttpResponse<String> conMatriz = cliente.send(HttpRequest.newBuilder(uri("/actuator;x=1/consultas")).build(),
+                HttpResponse.BodyHandlers.ofString());
+        HttpResponse<String> conToken = cliente.send(HttpRequest.newBuilder(uri("/actuator/consultas"))
+                .header("Authorization", "Bearer prueba-metricas").build(), HttpResponse.BodyHandlers.ofString());
+
+        // Then
+        assertThat(sinToken.statusCode()).isEqualTo(401);
+        assertThat(conMatriz.statusCode()).isEqualTo(401);
+        assertThat(conToken.statusCode()).isEqualTo(200);
+        assertThat(conToken.body()).contains("\"ruta\":\"GET /productos/api/grilla\"", "\"maximo\":", "\"excesos\":");
+    }
+
+    private void iniciarSesion() throws Exception {
+        String formulario = "usuario=admin&clave=" + URLEncoder.encode(CLAVE, StandardCharsets.UTF_8) + "&token=";
+        HttpResponse<String> respuesta = cliente.send(HttpRequest.newBuilder(uri("/login"))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(formulario)).build(), HttpResponse.BodyHandlers.ofString());
+        assertThat(respuesta.headers().firstValue("Location")).hasValueSatisfying(
+                destino -> assertThat(destino).endsWith("/"));
+    }
+
+    /**
+     * Hace una petición a una ruta y guarda cuántas consultas ejecutó.
+     *
+     * @param plantilla El patrón de la ruta, con sus variables y, si hace falta,
+     *                  los parámetros de consulta.
+     * @param variables Los valores de las variables de la ruta, en orden.
+     * @return El cuerpo de la respuesta.
+     */
+    private String medir(String metodo, String plantilla, int presupuesto, String cuerpo, Object... variables)
+            throws Exception {
+        int consulta = plantilla.indexOf('?');
+        String ruta = metodo + " " + (consulta < 0 ? plantilla : plantilla.substring(0, consulta));
+        String url = plantilla;
+        for (Object variable : variables) {
+            url = url.replaceFirst("\\{[^}]+}", Matcher.quoteReplacement(variable.toString()));
+        }
+
+        ConsultasRutaDTO antes = acumulado(ruta);
+        HttpResponse<String> respuesta = pedir(metodo, url, cuerpo);
+        ConsultasRutaDTO despues = acumulado(ruta);
+        // El filtro cuenta la petición al terminar, que puede ser justo después de responder
+        for (int intento = 0; despues.peticiones() == antes.peticiones() && intento < 200; intento++) {
+            Thread.sleep(10);
+            despues = acumulado(ruta);
+        }
+
+        assertThat(despues.peticiones()).as("Peticiones contadas de " + ruta).isEqualTo(antes.peticiones() + 1);
+        if (respuesta.statusCode() >= 500) {
+            fallidas.add(ruta + " respondió " + respuesta.statusCode() + ": " + respuesta.body());
+        }
+        medidas.merge(ruta, (int) (despues.consultas() - antes.consultas()), Math::max);
+        presupuestos.put(ruta, presupuesto);
+        return respuesta.body();
+    }
+
+    private ConsultasRutaDTO acumulado(String ruta) {
+        return presupuestoConsultasService.peores(Integer.MAX_VALUE).stream()
+                .filter(consultas -> consultas.ruta().equals(ruta))
+                .findFirst()
+                .orElse(new ConsultasRutaDTO(ruta, 0, 0, 0, 0));
+    }
+
+    private HttpResponse<String> pedir(String metodo, String url, String cuerpo) throws Exception {
+        HttpRequest.Builder peticion = HttpRequest.newBuilder(uri(url))
+                .method(metodo, cuerpo == null ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(cuerpo));
+        if (cuerpo != null) {
+            peticion.header("Content-Type", "application/json");
+        }
+        return cliente.send(peticion.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String url) {
+        return URI.create("http://localhost:" + puerto + url);
+    }
+
+    /** Las rutas {@code /api} de los controladores, con su método. */
+    private Set<String> rutasApi() {
+        Set<String> rutas = new TreeSet<>();
+        for (RequestMappingInfo info : handlerMapping.getHandlerMethods().keySet()) {
+            for (String patron : info.getPatternValues()) {
+                if (patron.contains("/api/")) {
+                    info.getMethodsCondition().getMethods().forEach(metodo -> rutas.add(metodo + " " + patron));
+                }
+            }
+        }
+        return rutas;
+    }
+
+    private String detalles(int cantidad) {
+        List<String> lineas = new ArrayList<>();
+        for (int i = 0; i < cantidad; i++) {
+            lineas.add("{\"productoId\":%d,\"cantidad\":1}".formatted(productos.get(i).getId()));
+        }
+        return String.join(",", lineas);
+    }
+
+    private static String json(String texto) {
+        return texto.replace("\n", "");
+    }
+
+    private static Long idDe(String cuerpo) {
+        Matcher id = ID.matcher(cuerpo);
+        assertThat(id.find()).as("ID en " + cuerpo).isTrue();
+        return Long.valueOf(id.group(1));
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.acceso.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import com.example.acceso.model.SerieComprobante;
+import com.example.acceso.repository.SerieComprobanteRepository;
+import com.example.acceso.service.Implements.CorrelativoServiceImpl;
+import com.example.acceso.service.Implements.MetricasServiceImpl;
+import com.example.acceso.service.Interfaces.CorrelativoService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Prueba de concurrencia del asignador de correlativos contra la base de datos
+ * de pruebas, con 1, 8 y 32 cajeros emitiendo comprobantes de la misma serie.
+ *
+ * Cada emisión corre en su propia transacción y mantiene la transacción
+ * abierta un par de milisegundos, como lo haría el resto de una venta, para que
+ * se note el costo de bloquear la fila de la serie en el modo estricto. Las
+ * emisiones por segundo de cada modo se miden en {@code CorrelativoBenchmark}.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({CorrelativoServiceImpl.class, MetricasServiceImpl.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Pruebas de concurrencia del Servicio CorrelativoService")
+class CorrelativoServiceConcurrenciaTest {
+
+    private static final int EMISIONES = 320;
+    private static final long DURACION_VENTA_MS = 2;
+
+    @Autowired
+    private CorrelativoService correlativoService;
+
+    @Autowired
+    private SerieComprobanteRepository serieComprobanteRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private final List<Long> seriesCreadas = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        serieComprobanteRepository.deleteAllById(seriesCreadas);
+        seriesCreadas.clear();
+    }
+
+    private SerieComprobante crearSerie(String serie, Boolean estricto) {
+        SerieComprobante nueva = new SerieComprobante("Boleta", serie, 0);
+        nueva.setCorrelativoEstricto(estricto);
+        nueva = serieComprobanteRepository.save(nueva);
+        seriesCreadas.add(nueva.getId());
+        return nueva;
+    }
+
+    /**
+     * Reparte {@link #EMISIONES} comprobantes entre los cajeros indicados y
+     * guarda los correlativos obtenidos.
+     */
+    private void emitir(SerieComprobante serie, int cajeros, Set<Integer> correlativos) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(cajeros);
+        CountDownLatch salida = new CountDownLatch(1);
+        try {
+            List<Future<?>> tareas = new ArrayList<>();
+            for (int c = 0; c < cajeros; c++) {
+                tareas.add(executor.submit(() -> {
+                    salida.await();
+                    for (int i = 0; i < EMISIONES / cajeros; i++) {
+                        transactionTemplate.executeWithoutResult(status -> {
+                            correlativos.add(correlativoService.siguienteCorrelativo(serie));
+                            simularRestoDeLaVenta();
+                        });
+                    }
+                    return null;
+                }));
+            }
+            salida.countDown();
+            for (Future<?> tarea : tareas) {
+                tarea.get(120, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void simularRestoDeLaVenta() {
+        try {
+            Thread.sleep(DURACION_VENTA_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    @DisplayName("El modo estricto debe entregar números únicos y sin huecos")
+    void testModoEstricto_SinHuecos() throws Exception {
+        for (int cajeros : new int[] { 1, 8, 32 }) {
+            // Given
+            SerieComprobante serie = crearSerie("E0" + cajeros, null);
+            Set<Integer> correlativos = ConcurrentHashMap.newKeySet();
+
+            // When
+            emitir(serie, cajeros, correlativos);
+
+            // Then: exactamente 1..320
+            assertThat(correlativos).isEqualTo(IntStream.rangeClosed(1, EMISIONES).boxed().collect(Collectors.toSet()));
+            assertThat(serieComprobanteRepository.findCorrelativoActualById(serie.getId())).isEqualTo(EMISIONES);
+        }
+    }
+
+    @Test
+    @DisplayName("El modo por bloques debe entregar números únicos sin bloquear la serie en cada venta")
+    void testModoPorBloques_Unicos() throws Exception {
+        for (int cajeros : new int[] { 1, 8, 32 }) {
+            // Given
+            SerieComprobante serie = crearSerie("B0" + cajeros, false);
+            Set<Integer> correlativos = ConcurrentHashMap.newKeySet();
+
+            // When
+            emitir(serie, cajeros, correlativos);
+
+            // Then: ningún número repetido y ninguno por encima de lo reservado
+            assertThat(correlativos).hasSize(EMISIONES);
+            int reservado = serieComprobanteRepository.findCorrelativoActualById(serie.getId());
+            assertThat(correlativos).allMatch(numero -> numero >= 1 && numero <= reservado);
+        }
+    }
+}
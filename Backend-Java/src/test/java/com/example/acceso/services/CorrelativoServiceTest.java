@@ -0,0 +1,131 @@
+package com.example.acceso.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import com.example.acceso.DTO.BloqueCorrelativosDTO;
+import com.example.acceso.model.SerieComprobante;
+import com.example.acceso.repository.SerieComprobanteRepository;
+import com.example.acceso.service.Implements.CorrelativoServiceImpl;
+import com.example.acceso.service.Implements.MetricasServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Pruebas del Servicio CorrelativoService")
+class CorrelativoServiceTest {
+
+    private static final int TAMANO_BLOQUE = 5;
+
+    @Mock private SerieComprobanteRepository serieComprobanteRepository;
+    @Mock private ApplicationEventPublisher eventPublisher;
+
+    private CorrelativoServiceImpl correlativoService;
+    private SerieComprobante mockSerie;
+
+    @BeforeEach
+    void setUp() {
+        correlativoService = new CorrelativoServiceImpl(serieComprobanteRepository, eventPublisher,
+                new MetricasServiceImpl(new SimpleMeterRegistry()), TAMANO_BLOQUE);
+
+        mockSerie = new SerieComprobante();
+        mockSerie.setId(1L);
+        mockSerie.setCorrelativo_actual(99);
+    }
+
+    @Test
+    @DisplayName("Debe bloquear la serie y tomar el número siguiente en modo estricto")
+    void testSiguienteCorrelativo_Estricto() {
+        // Given: la serie no indica modo, por lo que es estricta
+        when(serieComprobanteRepository.bloquearCorrelativoActual(1L)).thenReturn(99);
+
+        // When
+        int correlativo = correlativoService.siguienteCorrelativo(mockSerie);
+
+        // Then
+        assertThat(correlativo).isEqualTo(100);
+        verify(serieComprobanteRepository).reservarCorrelativos(1L, 1);
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Debe lanzar excepción si la serie no existe en modo estricto")
+    void testSiguienteCorrelativo_Estricto_SerieInexistente() {
+        // Given
+        when(serieComprobanteRepository.bloquearCorrelativoActual(1L)).thenReturn(null);
+
+        // When
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> {
+            correlativoService.siguienteCorrelativo(mockSerie);
+        });
+
+        // Then
+        assertThat(exception.getMessage()).isEqualTo("Error: La serie de comprobante no existe.");
+        verify(serieComprobanteRepository, never()).reservarCorrelativos(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Debe repartir desde memoria el bloque reservado una vez confirmado")
+    void testSiguienteCorrelativo_PorBloques() {
+        // Given
+        mockSerie.setCorrelativoEstricto(false);
+        when(serieComprobanteRepository.reservarCorrelativos(1L, TAMANO_BLOQUE)).thenReturn(1);
+        when(serieComprobanteRepository.findCorrelativoActualById(1L)).thenReturn(104, 109);
+
+        // When: la primera venta reserva 100..104 y se queda con el 100
+        int primero = correlativoService.siguienteCorrelativo(mockSerie);
+
+        // Then: el resto del bloque se publica para cuando se confirme la transacción
+        ArgumentCaptor<BloqueCorrelativosDTO> evento = ArgumentCaptor.forClass(BloqueCorrelativosDTO.class);
+        verify(eventPublisher).publishEvent(evento.capture());
+        assertThat(primero).isEqualTo(100);
+        assertThat(evento.getValue()).isEqualTo(new BloqueCorrelativosDTO(1L, 101, 104));
+
+        // When: se confirma la transacción y llegan más ventas
+        correlativoService.publicarBloque(evento.getValue());
+        int[] siguientes = new int[5];
+        for (int i = 0; i < siguientes.length; i++) {
+            siguientes[i] = correlativoService.siguienteCorrelativo(mockSerie);
+        }
+
+        // Then: 101..104 salen de memoria y el 105 abre un bloque nuevo
+        assertThat(siguientes).containsExactly(101, 102, 103, 104, 105);
+        verify(serieComprobanteRepository, times(2)).reservarCorrelativos(1L, TAMANO_BLOQUE);
+        verify(serieComprobanteRepository, never()).bloquearCorrelativoActual(any());
+    }
+
+    @Test
+    @DisplayName("No debe entregar números de un bloque cuya transacción no se confirmó")
+    void testSiguienteCorrelativo_PorBloques_SinConfirmar() {
+        // Given: la primera reserva se revierte, así que su evento nunca se entrega
+        mockSerie.setCorrelativoEstricto(false);
+        when(serieComprobanteRepository.reservarCorrelativos(1L, TAMANO_BLOQUE)).thenReturn(1);
+        when(serieComprobanteRepository.findCorrelativoActualById(1L)).thenReturn(104, 104);
+
+        // When
+        int primero = correlativoService.siguienteCorrelativo(mockSerie);
+        int segundo = correlativoService.siguienteCorrelativo(mockSerie);
+
+        // Then: la base de datos deshizo la primera reserva y la segunda vuelve a empezar en 100
+        assertThat(primero).isEqualTo(100);
+        assertThat(segundo).isEqualTo(100);
+        verify(serieComprobanteRepository, times(2)).reservarCorrelativos(1L, TAMANO_BLOQUE);
+    }
+
+    @Test
+    @DisplayName("Debe rechazar un tamaño de bloque menor a 1")
+    void testConstructor_TamanoBloqueInvalido() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new CorrelativoServiceImpl(serieComprobanteRepository, eventPublisher,
+                        new MetricasServiceImpl(new SimpleMeterRegistry()), 0));
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.acceso.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.example.acceso.model.*;
+import com.example.acceso.service.Implements.CostoHistoricoServiceImpl;
+import com.example.acceso.service.Interfaces.CostoHistoricoService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Verifica que las líneas de venta antiguas, sin costo guardado, se completan
+ * con el precio de compra del producto y que las demás no se tocan.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(CostoHistoricoServiceImpl.class)
+@DisplayName("Pruebas del Servicio CostoHistoricoService")
+class CostoHistoricoServiceTest {
+
+    @Autowired private CostoHistoricoService costoHistoricoService;
+    @Autowired private TestEntityManager entityManager;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private Venta venta;
+    private Producto producto;
+
+    @BeforeEach
+    void setUp() {
+        Categoria categoria = entityManager.persist(new Categoria("Alimentos"));
+        producto = entityManager.persist(new Producto("Producto A", "Descripcion A", 4.125, 10.0, 100, 5, "[]", categoria));
+        SerieComprobante serie = entityManager.persist(new SerieComprobante("Boleta", "B001", 0));
+
+        venta = new Venta();
+        venta.setSerieComprobante(serie);
+        venta.setCorrelativo(1);
+        venta.setFecha(LocalDateTime.now());
+        venta.setTotal(new BigDecimal("50.00"));
+        venta = entityManager.persist(venta);
+        entityManager.flush();
+    }
+
+    private void insertarLinea(int cantidad, BigDecimal costoUnitario, BigDecimal utilidad) {
+        jdbcTemplate.update("INSERT INTO detalle_venta (id_venta, id_producto, cantidad, precio_unitario, subtotal, "
+                        + "costo_unitario, utilidad) VALUES (?, ?, ?, 10.00, ?, ?, ?)",
+                venta.getId(), producto.getId(), cantidad, BigDecimal.TEN.multiply(BigDecimal.valueOf(cantidad)),
+                costoUnitario, utilidad);
+    }
+
+    @Test
+    @DisplayName("Debe completar solo las líneas sin costo con el precio de compra actual")
+    void testCompletarCostosHistoricos() {
+        // Given: dos líneas antiguas y una que ya guardó su costo al vender
+        insertarLinea(2, null, null);
+        insertarLinea(3, null, null);
+        insertarLinea(1, new BigDecimal("3.00"), new BigDecimal("7.00"));
+
+        // When
+        int completadas = costoHistoricoService.completarCostosHistoricos();
+
+        // Then: 4.125 se redondea a 4.13; la línea que ya tenía costo conserva el suyo
+        assertThat(completadas).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT cantidad, costo_unitario, utilidad FROM detalle_venta WHERE id_venta = ? ORDER BY cantidad",
+                venta.getId()))
+                .extracting(fila -> fila.get("cantidad"), fila -> ((BigDecimal) fila.get("costo_unitario")).toPlainString(),
+                        fila -> ((BigDecimal) fila.get("utilidad")).toPlainString())
+                .containsExactly(
+                        tuple(1, "3.00", "7.00"),
+                        tuple(2, "4.13", "11.74"),
+                        tuple(3, "4.13", "17.61"));
+
+        // When: un segundo arranque no encuentra nada pendiente
+        assertThat(costoHistoricoService.completarCostosHistoricos()).isZero();
+    }
+}
@@ -0,0 +1,241 @@
+package com.example.acceso.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.example.acceso.DTO.EstadoCorreoDTO;
+import com.example.acceso.model.CorreoPendiente;
+import com.example.acceso.repository.CorreoPendienteRepository;
+import com.example.acceso.service.Implements.EnvioCorreosServiceImpl;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.GreenMailUtil;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Verifica la bandeja de salida de correos contra un servidor SMTP local
+ * (GreenMail) y la base de datos de pruebas: envío por lotes, reintentos con
+ * espera creciente y correos fallidos.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Pruebas del Servicio EnvioCorreosService")
+class EnvioCorreosServiceTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Autowired
+    private CorreoPendienteRepository correoPendienteRepository;
+
+    @AfterEach
+    void tearDown() {
+        correoPendienteRepository.deleteAll();
+    }
+
+    private static JavaMailSenderImpl clienteSmtp(int puerto) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(puerto);
+        return mailSender;
+    }
+
+    private EnvioCorreosServiceImpl crearServicio(JavaMailSenderImpl mailSender, int maximoIntentos) {
+        return new EnvioCorreosServiceImpl(correoPendienteRepository, mailSender, 20, 2, maximoIntentos,
+                Duration.ofMinutes(1), Duration.ofMinutes(10), Duration.ofMinutes(5));
+    }
+
+    private CorreoPendiente recargar(EstadoCorreoDTO correo) {
+        return correoPendienteRepository.findById(correo.id()).orElseThrow();
+    }
+
+    @Test
+    @DisplayName("Debe enviar los pendientes por lotes, reutilizando una conexión SMTP por grupo")
+    void testProcesarPendientes_EnvioPorLotes() {
+        // Given
+        JavaMailSenderImpl mailSender = spy(clienteSmtp(ServerSetupTest.SMTP.getPort()));
+        EnvioCorreosServiceImpl envioService = crearServicio(mailSender, 3);
+        List<EstadoCorreoDTO> correos = List.of(
+                envioService.encolar(1L, "uno@prueba.com", "Boleta 1", "<p>Boleta 1</p>"),
+                envioService.encolar(2L, "dos@prueba.com", "Boleta 2", "<p>Boleta 2</p>"),
+                envioService.encolar(3L, "tres@prueba.com", "Boleta 3", "<p>Boleta 3</p>"),
+                envioService.encolar(4L, "cuatro@prueba.com", "Boleta 4", "<p>Boleta 4</p>"),
+                envioService.encolar(5L, "cinco@prueba.com", "Boleta 5", "<p>Boleta 5</p>"));
+
+        // When
+        envioService.procesarPendientes();
+
+        // Then: cinco correos en dos envíos, uno por conexión
+        MimeMessage[] recibidos = greenMail.getReceivedMessages();
+        assertThat(recibidos).hasSize(5);
+        assertThat(recibidos).extracting(GreenMailUtil::getBody).anyMatch(cuerpo -> cuerpo.contains("Boleta 3"));
+        verify(mailSender, times(2)).send(any(MimeMessage[].class));
+        assertThat(correos).map(this::recargar).allSatisfy(correo -> {
+            assertThat(correo.getEstado()).isEqualTo(CorreoPendiente.ENVIADO);
+            assertThat(correo.getIntentos()).isEqualTo(1);
+            assertThat(correo.getFechaEnvio()).isNotNull();
+        });
+    }
+
+    @Test
+    @DisplayName("Debe reintentar con espera creciente si el servidor no responde y dar el correo por fallido al agotar los intentos")
+    void testProcesarPendientes_Reintentos() {
+        // Given: un puerto sin servidor SMTP
+        EnvioCorreosServiceImpl envioService = crearServicio(clienteSmtp(ServerSetupTest.SMTP.getPort() + 100), 3);
+        EstadoCorreoDTO correo = envioService.encolar(1L, "cliente@prueba.com", "Boleta", "<p>Boleta</p>");
+
+        for (int intento = 1; intento <= 2; intento++) {
+            // When
+            LocalDateTime antes = LocalDateTime.now();
+            envioService.procesarPendientes();
+
+            // Then: 1 minuto tras el primer fallo, 2 tras el segundo
+            CorreoPendiente pendiente = recargar(correo);
+            assertThat(pendiente.getEstado()).isEqualTo(CorreoPendiente.PENDIENTE);
+            assertThat(pendiente.getIntentos()).isEqualTo(intento);
+            assertThat(pendiente.getUltimoError()).isNotBlank();
+            assertThat(pendiente.getProximoIntento())
+                    .isCloseTo(antes.plusMinutes(intento == 1 ? 1 : 2), within(5, ChronoUnit.SECONDS));
+
+            // Mientras no llegue la hora del reintento no se vuelve a tomar
+            envioService.procesarPendientes();
+            assertThat(recargar(correo).getIntentos()).isEqualTo(intento);
+
+            pendiente.setProximoIntento(LocalDateTime.now().minusSeconds(1));
+            correoPendienteRepository.save(pendiente);
+        }
+
+        // When: tercer y último intento
+        envioService.procesarPendientes();
+
+        // Then
+        CorreoPendiente fallido = recargar(correo);
+        assertThat(fallido.getEstado()).isEqualTo(CorreoPendiente.FALLIDO);
+        assertThat(fallido.getIntentos()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Debe dar por fallido un correo con dirección inválida sin afectar al resto del lote")
+    void testProcesarPendientes_FalloDefinitivo() {
+        // Given
+        EnvioCorreosServiceImpl envioService = crearServicio(clienteSmtp(ServerSetupTest.SMTP.getPort()), 5);
+        EstadoCorreoDTO invalido = envioService.encolar(1L, "no es un correo", "Boleta 1", "<p>Boleta 1</p>");
+        EstadoCorreoDTO valido = envioService.encolar(2L, "cliente@prueba.com", "Boleta 2", "<p>Boleta 2</p>");
+
+        // When
+        envioService.procesarPendientes();
+
+        // Then
+        assertThat(recargar(invalido).getEstado()).isEqualTo(CorreoPendiente.FALLIDO);
+        assertThat(recargar(invalido).getIntentos()).isEqualTo(1);
+        assertThat(recargar(valido).getEstado()).isEqualTo(CorreoPendiente.ENVIADO);
+        assertThat(greenMail.getReceivedMessages()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Debe volver a enviar un correo cuya reserva venció sin terminar el envío")
+    void testProcesarPendientes_ReservaVencida() {
+        // Given: un envío anterior se interrumpió con el correo reservado
+        EnvioCorreosServiceImpl envioService = crearServicio(clienteSmtp(ServerSetupTest.SMTP.getPort()), 3);
+        EstadoCorreoDTO correo = envioService.encolar(1L, "cliente@prueba.com", "Boleta", "<p>Boleta</p>");
+        CorreoPendiente reservado = recargar(correo);
+        reservado.setEstado(CorreoPendiente.ENVIANDO);
+        reservado.setProximoIntento(LocalDateTime.now().minusMinutes(1));
+        correoPendienteRepository.save(reservado);
+
+        // When
+        envioService.procesarPendientes();
+
+        // Then
+        assertThat(recargar(correo).getEstado()).isEqualTo(CorreoPendiente.ENVIADO);
+        assertThat(greenMail.getReceivedMessages()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Debe guardar los correos ya enviados aunque se interrumpa la espera del lote")
+    void testProcesarPendientes_Interrumpido() throws Exception {
+        // Given: dos grupos; el del correo "lento" queda bloqueado en el envío
+        JavaMailSenderImpl mailSender = spy(clienteSmtp(ServerSetupTest.SMTP.getPort()));
+        CountDownLatch liberarLento = new CountDownLatch(1);
+        CountDownLatch rapidoEnviado = new CountDownLatch(1);
+        doAnswer(invocacion -> {
+            MimeMessage mensaje = invocacion.getArgument(0);
+            boolean lento = mensaje.getAllRecipients()[0].toString().equals("lento@prueba.com");
+            if (lento) {
+                liberarLento.await();
+            }
+            Object resultado = invocacion.callRealMethod();
+            if (!lento) {
+                rapidoEnviado.countDown();
+            }
+            return resultado;
+        }).when(mailSender).send(any(MimeMessage[].class));
+        EnvioCorreosServiceImpl envioService = crearServicio(mailSender, 3);
+        EstadoCorreoDTO rapido = envioService.encolar(1L, "rapido@prueba.com", "Boleta 1", "<p>Boleta 1</p>");
+        EstadoCorreoDTO lento = envioService.encolar(2L, "lento@prueba.com", "Boleta 2", "<p>Boleta 2</p>");
+
+        AtomicBoolean interrumpido = new AtomicBoolean();
+        Thread planificador = new Thread(() -> {
+            envioService.procesarPendientes();
+            interrumpido.set(Thread.currentThread().isInterrupted());
+        });
+        planificador.start();
+
+        try {
+            // When: se interrumpe cuando el grupo rápido ya terminó y el otro sigue enviando
+            assertThat(rapidoEnviado.await(10, TimeUnit.SECONDS)).isTrue();
+            Thread.sleep(200);
+            planificador.interrupt();
+            planificador.join(10_000);
+
+            // Then
+            assertThat(planificador.isAlive()).isFalse();
+            assertThat(interrumpido).isTrue();
+            assertThat(recargar(rapido).getEstado()).isEqualTo(CorreoPendiente.ENVIADO);
+            assertThat(recargar(lento).getEstado()).isEqualTo(CorreoPendiente.ENVIANDO);
+        } finally {
+            liberarLento.countDown();
+            envioService.detener();
+        }
+    }
+
+    @Test
+    @DisplayName("Debe informar el estado de un correo encolado")
+    void testObtenerEstado() {
+        // Given
+        EnvioCorreosServiceImpl envioService = crearServicio(clienteSmtp(ServerSetupTest.SMTP.getPort()), 3);
+        EstadoCorreoDTO correo = envioService.encolar(7L, "cliente@prueba.com", "Boleta", "<p>Boleta</p>");
+
+        // When
+        EstadoCorreoDTO estado = envioService.obtenerEstado(correo.id());
+
+        // Then
+        assertThat(estado.ventaId()).isEqualTo(7L);
+        assertThat(estado.destinatario()).isEqualTo("cliente@prueba.com");
+        assertThat(estado.estado()).isEqualTo("PENDIENTE");
+        assertThat(estado.intentos()).isZero();
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.acceso.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.example.acceso.repository.ReportesRepository;
+import com.example.acceso.service.Implements.ExportacionReportesServiceImpl;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Pruebas del Servicio ExportacionReportesService")
+class ExportacionReportesServiceTest {
+
+    private static final int FILAS_GRANDES = 1_000_000;
+    private static final int INTERVALO_MUESTRA = 100_000;
+    private static final long TECHO_MEMORIA = 64L * 1024 * 1024;
+
+    @Mock private ReportesRepository reportesRepository;
+
+    private ExportacionReportesServiceImpl exportacionService;
+
+    @BeforeEach
+    void setUp() {
+        exportacionService = new ExportacionReportesServiceImpl(reportesRepository);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void simularFilasVenta(List<Object[]> filas) {
+        doAnswer(invocacion -> {
+            Consumer<Object[]> fila = invocacion.getArgument(2);
+            filas.forEach(fila);
+            return null;
+        }).when(reportesRepository).recorrerUtilidadPorVenta(any(), any(), any(Consumer.class));
+    }
+
+    @Test
+    @DisplayName("Debe escribir el reporte por venta en un libro de Excel con fechas y montos numéricos")
+    @SuppressWarnings("unchecked")
+    void testExportar_Xlsx() throws Exception {
+        // Given
+        LocalDateTime fecha = LocalDateTime.of(2025, 3, 10, 15, 30);
+        simularFilasVenta(List.of(
+                new Object[] { "B001-1", "Cliente A", Timestamp.valueOf(fecha), new BigDecimal("150.00"), new BigDecimal("45.50") },
+                new Object[] { "B001-2", "Cliente B", Timestamp.valueOf(fecha.plusDays(1)), new BigDecimal("80.00"), new BigDecimal("12.25") }));
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+
+        // When
+        exportacionService.exportar("utilidad-ventas", "xlsx", LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 31), salida);
+
+        // Then: el rango se aplica sobre los días completos
+        verify(reportesRepository).recorrerUtilidadPorVenta(eq(LocalDateTime.of(2025, 3, 1, 0, 0)),
+                eq(LocalDate.of(2025, 3, 31).atTime(LocalTime.MAX)), any(Consumer.class));
+        try (XSSFWorkbook libro = new XSSFWorkbook(new ByteArrayInputStream(salida.toByteArray()))) {
+            Sheet hoja = libro.getSheetAt(0);
+            assertThat(hoja.getPhysicalNumberOfRows()).isEqualTo(3);
+            assertThat(hoja.getRow(0).getCell(0).getStringCellValue()).isEqualTo("Documento");
+            assertThat(hoja.getRow(0).getCell(4).getStringCellValue()).isEqualTo("Utilidad");
+
+            Row primera = hoja.getRow(1);
+            assertThat(primera.getCell(0).getStringCellValue()).isEqualTo("B001-1");
+            assertThat(primera.getCell(2).getLocalDateTimeCellValue()).isEqualTo(fecha);
+            assertThat(primera.getCell(3).getNumericCellValue()).isEqualTo(150.00);
+            assertThat(primera.getCell(4).getNumericCellValue()).isEqualTo(45.50);
+        }
+    }
+
+    @Test
+    @DisplayName("Debe escribir el CSV en UTF-8 con BOM y escapar comas y comillas")
+    @SuppressWarnings("unchecked")
+    void testExportar_Csv() throws Exception {
+        // Given
+        doAnswer(invocacion -> {
+            Consumer<Object[]> fila = invocacion.getArgument(2);
+            fila.accept(new Object[] { "Tubo PVC 1\", clase 10", 12L, new BigDecimal("240.00"), new BigDecimal("60.00") });
+            fila.accept(new Object[] { "Codo", 3L, new BigDecimal("9.00"), null });
+            return null;
+        }).when(reportesRepository).recorrerUtilidadPorProducto(isNull(), isNull(), any(Consumer.class));
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+
+        // When
+        exportacionService.exportar("utilidad-producto", "csv", null, null, salida);
+
+        // Then
+        assertThat(salida.toString(StandardCharsets.UTF_8)).isEqualTo("﻿"
+                + "Producto,Cantidad Vendida,Total Venta,Utilidad\r\n"
+                + "\"Tubo PVC 1\"\", clase 10\",12,240.00,60.00\r\n"
+                + "Codo,3,9.00,\r\n");
+    }
+
+    @Test
+    @DisplayName("Debe rechazar reportes, formatos o rangos no válidos sin consultar la base de datos")
+    void testValidarExportacion_Invalida() {
+        LocalDate hoy = LocalDate.of(2025, 3, 10);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> exportacionService.validarExportacion("clientes", "xlsx", null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> exportacionService.validarExportacion("utilidad-ventas", "pdf", null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> exportacionService.validarExportacion("utilidad-ventas", "csv", hoy, null));
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> exportacionService.exportar("utilidad-usuarios", "csv", hoy, hoy.minusDays(1), OutputStream.nullOutputStream()));
+
+        assertThat(exception.getMessage()).isEqualTo("La fecha de fin no puede ser anterior a la de inicio");
+        verifyNoInteractions(reportesRepository);
+    }
+
+    @Test
+    @DisplayName("Debe exportar un millón de filas a Excel y CSV sin que crezca la memoria usada")
+    void testExportar_MillonDeFilas_TechoDeMemoria() throws Exception {
+        for (String formato : List.of("xlsx", "csv")) {
+            // Given: el repositorio genera las filas una a una, como el cursor JDBC
+            MemoryMXBean memoria = ManagementFactory.getMemoryMXBean();
+            List<Long> muestras = new ArrayList<>();
+            long base = memoriaUsada(memoria);
+            doAnswer(invocacion -> {
+                Consumer<Object[]> fila = invocacion.getArgument(2);
+                LocalDateTime inicio = LocalDateTime.of(2020, 1, 1, 8, 0);
+                for (int i = 1; i <= FILAS_GRANDES; i++) {
+                    fila.accept(new Object[] { "B001-" + i, "Cliente " + (i % 5_000),
+                            Timestamp.valueOf(inicio.plusMinutes(i)), BigDecimal.valueOf(i % 10_000, 2),
+                            BigDecimal.valueOf(i % 3_000, 2) });
+                    if (i % INTERVALO_MUESTRA == 0) {
+                        muestras.add(memoriaUsada(memoria) - base);
+                    }
+                }
+                return null;
+            }).when(reportesRepository).recorrerUtilidadPorVenta(any(), any(), any());
+
+            // When
+            exportacionService.exportar("utilidad-ventas", formato, null, null, OutputStream.nullOutputStream());
+
+            // Then: la memoria retenida no crece con las filas escritas
+            assertThat(muestras).hasSize(FILAS_GRANDES / INTERVALO_MUESTRA);
+            assertThat(muestras)
+                    .as("Memoria retenida (MB) al exportar %s, cada %d filas: %s", formato, INTERVALO_MUESTRA,
+                            muestras.stream().map(bytes -> String.format("%.1f", bytes / 1024.0 / 1024.0)).toList())
+                    .allMatch(bytes -> bytes < TECHO_MEMORIA);
+        }
+    }
+
+    private static long memoriaUsada(MemoryMXBean memoria) {
+        System.gc();
+        return memoria.getHeapMemoryUsage().getUsed();
+    }
+}
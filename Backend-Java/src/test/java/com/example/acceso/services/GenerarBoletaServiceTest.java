@@ -0,0 +1,155 @@
+package com.example.acceso.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import com.example.acceso.DTO.EstadoCorreoDTO;
+import com.example.acceso.DTO.VentaModificadaDTO;
+import com.example.acceso.model.*;
+import com.example.acceso.service.Implements.GenerarBoletaServiceImpl;
+import com.example.acceso.service.Implements.MetricasServiceImpl;
+import com.example.acceso.service.Interfaces.EnvioCorreosService;
+import com.example.acceso.service.Interfaces.VentaService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Pruebas del Servicio GenerarBoletaService")
+class GenerarBoletaServiceTest {
+
+    @Mock private VentaService ventaService;
+    @Mock private EnvioCorreosService envioCorreosService;
+
+    private GenerarBoletaServiceImpl boletaService;
+
+    @BeforeEach
+    void setUp() {
+        boletaService = new GenerarBoletaServiceImpl(ventaService, envioCorreosService,
+                new MetricasServiceImpl(new SimpleMeterRegistry()), 1024 * 1024, 10);
+    }
+
+    static Venta crearVenta(Long id, int correlativo) {
+        Producto producto = new Producto();
+        producto.setNombre("Tubo PVC 1/2");
+
+        Venta venta = new Venta();
+        venta.setId(id);
+        venta.setCliente(new Cliente("Cliente Boleta", "12345678", "", "cliente@prueba.com"));
+        venta.setSerieComprobante(new SerieComprobante("Boleta", "B001", 0));
+        venta.setCorrelativo(correlativo);
+        venta.setFecha(LocalDateTime.of(2025, 11, 5, 10, 30));
+        venta.setTotal(new BigDecimal("25.00"));
+        venta.getDetalleVentas().add(new DetalleVenta(venta, producto, 2, new BigDecimal("12.50"), new BigDecimal("25.00")));
+        return venta;
+    }
+
+    @Test
+    @DisplayName("Debe generar el PDF de la boleta y reutilizarlo mientras la venta no cambie")
+    void testGenerarBoletaPdf_Cache() throws Exception {
+        // Given
+        when(ventaService.obtenerVenta(1L)).thenReturn(crearVenta(1L, 123));
+
+        // When
+        byte[] primera = boletaService.generarBoletaPdf(1L);
+        byte[] segunda = boletaService.generarBoletaPdf(1L);
+
+        // Then: es un PDF y la segunda descarga no se vuelve a generar
+        assertThat(new String(primera, 0, 5, StandardCharsets.ISO_8859_1)).isEqualTo("%PDF-");
+        assertThat(segunda).isSameAs(primera);
+    }
+
+    @Test
+    @DisplayName("Debe volver a generar la boleta si cambian los datos que imprime")
+    void testGenerarBoletaPdf_DatosModificados() throws Exception {
+        // Given
+        Venta venta = crearVenta(1L, 123);
+        when(ventaService.obtenerVenta(1L)).thenReturn(venta);
+        byte[] original = boletaService.generarBoletaPdf(1L);
+
+        // When
+        venta.getCliente().setNombre("Cliente Corregido");
+        byte[] corregida = boletaService.generarBoletaPdf(1L);
+
+        // Then
+        assertThat(corregida).isNotSameAs(original);
+        assertThat(boletaService.generarBoletaPdf(1L)).isSameAs(corregida);
+    }
+
+    @Test
+    @DisplayName("Debe descartar la boleta guardada cuando la venta se anula o recibe un pago")
+    void testInvalidarBoleta() throws Exception {
+        // Given
+        when(ventaService.obtenerVenta(1L)).thenReturn(crearVenta(1L, 123));
+        byte[] original = boletaService.generarBoletaPdf(1L);
+
+        // When
+        boletaService.invalidarBoleta(new VentaModificadaDTO(1L));
+
+        // Then
+        assertThat(boletaService.generarBoletaPdf(1L)).isNotSameAs(original);
+    }
+
+    @Test
+    @DisplayName("Debe descartar la boleta usada hace más tiempo al superar el límite de la caché")
+    void testGenerarBoletaPdf_Desalojo() throws Exception {
+        // Given: caché de dos boletas
+        boletaService = new GenerarBoletaServiceImpl(ventaService, envioCorreosService,
+                new MetricasServiceImpl(new SimpleMeterRegistry()), 1024 * 1024, 2);
+        for (long id = 1; id <= 3; id++) {
+            when(ventaService.obtenerVenta(id)).thenReturn(crearVenta(id, (int) id));
+        }
+        byte[] primera = boletaService.generarBoletaPdf(1L);
+        byte[] segunda = boletaService.generarBoletaPdf(2L);
+
+        // When: se vuelve a usar la 1 y entra la 3
+        boletaService.generarBoletaPdf(1L);
+        boletaService.generarBoletaPdf(3L);
+
+        // Then: sale la 2, la menos usada recientemente
+        assertThat(boletaService.generarBoletaPdf(1L)).isSameAs(primera);
+        assertThat(boletaService.generarBoletaPdf(2L)).isNotSameAs(segunda);
+    }
+
+    @Test
+    @DisplayName("Debe dejar la boleta en la bandeja de salida en lugar de enviarla durante la petición")
+    void testEnviarBoletaPorCorreo_Encola() {
+        // Given
+        when(ventaService.obtenerVenta(1L)).thenReturn(crearVenta(1L, 123));
+        EstadoCorreoDTO encolado = new EstadoCorreoDTO(10L, 1L, "cliente@prueba.com", "PENDIENTE", 0,
+                LocalDateTime.now(), null, null);
+        when(envioCorreosService.encolar(eq(1L), eq("cliente@prueba.com"),
+                eq("Comprobante de Venta Acuamont: B001-000000123"), contains("Cliente Boleta"))).thenReturn(encolado);
+
+        // When
+        EstadoCorreoDTO correo = boletaService.enviarBoletaPorCorreo(1L);
+
+        // Then
+        assertThat(correo).isSameAs(encolado);
+    }
+
+    @Test
+    @DisplayName("Debe lanzar excepción si el cliente no tiene correo")
+    void testEnviarBoletaPorCorreo_SinCorreo() {
+        // Given
+        Venta venta = crearVenta(1L, 123);
+        venta.getCliente().setCorreo("");
+        when(ventaService.obtenerVenta(1L)).thenReturn(venta);
+
+        // When
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> boletaService.enviarBoletaPorCorreo(1L));
+
+        // Then
+        assertThat(exception.getMessage()).isEqualTo("El cliente no tiene un correo electrónico.");
+        verifyNoInteractions(envioCorreosService);
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.acceso.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.acceso.config.SecurityConfig;
+import com.example.acceso.DTO.ClienteGrillaDTO;
+import com.example.acceso.DTO.PaginaGrillaDTO;
+import com.example.acceso.DTO.SolicitudGrillaDTO;
+import com.example.acceso.DTO.UsuarioGrillaDTO;
+import com.example.acceso.model.Cliente;
+import com.example.acceso.model.Perfil;
+import com.example.acceso.model.Usuario;
+import com.example.acceso.service.Implements.ClienteServiceImpl;
+import com.example.acceso.service.Implements.GrillaServiceImpl;
+import com.example.acceso.service.Implements.UsuarioServiceImpl;
+import com.example.acceso.service.Interfaces.ClienteService;
+import com.example.acceso.service.Interfaces.UsuarioService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Verifica las grillas paginadas en el servidor contra la base de datos de
+ * pruebas: páginas, búsqueda, columnas de orden permitidas y cuántas consultas
+ * cuesta cada página.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({GrillaServiceImpl.class, ClienteServiceImpl.class, UsuarioServiceImpl.class, SecurityConfig.class})
+@DisplayName("Pruebas del Servicio GrillaService")
+class GrillaServiceTest {
+
+    @Autowired private ClienteService clienteService;
+    @Autowired private UsuarioService usuarioService;
+    @Autowired private TestEntityManager entityManager;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        // 45 clientes visibles y 3 eliminados; los nombres van en orden inverso al ID
+        for (int i = 0; i < 48; i++) {
+            Cliente cliente = new Cliente(String.format("CLIENTE %02d", 47 - i), String.valueOf(70000000 + i), "",
+                    "cliente" + i + "@prueba.com");
+            cliente.setEstado(i >= 45 ? 2 : 1);
+            entityManager.persist(cliente);
+        }
+        entityManager.persist(new Cliente("Empresa Acuamont SAC", "20123456789", "", "empresa@prueba.com"));
+
+        Perfil administrador = new Perfil();
+        administrador.setNombre("Administrador");
+        entityManager.persist(administrador);
+        Perfil vendedor = new Perfil();
+        vendedor.setNombre("Vendedor");
+        entityManager.persist(vendedor);
+        for (int i = 0; i < 6; i++) {
+            Usuario usuario = new Usuario("Usuario " + i, "usuario" + i, "clave-secreta", "usuario" + i + "@prueba.com");
+            usuario.setPerfil(i % 2 == 0 ? vendedor : administrador);
+            usuario.setSecreto2FA("SECRETO" + i);
+            entityManager.persist(usuario);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Debe devolver solo la página pedida, en el orden pedido, con el conteo y la página en dos consultas")
+    void testListarGrilla_PaginaOrdenada() {
+        // When
+        PaginaGrillaDTO<ClienteGrillaDTO> pagina = clienteService.listarGrilla(
+                new SolicitudGrillaDTO(20, 10, null, "nombre", "asc"));
+
+        // Then
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(pagina.total()).isEqualTo(46);
+        assertThat(pagina.filtrados()).isEqualTo(46);
+        assertThat(pagina.datos()).extracting(ClienteGrillaDTO::nombre)
+                .containsExactly("CLIENTE 23", "CLIENTE 24", "CLIENTE 25", "CLIENTE 26", "CLIENTE 27", "CLIENTE 28",
+                        "CLIENTE 29", "CLIENTE 30", "CLIENTE 31", "CLIENTE 32");
+    }
+
+    @Test
+    @DisplayName("Debe buscar por el inicio del documento o por cualquier parte del nombre, sin distinguir mayúsculas")
+    void testListarGrilla_Busqueda() {
+        // When
+        PaginaGrillaDTO<ClienteGrillaDTO> porDocumento = clienteService.listarGrilla(
+                new SolicitudGrillaDTO(0, 10, "7000000", null, null));
+        PaginaGrillaDTO<ClienteGrillaDTO> porNombre = clienteService.listarGrilla(
+                new SolicitudGrillaDTO(0, 10, "  acuamont ", null, null));
+        PaginaGrillaDTO<ClienteGrillaDTO> comodin = clienteService.listarGrilla(
+                new SolicitudGrillaDTO(0, 10, "%", null, null));
+
+        // Then
+        assertThat(porDocumento.datos()).extracting(ClienteGrillaDTO::documento)
+                .containsExactly("70000000", "70000001", "70000002", "70000003", "70000004", "70000005",
+                        "70000006", "70000007", "70000008", "70000009");
+        assertThat(porDocumento.filtrados()).isEqualTo(10);
+        assertThat(porNombre.datos()).extracting(ClienteGrillaDTO::nombre).containsExactly("Empresa Acuamont SAC");
+        assertThat(porNombre.filtrados()).isEqualTo(1);
+        assertThat(porNombre.total()).isEqualTo(46);
+        assertThat(comodin.datos()).isEmpty();
+        assertThat(comodin.filtrados()).isZero();
+    }
+
+    @Test
+    @DisplayName("Debe contar los filtrados solo cuando la página no permite deducirlos")
+    void testListarGrilla_ConteoFiltrados() {
+        // When: la búsqueda cabe en una página, el total filtrado sale de la página
+        PaginaGrillaDTO<ClienteGrillaDTO> unaPagina = clienteService.listarGrilla(
+                new SolicitudGrillaDTO(0, 10, "CLIENTE 1", null, null));
+        long consultasUnaPagina = statistics.getPrepareStatementCount();
+        statistics.clear();
+        PaginaGrillaDTO<ClienteGrillaDTO> variasPaginas = clienteService.listarGrilla(
+                new SolicitudGrillaDTO(0, 10, "cliente", null, null));
+
+        // Then
+        assertThat(unaPagina.filtrados()).isEqualTo(10);
+        assertThat(consultasUnaPagina).isEqualTo(2);
+        assertThat(variasPaginas.datos()).hasSize(10);
+        assertThat(variasPaginas.filtrados()).isEqualTo(45);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Debe ordenar por ID cuando la columna no está permitida y limitar el tamaño de la página")
+    void testListarGrilla_OrdenNoPermitidoYLimites() {
+        // When
+        PaginaGrillaDTO<ClienteGrillaDTO> noPermitida = clienteService.listarGrilla(
+                new SolicitudGrillaDTO(-5, 1000, null, "correo", "desc"));
+        PaginaGrillaDTO<ClienteGrillaDTO> porDocumento = clienteService.listarGrilla(
+                new SolicitudGrillaDTO(null, null, null, "documento", "asc"));
+
+        // Then
+        assertThat(noPermitida.datos()).hasSize(46);
+        assertThat(noPermitida.datos()).extracting(ClienteGrillaDTO::id)
+                .isSortedAccordingTo((a, b) -> Long.compare(b, a));
+        assertThat(porDocumento.datos()).hasSize(SolicitudGrillaDTO.TAMANO_POR_DEFECTO);
+        assertThat(porDocumento.datos().get(0).documento()).isEqualTo("20123456789");
+        assertThat(new SolicitudGrillaDTO(0, 1000, null, null, null).tamano()).isEqualTo(SolicitudGrillaDTO.TAMANO_MAXIMO);
+    }
+
+    @Test
+    @DisplayName("Debe devolver todas las filas filtradas y en orden cuando se piden para exportar")
+    void testListarGrilla_TodasParaExportar() {
+        // When
+        PaginaGrillaDTO<ClienteGrillaDTO> todas = clienteService.listarGrilla(
+                new SolicitudGrillaDTO(20, SolicitudGrillaDTO.TODAS, null, "nombre", "desc"));
+        PaginaGrillaDTO<ClienteGrillaDTO> buscadas = clienteService.listarGrilla(
+                new SolicitudGrillaDTO(0, SolicitudGrillaDTO.TODAS, "cliente", "nombre", "asc"));
+
+        // Then
+        assertThat(todas.datos()).hasSize(46);
+        assertThat(todas.datos().get(0).nombre()).isEqualTo("Empresa Acuamont SAC");
+        assertThat(todas.datos()).extracting(ClienteGrillaDTO::nombre)
+                .isSortedAccordingTo(String.CASE_INSENSITIVE_ORDER.reversed());
+        assertThat(todas.filtrados()).isEqualTo(46);
+        assertThat(buscadas.datos()).hasSize(45);
+        assertThat(buscadas.datos().get(0).nombre()).isEqualTo("CLIENTE 03");
+        assertThat(buscadas.filtrados()).isEqualTo(45);
+    }
+
+    @Test
+    @DisplayName("Debe listar usuarios con su perfil en la misma consulta y sin clave ni secreto 2FA")
+    void testListarGrilla_Usuarios() {
+        // When
+        PaginaGrillaDTO<UsuarioGrillaDTO> pagina = usuarioService.listarGrilla(
+                new SolicitudGrillaDTO(0, 10, null, "perfilNombre", "desc"));
+        PaginaGrillaDTO<UsuarioGrillaDTO> busqueda = usuarioService.listarGrilla(
+                new SolicitudGrillaDTO(0, 10, "USUARIO3", null, null));
+
+        // Then
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+        assertThat(pagina.total()).isEqualTo(6);
+        assertThat(pagina.datos()).extracting(UsuarioGrillaDTO::perfilNombre)
+                .containsExactly("Vendedor", "Vendedor", "Vendedor", "Administrador", "Administrador", "Administrador");
+        assertThat(UsuarioGrillaDTO.class.getRecordComponents())
+                .noneMatch(componente -> componente.getName().matches("(?i).*(clave|secreto).*"));
+        assertThat(busqueda.datos()).extracting(UsuarioGrillaDTO::usuario).containsExactly("usuario3");
+    }
+}
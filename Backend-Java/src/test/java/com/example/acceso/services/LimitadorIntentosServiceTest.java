@@ -0,0 +1,107 @@
+package com.example.acceso.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.example.acceso.service.Implements.LimitadorIntentosServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Pruebas del Servicio LimitadorIntentosService")
+class LimitadorIntentosServiceTest {
+
+    @Test
+    @DisplayName("Debe permitir la capacidad de intentos por usuario y luego rechazar, sin afectar a otros usuarios")
+    void testIntentar_PorUsuario() {
+        // Given
+        LimitadorIntentosServiceImpl limitador = new LimitadorIntentosServiceImpl(3, 1, 100, 1, 4096);
+
+        // When & Then
+        for (int i = 0; i < 3; i++) {
+            assertThat(limitador.intentar("john", "10.0.0.1")).isTrue();
+        }
+        assertThat(limitador.intentar("john", "10.0.0.2")).isFalse();
+        assertThat(limitador.intentar("ana", "10.0.0.1")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Debe limitar por IP aunque cada intento use un usuario distinto")
+    void testIntentar_PorIp() {
+        // Given
+        LimitadorIntentosServiceImpl limitador = new LimitadorIntentosServiceImpl(5, 1, 10, 1, 4096);
+
+        // When
+        int permitidos = 0;
+        for (int i = 0; i < 50; i++) {
+            permitidos += limitador.intentar("usuario" + i, "10.0.0.1") ? 1 : 0;
+        }
+
+        // Then
+        assertThat(permitidos).isEqualTo(10);
+        assertThat(limitador.intentar("usuario0", "10.0.0.2")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Debe recuperar intentos con el paso del tiempo")
+    void testIntentar_Recarga() throws InterruptedException {
+        // Given: 600 intentos por minuto, uno cada 100 ms
+        LimitadorIntentosServiceImpl limitador = new LimitadorIntentosServiceImpl(1, 600, 100, 600, 4096);
+        assertThat(limitador.intentar("john", "10.0.0.1")).isTrue();
+        assertThat(limitador.intentar("john", "10.0.0.1")).isFalse();
+
+        // When
+        Thread.sleep(250);
+
+        // Then
+        assertThat(limitador.intentar("john", "10.0.0.1")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Debe entregar exactamente la capacidad cuando muchos hilos intentan a la vez")
+    void testIntentar_Concurrente() throws Exception {
+        // Given
+        LimitadorIntentosServiceImpl limitador = new LimitadorIntentosServiceImpl(50, 1, 1000, 1, 4096);
+        int hilos = 8;
+        ExecutorService ejecutor = Executors.newFixedThreadPool(hilos);
+        CountDownLatch salida = new CountDownLatch(1);
+        List<Future<Integer>> resultados = new ArrayList<>();
+
+        // When
+        for (int h = 0; h < hilos; h++) {
+            resultados.add(ejecutor.submit(() -> {
+                salida.await();
+                int permitidos = 0;
+                for (int i = 0; i < 100; i++) {
+                    permitidos += limitador.intentar("john", "10.0.0.1") ? 1 : 0;
+                }
+                return permitidos;
+            }));
+        }
+        salida.countDown();
+        int total = 0;
+        for (Future<Integer> resultado : resultados) {
+            total += resultado.get();
+        }
+        ejecutor.shutdown();
+
+        // Then
+        assertThat(total).isEqualTo(50);
+    }
+
+    @Test
+    @DisplayName("Debe rechazar una configuración con capacidad fuera de rango")
+    void testConstructor_CapacidadInvalida() {
+        // When & Then
+        assertThatThrownBy(() -> new LimitadorIntentosServiceImpl(0, 1, 10, 1, 4096))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new LimitadorIntentosServiceImpl(5, 1, 5_000, 1, 4096))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.acceso.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.example.acceso.DTO.ResumenMetricaDTO;
+import com.example.acceso.config.TokenMetricasFilter;
+import com.example.acceso.service.Implements.MetricasServiceImpl;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+@DisplayName("Pruebas del Servicio MetricasService")
+class MetricasServiceTest {
+
+    private SimpleMeterRegistry registry;
+    private MetricasServiceImpl metricasService;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        metricasService = new MetricasServiceImpl(registry);
+    }
+
+    @Test
+    @DisplayName("Debe registrar las ventas por serie, forma de pago y resultado")
+    void testVentaCreada_EtiquetasYContadores() {
+        // When
+        metricasService.ventaCreada("B001", "Contado", 3, null, TimeUnit.MILLISECONDS.toNanos(20));
+        metricasService.ventaCreada("B001", "Contado", 5, null, TimeUnit.MILLISECONDS.toNanos(40));
+        metricasService.ventaCreada("B001", "Credito", 2,
+                new IllegalArgumentException("Una venta a crédito debe tener un plan de cuotas."), 1_000);
+        metricasService.ventaCreada(null, null, 0, new RuntimeException("Error: El cliente no existe."), 1_000);
+
+        // Then
+        Timer exitosas = registry.get("acuamont.ventas.creacion")
+                .tags("serie", "B001", "formaPago", "Contado", "resultado", "exito").timer();
+        assertThat(exitosas.count()).isEqualTo(2);
+        assertThat(exitosas.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(60.0);
+        assertThat(registry.get("acuamont.ventas.creacion")
+                .tags("formaPago", "Credito", "resultado", "rechazada").timer().count()).isEqualTo(1);
+        assertThat(registry.get("acuamont.ventas.creacion")
+                .tags("serie", "desconocida", "resultado", "error").timer().count()).isEqualTo(1);
+
+        // Solo las ventas creadas cuentan, con sus líneas
+        assertThat(registry.get("acuamont.ventas.creadas").counters())
+                .singleElement().satisfies(contador -> assertThat(contador.count()).isEqualTo(2.0));
+        assertThat(registry.get("acuamont.ventas.lineas").summary().totalAmount()).isEqualTo(8.0);
+    }
+
+    @Test
+    @DisplayName("Debe publicar los percentiles p50, p95 y p99 de los tiempos")
+    void testTimers_Percentiles() {
+        // When
+        for (int i = 1; i <= 100; i++) {
+            metricasService.boletaGenerada(false, null, TimeUnit.MILLISECONDS.toNanos(i));
+        }
+        metricasService.boletaGenerada(true, null, 50_000);
+
+        // Then
+        HistogramSnapshot snapshot = registry.get("acuamont.boletas.pdf").tag("origen", "renderizada").timer()
+                .takeSnapshot();
+        assertThat(snapshot.percentileValues()).extracting(percentil -> percentil.percentile())
+                .containsExactly(0.5, 0.95, 0.99);
+        assertThat(snapshot.percentileValues()[2].value(TimeUnit.MILLISECONDS)).isBetween(90.0, 110.0);
+        assertThat(registry.get("acuamont.boletas.pdf").tag("origen", "cache").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Debe registrar stock, correlativos, ajustes, pagos, anulaciones y Cloudinary")
+    void testRestoDeOperaciones() {
+        // When
+        metricasService.stockRechazado();
+        metricasService.stockRechazado();
+        metricasService.esperaCorrelativo("E001", true, 1_000);
+        metricasService.esperaCorrelativo("B001", false, 1_000);
+        metricasService.ajusteGuardado("Salida", new RuntimeException("Stock insuficiente"), 1_000);
+        metricasService.pagoRegistrado("B001", "Credito", null, 1_000);
+        metricasService.ventaAnulada("B001", "Contado", new IllegalStateException("Ya anulada"), 1_000);
+        metricasService.llamadaCloudinary("subir", null, 1_000);
+
+        // Then
+        assertThat(registry.get("acuamont.stock.rechazos").counter().count()).isEqualTo(2.0);
+        assertThat(registry.get("acuamont.correlativos.espera").tags("serie", "E001", "modo", "estricto").timer().count())
+                .isEqualTo(1);
+        assertThat(registry.get("acuamont.correlativos.espera").tags("serie", "B001", "modo", "bloques").timer().count())
+                .isEqualTo(1);
+        assertThat(registry.get("acuamont.inventario.ajustes").tags("tipo", "Salida", "resultado", "error").timer()
+                .count()).isEqualTo(1);
+        assertThat(registry.get("acuamont.pagos.registro").tags("formaPago", "Credito", "resultado", "exito").timer()
+                .count()).isEqualTo(1);
+        assertThat(registry.get("acuamont.ventas.anulacion").tag("resultado", "rechazada").timer().count())
+                .isEqualTo(1);
+        assertThat(registry.get("acuamont.cloudinary.llamadas").tag("operacion", "subir").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Debe resumir solo las métricas de la aplicación, en milisegundos")
+    void testResumen() {
+        // Given
+        registry.counter("jvm.otra.metrica").increment();
+        metricasService.stockRechazado();
+        metricasService.pagoRegistrado("B001", "Credito", null, TimeUnit.MILLISECONDS.toNanos(30));
+
+        // When
+        List<ResumenMetricaDTO> resumen = metricasService.resumen();
+
+        // Then
+        assertThat(resumen).extracting(ResumenMetricaDTO::nombre)
+                .containsExactly("acuamont.pagos.registro", "acuamont.stock.rechazos");
+        ResumenMetricaDTO pagos = resumen.get(0);
+        assertThat(pagos.tipo()).isEqualTo("timer");
+        assertThat(pagos.etiquetas()).containsEntry("serie", "B001").containsEntry("resultado", "exito");
+        assertThat(pagos.cantidad()).isEqualTo(1);
+        assertThat(pagos.media()).isEqualTo(30.0);
+        assertThat(pagos.percentiles()).containsOnlyKeys("p50", "p95", "p99");
+        assertThat(resumen.get(1).cantidad()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Debe pedir el token en los endpoints de métricas y dejar abierto /actuator/health")
+    void testTokenMetricasFilter() throws Exception {
+        // Given
+        TokenMetricasFilter filtro = new TokenMetricasFilter("secreto");
+        TokenMetricasFilter sinToken = new TokenMetricasFilter("");
+
+        // When & Then
+        assertThat(filtrar(filtro, "/actuator/prometheus", null).getStatus()).isEqualTo(401);
+        assertThat(filtrar(filtro, "/actuator/resumen", "Bearer otro").getStatus()).isEqualTo(401);
+        assertThat(filtrar(filtro, "/actuator/resumen", "Bearer secreto").getStatus()).isEqualTo(200);
+        assertThat(filtrar(filtro, "/actuator/health", null).getStatus()).isEqualTo(200);
+        assertThat(filtrar(filtro, "/ventas/listar", null).getStatus()).isEqualTo(200);
+        assertThat(filtrar(sinToken, "/actuator/prometheus", "Bearer ").getStatus()).isEqualTo(404);
+    }
+
+    @Test
+    @DisplayName("Debe pedir el token aunque la ruta lleve parámetros de matriz o segmentos relativos")
+    void testTokenMetricasFilter_RutasDisfrazadas() throws Exception {
+        // Given
+        TokenMetricasFilter filtro = new TokenMetricasFilter("secreto");
+
+        // When & Then
+        for (String ruta : List.of("/actuator;x=1/prometheus", "/actuator;a/resumen", "/actuator;x/consultas",
+                "/actuator/prometheus;x=1", "/actuator/health/../prometheus", "/actuator/health;x/../resumen",
+                "/actuator//prometheus", "/actuator/%70rometheus")) {
+            assertThat(filtrar(filtro, ruta, null).getStatus()).as(ruta).isEqualTo(401);
+        }
+        assertThat(filtrar(filtro, "/actuator;x=1/health", null).getStatus()).isEqualTo(200);
+    }
+
+    private MockHttpServletResponse filtrar(TokenMetricasFilter filtro, String ruta, String autorizacion)
+            throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", ruta);
+        if (autorizacion != null) {
+            request.addHeader("Authorization", autorizacion);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filtro.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
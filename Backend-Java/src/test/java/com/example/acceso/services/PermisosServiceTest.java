@@ -0,0 +1,102 @@
+package com.example.acceso.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.Set;
+
+import com.example.acceso.DTO.ModeloPermisosDTO;
+import com.example.acceso.DTO.OpcionMenuDTO;
+import com.example.acceso.DTO.PerfilModificadoDTO;
+import com.example.acceso.model.Opcion;
+import com.example.acceso.model.Perfil;
+import com.example.acceso.repository.PerfilRepository;
+import com.example.acceso.service.Implements.PermisosServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Pruebas del Servicio PermisosService")
+class PermisosServiceTest {
+
+    @Mock private PerfilRepository perfilRepository;
+
+    @InjectMocks private PermisosServiceImpl permisosService;
+
+    private Opcion ventas;
+    private Opcion productos;
+    private Opcion usuarios;
+
+    @BeforeEach
+    void setUp() {
+        ventas = opcion(3L, "Ventas", "/ventas/listar");
+        productos = opcion(1L, "Productos", "/productos/listar");
+        usuarios = opcion(2L, "Usuarios", "/usuarios/listar");
+    }
+
+    private Opcion opcion(Long id, String nombre, String ruta) {
+        Opcion opcion = new Opcion();
+        opcion.setId(id);
+        opcion.setNombre(nombre);
+        opcion.setRuta(ruta);
+        opcion.setIcono("bi bi-circle");
+        return opcion;
+    }
+
+    private Perfil perfil(Long id, Opcion... opciones) {
+        Perfil perfil = new Perfil();
+        perfil.setId(id);
+        perfil.setNombre("Perfil " + id);
+        perfil.setOpciones(Set.of(opciones));
+        return perfil;
+    }
+
+    @Test
+    @DisplayName("Debe armar el menú de cada perfil activo ordenado por ID, con una sola consulta")
+    void testMenu_OrdenadoYEnMemoria() {
+        // Given
+        when(perfilRepository.findAllConOpcionesByEstado(1))
+                .thenReturn(List.of(perfil(1L, ventas, productos, usuarios), perfil(2L, ventas)));
+
+        // When
+        List<OpcionMenuDTO> administrador = permisosService.menu(1L);
+        List<OpcionMenuDTO> vendedor = permisosService.menu(2L);
+        List<OpcionMenuDTO> inexistente = permisosService.menu(9L);
+
+        // Then
+        assertThat(administrador).extracting(OpcionMenuDTO::nombre).containsExactly("Productos", "Usuarios", "Ventas");
+        assertThat(vendedor).extracting(OpcionMenuDTO::ruta).containsExactly("/ventas/listar");
+        assertThat(inexistente).isEmpty();
+        assertThat(permisosService.menu(null)).isEmpty();
+        assertThat(permisosService.modelo().perfiles().get(1L).rutas())
+                .containsExactlyInAnyOrder("/productos/listar", "/usuarios/listar", "/ventas/listar");
+        verify(perfilRepository, times(1)).findAllConOpcionesByEstado(1);
+    }
+
+    @Test
+    @DisplayName("Debe reemplazar el modelo con una versión nueva solo cuando se modifica un perfil")
+    void testAlModificarPerfil_NuevaVersion() {
+        // Given
+        when(perfilRepository.findAllConOpcionesByEstado(1))
+                .thenReturn(List.of(perfil(1L, ventas, productos)))
+                .thenReturn(List.of(perfil(1L, ventas)));
+        ModeloPermisosDTO anterior = permisosService.modelo();
+        permisosService.menu(1L);
+
+        // When
+        permisosService.alModificarPerfil(new PerfilModificadoDTO(1L));
+        ModeloPermisosDTO actual = permisosService.modelo();
+
+        // Then
+        assertThat(actual.version()).isEqualTo(anterior.version() + 1);
+        assertThat(anterior.perfiles().get(1L).menu()).hasSize(2);
+        assertThat(permisosService.menu(1L)).extracting(OpcionMenuDTO::nombre).containsExactly("Ventas");
+        verify(perfilRepository, times(2)).findAllConOpcionesByEstado(1);
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.acceso.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+
+import com.example.acceso.DTO.ConsultasRutaDTO;
+import com.example.acceso.service.Implements.PresupuestoConsultasServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Pruebas del Servicio PresupuestoConsultasService")
+class PresupuestoConsultasServiceTest {
+
+    private PresupuestoConsultasServiceImpl presupuestoConsultasService;
+
+    @AfterEach
+    void tearDown() {
+        // El contador vive en el hilo: se cierra para no contaminar otras pruebas
+        if (presupuestoConsultasService != null) {
+            presupuestoConsultasService.terminar("(fin de la prueba)");
+        }
+    }
+
+    @Test
+    @DisplayName("Debe contar las sentencias de cada petición y acumularlas por ruta")
+    void testTerminar_AcumulaPorRuta() {
+        // Given
+        presupuestoConsultasService = new PresupuestoConsultasServiceImpl("registrar", 3);
+
+        // When
+        int primera = peticion("GET /productos/api/grilla", 2);
+        int segunda = peticion("GET /productos/api/grilla", 5);
+        int otra = peticion("GET /clientes/api/{id}", 1);
+        presupuestoConsultasService.contarSentencia();
+
+        // Then: la sentencia fuera de una petición no se cuenta
+        assertThat(primera).isEqualTo(2);
+        assertThat(segunda).isEqualTo(5);
+        assertThat(otra).isEqualTo(1);
+        assertThat(presupuestoConsultasService.peores(10)).containsExactly(
+                new ConsultasRutaDTO("GET /productos/api/grilla", 2, 7, 5, 1),
+                new ConsultasRutaDTO("GET /clientes/api/{id}", 1, 1, 1, 0));
+    }
+
+    @Test
+    @DisplayName("Debe hacer fallar la sentencia que supera el presupuesto en el modo fallar")
+    void testContarSentencia_Fallar() {
+        // Given
+        presupuestoConsultasService = new PresupuestoConsultasServiceImpl("fallar", 2);
+        presupuestoConsultasService.iniciar();
+        presupuestoConsultasService.contarSentencia();
+        presupuestoConsultasService.contarSentencia();
+
+        // When & Then
+        assertThatThrownBy(presupuestoConsultasService::contarSentencia)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("La petición superó el presupuesto de 2 consultas.");
+        assertThat(presupuestoConsultasService.terminar("GET /ventas/api/listar")).isEqualTo(3);
+        assertThat(presupuestoConsultasService.peores(1).get(0).excesos()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("No debe contar nada cuando está desactivado")
+    void testDesactivado() {
+        // Given
+        presupuestoConsultasService = new PresupuestoConsultasServiceImpl("desactivado", 1);
+
+        // When
+        int total = peticion("GET /ventas/api/listar", 5);
+
+        // Then
+        assertThat(presupuestoConsultasService.activo()).isFalse();
+        assertThat(total).isZero();
+        assertThat(presupuestoConsultasService.peores(10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Debe devolver primero las rutas con más consultas en una sola petición")
+    void testPeores_Orden() {
+        // Given
+        presupuestoConsultasService = new PresupuestoConsultasServiceImpl("registrar", 30);
+        peticion("GET /b", 4);
+        peticion("GET /a", 4);
+        peticion("GET /c", 9);
+        peticion("GET /d", 1);
+
+        // When
+        List<ConsultasRutaDTO> peores = presupuestoConsultasService.peores(3);
+
+        // Then
+        assertThat(peores).extracting(ConsultasRutaDTO::ruta).containsExactly("GET /c", "GET /a", "GET /b");
+    }
+
+    @Test
+    @DisplayName("Debe rechazar un modo desconocido o un presupuesto menor a 1")
+    void testConstructor_Invalido() {
+        // When & Then
+        assertThatThrownBy(() -> new PresupuestoConsultasServiceImpl("silencioso", 30))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("silencioso");
+        assertThatThrownBy(() -> new PresupuestoConsultasServiceImpl("registrar", 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private int peticion(String ruta, int sentencias) {
+        presupuestoConsultasService.iniciar();
+        for (int i = 0; i < sentencias; i++) {
+            presupuestoConsultasService.contarSentencia();
+        }
+        return presupuestoConsultasService.terminar(ruta);
+    }
+}
@@ -0,0 +1,292 @@
+package com.example.acceso.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.sql.DataSource;
+
+import com.example.acceso.DTO.ProductoCatalogoDTO;
+import com.example.acceso.model.Categoria;
+import com.example.acceso.model.Producto;
+import com.example.acceso.model.ProductoImagen;
+import com.example.acceso.repository.CategoriaRepository;
+import com.example.acceso.repository.ProductoImagenRepository;
+import com.example.acceso.repository.ProductoRepository;
+import com.example.acceso.service.Implements.GrillaServiceImpl;
+import com.example.acceso.service.Implements.ImagenesServiceImpl;
+import com.example.acceso.service.Implements.ProductoServiceImpl;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Verifica la subida de imágenes de productos contra un almacén local con
+ * latencia simulada: subidas en paralelo, sin conexiones a la base de datos
+ * retenidas durante la subida, y sin imágenes huérfanas ni cambios cuando una
+ * subida falla. También verifica la tabla de imágenes: la imagen principal, el
+ * catálogo con miniaturas y la migración desde la columna JSON antigua.
+ */
+@DataJpaTest(properties = "acuamont.imagenes.subidas-simultaneas=6")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({ProductoServiceImpl.class, ImagenesServiceImpl.class, GrillaServiceImpl.class,
+        ProductoServiceImagenesTest.AlmacenDePrueba.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Pruebas de imágenes del Servicio ProductoService")
+class ProductoServiceImagenesTest {
+
+    private static final Duration LATENCIA = Duration.ofMillis(150);
+
+    @TestConfiguration
+    static class AlmacenDePrueba {
+        @Bean
+        AlmacenImagenesLocal almacenImagenesLocal() throws IOException {
+            return new AlmacenImagenesLocal(Files.createTempDirectory("almacen-imagenes"));
+        }
+    }
+
+    @Autowired private ProductoServiceImpl productoService;
+    @Autowired private AlmacenImagenesLocal almacen;
+    @Autowired private ProductoRepository productoRepository;
+    @Autowired private ProductoImagenRepository productoImagenRepository;
+    @Autowired private CategoriaRepository categoriaRepository;
+    @Autowired private DataSource dataSource;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    private Categoria categoria;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        categoria = categoriaRepository.save(new Categoria("Alimentos"));
+        HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+        almacen.setConexionesActivas(() -> hikari.getHikariPoolMXBean().getActiveConnections());
+        almacen.setLatencia(LATENCIA);
+        almacen.setFallarEnSubida(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        productoImagenRepository.deleteAll();
+        productoRepository.deleteAll();
+        categoriaRepository.deleteAll();
+    }
+
+    private Producto nuevoProducto(String nombre) {
+        return new Producto(nombre, "Descripcion " + nombre, 5.0, 10.0, 100, 5, null, categoria);
+    }
+
+    private static List<MultipartFile> fotos(int cantidad) {
+        List<MultipartFile> fotos = new ArrayList<>();
+        for (int i = 0; i < cantidad; i++) {
+            fotos.add(new MockMultipartFile("imagenes", "foto" + i + ".jpg", "image/jpeg", ("imagen " + i).getBytes()));
+        }
+        return fotos;
+    }
+
+    private List<String> imagenesDe(Long productoId) {
+        return productoService.listarImagenes(productoId);
+    }
+
+    private long archivosEnAlmacen() {
+        try (Stream<Path> archivos = almacen.listarTodo()) {
+            return archivos.count();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Test
+    @DisplayName("Debe subir las fotos en paralelo sin retener conexiones a la base de datos")
+    void testGuardarProducto_SubidaParalelaFueraDeTransaccion() {
+        // When
+        long inicio = System.nanoTime();
+        Producto guardado = productoService.guardarProducto(nuevoProducto("Bebida"), fotos(6));
+        Duration duracion = Duration.ofNanos(System.nanoTime() - inicio);
+
+        // Then: seis subidas de 150 ms en paralelo, no una tras otra
+        assertThat(imagenesDe(guardado.getId())).hasSize(6)
+                .allMatch(url -> url.contains("productos_acuamont/" + guardado.getId() + "/"));
+        assertThat(duracion).isLessThan(LATENCIA.multipliedBy(3));
+        assertThat(almacen.getMaximoConexionesEnSubida()).isZero();
+    }
+
+    @Test
+    @DisplayName("Debe eliminar las fotos subidas y el producto nuevo si falla una subida")
+    void testGuardarProducto_FallaUnaSubida_ProductoNuevo() {
+        // Given
+        almacen.setFallarEnSubida(4);
+        long archivosAntes = archivosEnAlmacen();
+
+        // When
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> productoService.guardarProducto(nuevoProducto("Galletas"), fotos(6)));
+
+        // Then
+        assertThat(exception.getMessage()).contains("El almacén rechazó la imagen");
+        assertThat(productoRepository.count()).isZero();
+        assertThat(archivosEnAlmacen()).isEqualTo(archivosAntes);
+    }
+
+    @Test
+    @DisplayName("No debe cambiar las imágenes de un producto existente si falla una subida")
+    void testGuardarProducto_FallaUnaSubida_ProductoExistente() {
+        // Given
+        Producto existente = productoService.guardarProducto(nuevoProducto("Cereal"), fotos(2));
+        List<String> imagenesAntes = imagenesDe(existente.getId());
+        long archivosAntes = archivosEnAlmacen();
+        almacen.setFallarEnSubida(2);
+
+        // When
+        existente.setPrecioVenta(99.0);
+        assertThrows(IllegalArgumentException.class, () -> productoService.guardarProducto(existente, fotos(3)));
+
+        // Then
+        assertThat(imagenesDe(existente.getId())).isEqualTo(imagenesAntes);
+        assertThat(productoRepository.findById(existente.getId()).orElseThrow().getPrecioVenta()).isEqualTo(10.0);
+        assertThat(archivosEnAlmacen()).isEqualTo(archivosAntes);
+    }
+
+    @Test
+    @DisplayName("Debe tardar bastante menos que subir las fotos una tras otra")
+    void testSubirTodas_AceleracionFrenteASubidaEnSerie() {
+        // Given
+        ImagenesServiceImpl enSerie = new ImagenesServiceImpl(almacen, 1);
+        ImagenesServiceImpl enParalelo = new ImagenesServiceImpl(almacen, 6);
+
+        // When
+        long inicio = System.nanoTime();
+        enSerie.subirTodas(fotos(6), "productos_acuamont/serie");
+        Duration serie = Duration.ofNanos(System.nanoTime() - inicio);
+
+        inicio = System.nanoTime();
+        enParalelo.subirTodas(fotos(6), "productos_acuamont/paralelo");
+        Duration paralelo = Duration.ofNanos(System.nanoTime() - inicio);
+
+        enSerie.detener();
+        enParalelo.detener();
+
+        // Then: unos 900 ms frente a unos 150 ms
+        assertThat(serie).isGreaterThanOrEqualTo(LATENCIA.multipliedBy(6));
+        assertThat(paralelo.multipliedBy(3)).isLessThan(serie);
+    }
+
+    @Test
+    @DisplayName("Debe marcar como principal solo la primera imagen y continuar el orden al agregar más")
+    void testGuardarProducto_PrincipalYOrden() {
+        // Given
+        almacen.setLatencia(Duration.ZERO);
+        Producto producto = productoService.guardarProducto(nuevoProducto("Jugo"), fotos(2));
+
+        // When
+        productoService.guardarProducto(producto, fotos(2));
+
+        // Then
+        List<ProductoImagen> imagenes = productoImagenRepository.findByProductoIdOrderByOrdenAsc(producto.getId());
+        assertThat(imagenes).extracting(ProductoImagen::getOrden).containsExactly(0, 1, 2, 3);
+        assertThat(imagenes).extracting(ProductoImagen::isPrincipal).containsExactly(true, false, false, false);
+        assertThat(imagenes).allMatch(imagen -> imagen.getPublicId() != null && imagen.getAncho() == 800 && imagen.getAlto() == 600);
+    }
+
+    @Test
+    @DisplayName("Debe listar el catálogo con la miniatura principal en dos consultas, sin importar cuántos productos haya")
+    void testListarCatalogo_MiniaturaPrincipalConConsultasFijas() {
+        // Given
+        almacen.setLatencia(Duration.ZERO);
+        for (int i = 0; i < 8; i++) {
+            productoService.guardarProducto(nuevoProducto("Producto " + i), fotos(3));
+        }
+        productoService.guardarProducto(nuevoProducto("Sin fotos"), List.of());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // When
+        List<ProductoCatalogoDTO> catalogo = productoService.listarCatalogo();
+
+        // Then
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(catalogo).hasSize(9);
+        for (ProductoCatalogoDTO producto : catalogo) {
+            if (producto.nombre().equals("Sin fotos")) {
+                assertThat(producto.miniatura()).isNull();
+            } else {
+                assertThat(producto.miniatura()).isEqualTo(imagenesDe(producto.id()).get(0) + "?miniatura");
+            }
+            assertThat(producto.categoriaNombre()).isEqualTo("Alimentos");
+        }
+    }
+
+    @Test
+    @DisplayName("Debe pasar la imagen principal a la siguiente al eliminarla")
+    void testEliminarImagen_Principal() {
+        // Given
+        almacen.setLatencia(Duration.ZERO);
+        Producto producto = productoService.guardarProducto(nuevoProducto("Agua"), fotos(3));
+        List<String> imagenes = imagenesDe(producto.getId());
+        long archivosAntes = archivosEnAlmacen();
+
+        // When
+        productoService.eliminarImagen(producto.getId(), imagenes.get(0));
+
+        // Then
+        assertThat(imagenesDe(producto.getId())).containsExactly(imagenes.get(1), imagenes.get(2));
+        assertThat(productoService.listarCatalogo()).singleElement()
+                .extracting(ProductoCatalogoDTO::miniatura).isEqualTo(imagenes.get(1) + "?miniatura");
+        assertThat(archivosEnAlmacen()).isEqualTo(archivosAntes - 1);
+    }
+
+    @Test
+    @DisplayName("Debe migrar las imágenes de la columna JSON antigua una sola vez")
+    void testMigrarImagenesAntiguas() {
+        // Given
+        String nube = "https://res.cloudinary.com/demo/image/upload/v1/productos_acuamont/1/a.jpg";
+        Producto conJson = productoRepository.save(new Producto("Leche", "Descripcion Leche", 5.0, 10.0, 100, 5,
+                "[\"" + nube + "\",\"b.jpg\"]", categoria));
+        Producto sinJson = productoRepository.save(new Producto("Queso", "Descripcion Queso", 5.0, 10.0, 100, 5,
+                "foto.jpg", categoria));
+        Producto vacio = productoRepository.save(new Producto("Yogur", "Descripcion Yogur", 5.0, 10.0, 100, 5,
+                "[]", categoria));
+
+        // When
+        int migrados = productoService.migrarImagenesAntiguas();
+
+        // Then
+        assertThat(migrados).isEqualTo(3);
+        assertThat(imagenesDe(conJson.getId())).containsExactly(nube, "/Fotos-Productos/" + conJson.getId() + "/b.jpg");
+        assertThat(productoImagenRepository.findByProductoIdOrderByOrdenAsc(conJson.getId()))
+                .extracting(ProductoImagen::isPrincipal).containsExactly(true, false);
+        assertThat(imagenesDe(sinJson.getId())).containsExactly("/Fotos-Productos/" + sinJson.getId() + "/foto.jpg");
+        assertThat(imagenesDe(vacio.getId())).isEmpty();
+        assertThat(productoRepository.findAll()).allMatch(producto -> producto.getImagen() == null);
+
+        // When: se vuelve a ejecutar
+        assertThat(productoService.migrarImagenesAntiguas()).isZero();
+
+        // Then
+        assertThat(productoImagenRepository.count()).isEqualTo(3);
+    }
+}
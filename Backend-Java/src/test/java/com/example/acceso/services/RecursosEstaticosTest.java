@@ -0,0 +1,128 @@
+package com.example.acceso.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.servlet.resource.ResourceUrlProvider;
+
+/**
+ * Verifica que los recursos estáticos se sirvan con la huella de su contenido en
+ * la URL, con caché de un año, y que la huella cambie al cambiar el archivo.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@DisplayName("Pruebas de los recursos estáticos versionados")
+class RecursosEstaticosTest {
+
+    private static final Pattern SCRIPT_PRODUCTOS = Pattern.compile("/js/productos-web-([0-9a-f]{32})\\.js");
+
+    @LocalServerPort private int puerto;
+
+    @Autowired private ResourceUrlProvider resourceUrlProvider;
+
+    private final HttpClient cliente = HttpClient.newHttpClient();
+    private Path prueba;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        prueba = new ClassPathResource("static/js/").getFile().toPath().resolve("prueba-huella.js");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(prueba);
+        Files.deleteIfExists(Path.of(prueba + ".gz"));
+    }
+
+    private HttpResponse<byte[]> pedir(String ruta, String... cabeceras) throws Exception {
+        HttpRequest.Builder peticion = HttpRequest.newBuilder(URI.create("http://localhost:" + puerto + ruta));
+        if (cabeceras.length > 0) {
+            peticion.headers(cabeceras);
+        }
+        return cliente.send(peticion.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    @Test
+    @DisplayName("Debe generar en las plantillas URL con la huella del contenido y servirlas con caché de un año")
+    void testPlantilla_UrlConHuella() throws Exception {
+        // When
+        String html = new String(pedir("/Productos-web").body(), StandardCharsets.UTF_8);
+
+        // Then
+        Matcher script = SCRIPT_PRODUCTOS.matcher(html);
+        assertThat(script.find()).isTrue();
+        byte[] contenido = new ClassPathResource("static/js/productos-web.js").getContentAsByteArray();
+        assertThat(script.group(1)).isEqualTo(DigestUtils.md5DigestAsHex(contenido));
+
+        HttpResponse<byte[]> recurso = pedir(script.group());
+        assertThat(recurso.statusCode()).isEqualTo(200);
+        assertThat(recurso.body()).isEqualTo(contenido);
+        assertThat(recurso.headers().firstValue("Cache-Control")).hasValue("max-age=31536000, public, immutable");
+    }
+
+    @Test
+    @DisplayName("Debe cambiar la huella cuando cambia el contenido del archivo")
+    void testHuella_CambiaConElContenido() throws Exception {
+        // Given
+        Files.writeString(prueba, "console.log('uno');");
+        String primera = resourceUrlProvider.getForLookupPath("/js/prueba-huella.js");
+
+        // When
+        Files.writeString(prueba, "console.log('dos');");
+        String segunda = resourceUrlProvider.getForLookupPath("/js/prueba-huella.js");
+        Files.writeString(prueba, "console.log('dos');");
+        String repetida = resourceUrlProvider.getForLookupPath("/js/prueba-huella.js");
+
+        // Then
+        assertThat(primera).matches("/js/prueba-huella-[0-9a-f]{32}\\.js");
+        assertThat(segunda).isNotEqualTo(primera).isEqualTo(repetida);
+        assertThat(pedir(primera).statusCode()).isEqualTo(404);
+        assertThat(pedir(segunda).statusCode()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Debe servir la versión precomprimida cuando existe y el navegador la acepta")
+    void testRecurso_Precomprimido() throws Exception {
+        // Given
+        String codigo = "console.log('" + "a".repeat(2000) + "');";
+        Files.writeString(prueba, codigo);
+        ByteArrayOutputStream comprimido = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(comprimido)) {
+            gzip.write(codigo.getBytes(StandardCharsets.UTF_8));
+        }
+        Files.write(Path.of(prueba + ".gz"), comprimido.toByteArray());
+        String url = resourceUrlProvider.getForLookupPath("/js/prueba-huella.js");
+
+        // When
+        HttpResponse<byte[]> conGzip = pedir(url, "Accept-Encoding", "gzip");
+        HttpResponse<byte[]> sinGzip = pedir(url);
+
+        // Then
+        assertThat(conGzip.headers().firstValue("Content-Encoding")).hasValue("gzip");
+        assertThat(conGzip.body()).isEqualTo(comprimido.toByteArray());
+        assertThat(sinGzip.headers().firstValue("Content-Encoding")).isEmpty();
+        assertThat(new String(sinGzip.body(), StandardCharsets.UTF_8)).isEqualTo(codigo);
+    }
+}
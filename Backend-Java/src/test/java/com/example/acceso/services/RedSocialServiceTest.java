@@ -0,0 +1,149 @@
+package com.example.acceso.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+
+import com.example.acceso.DTO.RedSocialDTO;
+import com.example.acceso.config.RedesSocialesInterceptor;
+import com.example.acceso.model.RedSocial;
+import com.example.acceso.repository.RedSocialRepository;
+import com.example.acceso.service.Implements.RedSocialServiceImpl;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.ModelAndView;
+
+/**
+ * Verifica, con las estadísticas de Hibernate, cuántas consultas hace cada
+ * petición para mostrar las redes sociales del footer: ninguna en las
+ * respuestas JSON y una sola por cada vencimiento o cambio de la caché en las
+ * vistas.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({RedSocialServiceImpl.class, RedesSocialesInterceptor.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Pruebas del Servicio RedSocialService")
+class RedSocialServiceTest {
+
+    @Autowired
+    private RedSocialServiceImpl redSocialService;
+
+    @Autowired
+    private RedesSocialesInterceptor interceptor;
+
+    @Autowired
+    private RedSocialRepository redSocialRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private RedSocial facebook;
+
+    @BeforeEach
+    void setUp() {
+        facebook = redSocialRepository.save(new RedSocial("Facebook", "https://facebook.com/acuamont", "bi-facebook", "1"));
+        RedSocial tiktok = new RedSocial("TikTok", "https://tiktok.com/@acuamont", "bi-tiktok", "2");
+        tiktok.setEstado(0);
+        redSocialRepository.save(tiktok);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        redSocialService.invalidarCache(null);
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        redSocialRepository.deleteAll();
+    }
+
+    /** Simula la petición de una vista y devuelve su modelo ya completado. */
+    private ModelAndView pedirVista(String vista) {
+        ModelAndView modelAndView = new ModelAndView(vista);
+        interceptor.postHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), new Object(), modelAndView);
+        return modelAndView;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<RedSocial> redesEnModelo(ModelAndView modelAndView) {
+        return (List<RedSocial>) modelAndView.getModel().get("redesSocialesActivas");
+    }
+
+    @Test
+    @DisplayName("Debe consultar las redes una sola vez para muchas vistas")
+    void testVistas_UnaConsultaMientrasDureLaCache() {
+        // When
+        ModelAndView ultima = null;
+        for (int i = 0; i < 50; i++) {
+            ultima = pedirVista("PrincipalPage-WEB");
+        }
+
+        // Then: antes era una consulta por petición; ahora una para las 50
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(redesEnModelo(ultima)).extracting(RedSocial::getNombre).containsExactly("Facebook");
+    }
+
+    @Test
+    @DisplayName("No debe consultar las redes en respuestas JSON ni redirecciones")
+    void testRespuestasSinVista_NoConsultan() {
+        // When: un @ResponseBody no tiene ModelAndView
+        interceptor.postHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), new Object(), null);
+        ModelAndView redireccion = pedirVista("redirect:/PrincipalPage-web");
+
+        // Then
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(redireccion.getModel()).doesNotContainKey("redesSocialesActivas");
+    }
+
+    @Test
+    @DisplayName("Debe volver a leer las redes al cambiar su estado o su URL")
+    void testModificarRedes_DescartaLaCache() {
+        // Given
+        pedirVista("Contacto-WEB");
+
+        // When
+        redSocialService.cambiarEstadoRedSocial(facebook.getId());
+
+        // Then
+        assertThat(redesEnModelo(pedirVista("Contacto-WEB"))).isEmpty();
+
+        // When
+        redSocialService.cambiarEstadoRedSocial(facebook.getId());
+        redSocialService.actualizarRedSocial(facebook.getId(), new RedSocialDTO("https://facebook.com/acuamont.sac"));
+
+        // Then
+        assertThat(redesEnModelo(pedirVista("Contacto-WEB"))).extracting(RedSocial::getUrl)
+                .containsExactly("https://facebook.com/acuamont.sac");
+    }
+
+    @Test
+    @DisplayName("Debe volver a leer las redes cuando vence la caché")
+    void testCacheVencida_VuelveAConsultar() {
+        // Given
+        RedSocialServiceImpl sinCache = new RedSocialServiceImpl(redSocialRepository, evento -> { }, Duration.ZERO);
+
+        // When
+        sinCache.listarRedesSocialesActivas();
+        sinCache.listarRedesSocialesActivas();
+
+        // Then
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+}
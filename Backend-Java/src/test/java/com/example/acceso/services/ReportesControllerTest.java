@@ -0,0 +1,97 @@
+package com.example.acceso.services;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import com.example.acceso.controller.ReportesController;
+import com.example.acceso.service.Interfaces.ExportacionReportesService;
+import com.example.acceso.service.Interfaces.ReportesService;
+import com.example.acceso.service.Interfaces.ResumenVentasService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Pruebas de la descarga de reportes de ReportesController")
+class ReportesControllerTest {
+
+    @Mock private ReportesService reportesService;
+    @Mock private ResumenVentasService resumenVentasService;
+    @Mock private ExportacionReportesService exportacionReportesService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new ReportesController(reportesService, resumenVentasService, exportacionReportesService,
+                        Jackson2ObjectMapperBuilder.json().build()))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Debe escribir el CSV en la respuesta como archivo adjunto")
+    void testExportarReporte_Csv() throws Exception {
+        // Given
+        doAnswer(invocacion -> {
+            OutputStream salida = invocacion.getArgument(4);
+            salida.write("documento,total\nB001-1,25.00\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(exportacionReportesService).exportar(eq("utilidad-ventas"), eq("csv"), isNull(), isNull(), any());
+
+        // When
+        MvcResult resultado = mockMvc.perform(get("/reportes/api/utilidad-ventas/export.csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"reporte-utilidad-ventas.csv\""))
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andExpect(content().string("documento,total\nB001-1,25.00\n"));
+    }
+
+    @Test
+    @DisplayName("Debe responder 400 con el mensaje en JSON si la exportación no es válida")
+    void testExportarReporte_Invalida() throws Exception {
+        // Given
+        doThrow(new IllegalArgumentException("Formato de exportación no válido: pdf"))
+                .when(exportacionReportesService).validarExportacion("utilidad-ventas", "pdf", null, null);
+
+        // When
+        MvcResult resultado = mockMvc.perform(get("/reportes/api/utilidad-ventas/export.pdf"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType("application/json"))
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.message").value("Formato de exportación no válido: pdf"));
+        verify(exportacionReportesService, never()).exportar(any(), any(), any(), any(), any());
+    }
+}
@@ -0,0 +1,233 @@
+package com.example.acceso.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import com.example.acceso.DTO.*;
+import com.example.acceso.model.*;
+import com.example.acceso.repository.VentaDiariaProductoUsuarioRepository;
+import com.example.acceso.repository.VentaDiariaUsuarioRepository;
+import com.example.acceso.service.Implements.CorrelativoServiceImpl;
+import com.example.acceso.service.Implements.MetricasServiceImpl;
+import com.example.acceso.service.Implements.ReportesServiceImpl;
+import com.example.acceso.service.Implements.ResumenVentasServiceImpl;
+import com.example.acceso.service.Implements.StockServiceImpl;
+import com.example.acceso.service.Implements.VentaServiceImpl;
+import com.example.acceso.service.Interfaces.ReportesService;
+import com.example.acceso.service.Interfaces.ResumenVentasService;
+import com.example.acceso.service.Interfaces.VentaService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Verifica que los resúmenes diarios de ventas se mantienen al crear, pagar y
+ * anular ventas, que los reportes por producto y por usuario se leen de ellos,
+ * y que la verificación y la reconstrucción contra las ventas funcionan.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({VentaServiceImpl.class, StockServiceImpl.class, CorrelativoServiceImpl.class,
+        ResumenVentasServiceImpl.class, ReportesServiceImpl.class, MetricasServiceImpl.class,
+        SimpleMeterRegistry.class})
+@DisplayName("Pruebas del Servicio ResumenVentasService")
+class ResumenVentasServiceTest {
+
+    @Autowired private VentaService ventaService;
+    @Autowired private ResumenVentasService resumenVentasService;
+    @Autowired private ReportesService reportesService;
+    @Autowired private VentaDiariaProductoUsuarioRepository ventaDiariaProductoUsuarioRepository;
+    @Autowired private VentaDiariaUsuarioRepository ventaDiariaUsuarioRepository;
+    @Autowired private TestEntityManager entityManager;
+
+    private Producto productoA;
+    private Producto productoB;
+    private VentaDTO contado;
+    private VentaDTO credito;
+
+    @BeforeEach
+    void setUp() {
+        Cliente cliente = entityManager.persist(new Cliente("Cliente Prueba", "12345678", "", "cliente@prueba.com"));
+        Usuario usuario = entityManager.persist(new Usuario("Usuario Prueba", "vendedor", "clave123", "vendedor@prueba.com"));
+        FormaPago formaContado = entityManager.persist(new FormaPago("Contado"));
+        FormaPago formaCredito = entityManager.persist(new FormaPago("Credito"));
+        SerieComprobante serie = entityManager.persist(new SerieComprobante("Boleta", "B001", 0));
+        Categoria categoria = entityManager.persist(new Categoria("Alimentos"));
+        productoA = entityManager.persist(new Producto("Producto A", "Descripcion A", 4.0, 10.0, 100, 5, "[]", categoria));
+        productoB = entityManager.persist(new Producto("Producto B", "Descripcion B", 2.5, 6.0, 100, 5, "[]", categoria));
+        entityManager.flush();
+
+        // Contado: A x2 (20, costo 8) y B x3 (18, costo 7.5) -> utilidad 22.5
+        contado = new VentaDTO();
+        contado.setClienteId(cliente.getId());
+        contado.setUsuarioId(usuario.getId());
+        contado.setFormaPagoId(formaContado.getId());
+        contado.setSerieComprobanteId(serie.getId());
+        contado.setDetalles(List.of(new DetalleVentaDTO(productoA.getId(), 2), new DetalleVentaDTO(productoB.getId(), 3)));
+
+        // Crédito: A x1 (10, costo 4) -> utilidad 6, en una sola cuota
+        credito = new VentaDTO();
+        credito.setClienteId(cliente.getId());
+        credito.setUsuarioId(usuario.getId());
+        credito.setFormaPagoId(formaCredito.getId());
+        credito.setSerieComprobanteId(serie.getId());
+        credito.setDetalles(List.of(new DetalleVentaDTO(productoA.getId(), 1)));
+        credito.setMontoInicial(BigDecimal.ZERO);
+        credito.setPlanDeCuotas(List.of(new CuotasProgramadasDTO(BigDecimal.TEN, LocalDate.now().plusMonths(1))));
+    }
+
+    private LocalDateTime inicioHoy() {
+        return LocalDate.now().atStartOfDay();
+    }
+
+    private LocalDateTime finHoy() {
+        return LocalDate.now().atTime(LocalTime.MAX);
+    }
+
+    @Test
+    @DisplayName("Debe acumular las ventas nuevas y responder los reportes desde los resúmenes")
+    void testCrearVenta_AcumulaResumenes() {
+        // When
+        ventaService.crearVenta(contado);
+        ventaService.crearVenta(credito);
+        entityManager.flush();
+
+        // Then: el reporte por producto solo cuenta las ventas pagadas
+        assertThat(reportesService.obtenerUtilidadPorProducto())
+                .extracting(ReporteUtilidadProductoDTO::getProducto, ReporteUtilidadProductoDTO::getCantidadVendida)
+                .containsExactly(tuple("Producto A", 2), tuple("Producto B", 3));
+        assertThat(reportesService.obtenerUtilidadPorProductoRango(inicioHoy(), finHoy()).get(0).getUtilidad())
+                .isEqualByComparingTo("12.00");
+
+        // Then: el reporte por usuario sin rango incluye las pendientes; con rango, solo las pagadas
+        ReporteUttilidadUsuarioDTO usuario = reportesService.obtenerUtilidadPorUsuario().get(0);
+        assertThat(usuario.getCantidadVentas()).isEqualTo(2);
+        assertThat(usuario.getUtilidad()).isEqualByComparingTo("28.50");
+        ReporteUttilidadUsuarioDTO usuarioRango = reportesService.obtenerUtilidadPorUsuarioRango(inicioHoy(), finHoy()).get(0);
+        assertThat(usuarioRango.getCantidadVentas()).isEqualTo(1);
+        assertThat(usuarioRango.getUtilidad()).isEqualByComparingTo("22.50");
+
+        assertThat(resumenVentasService.verificar(null, null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Debe mover la venta a pagada en los resúmenes cuando se termina de pagar")
+    void testRegistrarPago_MueveEstado() {
+        // Given
+        ventaService.crearVenta(contado);
+        Venta ventaCredito = ventaService.crearVenta(credito);
+        entityManager.flush();
+
+        // When
+        ventaService.registrarPago(new PagosDTO(ventaCredito.getCuotas().get(0).getId(), BigDecimal.TEN, "", "Efectivo"));
+        entityManager.flush();
+
+        // Then
+        assertThat(reportesService.obtenerUtilidadPorProducto())
+                .extracting(ReporteUtilidadProductoDTO::getProducto, ReporteUtilidadProductoDTO::getCantidadVendida)
+                .containsExactly(tuple("Producto A", 3), tuple("Producto B", 3));
+        assertThat(reportesService.obtenerUtilidadPorUsuarioRango(inicioHoy(), finHoy()).get(0).getCantidadVentas())
+                .isEqualTo(2);
+        assertThat(resumenVentasService.verificar(null, null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Debe restar la venta anulada de los resúmenes")
+    void testAnularVenta_RestaResumenes() {
+        // Given
+        Venta ventaContado = ventaService.crearVenta(contado);
+        ventaService.crearVenta(credito);
+        entityManager.flush();
+
+        // When
+        ventaService.anularVenta(ventaContado.getId());
+        entityManager.flush();
+
+        // Then: no queda ninguna venta pagada y solo la pendiente cuenta para el usuario
+        assertThat(reportesService.obtenerUtilidadPorProducto()).isEmpty();
+        ReporteUttilidadUsuarioDTO usuario = reportesService.obtenerUtilidadPorUsuario().get(0);
+        assertThat(usuario.getCantidadVentas()).isEqualTo(1);
+        assertThat(usuario.getUtilidad()).isEqualByComparingTo("6.00");
+        assertThat(resumenVentasService.verificar(null, null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Debe detectar resúmenes incompletos y reconstruirlos desde las ventas")
+    void testVerificarYReconstruir() {
+        // Given: ventas registradas pero resúmenes vacíos, como antes de la carga inicial
+        ventaService.crearVenta(contado);
+        ventaService.crearVenta(credito);
+        entityManager.flush();
+        ventaDiariaProductoUsuarioRepository.deleteAllInBatch();
+        ventaDiariaUsuarioRepository.deleteAllInBatch();
+
+        // When
+        List<DiferenciaResumenDTO> diferencias = resumenVentasService.verificar(LocalDate.now(), LocalDate.now());
+
+        // Then
+        assertThat(diferencias).isNotEmpty();
+        assertThat(diferencias).extracting(DiferenciaResumenDTO::tabla)
+                .contains("ventas_diarias_producto_usuario", "ventas_diarias_usuario");
+
+        // When: se reconstruye el día
+        int filas = resumenVentasService.reconstruir(LocalDate.now(), LocalDate.now());
+
+        // Then: A pagada, B pagada y A pendiente
+        assertThat(filas).isEqualTo(3);
+        assertThat(resumenVentasService.verificar(null, null)).isEmpty();
+        assertThat(reportesService.obtenerUtilidadPorUsuario().get(0).getUtilidad()).isEqualByComparingTo("28.50");
+    }
+
+    @Test
+    @DisplayName("No debe alterar la utilidad registrada cuando cambia el precio de compra después de la venta")
+    void testVerificar_CambioDePrecioDeCompra() {
+        // Given
+        ventaService.crearVenta(contado);
+        entityManager.flush();
+
+        // When: B pasa a costar 3.00 en lugar de 2.50
+        productoB.setPrecioCompra(3.0);
+        entityManager.flush();
+        resumenVentasService.reconstruir(null, null);
+
+        // Then: la utilidad sigue calculada con el costo al momento de la venta
+        assertThat(resumenVentasService.verificar(null, null)).isEmpty();
+        assertThat(reportesService.obtenerUtilidadPorVenta().get(0).getUtilidad()).isEqualByComparingTo("22.50");
+        assertThat(reportesService.obtenerUtilidadPorUsuario().get(0).getUtilidad()).isEqualByComparingTo("22.50");
+    }
+
+    @Test
+    @DisplayName("Debe rechazar un rango de fechas invertido")
+    void testReconstruir_RangoInvalido() {
+        assertThrows(IllegalArgumentException.class,
+                () -> resumenVentasService.reconstruir(LocalDate.now(), LocalDate.now().minusDays(1)));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar los reportes por rango sin alguna de las fechas")
+    void testReportesRango_SinFechas() {
+        // When & Then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> reportesService.obtenerUtilidadPorUsuarioRango(null, finHoy()));
+        assertThat(exception.getMessage()).isEqualTo("Debe indicar la fecha de inicio y la de fin");
+        assertThrows(IllegalArgumentException.class,
+                () -> reportesService.obtenerUtilidadPorProductoRango(inicioHoy(), null));
+        assertThrows(IllegalArgumentException.class,
+                () -> reportesService.obtenerUtilidadPorVentaRango(null, null));
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.acceso.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.example.acceso.service.Implements.ServicioAutenticacionDosPasosImpl;
+import dev.samstevens.totp.code.DefaultCodeGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Pruebas del Servicio ServicioAutenticacionDosPasos")
+class ServicioAutenticacionDosPasosTest {
+
+    private static final String SECRETO = "JBSWY3DPEHPK3PXPJBSWY3DPEHPK3PXP";
+
+    // Reloj controlado por la prueba, en segundos
+    private volatile long ahora;
+    private ServicioAutenticacionDosPasosImpl servicio2FA;
+
+    @BeforeEach
+    void setUp() {
+        ahora = 1_700_000_000L;
+        servicio2FA = new ServicioAutenticacionDosPasosImpl(() -> ahora);
+    }
+
+    private String codigo(long segundos) throws Exception {
+        return new DefaultCodeGenerator().generate(SECRETO, Math.floorDiv(segundos, 30));
+    }
+
+    @Test
+    @DisplayName("Debe aceptar un código una sola vez por usuario")
+    void testEsCodigoValido_RechazaRepeticion() throws Exception {
+        // Given
+        String codigo = codigo(ahora);
+
+        // When & Then
+        assertThat(servicio2FA.esCodigoValido(1L, SECRETO, codigo)).isTrue();
+        assertThat(servicio2FA.esCodigoValido(1L, SECRETO, codigo)).isFalse();
+        // Otro usuario con el mismo secreto no se ve afectado
+        assertThat(servicio2FA.esCodigoValido(2L, SECRETO, codigo)).isTrue();
+        assertThat(servicio2FA.esCodigoValido(1L, SECRETO, "000000")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Debe aceptar el código del paso anterior y rechazar los vencidos")
+    void testEsCodigoValido_VentanaDeTiempo() throws Exception {
+        // Given
+        String anterior = codigo(ahora - 30);
+        String vencido = codigo(ahora - 90);
+
+        // When & Then
+        assertThat(servicio2FA.esCodigoValido(1L, SECRETO, codigo(ahora))).isTrue();
+        assertThat(servicio2FA.esCodigoValido(1L, SECRETO, anterior)).isTrue();
+        assertThat(servicio2FA.esCodigoValido(1L, SECRETO, vencido)).isFalse();
+
+        // Minutos después los pasos viejos ya se olvidaron y el código nuevo se acepta
+        ahora += 600;
+        assertThat(servicio2FA.esCodigoValido(1L, SECRETO, codigo(ahora))).isTrue();
+        assertThat(servicio2FA.esCodigoValido(1L, SECRETO, anterior)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Debe aceptar una sola de muchas peticiones simultáneas con el mismo código")
+    void testEsCodigoValido_PeticionesSimultaneas() throws Exception {
+        // Given
+        String codigo = codigo(ahora);
+        int peticiones = 32;
+        ExecutorService hilos = Executors.newFixedThreadPool(peticiones);
+        CountDownLatch salida = new CountDownLatch(1);
+        List<Future<Boolean>> resultados = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < peticiones; i++) {
+            resultados.add(hilos.submit(() -> {
+                salida.await();
+                return servicio2FA.esCodigoValido(1L, SECRETO, codigo);
+            }));
+        }
+        salida.countDown();
+        int aceptados = 0;
+        for (Future<Boolean> resultado : resultados) {
+            aceptados += resultado.get() ? 1 : 0;
+        }
+        hilos.shutdown();
+
+        // Then
+        assertThat(aceptados).isEqualTo(1);
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.acceso.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.acceso.DTO.SesionUsuario;
+import com.example.acceso.config.SesionesJdbcConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.session.Session;
+import org.springframework.session.SessionRepository;
+import org.springframework.session.jdbc.JdbcIndexedSessionRepository;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Pruebas del almacén de sesiones en la base de datos, sobre H2; el perfil de
+ * pruebas activa {@code acuamont.sesiones.almacen=jdbc}.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(SesionesJdbcConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Pruebas de SesionesJdbcConfig")
+class SesionesJdbcTest {
+
+    @Autowired
+    private JdbcIndexedSessionRepository sessionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private static <S extends Session> String guardar(SessionRepository<S> repositorio, SesionUsuario sesionUsuario) {
+        S sesion = repositorio.createSession();
+        sesion.setAttribute("usuarioLogueado", sesionUsuario);
+        repositorio.save(sesion);
+        return sesion.getId();
+    }
+
+    @Test
+    @DisplayName("Debe guardar la sesión en la base de datos y leerla desde otra instancia")
+    void testSesion_CompartidaEntreInstancias() {
+        // Given
+        SesionUsuario sesionUsuario = new SesionUsuario(7L, "Ana Quispe", 2L);
+        String id = guardar(sessionRepository, sesionUsuario);
+
+        // When: otra instancia de la aplicación con su propio repositorio
+        JdbcIndexedSessionRepository otraInstancia = new JdbcIndexedSessionRepository(jdbcTemplate,
+                new TransactionTemplate(transactionManager));
+        Session leida = otraInstancia.findById(id);
+
+        // Then
+        assertThat(leida).isNotNull();
+        assertThat((SesionUsuario) leida.getAttribute("usuarioLogueado")).isEqualTo(sesionUsuario);
+        assertThat(((SesionUsuario) leida.getAttribute("usuarioLogueado")).vigente()).isTrue();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM SPRING_SESSION", Integer.class)).isEqualTo(1);
+
+        sessionRepository.deleteById(id);
+        assertThat(otraInstancia.findById(id)).isNull();
+    }
+
+    @Test
+    @DisplayName("Debe dejar las sesiones en memoria cuando no se pide el almacén jdbc")
+    void testSesion_MemoriaPorDefecto() {
+        // When & Then
+        new ApplicationContextRunner()
+                .withUserConfiguration(SesionesJdbcConfig.class)
+                .run(contexto -> assertThat(contexto).doesNotHaveBean(JdbcIndexedSessionRepository.class));
+        new ApplicationContextRunner()
+                .withPropertyValues("acuamont.sesiones.almacen=memoria")
+                .withUserConfiguration(SesionesJdbcConfig.class)
+                .run(contexto -> assertThat(contexto).doesNotHaveBean(JdbcIndexedSessionRepository.class));
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.acceso.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import com.example.acceso.service.Implements.SlidesServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Verifica el manifiesto de slides contra un almacén de imágenes en una carpeta
+ * local: las páginas leen solo de memoria y el manifiesto sobrevive a un reinicio.
+ */
+@DisplayName("Pruebas del Servicio SlidesService")
+class SlidesServiceTest {
+
+    private static final String CARPETA = "slides_inicio";
+
+    @TempDir
+    Path directorio;
+
+    private AlmacenImagenesLocal almacen;
+    private Path manifiesto;
+    private SlidesServiceImpl slidesService;
+
+    @BeforeEach
+    void setUp() {
+        almacen = new AlmacenImagenesLocal(directorio.resolve("almacen"));
+        manifiesto = directorio.resolve("manifiesto/slides.json");
+        slidesService = new SlidesServiceImpl(almacen, CARPETA, manifiesto);
+    }
+
+    @Test
+    @DisplayName("Debe servir los slides desde memoria sin consultar el almacén")
+    void testListarSlides_NoConsultaElAlmacen() {
+        // Given
+        almacen.subir(new byte[] { 1 }, CARPETA);
+        almacen.subir(new byte[] { 2 }, CARPETA);
+        slidesService.refrescarSlides();
+
+        // When
+        List<String> slides = null;
+        for (int i = 0; i < 100; i++) {
+            slides = slidesService.listarSlides();
+        }
+
+        // Then
+        assertThat(slides).hasSize(2);
+        assertThat(almacen.getListados()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Debe actualizar el manifiesto en el acto al guardar y eliminar un slide")
+    void testGuardarYEliminarSlide_ActualizaElManifiesto() {
+        // When
+        String url = slidesService.guardarSlide(new byte[] { 1, 2, 3 });
+
+        // Then
+        assertThat(slidesService.listarSlides()).containsExactly(url);
+        assertThat(Files.exists(Path.of(URI.create(url)))).isTrue();
+
+        // When
+        slidesService.eliminarSlide(url);
+
+        // Then
+        assertThat(slidesService.listarSlides()).isEmpty();
+        assertThat(almacen.listar(CARPETA)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("No debe perder un slide guardado mientras se refresca la lista")
+    void testRefrescarSlides_GuardadoDuranteElRefresco() {
+        // Given: el slide se sube después de que el refresco leyó la carpeta
+        String[] guardado = new String[1];
+        almacen.setAlListar(() -> {
+            almacen.setAlListar(() -> { });
+            guardado[0] = slidesService.guardarSlide(new byte[] { 1 });
+        });
+
+        // When
+        slidesService.refrescarSlides();
+
+        // Then: la lista leída, ya vieja, se descarta
+        assertThat(slidesService.listarSlides()).containsExactly(guardado[0]);
+
+        // When: el siguiente refresco ve el slide en el almacén
+        slidesService.refrescarSlides();
+
+        // Then
+        assertThat(slidesService.listarSlides()).containsExactly(guardado[0]);
+    }
+
+    @Test
+    @DisplayName("Debe cargar el manifiesto guardado al arrancar")
+    void testArranque_LeeElManifiestoGuardado() {
+        // Given
+        String url = slidesService.guardarSlide(new byte[] { 1 });
+
+        // When: otra instancia, como tras reiniciar la aplicación
+        SlidesServiceImpl reiniciado = new SlidesServiceImpl(almacen, CARPETA, manifiesto);
+
+        // Then
+        assertThat(reiniciado.listarSlides()).containsExactly(url);
+        assertThat(almacen.getListados()).isZero();
+    }
+
+    @Test
+    @DisplayName("Debe mantener la última lista si el almacén no responde")
+    void testRefrescarSlides_AlmacenCaido() {
+        // Given
+        String url = slidesService.guardarSlide(new byte[] { 1 });
+        almacen.setCaido(true);
+
+        // When
+        slidesService.refrescarSlides();
+
+        // Then
+        assertThat(slidesService.listarSlides()).containsExactly(url);
+    }
+
+    @Test
+    @DisplayName("Debe rechazar eliminar una imagen que no es de la carpeta de slides")
+    void testEliminarSlide_FueraDeLaCarpeta() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> slidesService.eliminarSlide("https://res.cloudinary.com/demo/image/upload/productos_acuamont/1/foto.jpg"));
+
+        assertThat(exception.getMessage()).isEqualTo("No se pudo identificar la imagen para borrar");
+    }
+}
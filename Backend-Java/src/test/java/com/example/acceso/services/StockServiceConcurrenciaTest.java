@@ -0,0 +1,212 @@
+package com.example.acceso.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.example.acceso.model.Categoria;
+import com.example.acceso.model.Producto;
+import com.example.acceso.repository.CategoriaRepository;
+import com.example.acceso.repository.ProductoRepository;
+import com.example.acceso.service.Implements.MetricasServiceImpl;
+import com.example.acceso.service.Implements.StockServiceImpl;
+import com.example.acceso.service.Interfaces.StockService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Prueba de carga del motor de stock contra la base de datos real de pruebas:
+ * muchos cajeros descontando el mismo producto a la vez nunca deben dejar el
+ * stock en negativo ni vender más unidades de las que había.
+ *
+ * Cada operación corre en su propia transacción, igual que una venta real, por
+ * lo que la prueba desactiva la transacción envolvente de {@link DataJpaTest}.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({StockServiceImpl.class, MetricasServiceImpl.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Pruebas de concurrencia del Servicio StockService")
+class StockServiceConcurrenciaTest {
+
+    private static final int HILOS = 64;
+    private static final int STOCK_INICIAL = 1000;
+    private static final int INTENTOS_POR_HILO = 20;
+
+    @Autowired
+    private StockService stockService;
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private Categoria categoria;
+    private final List<Long> productosCreados = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        categoria = categoriaRepository.save(new Categoria("Stock concurrente"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        productoRepository.deleteAllById(productosCreados);
+        categoriaRepository.delete(categoria);
+        productosCreados.clear();
+    }
+
+    private Long crearProducto(int stock) {
+        Producto producto = productoRepository.save(new Producto("Producto concurrente", "Prueba de carga",
+                5.0, 10.0, stock, 5, "[]", categoria));
+        productosCreados.add(producto.getId());
+        return producto.getId();
+    }
+
+    private int stockActual(Long productoId) {
+        return productoRepository.findById(productoId).orElseThrow().getStock();
+    }
+
+    /**
+     * Vende una unidad del producto en su propia transacción. Devuelve
+     * {@code false} si el motor rechazó la venta por falta de stock.
+     */
+    private boolean venderUnaUnidad(Long productoId) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> stockService.descontarStock(Map.of(productoId, 1)));
+            return true;
+        } catch (RuntimeException e) {
+            if (e.getMessage() != null && e.getMessage().startsWith("Stock insuficiente")) {
+                return false;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Lanza {@code hilos} cajeros a la vez; cada uno intenta {@code intentos}
+     * ventas del producto que le toca. Devuelve cuántas ventas se confirmaron.
+     */
+    private int ejecutarCajeros(int hilos, int intentos, List<Long> productos) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(hilos);
+        CountDownLatch salida = new CountDownLatch(1);
+        AtomicInteger ventasConfirmadas = new AtomicInteger();
+        try {
+            List<Future<?>> cajeros = new ArrayList<>();
+            for (int h = 0; h < hilos; h++) {
+                Long productoId = productos.get(h % productos.size());
+                cajeros.add(executor.submit(() -> {
+                    salida.await();
+                    for (int i = 0; i < intentos; i++) {
+                        if (venderUnaUnidad(productoId)) {
+                            ventasConfirmadas.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            salida.countDown();
+            for (Future<?> cajero : cajeros) {
+                cajero.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return ventasConfirmadas.get();
+    }
+
+    @Test
+    @DisplayName("64 cajeros sobre un mismo producto nunca deben sobrevender")
+    void testDescontarStock_SinSobreventa() throws Exception {
+        // Given: 1000 unidades y 64 x 20 = 1280 intentos de venta
+        Long productoId = crearProducto(STOCK_INICIAL);
+
+        // When
+        int ventasConfirmadas = ejecutarCajeros(HILOS, INTENTOS_POR_HILO, List.of(productoId));
+
+        // Then
+        assertThat(ventasConfirmadas).isEqualTo(STOCK_INICIAL);
+        assertThat(stockActual(productoId)).isZero();
+    }
+
+    @Test
+    @DisplayName("Las anulaciones concurrentes deben devolver exactamente lo descontado")
+    void testReponerStock_Concurrente() throws Exception {
+        // Given
+        Long productoId = crearProducto(0);
+        ExecutorService executor = Executors.newFixedThreadPool(HILOS);
+
+        // When: cada hilo devuelve 20 unidades de una en una
+        try {
+            List<Future<?>> tareas = new ArrayList<>();
+            for (int h = 0; h < HILOS; h++) {
+                tareas.add(executor.submit(() -> {
+                    for (int i = 0; i < INTENTOS_POR_HILO; i++) {
+                        transactionTemplate.executeWithoutResult(
+                                status -> stockService.reponerStock(Map.of(productoId, 1)));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> tarea : tareas) {
+                tarea.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Then
+        assertThat(stockActual(productoId)).isEqualTo(HILOS * INTENTOS_POR_HILO);
+    }
+
+    /**
+     * Reparte 640 ventas entre 1, 8 y 64 cajeros sobre 64 productos. Sobre un
+     * único producto todos esperan la misma fila bloqueada, así que aquí cada
+     * cajero vende productos distintos y ninguna venta debe perderse.
+     */
+    @Test
+    @DisplayName("Debe confirmar todas las ventas con 1, 8 y 64 cajeros sobre productos distintos")
+    void testDescontarStock_VariosCajeros() throws Exception {
+        List<Long> productos = new ArrayList<>();
+        for (int i = 0; i < HILOS; i++) {
+            productos.add(crearProducto(STOCK_INICIAL));
+        }
+
+        for (int hilos : new int[] { 1, 8, 64 }) {
+            int intentos = 640 / hilos;
+            int ventas = ejecutarCajeros(hilos, intentos, productos);
+
+            assertThat(ventas).isEqualTo(hilos * intentos);
+        }
+
+        long stockTotal = productos.stream().mapToLong(this::stockActual).sum();
+        assertThat(stockTotal).isEqualTo((long) HILOS * STOCK_INICIAL - 3 * 640);
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.acceso.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import com.example.acceso.model.Producto;
+import com.example.acceso.repository.ProductoRepository;
+import com.example.acceso.service.Implements.StockServiceImpl;
+import com.example.acceso.service.Interfaces.MetricasService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.CannotAcquireLockException;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Pruebas del Servicio StockService")
+class StockServiceTest {
+
+    @Mock private ProductoRepository productoRepository;
+    @Mock private ApplicationEventPublisher eventPublisher;
+    @Mock private MetricasService metricasService;
+
+    @InjectMocks
+    private StockServiceImpl stockService;
+
+    @Test
+    @DisplayName("Debe descontar el stock en orden ascendente de ID de producto")
+    void testDescontarStock_OrdenAscendente() {
+        // Given: los productos llegan desordenados
+        Map<Long, Integer> cantidades = new LinkedHashMap<>();
+        cantidades.put(30L, 1);
+        cantidades.put(10L, 2);
+        cantidades.put(20L, 3);
+        when(productoRepository.descontarStockSiDisponible(anyLong(), anyInt())).thenReturn(1);
+
+        // When
+        stockService.descontarStock(cantidades);
+
+        // Then
+        InOrder orden = inOrder(productoRepository);
+        orden.verify(productoRepository).descontarStockSiDisponible(10L, 2);
+        orden.verify(productoRepository).descontarStockSiDisponible(20L, 3);
+        orden.verify(productoRepository).descontarStockSiDisponible(30L, 1);
+    }
+
+    @Test
+    @DisplayName("Debe lanzar excepción con el nombre del producto si el stock es insuficiente")
+    void testDescontarStock_StockInsuficiente() {
+        // Given
+        Producto producto = new Producto();
+        producto.setId(1L);
+        producto.setNombre("Producto 1");
+        when(productoRepository.descontarStockSiDisponible(1L, 5)).thenReturn(0);
+        when(productoRepository.findById(1L)).thenReturn(Optional.of(producto));
+
+        // When
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> {
+            stockService.descontarStock(Map.of(1L, 5));
+        });
+
+        // Then
+        assertThat(exception.getMessage()).isEqualTo("Stock insuficiente para el producto: Producto 1");
+        verify(metricasService, times(1)).stockRechazado();
+    }
+
+    @Test
+    @DisplayName("Debe reintentar la sentencia si el bloqueo de la fila no se concede a tiempo")
+    void testDescontarStock_ReintentaEsperaDeBloqueo() {
+        // Given: el primer intento agota la espera de bloqueo, el segundo funciona
+        when(productoRepository.descontarStockSiDisponible(1L, 2))
+                .thenThrow(new CannotAcquireLockException("Lock wait timeout exceeded"))
+                .thenReturn(1);
+
+        // When
+        stockService.descontarStock(Map.of(1L, 2));
+
+        // Then
+        verify(productoRepository, times(2)).descontarStockSiDisponible(1L, 2);
+    }
+
+    @Test
+    @DisplayName("Debe rendirse tras el número máximo de intentos")
+    void testDescontarStock_AgotaReintentos() {
+        // Given
+        when(productoRepository.descontarStockSiDisponible(1L, 2))
+                .thenThrow(new CannotAcquireLockException("Lock wait timeout exceeded"));
+
+        // When
+        assertThrows(CannotAcquireLockException.class, () -> {
+            stockService.descontarStock(Map.of(1L, 2));
+        });
+
+        // Then
+        verify(productoRepository, times(5)).descontarStockSiDisponible(1L, 2);
+    }
+
+    @Test
+    @DisplayName("Debe rechazar cantidades menores o iguales a cero sin tocar la base de datos")
+    void testDescontarStock_CantidadInvalida() {
+        // When
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
+            stockService.descontarStock(Map.of(1L, 0));
+        });
+
+        // Then
+        assertTrue(exception.getMessage().contains("debe ser mayor a 0"));
+        verifyNoInteractions(productoRepository);
+    }
+
+    @Test
+    @DisplayName("Debe lanzar excepción al reponer stock de un producto inexistente")
+    void testReponerStock_ProductoInexistente() {
+        // Given
+        when(productoRepository.incrementarStock(99L, 1)).thenReturn(0);
+
+        // When
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> {
+            stockService.reponerStock(Map.of(99L, 1));
+        });
+
+        // Then
+        assertThat(exception.getMessage()).isEqualTo("Error: El producto con ID 99 no existe.");
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.acceso.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.example.acceso.DTO.DetalleVentaDTO;
+import com.example.acceso.DTO.VentaDTO;
+import com.example.acceso.model.*;
+import com.example.acceso.service.Implements.CorrelativoServiceImpl;
+import com.example.acceso.service.Implements.MetricasServiceImpl;
+import com.example.acceso.service.Implements.ResumenVentasServiceImpl;
+import com.example.acceso.service.Implements.StockServiceImpl;
+import com.example.acceso.service.Implements.VentaServiceImpl;
+import com.example.acceso.service.Interfaces.VentaService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Verifica, con las estadísticas de Hibernate, que armar una venta hace un
+ * número fijo de lecturas a la base de datos sin importar cuántas líneas tenga.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({VentaServiceImpl.class, StockServiceImpl.class, CorrelativoServiceImpl.class,
+        ResumenVentasServiceImpl.class, MetricasServiceImpl.class, SimpleMeterRegistry.class})
+@DisplayName("Pruebas de consultas del Servicio VentaService")
+class VentaServiceConsultasTest {
+
+    private static final String CONSULTA_PRODUCTOS =
+            "SELECT p FROM Producto p LEFT JOIN FETCH p.categoria WHERE p.id IN :ids";
+
+    @Autowired
+    private VentaService ventaService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private VentaDTO ventaBase;
+    private final List<Long> productosIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Cliente cliente = entityManager.persist(new Cliente("Cliente Prueba", "12345678", "", "cliente@prueba.com"));
+        Usuario usuario = entityManager.persist(new Usuario("Usuario Prueba", "vendedor", "clave123", "vendedor@prueba.com"));
+        FormaPago contado = entityManager.persist(new FormaPago("Contado"));
+        SerieComprobante serie = entityManager.persist(new SerieComprobante("Boleta", "B001", 0));
+        Categoria categoria = entityManager.persist(new Categoria("Alimentos"));
+
+        for (int i = 1; i <= 40; i++) {
+            Producto producto = entityManager.persist(new Producto("Producto " + i, "Descripcion " + i,
+                    5.0, 10.0, 1000, 5, "[]", categoria));
+            productosIds.add(producto.getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        ventaBase = new VentaDTO();
+        ventaBase.setClienteId(cliente.getId());
+        ventaBase.setUsuarioId(usuario.getId());
+        ventaBase.setFormaPagoId(contado.getId());
+        ventaBase.setSerieComprobanteId(serie.getId());
+    }
+
+    /**
+     * Crea una venta con la cantidad de líneas indicada y devuelve cuántas
+     * sentencias de lectura se enviaron a la base de datos (todas las sentencias
+     * preparadas menos los INSERT y UPDATE de entidades).
+     */
+    private long sentenciasDeLecturaAlCrearVenta(int lineas) {
+        List<DetalleVentaDTO> detalles = new ArrayList<>();
+        for (int i = 0; i < lineas; i++) {
+            detalles.add(new DetalleVentaDTO(productosIds.get(i), 1));
+        }
+        ventaBase.setDetalles(detalles);
+
+        statistics.clear();
+        ventaService.crearVenta(ventaBase);
+        entityManager.flush();
+        entityManager.clear();
+
+        return statistics.getPrepareStatementCount()
+                - statistics.getEntityInsertCount()
+                - statistics.getEntityUpdateCount();
+    }
+
+    @Test
+    @DisplayName("Debe cargar todos los productos de la venta en una sola consulta")
+    void testCrearVenta_UnaConsultaParaTodosLosProductos() {
+        sentenciasDeLecturaAlCrearVenta(40);
+
+        assertThat(statistics.getQueryStatistics(CONSULTA_PRODUCTOS).getExecutionCount()).isEqualTo(1);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(1 + 40); // venta + detalles
+    }
+
+    @Test
+    @DisplayName("Debe hacer el mismo número de lecturas sin importar cuántas líneas tenga la venta")
+    void testCrearVenta_LecturasConstantes() {
+        long lecturasUnaLinea = sentenciasDeLecturaAlCrearVenta(1);
+        long lecturasDiezLineas = sentenciasDeLecturaAlCrearVenta(10);
+        long lecturasCuarentaLineas = sentenciasDeLecturaAlCrearVenta(40);
+
+        assertThat(lecturasDiezLineas).isEqualTo(lecturasUnaLinea);
+        assertThat(lecturasCuarentaLineas).isEqualTo(lecturasUnaLinea);
+    }
+
+    @Test
+    @DisplayName("Debe consolidar las líneas repetidas de un mismo producto en un solo detalle")
+    void testCrearVenta_LineasRepetidasEnUnDetalle() {
+        ventaBase.setDetalles(List.of(
+                new DetalleVentaDTO(productosIds.get(0), 2),
+                new DetalleVentaDTO(productosIds.get(1), 1),
+                new DetalleVentaDTO(productosIds.get(0), 3)));
+
+        Venta venta = ventaService.crearVenta(ventaBase);
+
+        assertThat(venta.getDetalleVentas()).hasSize(2);
+        assertThat(venta.getDetalleVentas().get(0).getCantidad()).isEqualTo(5);
+        assertThat(venta.getDetalleVentas().get(1).getCantidad()).isEqualTo(1);
+    }
+}
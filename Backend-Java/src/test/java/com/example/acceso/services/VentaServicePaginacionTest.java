@@ -0,0 +1,169 @@
+package com.example.acceso.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.example.acceso.DTO.FiltroVentasDTO;
+import com.example.acceso.DTO.PaginaVentasDTO;
+import com.example.acceso.DTO.VentaResumenDTO;
+import com.example.acceso.model.*;
+import com.example.acceso.service.Implements.CorrelativoServiceImpl;
+import com.example.acceso.service.Implements.MetricasServiceImpl;
+import com.example.acceso.service.Implements.ResumenVentasServiceImpl;
+import com.example.acceso.service.Implements.StockServiceImpl;
+import com.example.acceso.service.Implements.VentaServiceImpl;
+import com.example.acceso.service.Interfaces.VentaService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Verifica el listado paginado por cursor de las ventas contra la base de datos
+ * de pruebas: orden, ausencia de duplicados entre páginas y filtros.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({VentaServiceImpl.class, StockServiceImpl.class, CorrelativoServiceImpl.class,
+        ResumenVentasServiceImpl.class, MetricasServiceImpl.class, SimpleMeterRegistry.class})
+@DisplayName("Pruebas de paginación del Servicio VentaService")
+class VentaServicePaginacionTest {
+
+    private static final LocalDateTime INICIO = LocalDateTime.of(2025, 1, 1, 9, 0);
+
+    @Autowired
+    private VentaService ventaService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Cliente clienteA;
+    private Cliente clienteB;
+    private SerieComprobante boletas;
+    private SerieComprobante facturas;
+
+    @BeforeEach
+    void setUp() {
+        clienteA = entityManager.persist(new Cliente("Cliente A", "11111111", "", "a@prueba.com"));
+        clienteB = entityManager.persist(new Cliente("Cliente B", "22222222", "", "b@prueba.com"));
+        Usuario usuario = entityManager.persist(new Usuario("Usuario Prueba", "vendedor", "clave123", "vendedor@prueba.com"));
+        FormaPago contado = entityManager.persist(new FormaPago("Contado"));
+        boletas = entityManager.persist(new SerieComprobante("Boleta", "B001", 0));
+        facturas = entityManager.persist(new SerieComprobante("Factura", "F001", 0));
+
+        // 60 ventas en 20 días, tres por día y a la misma hora para forzar empates en la fecha
+        for (int i = 0; i < 60; i++) {
+            Venta venta = new Venta();
+            venta.setSerieComprobante(i % 2 == 0 ? boletas : facturas);
+            venta.setCorrelativo(i + 1);
+            venta.setCliente(i % 3 == 0 ? clienteB : clienteA);
+            venta.setUsuario(usuario);
+            venta.setFormaPago(contado);
+            venta.setFecha(INICIO.plusDays(i / 3));
+            venta.setTotal(BigDecimal.TEN);
+            venta.setEstado(i % 10 == 9 ? 2 : 1);
+            entityManager.persist(venta);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private List<VentaResumenDTO> recorrerTodasLasPaginas(FiltroVentasDTO filtro, int tamano) {
+        List<VentaResumenDTO> ventas = new ArrayList<>();
+        String cursor = null;
+        do {
+            PaginaVentasDTO pagina = ventaService.listarVentasPaginadas(filtro, cursor, tamano);
+            assertThat(pagina.ventas()).hasSizeLessThanOrEqualTo(tamano);
+            ventas.addAll(pagina.ventas());
+            cursor = pagina.siguienteCursor();
+        } while (cursor != null);
+        return ventas;
+    }
+
+    @Test
+    @DisplayName("Debe recorrer todas las ventas no anuladas sin repetir ni saltar ninguna")
+    void testListarVentasPaginadas_RecorridoCompleto() {
+        // When
+        List<VentaResumenDTO> ventas = recorrerTodasLasPaginas(new FiltroVentasDTO(), 25);
+
+        // Then: 60 ventas menos 6 anuladas, de la más reciente a la más antigua
+        assertThat(ventas).hasSize(54);
+        assertThat(ventas).extracting(VentaResumenDTO::id).doesNotHaveDuplicates();
+        for (int i = 1; i < ventas.size(); i++) {
+            VentaResumenDTO anterior = ventas.get(i - 1);
+            VentaResumenDTO actual = ventas.get(i);
+            assertThat(actual.fecha()).isBeforeOrEqualTo(anterior.fecha());
+            if (actual.fecha().equals(anterior.fecha())) {
+                assertThat(actual.id()).isLessThan(anterior.id());
+            }
+        }
+        assertThat(ventas).allMatch(venta -> venta.estado() != 2);
+    }
+
+    @Test
+    @DisplayName("Debe devolver los datos planos de la venta sin cargar entidades relacionadas")
+    void testListarVentasPaginadas_Proyeccion() {
+        // When
+        VentaResumenDTO venta = ventaService.listarVentasPaginadas(new FiltroVentasDTO(), null, 1).ventas().get(0);
+
+        // Then
+        assertThat(venta.serie()).isIn("B001", "F001");
+        assertThat(venta.clienteNombre()).isIn("Cliente A", "Cliente B");
+        assertThat(venta.usuarioNombre()).isEqualTo("Usuario Prueba");
+        assertThat(venta.formaPagoNombre()).isEqualTo("Contado");
+    }
+
+    @Test
+    @DisplayName("Debe aplicar los filtros de fecha, estado, cliente y serie en la base de datos")
+    void testListarVentasPaginadas_Filtros() {
+        // Fechas: del día 2 al día 4 inclusive son 9 ventas, una de ellas anulada
+        FiltroVentasDTO porFecha = new FiltroVentasDTO(LocalDate.of(2025, 1, 3), LocalDate.of(2025, 1, 5), null, null, null);
+        assertThat(recorrerTodasLasPaginas(porFecha, 4)).hasSize(8);
+
+        // Estado: solo las anuladas
+        FiltroVentasDTO anuladas = new FiltroVentasDTO(null, null, 2, null, null);
+        assertThat(recorrerTodasLasPaginas(anuladas, 4)).hasSize(6).allMatch(venta -> venta.estado() == 2);
+
+        // Cliente
+        FiltroVentasDTO porCliente = new FiltroVentasDTO(null, null, null, clienteB.getId(), null);
+        assertThat(recorrerTodasLasPaginas(porCliente, 7)).isNotEmpty()
+                .allMatch(venta -> venta.clienteId().equals(clienteB.getId()));
+
+        // Serie
+        FiltroVentasDTO porSerie = new FiltroVentasDTO(null, null, null, null, facturas.getId());
+        assertThat(recorrerTodasLasPaginas(porSerie, 7)).hasSize(24).allMatch(venta -> venta.serie().equals("F001"));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar un cursor que no fue generado por el listado")
+    void testListarVentasPaginadas_CursorInvalido() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> ventaService.listarVentasPaginadas(new FiltroVentasDTO(), "no-es-un-cursor", 10));
+
+        assertThat(exception.getMessage()).isEqualTo("Error: El cursor de paginación no es válido.");
+    }
+
+    @Test
+    @DisplayName("Debe cargar los detalles de una venta solo al pedirla por su ID")
+    void testObtenerVenta_ConDetalles() {
+        Long ventaId = ventaService.listarVentasPaginadas(new FiltroVentasDTO(), null, 1).ventas().get(0).id();
+
+        Venta venta = ventaService.obtenerVenta(ventaId);
+
+        assertThat(venta.getId()).isEqualTo(ventaId);
+        assertThat(venta.getDetalleVentas()).isEmpty();
+    }
+}
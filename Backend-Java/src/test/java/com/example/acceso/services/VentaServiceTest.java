@@ -4,6 +4,9 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 import java.math.BigDecimal;
@@ -11,15 +14,21 @@ import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import com.example.acceso.DTO.CuotasProgramadasDTO;
 import com.example.acceso.DTO.DetalleVentaDTO;
 import com.example.acceso.DTO.PagosDTO;
 import com.example.acceso.DTO.VentaDTO;
+import com.example.acceso.DTO.VentaModificadaDTO;
 import com.example.acceso.model.*;
 import com.example.acceso.repository.*;
 import com.example.acceso.service.Implements.VentaServiceImpl;
+import com.example.acceso.service.Interfaces.CorrelativoService;
+import com.example.acceso.service.Interfaces.MetricasService;
+import com.example.acceso.service.Interfaces.ResumenVentasService;
+import com.example.acceso.service.Interfaces.StockService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -27,13 +36,17 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.UnexpectedRollbackException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("Pruebas del Servicio VentaService")
 class VentaServiceTest {
 
-    // Simular todos los 8 repositorios inyectados
+    // Simular todos los 8 repositorios inyectados y el motor de stock
     @Mock private VentaRepository ventaRepository;
     @Mock private ClienteRepository clienteRepository;
     @Mock private UsuarioRepository usuarioRepository;
@@ -42,6 +55,11 @@ class VentaServiceTest {
     @Mock private SerieComprobanteRepository serieComprobanteRepository;
     @Mock private FormaPagoRepository formaPagoRepository;
     @Mock private ProductoRepository productoRepository;
+    @Mock private StockService stockService;
+    @Mock private CorrelativoService correlativoService;
+    @Mock private ResumenVentasService resumenVentasService;
+    @Mock private ApplicationEventPublisher eventPublisher;
+    @Mock private MetricasService metricasService;
 
     @InjectMocks
     private VentaServiceImpl ventaService;
@@ -72,9 +90,11 @@ class VentaServiceTest {
         mockProducto1.setNombre("Producto 1");
         mockProducto1.setStock(100);
         mockProducto1.setPrecioVenta(50.0);
+        mockProducto1.setPrecioCompra(30.0);
 
         mockSerie = new SerieComprobante();
         mockSerie.setId(1L);
+        mockSerie.setSerie("B001");
         mockSerie.setCorrelativo_actual(99);
 
         mockFormaPagoContado = new FormaPago();
@@ -108,7 +128,9 @@ class VentaServiceTest {
         when(usuarioRepository.findById(1L)).thenReturn(Optional.of(mockUsuario));
         when(formaPagoRepository.findById(1L)).thenReturn(Optional.of(mockFormaPagoContado));
         when(serieComprobanteRepository.findById(1L)).thenReturn(Optional.of(mockSerie));
-        when(productoRepository.findById(1L)).thenReturn(Optional.of(mockProducto1));
+        when(productoRepository.findAllConCategoriaByIdIn(any())).thenReturn(List.of(mockProducto1));
+
+        when(correlativoService.siguienteCorrelativo(mockSerie)).thenReturn(100);
 
         // Simular el guardado en la BD
         when(ventaRepository.save(any(Venta.class))).thenAnswer(inv -> inv.getArgument(0));
@@ -125,13 +147,24 @@ class VentaServiceTest {
         assertThat(ventaGuardada.getDeuda()).isEqualTo(BigDecimal.ZERO);
         assertThat(ventaGuardada.getEstado()).isEqualTo(1); // 1 = Pagada
 
-        // Efecto secundario: Stock del producto
-        assertThat(mockProducto1.getStock()).isEqualTo(98); // 100 - 2
+        // Efecto secundario: Stock del producto (descuento atómico de 2 unidades)
+        verify(stockService, times(1)).descontarStock(Map.of(1L, 2));
+
+        // Efecto secundario: Correlativo asignado por la serie
+        assertThat(ventaGuardada.getCorrelativo()).isEqualTo(100); // 99 + 1
 
-        // Efecto secundario: Correlativo de la serie
-        assertThat(mockSerie.getCorrelativo_actual()).isEqualTo(100); // 99 + 1
+        // El detalle congela el costo de compra y la utilidad de la línea
+        DetalleVenta detalle = ventaGuardada.getDetalleVentas().get(0);
+        assertThat(detalle.getCostoUnitario()).isEqualByComparingTo("30.00");
+        assertThat(detalle.getUtilidad()).isEqualByComparingTo("40.00"); // 100 - 30 x 2
 
         verify(ventaRepository, times(1)).save(any(Venta.class));
+
+        // Efecto secundario: la venta se suma a los resúmenes de los reportes
+        verify(resumenVentasService, times(1)).registrarVenta(ventaGuardada);
+
+        // La venta se registra en las métricas, por serie y forma de pago
+        verify(metricasService).ventaCreada(eq("B001"), eq("Contado"), eq(1), isNull(), anyLong());
     }
 
     @Test
@@ -139,15 +172,16 @@ class VentaServiceTest {
     void testCrearVenta_StockInsuficiente() {
         // Given
         mockVentaDTO.setFormaPagoId(1L); // Contado
-        mockProducto1.setStock(1); // Solo hay 1 en stock
-        mockDetalleDTO.setCantidad(2); // Pero se piden 2
+        mockDetalleDTO.setCantidad(2); // Se piden 2, pero el UPDATE condicional no encuentra stock
 
         // Simular las búsquedas (solo las necesarias hasta el fallo)
         when(clienteRepository.findById(1L)).thenReturn(Optional.of(mockCliente));
         when(usuarioRepository.findById(1L)).thenReturn(Optional.of(mockUsuario));
         when(formaPagoRepository.findById(1L)).thenReturn(Optional.of(mockFormaPagoContado));
         when(serieComprobanteRepository.findById(1L)).thenReturn(Optional.of(mockSerie));
-        when(productoRepository.findById(1L)).thenReturn(Optional.of(mockProducto1));
+        when(productoRepository.findAllConCategoriaByIdIn(any())).thenReturn(List.of(mockProducto1));
+        doThrow(new RuntimeException("Stock insuficiente para el producto: " + mockProducto1.getNombre()))
+                .when(stockService).descontarStock(Map.of(1L, 2));
 
         // When
         RuntimeException exception = assertThrows(RuntimeException.class, () -> {
@@ -157,12 +191,98 @@ class VentaServiceTest {
         // Then
         assertTrue(exception.getMessage().contains("Stock insuficiente para el producto: " + mockProducto1.getNombre()));
 
-        // El stock no debe cambiar
-        assertThat(mockProducto1.getStock()).isEqualTo(1);
-        // El correlativo no debe cambiar
-        assertThat(mockSerie.getCorrelativo_actual()).isEqualTo(99);
         // La venta no debe guardarse
         verify(ventaRepository, never()).save(any());
+
+        // El rechazo también se registra, con la serie y la forma de pago ya cargadas
+        verify(metricasService).ventaCreada(eq("B001"), eq("Contado"), eq(1), same(exception), anyLong());
+    }
+
+    @Test
+    @DisplayName("Debe registrar la venta en las métricas al terminar la transacción, con el resultado confirmado")
+    void testCrearVenta_MetricasAlTerminarLaTransaccion() {
+        // Given
+        mockVentaDTO.setFormaPagoId(1L);
+        when(clienteRepository.findById(1L)).thenReturn(Optional.of(mockCliente));
+        when(usuarioRepository.findById(1L)).thenReturn(Optional.of(mockUsuario));
+        when(formaPagoRepository.findById(1L)).thenReturn(Optional.of(mockFormaPagoContado));
+        when(serieComprobanteRepository.findById(1L)).thenReturn(Optional.of(mockSerie));
+        when(productoRepository.findAllConCategoriaByIdIn(any())).thenReturn(List.of(mockProducto1));
+        when(correlativoService.siguienteCorrelativo(mockSerie)).thenReturn(100);
+        when(ventaRepository.save(any(Venta.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // When
+            ventaService.crearVenta(mockVentaDTO);
+
+            // Then: mientras la transacción sigue abierta no se registra nada
+            verify(metricasService, never()).ventaCreada(any(), any(), anyInt(), any(), anyLong());
+
+            // Si la transacción se revierte al confirmar, la venta cuenta como error
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sincronizacion -> sincronizacion.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+            verify(metricasService).ventaCreada(eq("B001"), eq("Contado"), eq(1),
+                    isA(UnexpectedRollbackException.class), anyLong());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Debe consolidar en una sola línea los detalles repetidos de un mismo producto")
+    void testCrearVenta_DetallesRepetidosSeConsolidan() {
+        // Given
+        mockVentaDTO.setFormaPagoId(1L); // Contado
+        mockVentaDTO.setDetalles(List.of(
+                new DetalleVentaDTO(1L, 2),
+                new DetalleVentaDTO(1L, 3)));
+
+        when(clienteRepository.findById(1L)).thenReturn(Optional.of(mockCliente));
+        when(usuarioRepository.findById(1L)).thenReturn(Optional.of(mockUsuario));
+        when(formaPagoRepository.findById(1L)).thenReturn(Optional.of(mockFormaPagoContado));
+        when(serieComprobanteRepository.findById(1L)).thenReturn(Optional.of(mockSerie));
+        when(productoRepository.findAllConCategoriaByIdIn(any())).thenReturn(List.of(mockProducto1));
+        when(ventaRepository.save(any(Venta.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        // When
+        Venta ventaGuardada = ventaService.crearVenta(mockVentaDTO);
+
+        // Then
+        assertThat(ventaGuardada.getDetalleVentas()).hasSize(1);
+        assertThat(ventaGuardada.getDetalleVentas().get(0).getCantidad()).isEqualTo(5);
+        assertThat(ventaGuardada.getTotal()).isEqualTo(BigDecimal.valueOf(250.0).setScale(2, RoundingMode.HALF_UP));
+        verify(stockService, times(1)).descontarStock(Map.of(1L, 5)); // 2 + 3 en un solo movimiento
+
+        // Los productos se cargan en una sola consulta
+        verify(productoRepository, times(1)).findAllConCategoriaByIdIn(any());
+        verify(productoRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Debe rechazar la Venta si algún producto no existe, antes de tocar el stock")
+    void testCrearVenta_ProductoInexistente() {
+        // Given
+        mockVentaDTO.setFormaPagoId(1L); // Contado
+        mockVentaDTO.setDetalles(List.of(
+                new DetalleVentaDTO(1L, 2),
+                new DetalleVentaDTO(99L, 1)));
+
+        when(clienteRepository.findById(1L)).thenReturn(Optional.of(mockCliente));
+        when(usuarioRepository.findById(1L)).thenReturn(Optional.of(mockUsuario));
+        when(formaPagoRepository.findById(1L)).thenReturn(Optional.of(mockFormaPagoContado));
+        when(serieComprobanteRepository.findById(1L)).thenReturn(Optional.of(mockSerie));
+        when(productoRepository.findAllConCategoriaByIdIn(any())).thenReturn(List.of(mockProducto1));
+
+        // When
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> {
+            ventaService.crearVenta(mockVentaDTO);
+        });
+
+        // Then
+        assertTrue(exception.getMessage().contains("El producto con ID 99 no existe"));
+        verify(stockService, never()).descontarStock(any());
+        verify(ventaRepository, never()).save(any());
     }
 
     @Test
@@ -184,7 +304,7 @@ class VentaServiceTest {
         when(usuarioRepository.findById(1L)).thenReturn(Optional.of(mockUsuario));
         when(formaPagoRepository.findById(2L)).thenReturn(Optional.of(mockFormaPagoCredito));
         when(serieComprobanteRepository.findById(1L)).thenReturn(Optional.of(mockSerie));
-        when(productoRepository.findById(1L)).thenReturn(Optional.of(mockProducto1));
+        when(productoRepository.findAllConCategoriaByIdIn(any())).thenReturn(List.of(mockProducto1));
 
         // When
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
@@ -193,6 +313,8 @@ class VentaServiceTest {
 
         // Then
         assertTrue(exception.getMessage().contains("Error de consistencia"));
+        verify(stockService, never()).descontarStock(any());
+        verify(correlativoService, never()).siguienteCorrelativo(any());
         verify(ventaRepository, never()).save(any());
     }
 
@@ -213,7 +335,8 @@ class VentaServiceTest {
         when(usuarioRepository.findById(1L)).thenReturn(Optional.of(mockUsuario));
         when(formaPagoRepository.findById(2L)).thenReturn(Optional.of(mockFormaPagoCredito));
         when(serieComprobanteRepository.findById(1L)).thenReturn(Optional.of(mockSerie));
-        when(productoRepository.findById(1L)).thenReturn(Optional.of(mockProducto1));
+        when(productoRepository.findAllConCategoriaByIdIn(any())).thenReturn(List.of(mockProducto1));
+        when(correlativoService.siguienteCorrelativo(mockSerie)).thenReturn(100);
         when(ventaRepository.save(any(Venta.class))).thenAnswer(inv -> inv.getArgument(0));
 
         // When
@@ -232,8 +355,8 @@ class VentaServiceTest {
         assertThat(ventaGuardada.getCuotas().get(0).getMonto()).isEqualTo(BigDecimal.valueOf(60.0));
 
         // Verifica efectos secundarios
-        assertThat(mockProducto1.getStock()).isEqualTo(98);
-        assertThat(mockSerie.getCorrelativo_actual()).isEqualTo(100);
+        verify(stockService, times(1)).descontarStock(Map.of(1L, 2));
+        assertThat(ventaGuardada.getCorrelativo()).isEqualTo(100);
         verify(ventaRepository, times(1)).save(any(Venta.class));
     }
 
@@ -244,10 +367,7 @@ class VentaServiceTest {
     @DisplayName("Debe anular una Venta y restaurar el stock del producto")
     void testAnularVenta_Exitoso() {
         // Given
-        // 1. Simula el producto con el stock que tiene DESPUÉS de la venta
-        mockProducto1.setStock(98); // Stock actual (post-venta)
-
-        // 2. Simula la venta que se va a anular (estado 1 = Pagada, o 0 = Pendiente)
+        // 1. Simula la venta que se va a anular (estado 1 = Pagada, o 0 = Pendiente)
         Venta ventaExistente = new Venta();
         ventaExistente.setEstado(1);
 
@@ -257,7 +377,7 @@ class VentaServiceTest {
 
         ventaExistente.getDetalleVentas().add(detalle);
 
-        // 3. Configura los Mocks
+        // 2. Configura los Mocks
         when(ventaRepository.findById(1L)).thenReturn(Optional.of(ventaExistente));
         when(ventaRepository.save(any(Venta.class))).thenReturn(ventaExistente);
 
@@ -268,12 +388,17 @@ class VentaServiceTest {
         // 1. Verifica que el estado de la venta cambió a 2 (Anulada)
         assertThat(ventaExistente.getEstado()).isEqualTo(2);
 
-        // 2. Verifica que el stock se restauró
-        // 98 (stock post-venta) + 2 (cantidad devuelta) = 100
-        assertThat(mockProducto1.getStock()).isEqualTo(100);
+        // 2. Verifica que se devolvieron las 2 unidades al stock
+        verify(stockService, times(1)).reponerStock(Map.of(1L, 2));
 
         // 3. Verifica que se guardaron los cambios (una sola vez)
         verify(ventaRepository, times(1)).save(ventaExistente);
+
+        // 4. Verifica que la venta se restó de los resúmenes de los reportes
+        verify(resumenVentasService, times(1)).revertirVenta(ventaExistente);
+
+        // 5. Verifica que se avisó del cambio para descartar la boleta generada
+        verify(eventPublisher, times(1)).publishEvent(any(VentaModificadaDTO.class));
     }
 
     @Test
@@ -333,6 +458,8 @@ class VentaServiceTest {
         // Verifica la venta
         assertThat(ventaActualizada.getDeuda()).isEqualTo(BigDecimal.valueOf(60.0)); // 100 - 40
         assertThat(ventaActualizada.getEstado()).isEqualTo(0); // Sigue pendiente
+        verify(resumenVentasService, times(1)).cambiarEstado(ventaActualizada, 0);
+        verify(eventPublisher, times(1)).publishEvent(any(VentaModificadaDTO.class));
     }
 
     @Test
@@ -369,6 +496,9 @@ class VentaServiceTest {
         // Verifica la venta
         assertThat(ventaActualizada.getDeuda().compareTo(BigDecimal.ZERO)).isEqualTo(0);
         assertThat(ventaActualizada.getEstado()).isEqualTo(1); // 1 = Pagada
+
+        // Verifica que la venta pasa de pendiente a pagada en los resúmenes
+        verify(resumenVentasService, times(1)).cambiarEstado(ventaActualizada, 0);
     }
 
     @Test